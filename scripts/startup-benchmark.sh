@@ -0,0 +1,73 @@
+#!/usr/bin/env bash
+#
+# Measures the time from JVM launch to the first successful `GET /api/v1.0/reports`.
+#
+# Usage:
+#   scripts/startup-benchmark.sh [standard|startup]
+#
+# standard  runs target/report-service-0.0.1-SNAPSHOT.jar as built by `./mvnw package`
+# startup   runs the AOT + CDS build produced by `./mvnw -Pstartup package`
+#
+# Environment:
+#   RUNS            number of launches to average (default 5)
+#   MAX_STARTUP_MS  fail when the average exceeds this budget (default: no budget)
+#   BASE_URL        service base url (default http://localhost:8080/api/v1.0)
+#   JAVA_OPTS       extra JVM options, e.g. datasource overrides
+#
+set -euo pipefail
+
+MODE="${1:-startup}"
+RUNS="${RUNS:-5}"
+BASE_URL="${BASE_URL:-http://localhost:8080/api/v1.0}"
+MAX_STARTUP_MS="${MAX_STARTUP_MS:-}"
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+TARGET_DIR="$ROOT_DIR/target"
+JAR_NAME="report-service-0.0.1-SNAPSHOT.jar"
+
+case "$MODE" in
+  standard)
+    WORK_DIR="$TARGET_DIR"
+    CMD=(java ${JAVA_OPTS:-} -Dspring.profiles.active=dev -jar "$JAR_NAME")
+    ;;
+  startup)
+    WORK_DIR="$TARGET_DIR/application"
+    [[ -f "$WORK_DIR/application.jsa" ]] || { echo "missing CDS archive, run ./mvnw -Pstartup package" >&2; exit 2; }
+    CMD=(java ${JAVA_OPTS:-} -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true
+         -Dspring.profiles.active=dev,startup -jar "$JAR_NAME")
+    ;;
+  *)
+    echo "unknown mode: $MODE" >&2
+    exit 2
+    ;;
+esac
+
+now_ms() {
+  date +%s%3N
+}
+
+total=0
+for run in $(seq 1 "$RUNS"); do
+  cd "$WORK_DIR"
+  start=$(now_ms)
+  "${CMD[@]}" > "$TARGET_DIR/startup-benchmark-$run.log" 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "$BASE_URL/reports?pageNo=1&pageSize=1"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "service exited before serving a request, see $TARGET_DIR/startup-benchmark-$run.log" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  elapsed=$(( $(now_ms) - start ))
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "run $run: ${elapsed}ms to first successful GET /reports"
+  total=$(( total + elapsed ))
+done
+
+average=$(( total / RUNS ))
+echo "$MODE: average ${average}ms over $RUNS runs"
+if [[ -n "$MAX_STARTUP_MS" && "$average" -gt "$MAX_STARTUP_MS" ]]; then
+  echo "startup regression: ${average}ms exceeds budget of ${MAX_STARTUP_MS}ms" >&2
+  exit 1
+fi
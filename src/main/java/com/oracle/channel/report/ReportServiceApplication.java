@@ -2,8 +2,12 @@ package com.oracle.channel.report;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = "com.oracle.channel")
+@ConfigurationPropertiesScan("com.oracle.channel")
+@EnableScheduling
 public class ReportServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,378 @@
+package com.oracle.channel.report.archive;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * One append-only segment file of the archive together with its batchNo → offset index.
+ * <p>
+ * A record is a 16 byte header (payload length, CRC32 of the payload, batchNo) followed by the payload; a
+ * length of {@value #TOMBSTONE} marks a tombstone without payload. The file is read through read-only memory
+ * mappings of {@value #WINDOW_BYTES} byte windows; an append only maps the windows it grew, so readers never
+ * lock and earlier windows stay mapped. The index is kept as two sorted primitive arrays, 16 bytes per report,
+ * and written next to the segment when it is sealed. The active segment is re-indexed by scanning it on
+ * startup, and again for records other instances appended; a record torn by a crash is cut off by the next
+ * append.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Slf4j
+final class ArchiveSegment implements Closeable {
+
+    static final int HEADER_BYTES = 16;
+    static final int TOMBSTONE = -1;
+    static final int WINDOW_BYTES = 16 << 20;
+
+    private final Path file;
+    private final Path indexFile;
+    private FileChannel channel;
+    private long length;
+    private volatile View view;
+
+    /**
+     * A record to append.
+     *
+     * @param batchNo the batch number of the report
+     * @param payload the record payload, or null for a tombstone
+     */
+    record Entry(long batchNo, byte[] payload) {
+    }
+
+    /**
+     * Immutable state shared with readers: the mapped windows and the index covering them.
+     */
+    private record View(MappedByteBuffer[] windows, long[] batchNos, long[] offsets) {
+    }
+
+    /**
+     * The valid records found by a scan, in file order, and the end of the last one.
+     */
+    private record Scan(long[] batchNos, long[] offsets, long end) {
+    }
+
+    private ArchiveSegment(Path file) {
+        this.file = file;
+        this.indexFile = file.resolveSibling(file.getFileName().toString().replace(".dat", ".idx"));
+    }
+
+    /**
+     * Opens a sealed segment, loading its index file when it covers the whole segment.
+     */
+    static ArchiveSegment openSealed(Path file) throws IOException {
+        ArchiveSegment segment = new ArchiveSegment(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            segment.length = channel.size();
+            long[][] index = segment.readIndex();
+            if (index == null) {
+                Scan scanned = segment.scan(channel, 0);
+                index = merge(new long[0], new long[0], scanned.batchNos(), scanned.offsets());
+                segment.length = scanned.end();
+            }
+            segment.view = new View(map(channel, new MappedByteBuffer[0], 0, segment.length), index[0], index[1]);
+        }
+        return segment;
+    }
+
+    /**
+     * Opens or creates the segment appended to. A torn tail is left in place until the next append, since
+     * another instance sharing the directory may be writing it.
+     */
+    static ArchiveSegment openActive(Path file) throws IOException {
+        ArchiveSegment segment = new ArchiveSegment(file);
+        segment.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        Scan scanned = segment.scan(segment.channel, 0);
+        long[][] index = merge(new long[0], new long[0], scanned.batchNos(), scanned.offsets());
+        segment.length = scanned.end();
+        segment.view = new View(map(segment.channel, new MappedByteBuffer[0], 0, segment.length), index[0], index[1]);
+        return segment;
+    }
+
+    long length() {
+        return length;
+    }
+
+    boolean isActive() {
+        return channel != null;
+    }
+
+    /**
+     * Appends the records and forces them to disk before they become visible. The caller must be the only
+     * writer of the directory, so anything past the last valid record is a torn tail and is cut off.
+     */
+    void append(List<Entry> entries) throws IOException {
+        if (channel.size() > length) {
+            log.warn("ArchiveSegment torn tail truncated: [file= {},\nlength= {}]", file, length);
+            channel.truncate(length);
+        }
+        long position = length;
+        long[] batchNos = new long[entries.size()];
+        long[] offsets = new long[entries.size()];
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            header.clear();
+            header.putInt(entry.payload() == null ? TOMBSTONE : entry.payload().length)
+                    .putInt(entry.payload() == null ? 0 : crc(entry.payload()))
+                    .putLong(entry.batchNo())
+                    .flip();
+            batchNos[i] = entry.batchNo();
+            offsets[i] = position;
+            position += writeFully(header, position);
+            if (entry.payload() != null) {
+                position += writeFully(ByteBuffer.wrap(entry.payload()), position);
+            }
+        }
+        channel.force(false);
+        publish(position, batchNos, offsets);
+    }
+
+    /**
+     * Makes the records up to the new length visible, mapping only the windows that grew.
+     */
+    private void publish(long newLength, long[] batchNos, long[] offsets) throws IOException {
+        View current = view;
+        long[][] merged = merge(current.batchNos(), current.offsets(), batchNos, offsets);
+        MappedByteBuffer[] windows = map(channel, current.windows(), length, newLength);
+        length = newLength;
+        view = new View(windows, merged[0], merged[1]);
+    }
+
+    /**
+     * Indexes the records another instance appended since this one last looked, and stops treating the
+     * segment as active once it has been sealed.
+     *
+     * @param superseded true if a newer segment exists, which means this one will not grow any more
+     */
+    void catchUp(boolean superseded) throws IOException {
+        // checked before the scan, a segment is sealed only after its last append
+        boolean sealed = superseded || Files.exists(indexFile);
+        if (channel.size() > length) {
+            Scan scanned = scan(channel, length);
+            if (scanned.end() > length) {
+                publish(scanned.end(), scanned.batchNos(), scanned.offsets());
+            }
+        }
+        if (sealed) {
+            close();
+        }
+    }
+
+    /**
+     * Writes the index file and stops appending to the segment.
+     */
+    void seal() throws IOException {
+        View current = view;
+        Path temp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeLong(length);
+            out.writeInt(current.batchNos().length);
+            for (int i = 0; i < current.batchNos().length; i++) {
+                out.writeLong(current.batchNos()[i]);
+                out.writeLong(current.offsets()[i]);
+            }
+        }
+        Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel.close();
+        channel = null;
+    }
+
+    /**
+     * @return the offset of the newest record of the batch number, or -1 when the segment has none
+     */
+    long find(long batchNo) {
+        View current = view;
+        int index = Arrays.binarySearch(current.batchNos(), batchNo);
+        return index < 0 ? -1 : current.offsets()[index];
+    }
+
+    /**
+     * @return the payload of the record at the offset, or null for a tombstone
+     */
+    byte[] read(long offset) {
+        MappedByteBuffer[] windows = view.windows();
+        ByteBuffer header = ByteBuffer.wrap(copy(windows, offset, new byte[HEADER_BYTES]));
+        int payloadLength = header.getInt();
+        if (payloadLength == TOMBSTONE) {
+            return null;
+        }
+        byte[] payload = copy(windows, offset + HEADER_BYTES, new byte[payloadLength]);
+        if (crc(payload) != header.getInt()) {
+            throw new IllegalStateException("Corrupt archive record at " + offset + " of " + file);
+        }
+        return payload;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private long[][] readIndex() throws IOException {
+        if (!Files.exists(indexFile)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readLong() != length) {
+                return null;
+            }
+            int size = in.readInt();
+            long[] batchNos = new long[size];
+            long[] offsets = new long[size];
+            for (int i = 0; i < size; i++) {
+                batchNos[i] = in.readLong();
+                offsets[i] = in.readLong();
+            }
+            return new long[][]{batchNos, offsets};
+        }
+    }
+
+    /**
+     * Finds the valid records of the segment from the given position on.
+     */
+    private Scan scan(FileChannel channel, long from) throws IOException {
+        long size = channel.size();
+        long position = from;
+        List<long[]> records = new ArrayList<>();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (position + HEADER_BYTES <= size) {
+            header.clear();
+            readFully(channel, header, position);
+            header.flip();
+            int payloadLength = header.getInt();
+            int crc = header.getInt();
+            long batchNo = header.getLong();
+            if (payloadLength < TOMBSTONE
+                    || payloadLength > 0 && position + HEADER_BYTES + payloadLength > size) {
+                break;
+            }
+            if (payloadLength > 0) {
+                ByteBuffer payload = ByteBuffer.allocate(payloadLength);
+                readFully(channel, payload, position + HEADER_BYTES);
+                if (crc(payload.array()) != crc) {
+                    break;
+                }
+            }
+            records.add(new long[]{batchNo, position});
+            position += HEADER_BYTES + Math.max(0, payloadLength);
+        }
+        long[] batchNos = new long[records.size()];
+        long[] offsets = new long[records.size()];
+        for (int i = 0; i < records.size(); i++) {
+            batchNos[i] = records.get(i)[0];
+            offsets[i] = records.get(i)[1];
+        }
+        return new Scan(batchNos, offsets, position);
+    }
+
+    /**
+     * Merges appended records into a sorted index; for a batch number recorded more than once the
+     * record with the highest offset wins.
+     */
+    private static long[][] merge(long[] batchNos, long[] offsets, long[] addedBatchNos, long[] addedOffsets) {
+        Integer[] order = new Integer[addedBatchNos.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingLong(i -> addedBatchNos[i])
+                .thenComparingLong(i -> addedOffsets[i]));
+
+        long[] mergedBatchNos = new long[batchNos.length + addedBatchNos.length];
+        long[] mergedOffsets = new long[mergedBatchNos.length];
+        int size = 0;
+        int left = 0;
+        int right = 0;
+        while (left < batchNos.length || right < order.length) {
+            boolean takeLeft = right == order.length
+                    || left < batchNos.length && batchNos[left] <= addedBatchNos[order[right]];
+            long batchNo = takeLeft ? batchNos[left] : addedBatchNos[order[right]];
+            long offset = takeLeft ? offsets[left++] : addedOffsets[order[right++]];
+            if (size > 0 && mergedBatchNos[size - 1] == batchNo) {
+                mergedOffsets[size - 1] = Math.max(mergedOffsets[size - 1], offset);
+            } else {
+                mergedBatchNos[size] = batchNo;
+                mergedOffsets[size++] = offset;
+            }
+        }
+        return new long[][]{Arrays.copyOf(mergedBatchNos, size), Arrays.copyOf(mergedOffsets, size)};
+    }
+
+    /**
+     * Extends the windows mapping the first {@code mappedLength} bytes to cover {@code length} bytes. Full
+     * windows are kept; the last, partial one is mapped again.
+     */
+    private static MappedByteBuffer[] map(FileChannel channel, MappedByteBuffer[] windows, long mappedLength,
+                                          long length) throws IOException {
+        int count = (int) ((length + WINDOW_BYTES - 1) / WINDOW_BYTES);
+        MappedByteBuffer[] mapped = Arrays.copyOf(windows, count);
+        for (int i = (int) (mappedLength / WINDOW_BYTES); i < count; i++) {
+            long start = (long) i * WINDOW_BYTES;
+            mapped[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_BYTES, length - start));
+        }
+        return mapped;
+    }
+
+    /**
+     * Fills the target with the bytes at the position, which may span two windows.
+     */
+    private static byte[] copy(MappedByteBuffer[] windows, long position, byte[] target) {
+        int copied = 0;
+        while (copied < target.length) {
+            long at = position + copied;
+            MappedByteBuffer window = windows[(int) (at / WINDOW_BYTES)];
+            int index = (int) (at % WINDOW_BYTES);
+            int count = Math.min(target.length - copied, window.limit() - index);
+            window.get(index, target, copied, count);
+            copied += count;
+        }
+        return target;
+    }
+
+    private int writeFully(ByteBuffer buffer, long position) throws IOException {
+        int written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+        return written;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int read = 0;
+        while (buffer.hasRemaining()) {
+            int count = channel.read(buffer, position + read);
+            if (count < 0) {
+                throw new IOException("Unexpected end of archive segment");
+            }
+            read += count;
+        }
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,285 @@
+package com.oracle.channel.report.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oracle.channel.report.config.ReportArchiveProperties;
+import com.oracle.channel.report.models.ReportModel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.ByteArrayInputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Cold storage of archived reports in deflate-compressed, append-only segment files on local disk.
+ * <p>
+ * Segments are named {@code segment-<n>.dat} and only the newest one is appended to; once it outgrows
+ * {@code report.archive.segment-max-size} it is sealed and a new one is started. A lookup walks the
+ * segments from newest to oldest, so a report archived again or deleted later shadows older records.
+ * Reads are lock free; appends are serialized, across instances by a lock file in the directory.
+ * </p>
+ * <p>
+ * The archive decides DUPLICATE_KEY on save and whether an archived report can be deleted, so every instance
+ * must see the same one: archiving only starts when {@code report.archive.shared} declares the directory
+ * shared. An instance of a shared archive picks up records and segments written by others before each
+ * lookup and write.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Slf4j
+@Component
+public class ReportArchive {
+
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".dat";
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+    private static final String LOCK_FILE = "archive.lock";
+
+    private final ReportArchiveProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private volatile List<ArchiveSegment> segments = List.of();
+
+    @Autowired
+    public ReportArchive(ReportArchiveProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        Gauge.builder("report.archive.segments", this, archive -> archive.segments.size())
+                .description("Segment files of the report archive")
+                .register(meterRegistry);
+        Gauge.builder("report.archive.bytes", this,
+                        archive -> archive.segments.stream().mapToLong(ArchiveSegment::length).sum())
+                .baseUnit("bytes")
+                .description("Size of the report archive")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens the existing segments; the archive stays empty when archiving is off and no directory exists.
+     *
+     * @throws IllegalStateException if archiving is enabled on a directory not declared shared
+     */
+    @PostConstruct
+    void open() throws IOException {
+        Path directory = properties.getDirectory();
+        if (properties.isEnabled() && !properties.isShared()) {
+            throw new IllegalStateException("report.archive.enabled requires report.archive.shared: every "
+                    + "instance must use the same archive directory, or only one instance may run");
+        }
+        if (!properties.isEnabled() && !Files.isDirectory(directory)) {
+            return;
+        }
+        List<ArchiveSegment> opened = new ArrayList<>();
+        try (FileChannel lock = lockDirectory()) {
+            List<Path> files;
+            try (Stream<Path> list = Files.list(directory)) {
+                files = list.filter(file -> file.getFileName().toString().matches(PREFIX + "\\d+\\" + SUFFIX))
+                        .sorted()
+                        .toList();
+            }
+            for (int i = 0; i < files.size(); i++) {
+                opened.add(i == files.size() - 1 ? ArchiveSegment.openActive(files.get(i))
+                        : ArchiveSegment.openSealed(files.get(i)));
+            }
+        }
+        segments = List.copyOf(opened);
+        log.info("ReportArchive opened: [directory= {},\nsegments= {}]", directory.toAbsolutePath(), opened.size());
+    }
+
+    /**
+     * Appends the reports; they are on disk when the method returns.
+     */
+    public void append(List<ReportModel> reports) {
+        if (reports.isEmpty()) {
+            return;
+        }
+        List<ArchiveSegment.Entry> entries = new ArrayList<>(reports.size());
+        for (ReportModel report : reports) {
+            entries.add(new ArchiveSegment.Entry(report.getBatchNo(), encode(report)));
+        }
+        appendLock.lock();
+        try (FileChannel lock = lockDirectory()) {
+            refresh();
+            write(entries);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error writing report archive", ex);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Records the deletion of an archived report.
+     *
+     * @return true if the report was archived, false if the archive does not hold it
+     */
+    public boolean delete(long batchNo) {
+        appendLock.lock();
+        try (FileChannel lock = lockDirectory()) {
+            refresh();
+            if (lookup(batchNo) == null) {
+                return false;
+            }
+            write(List.of(new ArchiveSegment.Entry(batchNo, null)));
+            return true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error writing report archive", ex);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * @return the archived report, or null when it is not archived
+     */
+    public ReportModel find(long batchNo) {
+        byte[] payload = payloadOf(batchNo);
+        return payload == null ? null : decode(payload);
+    }
+
+    public boolean contains(long batchNo) {
+        return payloadOf(batchNo) != null;
+    }
+
+    private byte[] payloadOf(long batchNo) {
+        // a lookup does not wait for a local write, which refreshes before it appends anyway
+        if (properties.isShared() && appendLock.tryLock()) {
+            try {
+                refresh();
+            } catch (IOException ex) {
+                log.warn("Error Refreshing Report Archive: [directory= {},\nerror= {}]", properties.getDirectory(),
+                        ex.getMessage());
+            } finally {
+                appendLock.unlock();
+            }
+        }
+        return lookup(batchNo);
+    }
+
+    private byte[] lookup(long batchNo) {
+        List<ArchiveSegment> current = segments;
+        for (int i = current.size() - 1; i >= 0; i--) {
+            long offset = current.get(i).find(batchNo);
+            if (offset >= 0) {
+                return current.get(i).read(offset);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Appends with the append lock and the directory lock held.
+     */
+    private void write(List<ArchiveSegment.Entry> entries) throws IOException {
+        ArchiveSegment active = activeSegment();
+        active.append(entries);
+        if (active.length() >= Math.min(properties.getSegmentMaxSize().toBytes(), MAX_SEGMENT_BYTES)) {
+            active.seal();
+        }
+    }
+
+    private ArchiveSegment activeSegment() throws IOException {
+        List<ArchiveSegment> current = segments;
+        if (!current.isEmpty() && current.get(current.size() - 1).isActive()) {
+            return current.get(current.size() - 1);
+        }
+        ArchiveSegment created = ArchiveSegment.openActive(segmentFile(current.size() + 1));
+        List<ArchiveSegment> updated = new ArrayList<>(current);
+        updated.add(created);
+        segments = List.copyOf(updated);
+        return created;
+    }
+
+    /**
+     * Picks up the records and segments other instances wrote to the directory. Runs with the append lock held.
+     */
+    private void refresh() throws IOException {
+        List<ArchiveSegment> updated = new ArrayList<>(segments);
+        ArchiveSegment last = updated.isEmpty() ? null : updated.get(updated.size() - 1);
+        if (last != null && last.isActive()) {
+            last.catchUp(false);
+        }
+        Path next;
+        while (Files.exists(next = segmentFile(updated.size() + 1))) {
+            if (last != null && last.isActive()) {
+                last.catchUp(true);
+            }
+            last = ArchiveSegment.openActive(next);
+            updated.add(last);
+        }
+        if (updated.size() > segments.size()) {
+            segments = List.copyOf(updated);
+        }
+    }
+
+    private Path segmentFile(int number) {
+        return properties.getDirectory().resolve(PREFIX + "%06d".formatted(number) + SUFFIX);
+    }
+
+    /**
+     * Takes the lock file that serializes writers across the instances sharing the directory; closing the
+     * returned channel releases it.
+     */
+    private FileChannel lockDirectory() throws IOException {
+        Files.createDirectories(properties.getDirectory());
+        FileChannel channel = FileChannel.open(properties.getDirectory().resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            channel.lock();
+            return channel;
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    private byte[] encode(ReportModel report) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new DeflaterOutputStream(bytes)) {
+            objectMapper.writeValue(out, report);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error encoding archived report " + report.getBatchNo(), ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private ReportModel decode(byte[] payload) {
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(payload))) {
+            return objectMapper.readValue(in, ReportModel.class);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error decoding archived report", ex);
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        appendLock.lock();
+        try {
+            for (ArchiveSegment segment : segments) {
+                segment.close();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.oracle.channel.report.archive;
+
+import com.oracle.channel.report.config.ReportArchiveProperties;
+import com.oracle.channel.report.dedup.ReportBlobStore;
+import com.oracle.channel.report.enums.ReportChangeType;
+import com.oracle.channel.report.events.ReportChangedEvent;
+import com.oracle.channel.report.events.ReportShape;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.models.data.ReportData;
+import com.oracle.channel.report.repository.ReportItemRepository;
+import com.oracle.channel.report.repository.ReportRepository;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Moves INACTIVE reports older than {@code report.archive.min-age} from the report table into the
+ * {@link ReportArchive}.
+ * <p>
+ * Each batch is locked with {@code SKIP LOCKED}, written to the archive and forced to disk, and only then
+ * deleted in the same transaction, so a crash leaves a report in both places rather than in neither. Entries
+ * appended to a report are folded into its archived data, with their metadata blobs resolved and released.
+ * The freed rows are reclaimed by autovacuum.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Slf4j
+@Component
+@Profile("!embedded")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ReportArchiver {
+
+    private final ReportRepository reportRepository;
+    private final ReportItemRepository reportItemRepository;
+    private final ReportArchive reportArchive;
+    private final ReportBlobStore reportBlobStore;
+    private final ReportShardRouter router;
+    private final ReportArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Scheduled(fixedDelayString = "${report.archive.interval:1h}", initialDelayString = "${report.archive.interval:1h}")
+    public void archive() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Date cutoff = new Date(System.currentTimeMillis() - properties.getMinAge().toMillis());
+        List<Integer> archived = router.fanOut(shard -> {
+            int reports = 0;
+            try {
+                int moved;
+                do {
+                    moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+                    reports += moved;
+                } while (moved == properties.getBatchSize());
+            } catch (RuntimeException ex) {
+                log.warn("Error Archiving Reports: [shard= {},\nerror= {}]", shard, ex.getMessage());
+            }
+            return reports;
+        });
+        log.info("ReportsArchived: [reports= {},\ncutoff= {},\nTime: {}]",
+                archived.stream().mapToInt(Integer::intValue).sum(), cutoff, LocalDateTime.now());
+    }
+
+    private int archiveBatch(Date cutoff) {
+        List<ReportModel> reports = reportRepository.lockArchivable(cutoff, PageRequest.of(0, properties.getBatchSize()));
+        if (reports.isEmpty()) {
+            return 0;
+        }
+        reportArchive.append(reportBlobStore.resolveAll(reports.stream().map(this::archivedCopy).toList()));
+        reportBlobStore.release(reports);
+        reportRepository.deleteAllInBatch(reports);
+        reports.forEach(report -> eventPublisher.publishEvent(new ReportChangedEvent(ReportChangeType.ARCHIVED,
+                report.getBatchNo(), null, report.getStatus(), null, ReportShape.of(report))));
+        return reports.size();
+    }
+
+    private ReportModel archivedCopy(ReportModel report) {
+        List<ReportData> reportData = new ArrayList<>(report.getReportData());
+        reportData.addAll(reportItemRepository.findAppendedItems(report.getBatchNo(), 0, Integer.MAX_VALUE));
+        return report.withReportData(reportData);
+    }
+}
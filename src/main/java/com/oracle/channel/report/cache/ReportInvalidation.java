@@ -0,0 +1,64 @@
+package com.oracle.channel.report.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Invalidation message exchanged between instances, encoded as {@code origin;committedAt;batchNo,batchNo,...}.
+ *
+ * @param origin      the instance the reports were changed on
+ * @param committedAt epoch millis of the earliest commit covered by the message
+ * @param batchIds    the batch numbers of the changed reports
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public record ReportInvalidation(String origin, long committedAt, List<Long> batchIds) {
+
+    /**
+     * NOTIFY payloads must stay below 8000 bytes.
+     */
+    public static final int MAX_PAYLOAD_BYTES = 7_900;
+
+    /**
+     * Encodes the batch numbers into as few payloads as the size limit allows.
+     */
+    public static List<String> encode(String origin, long committedAt, Collection<Long> batchIds) {
+        String header = origin + ';' + committedAt + ';';
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(header);
+        for (Long batchNo : batchIds) {
+            String id = String.valueOf(batchNo);
+            if (payload.length() > header.length()
+                    && payload.length() + 1 + id.length() > MAX_PAYLOAD_BYTES) {
+                payloads.add(payload.toString());
+                payload = new StringBuilder(header);
+            }
+            if (payload.length() > header.length()) {
+                payload.append(',');
+            }
+            payload.append(id);
+        }
+        if (payload.length() > header.length()) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the payload is not an invalidation message
+     */
+    public static ReportInvalidation decode(String payload) {
+        String[] parts = payload.split(";", 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed invalidation: " + payload);
+        }
+        List<Long> batchIds = new ArrayList<>();
+        for (String id : parts[2].split(",")) {
+            if (!id.isEmpty()) {
+                batchIds.add(Long.parseLong(id));
+            }
+        }
+        return new ReportInvalidation(parts[0], Long.parseLong(parts[1]), batchIds);
+    }
+}
@@ -0,0 +1,182 @@
+package com.oracle.channel.report.cache;
+
+import com.oracle.channel.report.config.ReportCacheProperties;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listens for the invalidations published by {@link ReportInvalidationPublisher} on every shard.
+ * <p>
+ * Each shard has a thread holding one connection of its pool in {@code LISTEN}. When the connection is lost the
+ * near-cache stops serving until the listener is back and has flushed it. The time from commit to invalidation
+ * is recorded as {@code report.cache.invalidation.lag}; across instances it includes their clock offset.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "report.cache", name = "enabled", havingValue = "true")
+public class ReportInvalidationListener {
+
+    private final ReportNearCache reportNearCache;
+    private final ReportInvalidationPublisher publisher;
+    private final DataSource dataSource;
+    private final ReportShardRouter router;
+    private final ReportCacheProperties properties;
+    private final Timer localLag;
+    private final Timer remoteLag;
+    private final Counter reconnects;
+    private final List<Thread> listeners = new ArrayList<>();
+
+    @Autowired
+    public ReportInvalidationListener(ReportNearCache reportNearCache, ReportInvalidationPublisher publisher,
+                                      DataSource dataSource, ReportShardRouter router,
+                                      ReportCacheProperties properties, MeterRegistry meterRegistry) {
+        this.reportNearCache = reportNearCache;
+        this.publisher = publisher;
+        this.dataSource = dataSource;
+        this.router = router;
+        this.properties = properties;
+        this.localLag = lagTimer(meterRegistry, "local");
+        this.remoteLag = lagTimer(meterRegistry, "remote");
+        this.reconnects = Counter.builder("report.cache.listener.reconnects")
+                .description("Times an invalidation listener had to reconnect")
+                .register(meterRegistry);
+    }
+
+    private static Timer lagTimer(MeterRegistry meterRegistry, String origin) {
+        return Timer.builder("report.cache.invalidation.lag")
+                .tag("origin", origin)
+                .description("Time from the commit of a change to the invalidation notice reaching this instance")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts listening once the datasources have been migrated.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (int shard = 0; shard < router.getShardCount(); shard++) {
+            int listened = shard;
+            Thread listener = new Thread(() -> listen(listened), "report-cache-listener-" + shard);
+            listener.setDaemon(true);
+            listeners.add(listener);
+            listener.start();
+        }
+    }
+
+    private void listen(int shard) {
+        boolean first = true;
+        while (!Thread.currentThread().isInterrupted()) {
+            if (!first) {
+                reconnects.increment();
+                try {
+                    TimeUnit.MILLISECONDS.sleep(properties.getRetryDelay().toMillis());
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+            first = false;
+            try (Connection connection = router.onShard(shard, this::connection)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                reportNearCache.connected(shard);
+                try {
+                    receive(connection.unwrap(PGConnection.class), connection);
+                } finally {
+                    reportNearCache.disconnected(shard);
+                    unlisten(connection);
+                }
+            } catch (SQLException | RuntimeException ex) {
+                log.warn("ReportCacheListenerError: [shard= {},\nerror= {}]", shard, ex.getMessage());
+            }
+        }
+    }
+
+    private void receive(PGConnection pgConnection, Connection connection) throws SQLException {
+        int pollMillis = (int) Math.max(1, properties.getPollInterval().toMillis());
+        long validateAt = System.nanoTime() + properties.getValidationInterval().toNanos();
+        while (!Thread.currentThread().isInterrupted()) {
+            PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+            if (notifications != null && notifications.length > 0) {
+                for (PGNotification notification : notifications) {
+                    apply(notification.getParameter());
+                }
+                validateAt = System.nanoTime() + properties.getValidationInterval().toNanos();
+            } else if (System.nanoTime() - validateAt > 0) {
+                // a silently dropped connection only shows up when it is used
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                validateAt = System.nanoTime() + properties.getValidationInterval().toNanos();
+            }
+        }
+    }
+
+    /**
+     * Applies a received invalidation, unless this instance sent it and has already applied it.
+     *
+     * @param payload the notification payload
+     */
+    public void apply(String payload) {
+        ReportInvalidation invalidation;
+        try {
+            invalidation = ReportInvalidation.decode(payload);
+        } catch (IllegalArgumentException ex) {
+            log.warn("ReportCacheInvalidationIgnored: {}", ex.getMessage());
+            return;
+        }
+        boolean local = publisher.getOrigin().equals(invalidation.origin());
+        if (!local) {
+            reportNearCache.invalidate(invalidation.batchIds());
+        }
+        Duration lag = Duration.ofMillis(Math.max(0, System.currentTimeMillis() - invalidation.committedAt()));
+        (local ? localLag : remoteLag).record(lag);
+    }
+
+    private void unlisten(Connection connection) {
+        // the connection goes back to the pool, where it should not keep collecting notifications
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("UNLISTEN *");
+        } catch (SQLException ex) {
+            log.debug("ReportCacheUnlistenFailed: {}", ex.getMessage());
+        }
+    }
+
+    private Connection connection() {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        listeners.forEach(Thread::interrupt);
+    }
+}
@@ -0,0 +1,151 @@
+package com.oracle.channel.report.cache;
+
+import com.oracle.channel.report.config.ReportCacheProperties;
+import com.oracle.channel.report.events.ReportChangedEvent;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes committed report changes to the other instances with {@code pg_notify}.
+ * <p>
+ * The local cache is invalidated right after the commit. The notification is sent from a background thread,
+ * outside the writing transaction, so writers never wait on it; changes committed in the meantime are merged into
+ * one notification per shard. Notifications go to the shard owning the report, where the instances listen.
+ * A failed publish is retried until it succeeds.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "report.cache", name = "enabled", havingValue = "true")
+public class ReportInvalidationPublisher {
+
+    /**
+     * Identifies this instance in its own notifications.
+     */
+    @Getter
+    private final String origin = UUID.randomUUID().toString();
+
+    private final ReportNearCache reportNearCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final ReportShardRouter router;
+    private final ReportCacheProperties properties;
+    private final LinkedBlockingQueue<Change> changes = new LinkedBlockingQueue<>();
+    private final Counter published;
+    private final Counter failures;
+    private final Thread publisher;
+
+    private record Change(long batchNo, long committedAt) {
+    }
+
+    @Autowired
+    public ReportInvalidationPublisher(ReportNearCache reportNearCache, JdbcTemplate jdbcTemplate,
+                                       ReportShardRouter router, ReportCacheProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this.reportNearCache = reportNearCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.router = router;
+        this.properties = properties;
+        this.published = Counter.builder("report.cache.invalidations.published")
+                .description("Invalidation notifications sent to the other instances")
+                .register(meterRegistry);
+        this.failures = Counter.builder("report.cache.invalidations.failed")
+                .description("Invalidation notifications that failed and are retried")
+                .register(meterRegistry);
+        this.publisher = new Thread(this::publish, "report-cache-publisher");
+        this.publisher.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        publisher.start();
+    }
+
+    /**
+     * Invalidates a committed change locally and queues its notification.
+     *
+     * @param event the change published by the service layer
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportChanged(ReportChangedEvent event) {
+        if (event.batchNo() == null) {
+            return;
+        }
+        reportNearCache.invalidate(List.of(event.batchNo()));
+        changes.add(new Change(event.batchNo(), System.currentTimeMillis()));
+    }
+
+    private void publish() {
+        // batch numbers per shard still to be announced, with the oldest commit among them
+        Map<Integer, Set<Long>> pending = new TreeMap<>();
+        Map<Integer, Long> committedAt = new TreeMap<>();
+        List<Change> drained = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                if (pending.isEmpty()) {
+                    drained.add(changes.take());
+                } else {
+                    TimeUnit.MILLISECONDS.sleep(properties.getRetryDelay().toMillis());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            changes.drainTo(drained);
+            for (Change change : drained) {
+                int shard = router.shardOf(change.batchNo());
+                pending.computeIfAbsent(shard, key -> new LinkedHashSet<>()).add(change.batchNo());
+                committedAt.merge(shard, change.committedAt(), Math::min);
+            }
+            drained.clear();
+
+            for (Integer shard : List.copyOf(pending.keySet())) {
+                try {
+                    router.onShard(shard, () -> sendNotifications(ReportInvalidation.encode(origin, committedAt.get(shard),
+                            pending.get(shard))));
+                    published.increment();
+                    pending.remove(shard);
+                    committedAt.remove(shard);
+                } catch (RuntimeException ex) {
+                    failures.increment();
+                    log.warn("ReportInvalidationPublishFailed: [shard= {},\nreports= {},\nerror= {}]", shard,
+                            pending.get(shard).size(), ex.getMessage());
+                }
+            }
+        }
+    }
+
+    private Void sendNotifications(List<String> payloads) {
+        for (String payload : payloads) {
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)::text", String.class, properties.getChannel(), payload);
+        }
+        return null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        publisher.interrupt();
+    }
+}
@@ -0,0 +1,175 @@
+package com.oracle.channel.report.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oracle.channel.report.config.ReportCacheProperties;
+import com.oracle.channel.report.dtos.request.ReportFields;
+import com.oracle.channel.report.dtos.response.GlobalResponse;
+import com.oracle.channel.report.enums.ResponseCodeEnum;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of report lookups and listing pages.
+ * <p>
+ * A lookup is dropped when its report changes, a listing page on any change. Changes made on other instances
+ * arrive through {@link ReportInvalidationListener}; while the listener of any shard is not connected the cache
+ * is bypassed, and it is flushed once all listeners are back, since notifications sent in between are lost.
+ * A generation counter bumped on every invalidation keeps a load that raced with a change from being cached.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "report.cache", name = "enabled", havingValue = "true")
+public class ReportNearCache {
+
+    private final Cache<Long, GlobalResponse> reports;
+    private final Cache<PageKey, GlobalResponse> pages;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicInteger connectedShards = new AtomicInteger();
+    private final int shardCount;
+    private final Counter bypassed;
+    private final Counter flushes;
+
+    private record PageKey(int pageNo, int pageSize, ReportFields fields) {
+    }
+
+    @Autowired
+    public ReportNearCache(ReportCacheProperties properties, ReportShardRouter router, MeterRegistry meterRegistry) {
+        this.shardCount = router.getShardCount();
+        this.reports = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxReports())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxPages())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, reports, "report.cache.reports");
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "report.cache.pages");
+        Gauge.builder("report.cache.coherent", this, cache -> cache.isCoherent() ? 1 : 0)
+                .description("Whether the invalidation listeners of all shards are connected")
+                .register(meterRegistry);
+        this.bypassed = Counter.builder("report.cache.bypassed")
+                .description("Lookups served from the database while the cache was not coherent")
+                .register(meterRegistry);
+        this.flushes = Counter.builder("report.cache.flushes")
+                .description("Full flushes after an invalidation listener (re)connected")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param batchNo the batch number of the report
+     * @param loader  loads the report on a miss
+     * @return the cached or loaded response
+     */
+    public GlobalResponse report(long batchNo, Supplier<GlobalResponse> loader) {
+        return lookup(reports, batchNo, loader);
+    }
+
+    /**
+     * @param pageNo   the requested page
+     * @param pageSize the requested page size
+     * @param loader   loads the page on a miss
+     * @return the cached or loaded response
+     */
+    public GlobalResponse page(int pageNo, int pageSize, Supplier<GlobalResponse> loader) {
+        return page(pageNo, pageSize, null, loader);
+    }
+
+    /**
+     * @param pageNo   the requested page
+     * @param pageSize the requested page size
+     * @param fields   the selected properties, or null for whole reports
+     * @param loader   loads the page on a miss
+     * @return the cached or loaded response
+     */
+    public GlobalResponse page(int pageNo, int pageSize, ReportFields fields, Supplier<GlobalResponse> loader) {
+        return lookup(pages, new PageKey(pageNo, pageSize, fields), loader);
+    }
+
+    /**
+     * Drops the given reports and every listing page.
+     *
+     * @param batchIds the batch numbers of the changed reports
+     */
+    public void invalidate(Collection<Long> batchIds) {
+        generation.incrementAndGet();
+        reports.invalidateAll(batchIds);
+        pages.invalidateAll();
+    }
+
+    /**
+     * Drops everything.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        reports.invalidateAll();
+        pages.invalidateAll();
+    }
+
+    /**
+     * @return whether the invalidation listeners of all shards are connected
+     */
+    public boolean isCoherent() {
+        return connectedShards.get() == shardCount;
+    }
+
+    /**
+     * Called by the listener of a shard once it listens again. Flushes the cache, as changes made while it was
+     * disconnected went unnoticed.
+     */
+    public void connected(int shard) {
+        invalidateAll();
+        flushes.increment();
+        connectedShards.incrementAndGet();
+        log.info("ReportCacheListening: [shard= {},\ncoherent= {}]", shard, isCoherent());
+    }
+
+    /**
+     * Called by the listener of a shard when its connection is lost.
+     */
+    public void disconnected(int shard) {
+        connectedShards.decrementAndGet();
+        invalidateAll();
+        log.warn("ReportCacheListenerLost: [shard= {}]", shard);
+    }
+
+    private <K> GlobalResponse lookup(Cache<K, GlobalResponse> cache, K key, Supplier<GlobalResponse> loader) {
+        if (!isCoherent()) {
+            bypassed.increment();
+            return loader.get();
+        }
+        GlobalResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long loadedAt = generation.get();
+        GlobalResponse response = loader.get();
+        if (ResponseCodeEnum.SUCCESS.getCode().equals(response.responseCode())) {
+            cache.put(key, response);
+            // an invalidation that ran during the load may have preceded the put, so the entry could be stale
+            if (generation.get() != loadedAt || !isCoherent()) {
+                cache.invalidate(key);
+            }
+        }
+        return response;
+    }
+}
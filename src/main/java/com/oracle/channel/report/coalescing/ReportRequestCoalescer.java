@@ -0,0 +1,155 @@
+package com.oracle.channel.report.coalescing;
+
+import com.oracle.channel.report.config.ReportCoalescingProperties;
+import com.oracle.channel.report.dtos.request.ReportFields;
+import com.oracle.channel.report.dtos.response.GlobalResponse;
+import com.oracle.channel.report.events.ReportChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight coalescing of identical concurrent report reads.
+ * <p>
+ * The first request for a lookup or listing page makes the call, identical requests arriving while it is in
+ * flight wait for its response or exception instead of making their own. A request waiting longer than
+ * {@code report.coalescing.timeout} takes over with a call of its own, which later arrivals then wait on.
+ * A committed change detaches the calls it may have made stale, so requests arriving after a write never
+ * share a read that started before it.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Component
+@ConditionalOnProperty(prefix = "report.coalescing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ReportRequestCoalescer {
+
+    private final Map<Object, CompletableFuture<GlobalResponse>> calls = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+    private final Counter led;
+    private final Counter coalesced;
+    private final Counter timedOut;
+
+    private record ReportKey(long batchNo, ReportFields fields) {
+    }
+
+    private record PageKey(int pageNo, int pageSize, ReportFields fields) {
+    }
+
+    @Autowired
+    public ReportRequestCoalescer(ReportCoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.timeoutMillis = properties.getTimeout().toMillis();
+        this.led = callCounter(meterRegistry, "led");
+        this.coalesced = callCounter(meterRegistry, "coalesced");
+        this.timedOut = callCounter(meterRegistry, "timed-out");
+        Gauge.builder("report.coalescing.in-flight", calls, Map::size)
+                .description("Distinct report reads currently in flight")
+                .register(meterRegistry);
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("report.coalescing.requests")
+                .tag("outcome", outcome)
+                .description("Report reads that made the call, shared a call in flight, or gave up waiting on one")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param batchNo the batch number of the report
+     * @param loader  makes the call
+     * @return the response of the call this request made or shared
+     */
+    public GlobalResponse report(long batchNo, Supplier<GlobalResponse> loader) {
+        return report(batchNo, null, loader);
+    }
+
+    /**
+     * @param batchNo the batch number of the report
+     * @param fields  the selected properties, or null for the whole report
+     * @param loader  makes the call
+     * @return the response of the call this request made or shared
+     */
+    public GlobalResponse report(long batchNo, ReportFields fields, Supplier<GlobalResponse> loader) {
+        return coalesce(new ReportKey(batchNo, fields), loader);
+    }
+
+    /**
+     * @param pageNo   the requested page
+     * @param pageSize the requested page size
+     * @param loader   makes the call
+     * @return the response of the call this request made or shared
+     */
+    public GlobalResponse page(int pageNo, int pageSize, Supplier<GlobalResponse> loader) {
+        return page(pageNo, pageSize, null, loader);
+    }
+
+    /**
+     * @param pageNo   the requested page
+     * @param pageSize the requested page size
+     * @param fields   the selected properties, or null for whole reports
+     * @param loader   makes the call
+     * @return the response of the call this request made or shared
+     */
+    public GlobalResponse page(int pageNo, int pageSize, ReportFields fields, Supplier<GlobalResponse> loader) {
+        return coalesce(new PageKey(pageNo, pageSize, fields), loader);
+    }
+
+    /**
+     * Detaches the calls in flight that may miss a committed change. Requests already waiting on them still get
+     * their response.
+     *
+     * @param event the change published by the service layer
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportChanged(ReportChangedEvent event) {
+        calls.keySet().removeIf(key -> key instanceof PageKey
+                || key instanceof ReportKey report && event.batchNo() != null && report.batchNo() == event.batchNo());
+    }
+
+    private GlobalResponse coalesce(Object key, Supplier<GlobalResponse> loader) {
+        CompletableFuture<GlobalResponse> call = new CompletableFuture<>();
+        CompletableFuture<GlobalResponse> inFlight = calls.putIfAbsent(key, call);
+        while (inFlight != null) {
+            try {
+                GlobalResponse response = inFlight.get(timeoutMillis, TimeUnit.MILLISECONDS);
+                coalesced.increment();
+                return response;
+            } catch (TimeoutException ex) {
+                timedOut.increment();
+                // take over from the slow call, unless another waiter already has
+                inFlight = calls.replace(key, inFlight, call) ? null : calls.putIfAbsent(key, call);
+            } catch (ExecutionException ex) {
+                coalesced.increment();
+                throw ex.getCause() instanceof RuntimeException runtimeException
+                        ? runtimeException : new IllegalStateException(ex.getCause());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a report read", ex);
+            }
+        }
+        led.increment();
+        try {
+            GlobalResponse response = loader.get();
+            call.complete(response);
+            return response;
+        } catch (RuntimeException ex) {
+            call.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+}
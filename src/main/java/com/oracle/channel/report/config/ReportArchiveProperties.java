@@ -0,0 +1,56 @@
+package com.oracle.channel.report.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration of the cold archive of INACTIVE reports.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Data
+@ConfigurationProperties(prefix = "report.archive")
+public class ReportArchiveProperties {
+
+    /**
+     * Whether INACTIVE reports are moved into the archive. Existing archives are read either way.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory holding the segment files. Every instance serving lookups needs the same archive.
+     */
+    private Path directory = Path.of("data", "archive");
+
+    /**
+     * Whether every instance uses this directory, e.g. a shared volume, or only one instance runs. Saves and
+     * deletes of archived reports are decided by the archive, so instances with archives of their own would
+     * disagree about them; archiving refuses to start unless this is set.
+     */
+    private boolean shared = false;
+
+    /**
+     * How long a report has to be INACTIVE, by its last update, before it is archived.
+     */
+    private Duration minAge = Duration.ofDays(30);
+
+    /**
+     * How often the archival job runs.
+     */
+    private Duration interval = Duration.ofHours(1);
+
+    /**
+     * Number of reports moved per transaction.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Size after which a segment is sealed and a new one started, at most 1 GB.
+     */
+    private DataSize segmentMaxSize = DataSize.ofMegabytes(64);
+}
@@ -0,0 +1,58 @@
+package com.oracle.channel.report.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the near-cache for report lookups and listings, kept coherent across instances through
+ * PostgreSQL LISTEN/NOTIFY.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Data
+@ConfigurationProperties(prefix = "report.cache")
+public class ReportCacheProperties {
+
+    /**
+     * Whether report lookups and listings are cached.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of single reports kept.
+     */
+    private long maxReports = 10_000;
+
+    /**
+     * Maximum number of listing pages kept.
+     */
+    private long maxPages = 256;
+
+    /**
+     * Upper bound on the age of a cached entry, should an invalidation ever be lost.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(5);
+
+    /**
+     * Notification channel the invalidations are published on.
+     */
+    private String channel = "report_invalidation";
+
+    /**
+     * How long the listener waits for notifications before checking its connection again.
+     */
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    /**
+     * How often an idle listener connection is validated.
+     */
+    private Duration validationInterval = Duration.ofSeconds(30);
+
+    /**
+     * Delay before a lost listener connection or a failed publish is retried.
+     */
+    private Duration retryDelay = Duration.ofSeconds(5);
+}
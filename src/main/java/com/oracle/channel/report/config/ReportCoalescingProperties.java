@@ -0,0 +1,27 @@
+package com.oracle.channel.report.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the coalescing of identical concurrent report reads.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Data
+@ConfigurationProperties(prefix = "report.coalescing")
+public class ReportCoalescingProperties {
+
+    /**
+     * Whether identical concurrent lookups and listings share one call.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a request waits on a call in flight before it makes a call of its own.
+     */
+    private Duration timeout = Duration.ofSeconds(2);
+}
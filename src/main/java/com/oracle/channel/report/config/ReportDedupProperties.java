@@ -0,0 +1,43 @@
+package com.oracle.channel.report.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the content-addressed storage of report entry metadata.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Data
+@ConfigurationProperties(prefix = "report.dedup")
+public class ReportDedupProperties {
+
+    /**
+     * Whether new entries store their metadata by reference. Entries stored by reference are read either way.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Metadata smaller than this stays inline, where a reference would save next to nothing.
+     */
+    private DataSize minSize = DataSize.ofBytes(256);
+
+    /**
+     * Total size of the metadata blobs kept in memory for reads.
+     */
+    private DataSize cacheSize = DataSize.ofMegabytes(64);
+
+    /**
+     * How often unreferenced blobs are removed.
+     */
+    private Duration sweepInterval = Duration.ofHours(1);
+
+    /**
+     * How long a blob has to stay unreferenced before it is removed.
+     */
+    private Duration sweepGrace = Duration.ofMinutes(10);
+}
@@ -0,0 +1,38 @@
+package com.oracle.channel.report.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration of the in-process report store used by the {@code embedded} profile.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Data
+@ConfigurationProperties(prefix = "report.embedded")
+public class ReportEmbeddedProperties {
+
+    /**
+     * Directory holding the snapshot and the append log; reports are kept in memory only when unset.
+     */
+    private Path directory;
+
+    /**
+     * Number of independently locked partitions of the batch number index, rounded up to a power of two.
+     */
+    private int stripes = 64;
+
+    /**
+     * Whether every write is forced to disk before it returns, rather than left to the page cache.
+     */
+    private boolean sync = false;
+
+    /**
+     * How often the log is folded into a new snapshot.
+     */
+    private Duration checkpointInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,48 @@
+package com.oracle.channel.report.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the in-process report change feed.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Data
+@ConfigurationProperties(prefix = "report.feed")
+public class ReportFeedProperties {
+
+    /**
+     * Number of changes retained for resuming subscribers, rounded up to a power of two.
+     */
+    private int capacity = 4096;
+
+    /**
+     * Maximum number of changes sent to a subscriber per dispatch round.
+     */
+    private int batchSize = 256;
+
+    /**
+     * Threads used to push changes to subscribers.
+     */
+    private int dispatchThreads = 4;
+
+    /**
+     * Longest a single send to a subscriber may take before the subscriber is dropped and its dispatch thread
+     * replaced, so stalled clients cannot hold up the others.
+     */
+    private Duration sendTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Number of changes a subscriber may fall behind before it is sent a {@code resync} instead of the backlog.
+     */
+    private int maxLag = 1024;
+
+    /**
+     * Lifetime of a single SSE connection before the client has to reconnect.
+     */
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,63 @@
+package com.oracle.channel.report.config;
+
+import com.oracle.channel.report.exception.GlobalResponseWriter;
+import com.oracle.channel.report.limiter.ConcurrencyLimitFilter;
+import com.oracle.channel.report.profiling.RequestProfilingFilter;
+import com.oracle.channel.report.ratelimit.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registers the servlet filters guarding the report endpoints.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Configuration
+public class ReportFilterConfig {
+
+    private static final String[] REPORT_URL_PATTERNS = {"/reports", "/reports/*"};
+
+    @Bean
+    public FilterRegistrationBean<RequestProfilingFilter> requestProfilingFilter(ReportProfilingProperties properties) {
+        // outermost, so the profile covers the time spent in the limiters
+        FilterRegistrationBean<RequestProfilingFilter> registration =
+                new FilterRegistrationBean<>(new RequestProfilingFilter(properties.getSlowRequestThreshold()));
+        registration.addUrlPatterns(REPORT_URL_PATTERNS);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "report.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RateLimitFilter rateLimitFilter(ReportRateLimitProperties properties, GlobalResponseWriter responseWriter,
+                                           MeterRegistry meterRegistry) {
+        return new RateLimitFilter(properties, responseWriter, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "report.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        // registered ahead of the concurrency limiter so abusive clients never take an in-flight slot
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.addUrlPatterns(REPORT_URL_PATTERNS);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "report.limiter", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ReportLimiterProperties properties,
+                                                                                 GlobalResponseWriter responseWriter,
+                                                                                 MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(properties, responseWriter, meterRegistry));
+        registration.addUrlPatterns(REPORT_URL_PATTERNS);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
@@ -0,0 +1,52 @@
+package com.oracle.channel.report.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the lifecycle job expiring ACTIVE reports.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Data
+@ConfigurationProperties(prefix = "report.lifecycle")
+public class ReportLifecycleProperties {
+
+    /**
+     * Whether ACTIVE reports are made INACTIVE once their TTL has passed.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long a report stays ACTIVE after its last update.
+     */
+    private Duration ttl = Duration.ofDays(90);
+
+    /**
+     * How often the lifecycle job runs.
+     */
+    private Duration interval = Duration.ofMinutes(5);
+
+    /**
+     * Number of reports expired per transaction.
+     */
+    private int chunkSize = 100;
+
+    /**
+     * Maximum number of chunks per second and shard on this instance.
+     */
+    private double chunksPerSecond = 5;
+
+    /**
+     * Maximum number of chunks per shard and run; the rest is left to the next run.
+     */
+    private int maxChunksPerRun = 1000;
+
+    /**
+     * Timeout of a chunk transaction.
+     */
+    private Duration chunkTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,49 @@
+package com.oracle.channel.report.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the adaptive concurrency limiter in front of the report endpoints.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Data
+@ConfigurationProperties(prefix = "report.limiter")
+public class ReportLimiterProperties {
+
+    /**
+     * Whether requests are limited at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Sampling window after which the limits are recomputed.
+     */
+    private Duration window = Duration.ofSeconds(1);
+
+    /**
+     * Limits applied to read endpoints.
+     */
+    private Limit read = new Limit(20, 4, 200);
+
+    /**
+     * Limits applied to write endpoints.
+     */
+    private Limit write = new Limit(8, 2, 64);
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Limit {
+
+        private int initial;
+        private int min;
+        private int max;
+    }
+}
@@ -0,0 +1,35 @@
+package com.oracle.channel.report.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the multi-get endpoint.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Data
+@ConfigurationProperties(prefix = "report.multi-get")
+public class ReportMultiGetProperties {
+
+    /**
+     * Largest number of batch numbers accepted per request.
+     */
+    private int maxIds = 100_000;
+
+    /**
+     * Batch numbers per IN-query.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Chunks of one request queried at the same time, which also bounds the results buffered per request.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Threads running chunk queries for all requests; keep it below the connection pool size.
+     */
+    private int threads = 8;
+}
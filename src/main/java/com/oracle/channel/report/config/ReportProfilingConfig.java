@@ -0,0 +1,47 @@
+package com.oracle.channel.report.config;
+
+import com.oracle.channel.report.profiling.ProfilingSessionEventListener;
+import com.oracle.channel.report.profiling.ProfilingValidator;
+import com.oracle.channel.report.profiling.RequestProfilingInterceptor;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Hooks the request profiling into Spring MVC and Hibernate: the validator of request bodies is timed, the
+ * profiled request is named after its mapping and the flushes of every session are timed.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Configuration
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ReportProfilingConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Validator> validator;
+
+    @Override
+    public org.springframework.validation.Validator getValidator() {
+        Validator beanValidator = validator.getIfUnique();
+        return beanValidator == null ? null : new ProfilingValidator(new SpringValidatorAdapter(beanValidator));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer profilingSessionEvents() {
+        return properties -> properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                ProfilingSessionEventListener.class.getName());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestProfilingInterceptor()).addPathPatterns("/reports", "/reports/**");
+    }
+}
@@ -0,0 +1,23 @@
+package com.oracle.channel.report.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the profiling of report requests.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Data
+@ConfigurationProperties(prefix = "report.profiling")
+public class ReportProfilingProperties {
+
+    /**
+     * Requests taking at least this long are logged with the time spent per phase. Zero disables the capture;
+     * the flight recorder events are emitted regardless whenever a recording is running.
+     */
+    private Duration slowRequestThreshold = Duration.ZERO;
+}
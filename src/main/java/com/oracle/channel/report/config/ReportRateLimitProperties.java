@@ -0,0 +1,80 @@
+package com.oracle.channel.report.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Configuration of the per-client rate limits on the report endpoints.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Data
+@ConfigurationProperties(prefix = "report.rate-limit")
+public class ReportRateLimitProperties {
+
+    /**
+     * Whether clients are rate limited at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Request header identifying the client, e.g. an API key. Requests without it are keyed by client address,
+     * the forwarded one behind a proxy trusted by {@code server.forward-headers-strategy}.
+     */
+    private String clientHeader = "X-API-Key";
+
+    /**
+     * Optional allowlist of client header values given their own budget. When set, other values are keyed by
+     * client address as if the header were missing; when empty, every header value is a client of its own.
+     */
+    private Set<String> clients = new HashSet<>();
+
+    /**
+     * Number of clients tracked per budget before new clients share a single bucket. This bounds what made-up
+     * client header values can gain.
+     */
+    private int maxClients = 100_000;
+
+    /**
+     * How often clients with a full bucket are evicted from memory.
+     */
+    private Duration evictInterval = Duration.ofMinutes(1);
+
+    /**
+     * Budget for report ingestion (save, append and delete).
+     */
+    private Budget ingest = new Budget(50, 100);
+
+    /**
+     * Budget for bulk status changes.
+     */
+    private Budget statusChange = new Budget(5, 10);
+
+    /**
+     * Budget for reads.
+     */
+    private Budget read = new Budget(200, 400);
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Budget {
+
+        /**
+         * Sustained requests per second.
+         */
+        private double ratePerSecond;
+
+        /**
+         * Requests allowed at once after a client has been idle.
+         */
+        private int burst;
+    }
+}
@@ -0,0 +1,51 @@
+package com.oracle.channel.report.config;
+
+import com.oracle.channel.report.cache.ReportNearCache;
+import com.oracle.channel.report.coalescing.ReportRequestCoalescer;
+import com.oracle.channel.report.service.ReportItemService;
+import com.oracle.channel.report.service.ReportService;
+import com.oracle.channel.report.service.impl.CachingReportService;
+import com.oracle.channel.report.service.impl.CoalescingReportService;
+import com.oracle.channel.report.service.impl.ReportItemServiceImpl;
+import com.oracle.channel.report.service.impl.ReportServiceImpl;
+import com.oracle.channel.report.service.impl.ShardedReportItemService;
+import com.oracle.channel.report.service.impl.ShardedReportService;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Assembles the report services used by the controllers from the transactional implementations. Reads go
+ * through the request coalescing, then the near-cache, then the shards, whichever of them are enabled.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Configuration
+@Profile("!embedded")
+public class ReportServiceConfig {
+
+    @Bean
+    @Primary
+    public ReportService reportService(ReportServiceImpl reportServiceImpl, ReportShardRouter router,
+                                       ObjectProvider<ReportNearCache> reportNearCache,
+                                       ObjectProvider<ReportRequestCoalescer> coalescer) {
+        ReportService reportService = router.isSharded()
+                ? new ShardedReportService(reportServiceImpl, router) : reportServiceImpl;
+        ReportNearCache cache = reportNearCache.getIfAvailable();
+        if (cache != null) {
+            reportService = new CachingReportService(reportService, cache);
+        }
+        ReportRequestCoalescer requestCoalescer = coalescer.getIfAvailable();
+        return requestCoalescer == null ? reportService : new CoalescingReportService(reportService, requestCoalescer);
+    }
+
+    @Bean
+    @Primary
+    public ReportItemService reportItemService(ReportItemServiceImpl reportItemServiceImpl, ReportShardRouter router) {
+        return router.isSharded() ? new ShardedReportItemService(reportItemServiceImpl, router) : reportItemServiceImpl;
+    }
+}
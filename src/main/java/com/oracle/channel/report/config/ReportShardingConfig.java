@@ -0,0 +1,68 @@
+package com.oracle.channel.report.config;
+
+import com.oracle.channel.report.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Replaces the datasource with one routing to the configured shards and migrates every shard on startup.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "report.sharding", name = "enabled", havingValue = "true")
+public class ReportShardingConfig {
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(ReportShardingProperties properties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("report.sharding.enabled is set but no report.sharding.shards are configured");
+        }
+        List<DataSource> shards = properties.getShards().stream()
+                .map(shard -> shardDataSource(shard, properties))
+                .toList();
+        log.info("ReportSharding: [shards= {}]", properties.getShards().stream()
+                .map(ReportShardingProperties.Shard::getName).toList());
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    public FlywayMigrationStrategy shardMigrationStrategy(ShardRoutingDataSource dataSource) {
+        return flyway -> {
+            for (DataSource shard : dataSource.getShards()) {
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(shard)
+                        .load()
+                        .migrate();
+            }
+        };
+    }
+
+    private static DataSource shardDataSource(ReportShardingProperties.Shard shard,
+                                              ReportShardingProperties properties) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(shard.getUrl())
+                .username(shard.getUsername())
+                .password(shard.getPassword())
+                .build();
+        dataSource.setPoolName("report-shard-" + shard.getName());
+        dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+        dataSource.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        return dataSource;
+    }
+}
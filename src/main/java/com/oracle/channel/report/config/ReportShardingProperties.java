@@ -0,0 +1,62 @@
+package com.oracle.channel.report.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of horizontal sharding of reports by batch number.
+ * <p>
+ * The order of {@link #shards} defines the shard numbers; changing the number of shards moves reports to
+ * other shards and requires a data migration.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Data
+@ConfigurationProperties(prefix = "report.sharding")
+public class ReportShardingProperties {
+
+    /**
+     * Whether reports are spread across {@link #shards}; when disabled the regular datasource is used.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The shard databases.
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Threads used to query shards in parallel.
+     */
+    private int fanOutThreads = 8;
+
+    /**
+     * Largest number of rows a listing page may need from each shard (page number times page size).
+     */
+    private int maxFanOutWindow = 10_000;
+
+    /**
+     * How long a request waits for a connection of a shard.
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(30);
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Shard {
+
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
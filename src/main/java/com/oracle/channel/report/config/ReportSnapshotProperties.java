@@ -0,0 +1,53 @@
+package com.oracle.channel.report.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration of the precomputed export of ACTIVE reports.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Data
+@ConfigurationProperties(prefix = "report.snapshot")
+public class ReportSnapshotProperties {
+
+    /**
+     * Whether snapshots are written. Existing snapshots are served either way.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory holding the snapshot files, local to each instance.
+     */
+    private Path directory = Path.of("data", "snapshots");
+
+    /**
+     * How often a new snapshot is written.
+     */
+    private Duration interval = Duration.ofHours(1);
+
+    /**
+     * Delay of the first snapshot after startup; skipped if the latest snapshot on disk is recent enough.
+     */
+    private Duration initialDelay = Duration.ofSeconds(30);
+
+    /**
+     * Whether snapshots are gzip-compressed NDJSON rather than plain NDJSON.
+     */
+    private boolean compressed = true;
+
+    /**
+     * Number of rows fetched from the database at a time.
+     */
+    private int fetchSize = 500;
+
+    /**
+     * Number of snapshots kept, so downloads of the previous one can finish after a new one is written.
+     */
+    private int retain = 2;
+}
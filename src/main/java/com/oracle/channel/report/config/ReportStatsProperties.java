@@ -0,0 +1,34 @@
+package com.oracle.channel.report.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the incrementally maintained report statistics.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Data
+@ConfigurationProperties(prefix = "report.stats")
+public class ReportStatsProperties {
+
+    /**
+     * How often the statistics are recomputed from the database to correct any drift.
+     */
+    private Duration reconcileInterval = Duration.ofMinutes(15);
+
+    /**
+     * Number of days, today included, the daily report volume is kept for.
+     */
+    private int dailyVolumeDays = 30;
+
+    /**
+     * Whether the report listing uses the maintained ACTIVE count instead of counting on every page. Each instance
+     * maintains its own count from the writes it sees, so only enable this when a single instance writes reports;
+     * otherwise page totals differ between instances until the next reconcile.
+     */
+    private boolean maintainedListingCount = false;
+}
@@ -1,19 +1,51 @@
 package com.oracle.channel.report.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oracle.channel.report.dtos.request.ReportFields;
+import com.oracle.channel.report.dtos.request.ReportItemAppendDto;
+import com.oracle.channel.report.dtos.request.ReportMultiGetDto;
 import com.oracle.channel.report.dtos.request.ReportRequestDto;
 import com.oracle.channel.report.dtos.request.ReportUpdateDto;
 import com.oracle.channel.report.dtos.response.GlobalResponse;
+import com.oracle.channel.report.dtos.response.data.ReportStats;
+import com.oracle.channel.report.enums.ReportView;
+import com.oracle.channel.report.enums.ResponseCodeEnum;
+import com.oracle.channel.report.exception.ErrorResponse;
+import com.oracle.channel.report.exception.ReportNotFoundException;
+import com.oracle.channel.report.feed.ReportChangeFeed;
+import com.oracle.channel.report.service.ReportItemService;
+import com.oracle.channel.report.service.ReportMultiGetService;
 import com.oracle.channel.report.service.ReportService;
+import com.oracle.channel.report.service.ReportStream;
+import com.oracle.channel.report.snapshot.ReportSnapshot;
+import com.oracle.channel.report.snapshot.ReportSnapshotStore;
+import com.oracle.channel.report.snapshot.ReportSnapshotTransfer;
+import com.oracle.channel.report.stats.ReportStatistics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Controller class for managing reports.
  * This class provides endpoints for creating, deleting, updating, and fetching reports.
  */
+@Slf4j
 @RestController
 @RequestMapping("/reports")
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
@@ -24,6 +56,41 @@ public class ReportController {
      */
     private final ReportService reportService;
 
+    /**
+     * The service layer dependency for item-level report data access.
+     */
+    private final ReportItemService reportItemService;
+
+    /**
+     * The in-process feed of committed report changes.
+     */
+    private final ReportChangeFeed reportChangeFeed;
+
+    /**
+     * The incrementally maintained report statistics.
+     */
+    private final ReportStatistics reportStatistics;
+
+    /**
+     * The service layer dependency for fetching many reports at once.
+     */
+    private final ReportMultiGetService reportMultiGetService;
+
+    /**
+     * Writes streamed responses.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The precomputed export of active reports, absent in the {@code embedded} profile.
+     */
+    private final ObjectProvider<ReportSnapshotStore> reportSnapshotStore;
+
+    /**
+     * Sends snapshot files.
+     */
+    private final ReportSnapshotTransfer reportSnapshotTransfer;
+
     /**
      * Endpoint to save a new report.
      *
@@ -81,4 +148,196 @@ public class ReportController {
         // Returns the response wrapped in a ResponseEntity
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Endpoint to fetch a paginated list of reports holding only the selected properties. Only those are read
+     * from the database and written into the response.
+     *
+     * @param pageNo the page number (default is 1)
+     * @param pageSize the number of records per page (default is 20)
+     * @param fields comma-separated properties, e.g. {@code batchNo,status,reportData.name}
+     * @return ResponseEntity containing the paginated report response
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<GlobalResponse> fetchReport(@RequestParam(defaultValue = "1", required = false) int pageNo,
+                                                      @RequestParam(defaultValue = "20", required = false) int pageSize,
+                                                      @RequestParam String fields) {
+        // Calls the service layer to fetch the selected properties of a page of reports
+        GlobalResponse response = reportService.fetchReport(pageNo, pageSize, ReportFields.parse(fields));
+        // Returns the response wrapped in a ResponseEntity
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Endpoint to fetch a single report, including archived ones.
+     *
+     * @param batchNo the batch number of the report
+     * @return ResponseEntity containing the report
+     */
+    @GetMapping("/{batchNo}")
+    public ResponseEntity<GlobalResponse> fetchReportByBatchNo(@PathVariable long batchNo) {
+        // Calls the service layer to look the report up
+        GlobalResponse response = reportService.fetchReportByBatchNo(batchNo);
+        // Returns the response wrapped in a ResponseEntity
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Endpoint to fetch the selected properties of a single report, including archived ones.
+     *
+     * @param batchNo the batch number of the report
+     * @param fields comma-separated properties, e.g. {@code batchNo,status,reportData.name}
+     * @return ResponseEntity containing the report
+     */
+    @GetMapping(value = "/{batchNo}", params = "fields")
+    public ResponseEntity<GlobalResponse> fetchReportByBatchNo(@PathVariable long batchNo,
+                                                               @RequestParam String fields) {
+        // Calls the service layer to look the selected properties of the report up
+        GlobalResponse response = reportService.fetchReportByBatchNo(batchNo, ReportFields.parse(fields));
+        // Returns the response wrapped in a ResponseEntity
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Endpoint to fetch many reports by batch number in one call. Reports are streamed as their queries
+     * complete, followed by the batch numbers that were not found. Should the lookup fail midway, the
+     * response ends with an error instead of the missing batch numbers.
+     *
+     * @param reportMultiGetDto the batch numbers and the view (SUMMARY or FULL, default FULL) to return
+     * @return ResponseEntity streaming a GlobalResponse with the reports and missing batch numbers
+     */
+    @PostMapping(value = "/multi-get", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> fetchReports(@RequestBody @Valid ReportMultiGetDto reportMultiGetDto) {
+        // Validates the request and starts the first queries before the response is committed
+        ReportStream reportStream = reportMultiGetService.fetchReports(reportMultiGetDto);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> writeReports(reportStream, reportMultiGetDto.viewOrDefault(), out));
+    }
+
+    /**
+     * Endpoint to page through the data entries of a report.
+     *
+     * @param batchNo the batch number of the report
+     * @param cursor the cursor returned with the previous page (optional)
+     * @param limit the maximum number of entries per page (default is 100)
+     * @return ResponseEntity containing the page of entries and the next cursor
+     */
+    @GetMapping("/{batchNo}/items")
+    public ResponseEntity<GlobalResponse> fetchItems(@PathVariable long batchNo,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "100", required = false) int limit) {
+        // Calls the service layer to fetch one page of report data entries
+        GlobalResponse response = reportItemService.fetchItems(batchNo, cursor, limit);
+        // Returns the response wrapped in a ResponseEntity
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Endpoint to append data entries to an existing report.
+     *
+     * @param batchNo the batch number of the report
+     * @param reportItemAppendDto the entries to append
+     * @return ResponseEntity containing the number of appended entries and the new report size
+     */
+    @PostMapping("/{batchNo}/items")
+    public ResponseEntity<GlobalResponse> appendItems(@PathVariable long batchNo,
+                                                      @RequestBody @Valid ReportItemAppendDto reportItemAppendDto) {
+        // Calls the service layer to append the entries
+        GlobalResponse response = reportItemService.appendItems(batchNo, reportItemAppendDto);
+        // Returns the response wrapped in a ResponseEntity
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Endpoint to fetch report statistics: counts by status, daily volume and the distribution of size
+     * and data entries. Served from maintained rollups, so it does not scan the reports.
+     *
+     * @return ResponseEntity containing the report statistics
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<GlobalResponse> fetchStats() {
+        ReportStats stats = reportStatistics.stats();
+        return ResponseEntity.ok(new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(),
+                ResponseCodeEnum.SUCCESS.name(), stats));
+    }
+
+    /**
+     * Endpoint to download the latest snapshot of all active reports, one report per line (NDJSON) with its
+     * appended entries included, gzip-compressed unless configured otherwise. Supports {@code Range} and
+     * {@code If-Range}, so interrupted downloads resume where they stopped, and conditional requests by
+     * {@code ETag}.
+     *
+     * @param request  the download request
+     * @param response the response the snapshot file is sent with
+     */
+    @GetMapping("/snapshot")
+    public void downloadSnapshot(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ReportSnapshotStore snapshotStore = reportSnapshotStore.getIfAvailable();
+        ReportSnapshot snapshot = snapshotStore == null ? null : snapshotStore.current();
+        if (snapshot == null) {
+            log.warn("No report snapshot written yet");
+            throw new ReportNotFoundException("Error Report snapshot does not exist: ");
+        }
+        reportSnapshotTransfer.send(snapshot, request, response);
+    }
+
+    /**
+     * Endpoint to stream report changes (created, status changed, deleted) as server-sent events.
+     * Clients resume after a reconnect by sending the last seen sequence number, either as the
+     * standard {@code Last-Event-ID} header or as the {@code since} parameter.
+     *
+     * @param since the last sequence number seen by the client (optional)
+     * @param lastEventId the last event id sent back by an EventSource client (optional)
+     * @return the emitter streaming the changes
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        // Explicit parameter wins over the header sent by an automatic EventSource reconnect
+        return reportChangeFeed.subscribe(since != null ? since : lastEventId);
+    }
+
+    private void writeReports(ReportStream reportStream, ReportView view, OutputStream out) throws IOException {
+        try (JsonGenerator json = objectMapper.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeObjectFieldStart("data");
+            json.writeStringField("view", view.name());
+            json.writeNumberField("requested", reportStream.requested());
+            json.writeArrayFieldStart("reports");
+            List<Long> missing = null;
+            ErrorResponse error = null;
+            try {
+                missing = reportStream.drain(reports -> {
+                    try {
+                        for (Object report : reports) {
+                            json.writeObject(report);
+                        }
+                        json.flush();
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                // the client has gone away
+                throw ex.getCause();
+            } catch (RuntimeException ex) {
+                log.info("Error Fetching Reports: {}", ex.getMessage());
+                error = new ErrorResponse(ResponseCodeEnum.SYS_MALFUNCTION.getCode(), "System Malfunction",
+                        LocalDateTime.now());
+            }
+            json.writeEndArray();
+            if (missing != null) {
+                json.writeObjectField("missing", missing);
+            }
+            json.writeEndObject();
+            ResponseCodeEnum responseCode = error == null ? ResponseCodeEnum.SUCCESS : ResponseCodeEnum.SYS_MALFUNCTION;
+            json.writeStringField("responseCode", responseCode.getCode());
+            json.writeStringField("message", responseCode.name());
+            if (error != null) {
+                json.writeObjectField("error", error);
+            }
+            json.writeEndObject();
+        }
+    }
 }
@@ -0,0 +1,309 @@
+package com.oracle.channel.report.dedup;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oracle.channel.report.config.ReportDedupProperties;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.models.data.RawJson;
+import com.oracle.channel.report.models.data.ReportData;
+import com.oracle.channel.report.repository.ReportBlobRepository;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Content-addressed storage of the metadata of report entries.
+ * <p>
+ * With {@code report.dedup.enabled}, metadata of at least {@code report.dedup.min-size} is stored once per
+ * distinct SHA-256 in the {@code report_blob} table of the shard, and the stored entry keeps only the hash in
+ * {@code metadataRef}. Blobs count the entries referencing them; deleting or archiving a report releases its
+ * references, and blobs left unreferenced for {@code report.dedup.sweep-grace} are removed by a periodic sweep.
+ * Reads put the metadata back, looking up all blobs of a response at once. A hash always names the same content,
+ * so blobs are cached in memory without ever being invalidated.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Slf4j
+@Component
+@Profile("!embedded")
+public class ReportBlobStore {
+
+    private static final int SWEEP_BATCH_SIZE = 1000;
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final ReportBlobRepository reportBlobRepository;
+    private final ReportShardRouter router;
+    private final ReportDedupProperties properties;
+    private final Cache<String, RawJson> blobs;
+    private final Counter blobsStored;
+    private final Counter blobsShared;
+    private final Counter bytesSaved;
+    private final Counter blobsSwept;
+
+    @Autowired
+    public ReportBlobStore(ReportBlobRepository reportBlobRepository, ReportShardRouter router,
+                           ReportDedupProperties properties, MeterRegistry meterRegistry) {
+        this.reportBlobRepository = reportBlobRepository;
+        this.router = router;
+        this.properties = properties;
+        this.blobs = Caffeine.newBuilder()
+                .maximumWeight(properties.getCacheSize().toBytes())
+                .<String, RawJson>weigher((hash, content) -> content.json().length())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, blobs, "report.dedup.blobs");
+        this.blobsStored = blobCounter(meterRegistry, "stored");
+        this.blobsShared = blobCounter(meterRegistry, "shared");
+        this.bytesSaved = Counter.builder("report.dedup.bytes.saved")
+                .baseUnit("bytes")
+                .description("Metadata bytes not written because an identical blob was already stored")
+                .register(meterRegistry);
+        this.blobsSwept = Counter.builder("report.dedup.blobs.swept")
+                .description("Unreferenced metadata blobs removed")
+                .register(meterRegistry);
+    }
+
+    private static Counter blobCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("report.dedup.blobs.written")
+                .tag("outcome", outcome)
+                .description("Distinct metadata blobs of written entries that were new or already stored")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Prepares entries for storage, storing their metadata blobs and taking a reference on each. References
+     * supplied by clients are dropped either way. Runs in the transaction storing the entries, on their shard.
+     *
+     * @param entries the entries to store
+     * @return the entries as they are stored, or the list itself if they are stored as they are
+     */
+    public List<ReportData> store(List<ReportData> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return entries;
+        }
+        long minSize = properties.getMinSize().toBytes();
+        MessageDigest digest = properties.isEnabled() ? sha256() : null;
+        Map<String, String> contents = new TreeMap<>();
+        Map<String, Long> references = new HashMap<>();
+        List<ReportData> stored = new ArrayList<>(entries.size());
+        boolean changed = false;
+        for (ReportData entry : entries) {
+            RawJson metadata = entry.getMetadata();
+            if (digest == null || metadata == null || metadata.json().length() < minSize) {
+                changed |= entry.getMetadataRef() != null;
+                stored.add(entry.getMetadataRef() == null ? entry
+                        : new ReportData(entry.getName(), entry.getDesc(), metadata));
+                continue;
+            }
+            String hash = HEX.formatHex(digest.digest(metadata.json().getBytes(StandardCharsets.UTF_8)));
+            contents.putIfAbsent(hash, metadata.json());
+            references.merge(hash, 1L, Long::sum);
+            stored.add(new ReportData(entry.getName(), entry.getDesc(), null, hash));
+        }
+        if (contents.isEmpty()) {
+            return changed ? stored : entries;
+        }
+        List<ReportBlobRepository.Blob> acquired = new ArrayList<>(contents.size());
+        contents.forEach((hash, content) -> acquired.add(new ReportBlobRepository.Blob(hash, content,
+                content.getBytes(StandardCharsets.UTF_8).length, references.get(hash))));
+        double saved = 0;
+        int inserted = 0;
+        int shared = 0;
+        for (ReportBlobRepository.Stored blob : reportBlobRepository.acquire(acquired)) {
+            // one copy is written for a new blob, none for a shared one
+            long copiesSaved = blob.inserted() ? blob.blob().references() - 1 : blob.blob().references();
+            saved += (double) copiesSaved * blob.blob().byteSize();
+            if (blob.inserted()) {
+                inserted++;
+            } else {
+                shared++;
+            }
+        }
+        countAfterCommit(saved, inserted, shared);
+        return stored;
+    }
+
+    /**
+     * Counts stored blobs once the transaction storing them commits, so rolled back writes are not counted.
+     */
+    private void countAfterCommit(double saved, int inserted, int shared) {
+        Runnable count = () -> {
+            bytesSaved.increment(saved);
+            blobsStored.increment(inserted);
+            blobsShared.increment(shared);
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            count.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                count.run();
+            }
+        });
+    }
+
+    /**
+     * @param entries entries as stored
+     * @return the entries with the referenced metadata put back, or the list itself if nothing is referenced
+     */
+    public List<ReportData> resolve(List<ReportData> entries) {
+        Set<String> hashes = new HashSet<>();
+        collectReferences(entries, hashes);
+        return hashes.isEmpty() ? entries : fill(entries, load(hashes));
+    }
+
+    /**
+     * @param report a report as stored
+     * @return a detached copy with the referenced metadata put back, or the report itself if nothing is referenced
+     */
+    public ReportModel resolve(ReportModel report) {
+        return report == null ? null : resolveAll(List.of(report)).get(0);
+    }
+
+    /**
+     * Puts back the referenced metadata of several reports with one lookup.
+     *
+     * @param reports reports as stored
+     * @return the reports in the same order, detached copies where metadata was referenced
+     */
+    public List<ReportModel> resolveAll(List<ReportModel> reports) {
+        Set<String> hashes = new HashSet<>();
+        reports.forEach(report -> collectReferences(report.getReportData(), hashes));
+        if (hashes.isEmpty()) {
+            return reports;
+        }
+        Map<String, RawJson> contents = load(hashes);
+        List<ReportModel> resolved = new ArrayList<>(reports.size());
+        for (ReportModel report : reports) {
+            List<ReportData> reportData = fill(report.getReportData(), contents);
+            resolved.add(reportData == report.getReportData() ? report : report.withReportData(reportData));
+        }
+        return resolved;
+    }
+
+    /**
+     * Releases the references held by reports about to be removed, including their appended entries. Runs in the
+     * transaction removing the reports, before they are deleted and with their rows locked, so no entries are
+     * appended after they are counted.
+     *
+     * @param reports the reports as stored
+     */
+    public void release(List<ReportModel> reports) {
+        if (reports.isEmpty()) {
+            return;
+        }
+        Map<String, Long> references = new TreeMap<>();
+        for (ReportModel report : reports) {
+            if (report.getReportData() != null) {
+                report.getReportData().stream()
+                        .filter(entry -> entry.getMetadataRef() != null)
+                        .forEach(entry -> references.merge(entry.getMetadataRef(), 1L, Long::sum));
+            }
+        }
+        reportBlobRepository.countAppendedReferences(reports.stream().map(ReportModel::getBatchNo).toList())
+                .forEach((hash, count) -> references.merge(hash, count, Long::sum));
+        if (!references.isEmpty()) {
+            reportBlobRepository.release(references);
+        }
+    }
+
+    /**
+     * Removes the blobs no longer referenced on every shard. Runs whether or not deduplication is enabled, so
+     * blobs written while it was are still reclaimed.
+     */
+    @Scheduled(fixedDelayString = "${report.dedup.sweep-interval:1h}",
+            initialDelayString = "${report.dedup.sweep-interval:1h}")
+    public void sweep() {
+        Date cutoff = new Date(System.currentTimeMillis() - properties.getSweepGrace().toMillis());
+        List<Integer> swept = router.fanOut(shard -> {
+            int blobsRemoved = 0;
+            try {
+                int removed;
+                do {
+                    removed = reportBlobRepository.deleteUnreferenced(cutoff, SWEEP_BATCH_SIZE);
+                    blobsRemoved += removed;
+                } while (removed == SWEEP_BATCH_SIZE);
+            } catch (RuntimeException ex) {
+                log.warn("Error Sweeping Report Blobs: [shard= {},\nerror= {}]", shard, ex.getMessage());
+            }
+            return blobsRemoved;
+        });
+        int total = swept.stream().mapToInt(Integer::intValue).sum();
+        blobsSwept.increment(total);
+        log.info("ReportBlobsSwept: [blobs= {},\ncutoff= {},\nTime: {}]", total, cutoff, LocalDateTime.now());
+    }
+
+    private Map<String, RawJson> load(Set<String> hashes) {
+        Map<String, RawJson> contents = new HashMap<>(blobs.getAllPresent(hashes));
+        if (contents.size() < hashes.size()) {
+            List<String> missing = hashes.stream().filter(hash -> !contents.containsKey(hash)).toList();
+            Map<String, RawJson> loaded = reportBlobRepository.findContents(missing);
+            blobs.putAll(loaded);
+            contents.putAll(loaded);
+        }
+        return contents;
+    }
+
+    private static void collectReferences(List<ReportData> entries, Set<String> hashes) {
+        if (entries != null) {
+            for (ReportData entry : entries) {
+                if (entry.getMetadataRef() != null) {
+                    hashes.add(entry.getMetadataRef());
+                }
+            }
+        }
+    }
+
+    private static List<ReportData> fill(List<ReportData> entries, Map<String, RawJson> contents) {
+        if (entries == null || entries.stream().allMatch(entry -> entry.getMetadataRef() == null)) {
+            return entries;
+        }
+        List<ReportData> filled = new ArrayList<>(entries.size());
+        for (ReportData entry : entries) {
+            if (entry.getMetadataRef() == null) {
+                filled.add(entry);
+                continue;
+            }
+            RawJson metadata = contents.get(entry.getMetadataRef());
+            if (metadata == null) {
+                throw new IllegalStateException("Missing report blob " + entry.getMetadataRef());
+            }
+            filled.add(new ReportData(entry.getName(), entry.getDesc(), metadata));
+        }
+        return filled;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.oracle.channel.report.dtos.request;
+
+import com.oracle.channel.report.dtos.response.data.ReportProjection;
+import com.oracle.channel.report.enums.ReportEntryField;
+import com.oracle.channel.report.enums.ReportField;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.models.data.ReportData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The report properties selected with the {@code fields} parameter of the read endpoints.
+ * <p>
+ * A comma-separated list of {@code id, batchNo, size, status, reportData, createdAt, updatedAt}. Selecting
+ * {@code reportData.name}, {@code reportData.desc} or {@code reportData.metadata} narrows the entries to those
+ * properties, selecting {@code reportData} returns them whole.
+ * </p>
+ *
+ * @param fields       the selected report properties
+ * @param entryFields  the selected entry properties, all of them unless narrowed
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public record ReportFields(Set<ReportField> fields, Set<ReportEntryField> entryFields) {
+
+    private static final String REPORT_DATA_PREFIX = ReportField.REPORT_DATA.getProperty() + ".";
+
+    public ReportFields {
+        fields = Collections.unmodifiableSet(EnumSet.copyOf(fields));
+        entryFields = entryFields.isEmpty() ? Set.of()
+                : Collections.unmodifiableSet(EnumSet.copyOf(entryFields));
+    }
+
+    /**
+     * @return the selection of every report property, entries included whole
+     */
+    public static ReportFields all() {
+        return new ReportFields(EnumSet.allOf(ReportField.class), EnumSet.allOf(ReportEntryField.class));
+    }
+
+    /**
+     * @param spec the {@code fields} parameter
+     * @return the selection, or null if the parameter is absent and whole reports are returned
+     */
+    public static ReportFields parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return null;
+        }
+        Set<ReportField> fields = EnumSet.noneOf(ReportField.class);
+        Set<ReportEntryField> entryFields = EnumSet.noneOf(ReportEntryField.class);
+        boolean wholeEntries = false;
+        for (String name : spec.split(",")) {
+            String property = name.trim();
+            if (property.startsWith(REPORT_DATA_PREFIX)) {
+                fields.add(ReportField.REPORT_DATA);
+                entryFields.add(entryField(property.substring(REPORT_DATA_PREFIX.length())));
+            } else if (!property.isEmpty()) {
+                ReportField field = field(property);
+                fields.add(field);
+                wholeEntries |= field == ReportField.REPORT_DATA;
+            }
+        }
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("fields selects no report property");
+        }
+        if (wholeEntries || !fields.contains(ReportField.REPORT_DATA)) {
+            entryFields = fields.contains(ReportField.REPORT_DATA)
+                    ? EnumSet.allOf(ReportEntryField.class) : EnumSet.noneOf(ReportEntryField.class);
+        }
+        return new ReportFields(fields, entryFields);
+    }
+
+    public boolean has(ReportField field) {
+        return fields.contains(field);
+    }
+
+    public boolean has(ReportEntryField entryField) {
+        return entryFields.contains(entryField);
+    }
+
+    /**
+     * @return true if the entries are selected with all their properties
+     */
+    public boolean hasWholeEntries() {
+        return entryFields.size() == ReportEntryField.values().length;
+    }
+
+    /**
+     * Picks the selected properties of a report.
+     *
+     * @param report the report, holding at least the selected properties
+     * @return the projection written in place of the report
+     */
+    public ReportProjection project(ReportModel report) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (ReportField field : fields) {
+            properties.put(field.getProperty(), switch (field) {
+                case ID -> report.getId();
+                case BATCH_NO -> report.getBatchNo();
+                case SIZE -> report.getSize();
+                case STATUS -> report.getStatus();
+                case REPORT_DATA -> project(report.getReportData());
+                case CREATED_AT -> report.getCreatedAt();
+                case UPDATED_AT -> report.getUpdatedAt();
+            });
+        }
+        return new ReportProjection(report.getBatchNo(), report.getUpdatedAt(), properties);
+    }
+
+    private List<Map<String, Object>> project(List<ReportData> reportData) {
+        if (reportData == null) {
+            return null;
+        }
+        List<Map<String, Object>> entries = new ArrayList<>(reportData.size());
+        for (ReportData entry : reportData) {
+            Map<String, Object> properties = new LinkedHashMap<>();
+            for (ReportEntryField entryField : entryFields) {
+                properties.put(entryField.getProperty(), switch (entryField) {
+                    case NAME -> entry.getName();
+                    case DESC -> entry.getDesc();
+                    case METADATA -> entry.getMetadata();
+                });
+            }
+            entries.add(properties);
+        }
+        return entries;
+    }
+
+    private static ReportField field(String property) {
+        for (ReportField field : ReportField.values()) {
+            if (field.getProperty().equals(property)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown report field: " + property);
+    }
+
+    private static ReportEntryField entryField(String property) {
+        for (ReportEntryField entryField : ReportEntryField.values()) {
+            if (entryField.getProperty().equals(property)) {
+                return entryField;
+            }
+        }
+        throw new IllegalArgumentException("Unknown report data field: " + property);
+    }
+
+    @Override
+    public String toString() {
+        String selected = fields.stream().map(ReportField::getProperty).collect(Collectors.joining(","));
+        return hasWholeEntries() || entryFields.isEmpty() ? selected : selected + entryFields.stream()
+                .map(entryField -> REPORT_DATA_PREFIX + entryField.getProperty())
+                .collect(Collectors.joining(",", ",", ""));
+    }
+}
@@ -0,0 +1,13 @@
+package com.oracle.channel.report.dtos.request;
+
+import com.oracle.channel.report.models.data.ReportData;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public record ReportItemAppendDto(@NotEmpty List<ReportData> reportData) {
+}
@@ -0,0 +1,18 @@
+package com.oracle.channel.report.dtos.request;
+
+import com.oracle.channel.report.enums.ReportView;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public record ReportMultiGetDto(@NotEmpty List<Long> batchIds,
+                                ReportView view) {
+
+    public ReportView viewOrDefault() {
+        return view == null ? ReportView.FULL : view;
+    }
+}
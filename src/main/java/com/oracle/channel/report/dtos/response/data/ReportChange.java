@@ -0,0 +1,22 @@
+package com.oracle.channel.report.dtos.response.data;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.oracle.channel.report.enums.ReportChangeType;
+import com.oracle.channel.report.enums.ReportStatus;
+
+import java.time.Instant;
+
+/**
+ * A single entry of the report change feed.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ReportChange(long sequence,
+                           ReportChangeType type,
+                           Long batchNo,
+                           ReportStatus status,
+                           ReportStatus previousStatus,
+                           Instant timeStamp) {
+}
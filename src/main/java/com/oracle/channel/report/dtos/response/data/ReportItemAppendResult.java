@@ -0,0 +1,12 @@
+package com.oracle.channel.report.dtos.response.data;
+
+/**
+ * Outcome of appending entries to a report.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public record ReportItemAppendResult(long batchNo,
+                                     int appended,
+                                     int size) {
+}
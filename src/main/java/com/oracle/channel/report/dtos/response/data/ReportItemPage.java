@@ -0,0 +1,16 @@
+package com.oracle.channel.report.dtos.response.data;
+
+import com.oracle.channel.report.models.data.ReportData;
+
+import java.util.List;
+
+/**
+ * A page of report data entries. {@code nextCursor} is null once the last entry has been returned.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public record ReportItemPage(long batchNo,
+                             List<ReportData> items,
+                             String nextCursor) {
+}
@@ -0,0 +1,20 @@
+package com.oracle.channel.report.dtos.response.data;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * The selected properties of a report, written as an object holding only those.
+ *
+ * @param batchNo    the batch number, kept to order listings whether or not it is selected
+ * @param updatedAt  the last update, kept to order listings whether or not it is selected
+ * @param properties the selected properties by name
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public record ReportProjection(Long batchNo,
+                               Date updatedAt,
+                               @JsonValue Map<String, Object> properties) {
+}
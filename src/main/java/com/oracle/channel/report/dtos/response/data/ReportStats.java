@@ -0,0 +1,36 @@
+package com.oracle.channel.report.dtos.response.data;
+
+import com.oracle.channel.report.enums.ReportStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Report statistics served from the maintained rollups.
+ *
+ * @param total              the number of reports
+ * @param countByStatus      the number of reports per status
+ * @param dailyVolume        the number of reports created per day, oldest day first
+ * @param sizeDistribution   the number of reports per range of {@code size}
+ * @param lengthDistribution the number of reports per range of saved {@code reportData} entries
+ * @param reconciledAt       when the statistics were last recomputed from the database
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public record ReportStats(long total,
+                          Map<ReportStatus, Long> countByStatus,
+                          Map<LocalDate, Long> dailyVolume,
+                          List<Bucket> sizeDistribution,
+                          List<Bucket> lengthDistribution,
+                          Instant reconciledAt) {
+
+    /**
+     * @param from    the smallest value of the range
+     * @param to      the largest value of the range
+     * @param reports the number of reports in the range
+     */
+    public record Bucket(long from, long to, long reports) {
+    }
+}
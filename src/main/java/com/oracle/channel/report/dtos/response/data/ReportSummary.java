@@ -0,0 +1,24 @@
+package com.oracle.channel.report.dtos.response.data;
+
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.models.ReportModel;
+
+import java.util.Date;
+
+/**
+ * A report without its report data.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public record ReportSummary(Long batchNo,
+                            Integer size,
+                            ReportStatus status,
+                            Date createdAt,
+                            Date updatedAt) {
+
+    public static ReportSummary of(ReportModel reportModel) {
+        return new ReportSummary(reportModel.getBatchNo(), reportModel.getSize(), reportModel.getStatus(),
+                reportModel.getCreatedAt(), reportModel.getUpdatedAt());
+    }
+}
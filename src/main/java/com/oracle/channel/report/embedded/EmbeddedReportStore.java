@@ -0,0 +1,522 @@
+package com.oracle.channel.report.embedded;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oracle.channel.report.config.ReportEmbeddedProperties;
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.events.ReportShape;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.models.data.ReportData;
+import com.oracle.channel.report.models.id.UuidV7Generator;
+import com.oracle.channel.report.repository.ReportStatsRepository;
+import com.oracle.channel.report.stats.ReportRollupSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the reports in process memory for the {@code embedded} profile, in place of the report tables.
+ * <p>
+ * Reports are indexed by batch number in {@link LongObjectHashMap}s, one per stripe, each stripe guarded by its
+ * own read-write lock, so lookups neither box the batch number nor contend with writes to other stripes. The
+ * active reports are also kept in a concurrent skip list ordered by last update, newest first, which serves the
+ * listing without sorting. Stored reports are never modified: a write replaces the report with a changed copy
+ * carrying a new version, adds its key to the ordered index before removing the old one, and readers skip keys
+ * whose version is no longer current.
+ * </p>
+ * <p>
+ * When {@code report.embedded.directory} is set, every write is logged by a {@link ReportJournal} before it is
+ * applied, and the log is folded into a snapshot every {@code report.embedded.checkpoint-interval}.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Slf4j
+@Component
+@Profile("embedded")
+public class EmbeddedReportStore implements ReportRollupSource {
+
+    private static final Comparator<ActiveKey> NEWEST_FIRST = Comparator
+            .comparingLong(ActiveKey::updatedAt)
+            .thenComparingLong(ActiveKey::batchNo)
+            .thenComparingLong(ActiveKey::version)
+            .reversed();
+
+    /**
+     * A report as stored, with the entries appended after it was saved.
+     */
+    private record Stored(ReportModel report, List<ReportData> appended, long version) {
+    }
+
+    /**
+     * The position of an active report in the ordered index.
+     */
+    private record ActiveKey(long updatedAt, long batchNo, long version) {
+    }
+
+    private static final class Stripe {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final LongObjectHashMap<Stored> reports = new LongObjectHashMap<>();
+    }
+
+    /**
+     * A report whose status was updated.
+     *
+     * @param report         the report after the update, with its saved entries
+     * @param previousStatus its status before the update
+     * @param appended       the entries appended to the report
+     */
+    public record StatusChange(ReportModel report, ReportStatus previousStatus, List<ReportData> appended) {
+
+        /**
+         * @return the report with its appended entries after the saved ones
+         */
+        public ReportModel withAppendedItems() {
+            return report.withAppendedItems(appended);
+        }
+    }
+
+    private final ReportEmbeddedProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Stripe[] stripes;
+    private final int stripeShift;
+    private final ConcurrentSkipListSet<ActiveKey> active = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+    private final AtomicLong activeCount = new AtomicLong();
+    private final AtomicLong versions = new AtomicLong();
+    private final Timer checkpoints;
+    private ReportJournal journal;
+
+    @Autowired
+    public EmbeddedReportStore(ReportEmbeddedProperties properties, ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        int stripeCount = Integer.highestOneBit(Math.max(1, properties.getStripes() * 2 - 1));
+        this.stripes = new Stripe[stripeCount];
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            stripes[stripe] = new Stripe();
+        }
+        this.stripeShift = Long.SIZE - Integer.numberOfTrailingZeros(stripeCount);
+        this.checkpoints = Timer.builder("report.embedded.checkpoints")
+                .description("Time taken to fold the report log into a snapshot")
+                .register(meterRegistry);
+        Gauge.builder("report.embedded.reports", this, EmbeddedReportStore::size)
+                .description("Reports held by the embedded store")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Recovers the reports from the snapshot and the log, if the store is persistent.
+     */
+    @PostConstruct
+    void open() throws IOException {
+        if (properties.getDirectory() == null) {
+            log.info("EmbeddedReportStore: [persistent= false]");
+            return;
+        }
+        journal = new ReportJournal(properties.getDirectory(), properties.isSync(), objectMapper);
+        long replayed = journal.recover(record -> {
+            if (record.delete() != null) {
+                remove(stripeOf(record.delete()), record.delete());
+            } else {
+                ReportModel report = record.put().report();
+                List<ReportData> appended = record.put().appended();
+                apply(stripeOf(report.getBatchNo()), report, appended == null ? List.of() : appended);
+            }
+        });
+        log.info("EmbeddedReportStore: [persistent= true,\ndirectory= {},\nreplayed= {},\nreports= {}]",
+                properties.getDirectory(), replayed, size());
+    }
+
+    /**
+     * Folds the log into a new snapshot, so recovery does not replay every write since the store was created.
+     */
+    @Scheduled(fixedDelayString = "${report.embedded.checkpoint-interval:10m}",
+            initialDelayString = "${report.embedded.checkpoint-interval:10m}")
+    public void checkpoint() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            long reports = checkpoints.recordCallable(() -> journal.writeSnapshot(journal.rotate(), this::forEach));
+            log.info("EmbeddedReportCheckpoint: [reports= {},\nTime: {}]", reports, LocalDateTime.now());
+        } catch (Exception ex) {
+            log.warn("Error Writing Embedded Report Checkpoint: [error= {}]", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * Saves a new report with a new id and the current time as its creation and last update.
+     *
+     * @param report the report to save
+     * @return the saved report
+     * @throws DuplicateKeyException when a report already has the batch number
+     */
+    public ReportModel insert(ReportModel report) {
+        long batchNo = report.getBatchNo();
+        Stripe stripe = stripeOf(batchNo);
+        stripe.lock.writeLock().lock();
+        try {
+            if (stripe.reports.get(batchNo) != null) {
+                throw new DuplicateKeyException("Report " + batchNo + " already exists");
+            }
+            Date now = new Date();
+            ReportModel saved = copy(report, report.getStatus(), report.getSize(), report.getReportData(), now);
+            saved.setId(UuidV7Generator.next());
+            saved.setCreatedAt(now);
+            return copyOf(write(stripe, saved, List.of()).report());
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the deleted report with its saved entries, or null if no report has the batch number
+     */
+    public ReportModel delete(long batchNo) {
+        Stripe stripe = stripeOf(batchNo);
+        stripe.lock.writeLock().lock();
+        try {
+            if (stripe.reports.get(batchNo) == null) {
+                return null;
+            }
+            log(new ReportJournal.Record(null, batchNo));
+            return copyOf(remove(stripe, batchNo).report());
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sets the status of reports. The last update only moves for reports whose status changes.
+     *
+     * @param batchIds the batch numbers of the reports
+     * @param status   the new status
+     * @return the found reports after the update, with their previous status
+     */
+    public List<StatusChange> updateStatus(Collection<Long> batchIds, ReportStatus status) {
+        List<StatusChange> changes = new ArrayList<>();
+        for (Long batchNo : batchIds) {
+            if (batchNo == null) {
+                continue;
+            }
+            Stripe stripe = stripeOf(batchNo);
+            stripe.lock.writeLock().lock();
+            try {
+                Stored stored = stripe.reports.get(batchNo);
+                if (stored == null) {
+                    continue;
+                }
+                ReportModel report = stored.report();
+                if (report.getStatus() != status) {
+                    report = write(stripe, copy(report, status, report.getSize(), report.getReportData(),
+                            new Date()), stored.appended()).report();
+                }
+                changes.add(new StatusChange(copyOf(report), stored.report().getStatus(), stored.appended()));
+            } finally {
+                stripe.lock.writeLock().unlock();
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Appends entries to a report, growing its size by their number.
+     *
+     * @return the report after the append, or null if no report has the batch number
+     */
+    public ReportModel append(long batchNo, List<ReportData> items) {
+        Stripe stripe = stripeOf(batchNo);
+        stripe.lock.writeLock().lock();
+        try {
+            Stored stored = stripe.reports.get(batchNo);
+            if (stored == null) {
+                return null;
+            }
+            ReportModel report = stored.report();
+            List<ReportData> appended = new ArrayList<>(stored.appended().size() + items.size());
+            appended.addAll(stored.appended());
+            appended.addAll(items);
+            int size = (report.getSize() == null ? 0 : report.getSize()) + items.size();
+            return copyOf(write(stripe, copy(report, report.getStatus(), size, report.getReportData(), new Date()),
+                    appended).report());
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the report with its saved and appended entries, or null if no report has the batch number
+     */
+    public ReportModel find(long batchNo) {
+        Stored stored = get(batchNo);
+        return stored == null ? null : copyOf(stored);
+    }
+
+    /**
+     * @return the found reports with their saved and appended entries, in the order of the batch numbers
+     */
+    public List<ReportModel> findAll(Collection<Long> batchIds) {
+        List<ReportModel> reports = new ArrayList<>(batchIds.size());
+        for (Long batchNo : batchIds) {
+            Stored stored = batchNo == null ? null : get(batchNo);
+            if (stored != null) {
+                reports.add(copyOf(stored));
+            }
+        }
+        return reports;
+    }
+
+    public boolean exists(long batchNo) {
+        return get(batchNo) != null;
+    }
+
+    /**
+     * @return up to {@code limit} saved entries of a report from {@code offset} on, none if it does not exist
+     */
+    public List<ReportData> findSavedItems(long batchNo, int offset, int limit) {
+        Stored stored = get(batchNo);
+        return stored == null ? List.of() : slice(stored.report().getReportData(), offset, limit);
+    }
+
+    /**
+     * @return up to {@code limit} appended entries of a report from {@code offset} on, none if it does not exist
+     */
+    public List<ReportData> findAppendedItems(long batchNo, int offset, int limit) {
+        Stored stored = get(batchNo);
+        return stored == null ? List.of() : slice(stored.appended(), offset, limit);
+    }
+
+    /**
+     * Fetches one page of active reports, most recently updated first.
+     *
+     * @param offset the number of reports to skip
+     * @param limit  the maximum number of reports
+     * @return the reports with their saved and appended entries
+     */
+    public List<ReportModel> findActivePage(long offset, int limit) {
+        List<ReportModel> page = new ArrayList<>(Math.min(limit, 1024));
+        long skipped = 0;
+        for (ActiveKey key : active) {
+            if (page.size() >= limit) {
+                break;
+            }
+            Stored stored = get(key.batchNo());
+            if (stored == null || stored.version() != key.version()
+                    || stored.report().getStatus() != ReportStatus.ACTIVE) {
+                // replaced by a write that has already added its own key
+                continue;
+            }
+            if (skipped++ >= offset) {
+                page.add(copyOf(stored));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * @return the number of active reports
+     */
+    public long countActive() {
+        return activeCount.get();
+    }
+
+    /**
+     * @return the number of reports
+     */
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                size += stripe.reports.size();
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Groups the reports as {@link ReportStatsRepository#rollup(LocalDate)} does. Each stripe is read
+     * consistently, the stripes one after another.
+     */
+    @Override
+    public List<ReportStatsRepository.RollupRow> rollup(LocalDate dailyFrom) {
+        Map<ReportStatus, Long> byStatus = new EnumMap<>(ReportStatus.class);
+        Map<LocalDate, Long> byDay = new HashMap<>();
+        Map<Integer, Long> bySize = new TreeMap<>();
+        Map<Integer, Long> byLength = new TreeMap<>();
+        forEach(entry -> {
+            ReportShape shape = ReportShape.of(entry.report());
+            // reports created before the daily window are grouped under no day
+            LocalDate day = shape.createdOn() == null || shape.createdOn().isBefore(dailyFrom)
+                    ? null : shape.createdOn();
+            byStatus.merge(entry.report().getStatus(), 1L, Long::sum);
+            byDay.merge(day, 1L, Long::sum);
+            bySize.merge(bucketOf(shape.size()), 1L, Long::sum);
+            byLength.merge(bucketOf(shape.length()), 1L, Long::sum);
+        });
+        List<ReportStatsRepository.RollupRow> rows = new ArrayList<>();
+        byStatus.forEach((status, reports) -> rows.add(
+                new ReportStatsRepository.RollupRow(ReportStatsRepository.BY_STATUS, status, null, 0, 0, reports)));
+        byDay.forEach((day, reports) -> rows.add(new ReportStatsRepository.RollupRow(ReportStatsRepository.BY_DAY,
+                null, day, 0, 0, reports)));
+        bySize.forEach((bucket, reports) -> rows.add(
+                new ReportStatsRepository.RollupRow(ReportStatsRepository.BY_SIZE, null, null, bucket, 0, reports)));
+        byLength.forEach((bucket, reports) -> rows.add(
+                new ReportStatsRepository.RollupRow(ReportStatsRepository.BY_LENGTH, null, null, 0, bucket, reports)));
+        return rows;
+    }
+
+    /**
+     * Hands every report to the consumer, holding the read lock of one stripe at a time.
+     */
+    private void forEach(Consumer<ReportJournal.Entry> consumer) {
+        for (Stripe stripe : stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                stripe.reports.forEachValue(stored ->
+                        consumer.accept(new ReportJournal.Entry(stored.report(), stored.appended())));
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+    }
+
+    private Stored get(long batchNo) {
+        Stripe stripe = stripeOf(batchNo);
+        stripe.lock.readLock().lock();
+        try {
+            return stripe.reports.get(batchNo);
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Logs and applies the new state of a report. Called with the write lock of its stripe held.
+     */
+    private Stored write(Stripe stripe, ReportModel report, List<ReportData> appended) {
+        log(new ReportJournal.Record(new ReportJournal.Entry(report, appended), null));
+        return apply(stripe, report, appended);
+    }
+
+    private void log(ReportJournal.Record record) {
+        if (journal != null) {
+            journal.append(record);
+        }
+    }
+
+    private Stored apply(Stripe stripe, ReportModel report, List<ReportData> appended) {
+        Stored stored = new Stored(report, Collections.unmodifiableList(appended), versions.incrementAndGet());
+        if (report.getStatus() == ReportStatus.ACTIVE) {
+            active.add(keyOf(stored));
+        }
+        Stored previous = stripe.reports.put(report.getBatchNo(), stored);
+        unindex(previous);
+        if (report.getStatus() == ReportStatus.ACTIVE) {
+            activeCount.incrementAndGet();
+        }
+        return stored;
+    }
+
+    private Stored remove(Stripe stripe, long batchNo) {
+        Stored previous = stripe.reports.remove(batchNo);
+        unindex(previous);
+        return previous;
+    }
+
+    private void unindex(Stored stored) {
+        if (stored != null && stored.report().getStatus() == ReportStatus.ACTIVE) {
+            active.remove(keyOf(stored));
+            activeCount.decrementAndGet();
+        }
+    }
+
+    private static ActiveKey keyOf(Stored stored) {
+        Date updatedAt = stored.report().getUpdatedAt();
+        return new ActiveKey(updatedAt == null ? 0 : updatedAt.getTime(), stored.report().getBatchNo(),
+                stored.version());
+    }
+
+    /**
+     * Picks the stripe from the high bits of the mixed batch number, as the map of a stripe indexes by the low
+     * bits and would otherwise only use a fraction of its slots.
+     */
+    private Stripe stripeOf(long batchNo) {
+        return stripes.length == 1 ? stripes[0] : stripes[(int) (LongObjectHashMap.mix(batchNo) >>> stripeShift)];
+    }
+
+    /**
+     * @return the bit length of the value, 0 for 0 or less, as the statistics bucket sizes and lengths
+     */
+    private static int bucketOf(int value) {
+        return value <= 0 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(value);
+    }
+
+    private static List<ReportData> slice(List<ReportData> items, int offset, int limit) {
+        int from = Math.min(Math.max(0, offset), items.size());
+        return new ArrayList<>(items.subList(from, (int) Math.min(items.size(), (long) from + limit)));
+    }
+
+    private static ReportModel copy(ReportModel report, ReportStatus status, Integer size,
+                                    List<ReportData> reportData, Date updatedAt) {
+        ReportModel copy = report.withReportData(reportData == null ? List.of()
+                : Collections.unmodifiableList(new ArrayList<>(reportData)));
+        copy.setStatus(status);
+        copy.setSize(size);
+        copy.setUpdatedAt(updatedAt);
+        return copy;
+    }
+
+    /**
+     * @return a copy callers may modify without touching the stored report
+     */
+    private static ReportModel copyOf(ReportModel report) {
+        return report.withReportData(new ArrayList<>(report.getReportData()));
+    }
+
+    /**
+     * @return a copy of the stored report holding its saved entries followed by the appended ones
+     */
+    private static ReportModel copyOf(Stored stored) {
+        List<ReportData> entries = new ArrayList<>(stored.report().getReportData().size() + stored.appended().size());
+        entries.addAll(stored.report().getReportData());
+        entries.addAll(stored.appended());
+        return stored.report().withReportData(entries);
+    }
+}
@@ -0,0 +1,247 @@
+package com.oracle.channel.report.embedded;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.models.data.ReportData;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Snapshot-plus-append-log persistence of the {@link EmbeddedReportStore}.
+ * <p>
+ * Every write is appended to {@code log-<n>.ndjson} as the whole new state of the report or as its deletion, so
+ * replaying a log over any earlier state of the same reports ends in the same state. A checkpoint switches to
+ * {@code log-<n+1>.ndjson} and then writes {@code snapshot-<n+1>.ndjson} from the store; the snapshot holds at
+ * least every write of the older logs, which are removed once it is on disk. Recovery loads the newest snapshot
+ * and replays the logs from its generation on; a line torn by a crash at the end of a log is skipped.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Slf4j
+final class ReportJournal implements Closeable {
+
+    private static final Pattern FILE = Pattern.compile("(log|snapshot)-(\\d+)\\.ndjson");
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The state of a report: its saved and its appended entries.
+     */
+    record Entry(ReportModel report, List<ReportData> appended) {
+    }
+
+    /**
+     * One logged write, either the new state of a report or the batch number of a deleted one.
+     */
+    record Record(Entry put, Long delete) {
+    }
+
+    private final Path directory;
+    private final boolean sync;
+    private final ObjectMapper objectMapper;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long generation;
+    private FileChannel channel;
+    private OutputStream out;
+
+    ReportJournal(Path directory, boolean sync, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.sync = sync;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Replays the newest snapshot and the logs after it, then starts a new log.
+     *
+     * @param apply receives the recovered writes in order
+     * @return the number of records replayed
+     */
+    long recover(Consumer<Record> apply) throws IOException {
+        Files.createDirectories(directory);
+        TreeMap<Long, Path> snapshots = new TreeMap<>();
+        TreeMap<Long, Path> logs = new TreeMap<>();
+        for (Path file : list()) {
+            String name = file.getFileName().toString();
+            Matcher matcher = FILE.matcher(name);
+            if (name.endsWith(TEMPORARY_SUFFIX)) {
+                Files.deleteIfExists(file);
+            } else if (matcher.matches()) {
+                (matcher.group(1).equals("log") ? logs : snapshots).put(Long.parseLong(matcher.group(2)), file);
+            }
+        }
+        long replayed = 0;
+        long from = snapshots.isEmpty() ? 0 : snapshots.lastKey();
+        if (!snapshots.isEmpty()) {
+            replayed += replay(snapshots.lastEntry().getValue(), line ->
+                    new Record(objectMapper.readValue(line, Entry.class), null), apply);
+        }
+        for (Path file : logs.tailMap(from).values()) {
+            replayed += replay(file, line -> objectMapper.readValue(line, Record.class), apply);
+        }
+        generation = Math.max(from, logs.isEmpty() ? 0 : logs.lastKey()) + 1;
+        openLog();
+        return replayed;
+    }
+
+    /**
+     * Appends a write, forcing it to disk when configured.
+     */
+    void append(Record record) {
+        lock.lock();
+        try {
+            out.write(objectMapper.writeValueAsBytes(record));
+            out.write('\n');
+            out.flush();
+            if (sync) {
+                channel.force(false);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Switches to a new log. Every write appended before the switch must be in the snapshot of the returned
+     * generation.
+     *
+     * @return the generation of the snapshot to write
+     */
+    long rotate() throws IOException {
+        lock.lock();
+        try {
+            closeLog();
+            generation++;
+            openLog();
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the snapshot of a generation and removes the files it supersedes.
+     *
+     * @param generation the generation returned by {@link #rotate()}
+     * @param entries    hands every report of the store to the given consumer
+     * @return the number of reports written
+     */
+    long writeSnapshot(long generation, Consumer<Consumer<Entry>> entries) throws IOException {
+        Path target = directory.resolve("snapshot-" + generation + ".ndjson");
+        Path temporary = directory.resolve(target.getFileName() + TEMPORARY_SUFFIX);
+        long[] written = {0};
+        try (FileChannel snapshot = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             OutputStream file = new BufferedOutputStream(Channels.newOutputStream(snapshot), BUFFER_SIZE)) {
+            entries.accept(entry -> {
+                try {
+                    file.write(objectMapper.writeValueAsBytes(entry));
+                    file.write('\n');
+                    written[0]++;
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            file.flush();
+            snapshot.force(true);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temporary);
+            throw ex;
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        for (Path file : list()) {
+            Matcher matcher = FILE.matcher(file.getFileName().toString());
+            if (matcher.matches() && Long.parseLong(matcher.group(2)) < generation) {
+                Files.deleteIfExists(file);
+            }
+        }
+        return written[0];
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closeLog();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long replay(Path file, LineReader reader, Consumer<Record> apply) throws IOException {
+        long replayed = 0;
+        try (BufferedReader lines = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = lines.readLine();
+            while (line != null) {
+                String next = lines.readLine();
+                if (!line.isBlank()) {
+                    Record record;
+                    try {
+                        record = reader.read(line);
+                    } catch (JsonProcessingException ex) {
+                        if (next != null) {
+                            throw new IllegalStateException("Corrupt record in " + file.getFileName(), ex);
+                        }
+                        log.warn("Skipping Torn Record: [file= {},\nerror= {}]", file.getFileName(),
+                                ex.getOriginalMessage());
+                        break;
+                    }
+                    apply.accept(record);
+                    replayed++;
+                }
+                line = next;
+            }
+        }
+        return replayed;
+    }
+
+    private void openLog() throws IOException {
+        channel = FileChannel.open(directory.resolve("log-" + generation + ".ndjson"), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+    }
+
+    private void closeLog() throws IOException {
+        if (out != null) {
+            out.flush();
+            channel.force(false);
+            out.close();
+            out = null;
+        }
+    }
+
+    private List<Path> list() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+
+    @FunctionalInterface
+    private interface LineReader {
+        Record read(String line) throws JsonProcessingException;
+    }
+}
@@ -0,0 +1,24 @@
+package com.oracle.channel.report.enums;
+
+/**
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public enum ReportChangeType {
+
+    CREATED("when a new report has been saved"),
+    STATUS_CHANGED("when the status of a report has been updated"),
+    ITEMS_APPENDED("when report data entries have been appended to a report"),
+    DELETED("when a report has been removed"),
+    ARCHIVED("when an inactive report has been moved to the archive");
+
+    private String desc;
+
+    ReportChangeType(String desc) {
+        this.desc = desc;
+    }
+
+    public String getDesc() {
+        return desc;
+    }
+}
@@ -0,0 +1,30 @@
+package com.oracle.channel.report.enums;
+
+/**
+ * Properties of the saved entries that can be selected as {@code reportData.<property>}.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public enum ReportEntryField {
+
+    NAME("name", "the entry name"),
+    DESC("desc", "the entry description"),
+    METADATA("metadata", "the metadata blob of the entry");
+
+    private final String property;
+    private final String desc;
+
+    ReportEntryField(String property, String desc) {
+        this.property = property;
+        this.desc = desc;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String getDesc() {
+        return desc;
+    }
+}
@@ -0,0 +1,34 @@
+package com.oracle.channel.report.enums;
+
+/**
+ * Report properties that can be selected with the {@code fields} parameter, in the order they are written.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public enum ReportField {
+
+    ID("id", "the report identifier"),
+    BATCH_NO("batchNo", "the batch number"),
+    SIZE("size", "the declared number of entries"),
+    STATUS("status", "the report status"),
+    REPORT_DATA("reportData", "the saved entries, all or some of their properties"),
+    CREATED_AT("createdAt", "when the report was created"),
+    UPDATED_AT("updatedAt", "when the report was last updated");
+
+    private final String property;
+    private final String desc;
+
+    ReportField(String property, String desc) {
+        this.property = property;
+        this.desc = desc;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String getDesc() {
+        return desc;
+    }
+}
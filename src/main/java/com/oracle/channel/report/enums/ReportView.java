@@ -0,0 +1,21 @@
+package com.oracle.channel.report.enums;
+
+/**
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public enum ReportView {
+
+    SUMMARY("when only the report header is returned, without report data"),
+    FULL("when the report is returned with all its report data");
+
+    private String desc;
+
+    ReportView(String desc) {
+        this.desc = desc;
+    }
+
+    public String getDesc() {
+        return desc;
+    }
+}
@@ -8,6 +8,8 @@ public enum ResponseCodeEnum {
     SUCCESS("00"),
     FAILED("01"),
     DUPLICATE_KEY("11"),
+    RATE_LIMITED("65"),
+    OVERLOADED("91"),
     SYS_MALFUNCTION("96");
 
     private String code;
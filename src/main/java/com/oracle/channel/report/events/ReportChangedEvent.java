@@ -0,0 +1,23 @@
+package com.oracle.channel.report.events;
+
+import com.oracle.channel.report.enums.ReportChangeType;
+import com.oracle.channel.report.enums.ReportStatus;
+
+/**
+ * Domain event published by the service layer whenever a report is created, changes status or is deleted.
+ * Listeners are expected to consume it after the surrounding transaction commits.
+ * <p>
+ * The status and shape describe the report after the change and are null once it is deleted; the previous
+ * ones describe it before the change and are null for a new report.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public record ReportChangedEvent(ReportChangeType type,
+                                 Long batchNo,
+                                 ReportStatus status,
+                                 ReportStatus previousStatus,
+                                 ReportShape shape,
+                                 ReportShape previousShape) {
+}
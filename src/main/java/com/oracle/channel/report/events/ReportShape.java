@@ -0,0 +1,32 @@
+package com.oracle.channel.report.events;
+
+import com.oracle.channel.report.models.ReportModel;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * The figures of a report that statistics are kept on.
+ *
+ * @param size      the report size
+ * @param length    the number of entries in the saved {@code reportData}
+ * @param createdOn the day the report was created, or null when unknown
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public record ReportShape(int size, int length, LocalDate createdOn) {
+
+    /**
+     * A report that has not been flushed yet has no creation timestamp and is taken as created today.
+     */
+    public static ReportShape of(ReportModel reportModel) {
+        return new ReportShape(reportModel.getSize() == null ? 0 : reportModel.getSize(),
+                reportModel.getReportData() == null ? 0 : reportModel.getReportData().size(),
+                reportModel.getCreatedAt() == null ? LocalDate.now() : dayOf(reportModel.getCreatedAt()));
+    }
+
+    public static LocalDate dayOf(Date date) {
+        return date == null ? null : date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+}
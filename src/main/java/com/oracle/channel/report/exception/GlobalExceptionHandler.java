@@ -2,13 +2,16 @@ package com.oracle.channel.report.exception;
 
 import com.oracle.channel.report.dtos.response.GlobalResponse;
 import com.oracle.channel.report.enums.ResponseCodeEnum;
+import com.oracle.channel.report.limiter.ConcurrencyLimitFilter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
@@ -34,6 +37,11 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     @ExceptionHandler(Exception.class)
     public final ResponseEntity<GlobalResponse> resolveUnknownHostException(Exception ex, WebRequest request) {
 
+        // Handle database overload before the wrapping exception types
+        if (ConcurrencyLimitFilter.isOverloadSignal(ex)) {
+            return resolveOverload(request);
+        }
+
         // Handle DuplicateKeyException separately
         if (ex instanceof DuplicateKeyException duplicateKeyException){
             return this.resolveDuplicateKeyException(duplicateKeyException, request);
@@ -66,6 +74,11 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     public final ResponseEntity<GlobalResponse> resolveIllegalArgumentException(
             IllegalArgumentException ex, WebRequest request) {
 
+        // Services wrap data access failures, which may signal database overload
+        if (ConcurrencyLimitFilter.isOverloadSignal(ex)) {
+            return resolveOverload(request);
+        }
+
         // Creating error response for IllegalArgumentException
         ErrorResponse errorResponse = new ErrorResponse(ResponseCodeEnum.FAILED.getCode(),
                 "IllegalArgument parse to request", LocalDateTime.now());
@@ -109,4 +122,22 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(new GlobalResponse(ResponseCodeEnum.SYS_MALFUNCTION.getCode(), ex.getMessage(),
                 errorResponse), HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    /**
+     * Answers failures showing the database is not keeping up with 503, and flags the request so the
+     * concurrency limiter lowers its limit.
+     * @param request the web request object
+     * @return a ResponseEntity containing a GlobalResponse with error details
+     */
+    private static ResponseEntity<GlobalResponse> resolveOverload(WebRequest request) {
+        request.setAttribute(ConcurrencyLimitFilter.OVERLOAD_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+
+        ErrorResponse errorResponse = new ErrorResponse(ResponseCodeEnum.OVERLOADED.getCode(),
+                "Service overloaded, retry later", LocalDateTime.now());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new GlobalResponse(ResponseCodeEnum.OVERLOADED.getCode(), ResponseCodeEnum.OVERLOADED.name(),
+                        errorResponse));
+    }
 }
@@ -0,0 +1,44 @@
+package com.oracle.channel.report.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oracle.channel.report.dtos.response.GlobalResponse;
+import com.oracle.channel.report.enums.ResponseCodeEnum;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Writes error {@link GlobalResponse} bodies from servlet filters, which run outside the reach of
+ * {@link GlobalExceptionHandler}.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class GlobalResponseWriter {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes an error response.
+     * @param response the servlet response to write to
+     * @param status the HTTP status
+     * @param code the response code
+     * @param userMessage the message shown to the client
+     */
+    public void writeError(HttpServletResponse response, HttpStatus status, ResponseCodeEnum code,
+                           String userMessage) throws IOException {
+        ErrorResponse errorResponse = new ErrorResponse(code.getCode(), userMessage, LocalDateTime.now());
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new GlobalResponse(code.getCode(), code.name(), errorResponse));
+    }
+}
@@ -0,0 +1,14 @@
+package com.oracle.channel.report.exception;
+
+/**
+ * Thrown when none of the requested reports exist. Handled like any other {@link IllegalArgumentException}.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public class ReportNotFoundException extends IllegalArgumentException {
+
+    public ReportNotFoundException(String message) {
+        super(message);
+    }
+}
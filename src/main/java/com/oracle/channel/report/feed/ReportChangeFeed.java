@@ -0,0 +1,258 @@
+package com.oracle.channel.report.feed;
+
+import com.oracle.channel.report.config.ReportFeedProperties;
+import com.oracle.channel.report.dtos.response.data.ReportChange;
+import com.oracle.channel.report.events.ReportChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-process change feed of reports, streamed to subscribers as server-sent events.
+ * <p>
+ * Changes are appended to a bounded {@link ReportChangeRingBuffer} after the writing transaction commits and
+ * pushed to subscribers from a small dispatch pool, so writers never wait on a subscriber. A subscriber that
+ * falls behind by more than {@code report.feed.max-lag} changes, or by more than the buffer capacity, receives a
+ * {@code resync} event and is disconnected; it is expected to re-read the listing and subscribe again. Sequence
+ * numbers are local to this instance.
+ * </p>
+ * <p>
+ * A watchdog drops subscribers whose current send has taken longer than {@code report.feed.send-timeout} and
+ * adds a dispatch thread for as long as the stalled send holds one, up to twice the configured threads, so the
+ * remaining subscribers keep being served. It also retries subscriptions the saturated dispatcher rejected.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Slf4j
+@Component
+public class ReportChangeFeed {
+
+    static final String RESYNC_EVENT = "resync";
+
+    private final ReportChangeRingBuffer ringBuffer;
+    private final ReportFeedProperties properties;
+    private final ThreadPoolExecutor dispatcher;
+    private final ScheduledExecutorService watchdog;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private int spareThreads;
+
+    public ReportChangeFeed(ReportFeedProperties properties) {
+        this.properties = properties;
+        this.ringBuffer = new ReportChangeRingBuffer(properties.getCapacity());
+        this.dispatcher = new ThreadPoolExecutor(properties.getDispatchThreads(), properties.getDispatchThreads(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1024), runnable -> {
+            Thread thread = new Thread(runnable, "report-feed-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "report-feed-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(50, properties.getSendTimeout().toMillis() / 4);
+        watchdog.scheduleWithFixedDelay(this::watch, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records a committed report change and notifies the subscribers.
+     *
+     * @param event the change published by the service layer
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportChanged(ReportChangedEvent event) {
+        ringBuffer.append(event.type(), event.batchNo(), event.status(), event.previousStatus());
+        subscriptions.forEach(this::schedule);
+    }
+
+    /**
+     * Opens a new subscription.
+     *
+     * @param lastSequence the last sequence number the client has seen, or null to receive only new changes
+     * @return the emitter streaming the changes
+     */
+    public SseEmitter subscribe(Long lastSequence) {
+        SseEmitter emitter = newEmitter();
+        long from = lastSequence == null ? ringBuffer.nextSequence() : lastSequence + 1;
+        Subscription subscription = new Subscription(emitter, from);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(ex -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        log.info("ReportFeedSubscribed: [from= {},\nsubscribers= {}]", from, subscriptions.size());
+        schedule(subscription);
+        return emitter;
+    }
+
+    /**
+     * @return the sequence number the next change will receive
+     */
+    public long nextSequence() {
+        return ringBuffer.nextSequence();
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(properties.getEmitterTimeout().toMillis());
+    }
+
+    private void schedule(Subscription subscription) {
+        if (!subscription.draining.compareAndSet(false, true)) {
+            subscription.pending = true;
+            return;
+        }
+        try {
+            dispatcher.execute(() -> drain(subscription));
+        } catch (RejectedExecutionException ex) {
+            // dispatcher saturated, the watchdog schedules the subscription again
+            subscription.pending = true;
+            subscription.draining.set(false);
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        try {
+            do {
+                subscription.pending = false;
+                List<ReportChange> changes;
+                while (true) {
+                    // too far behind, or overrun by the ring (a null read), the subscriber resyncs
+                    changes = ringBuffer.nextSequence() - subscription.next > properties.getMaxLag() ? null
+                            : ringBuffer.read(subscription.next, properties.getBatchSize());
+                    if (changes == null) {
+                        resync(subscription);
+                        return;
+                    }
+                    if (changes.isEmpty()) {
+                        break;
+                    }
+                    for (ReportChange change : changes) {
+                        send(subscription, SseEmitter.event()
+                                .id(String.valueOf(change.sequence()))
+                                .name(change.type().name())
+                                .data(change));
+                        subscription.next = change.sequence() + 1;
+                    }
+                }
+            } while (subscription.pending);
+        } catch (IOException | IllegalStateException ex) {
+            log.info("ReportFeedSubscriberGone: {}", ex.getMessage());
+            subscriptions.remove(subscription);
+            subscription.emitter.completeWithError(ex);
+            return;
+        } finally {
+            subscription.draining.set(false);
+            if (subscription.spareThread.compareAndSet(true, false)) {
+                releaseSpareThread();
+            }
+        }
+        if (subscription.pending) {
+            schedule(subscription);
+        }
+    }
+
+    private void send(Subscription subscription, SseEmitter.SseEventBuilder event) throws IOException {
+        if (subscription.stalled) {
+            throw new IllegalStateException("Send timeout exceeded");
+        }
+        subscription.sendStartedAt = System.nanoTime();
+        try {
+            subscription.emitter.send(event);
+        } finally {
+            subscription.sendStartedAt = 0;
+        }
+    }
+
+    private void resync(Subscription subscription) throws IOException {
+        log.warn("ReportFeedSubscriberOverrun: [next= {},\noldest= {}]", subscription.next, ringBuffer.oldestSequence());
+        subscriptions.remove(subscription);
+        send(subscription, SseEmitter.event()
+                .name(RESYNC_EVENT)
+                .data(ringBuffer.nextSequence()));
+        subscription.emitter.complete();
+    }
+
+    /**
+     * Drops subscribers stuck in a send and retries subscriptions the dispatcher rejected.
+     */
+    private void watch() {
+        long now = System.nanoTime();
+        long timeoutNanos = properties.getSendTimeout().toNanos();
+        for (Subscription subscription : subscriptions) {
+            long startedAt = subscription.sendStartedAt;
+            if (startedAt != 0 && now - startedAt > timeoutNanos) {
+                if (subscriptions.remove(subscription)) {
+                    log.warn("ReportFeedSubscriberStalled: [next= {},\nsendTimeout= {}]", subscription.next,
+                            properties.getSendTimeout());
+                    subscription.stalled = true;
+                    subscription.spareThread.set(addSpareThread());
+                    // the send may have returned meanwhile, with no drain left to give the thread back
+                    if (!subscription.draining.get() && subscription.spareThread.compareAndSet(true, false)) {
+                        releaseSpareThread();
+                    }
+                }
+            } else if (subscription.pending && !subscription.draining.get()) {
+                schedule(subscription);
+            }
+        }
+    }
+
+    /**
+     * Grows the dispatcher by one thread while a stalled send holds one.
+     *
+     * @return true if a thread was added
+     */
+    private synchronized boolean addSpareThread() {
+        if (spareThreads >= properties.getDispatchThreads()) {
+            return false;
+        }
+        spareThreads++;
+        dispatcher.setMaximumPoolSize(dispatcher.getMaximumPoolSize() + 1);
+        dispatcher.setCorePoolSize(dispatcher.getCorePoolSize() + 1);
+        return true;
+    }
+
+    private synchronized void releaseSpareThread() {
+        spareThreads--;
+        dispatcher.setCorePoolSize(dispatcher.getCorePoolSize() - 1);
+        dispatcher.setMaximumPoolSize(dispatcher.getMaximumPoolSize() - 1);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        watchdog.shutdownNow();
+        dispatcher.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+    }
+
+    private static final class Subscription {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long next;
+        private volatile boolean pending;
+        private volatile long sendStartedAt;
+        private volatile boolean stalled;
+        private final AtomicBoolean spareThread = new AtomicBoolean();
+
+        private Subscription(SseEmitter emitter, long next) {
+            this.emitter = emitter;
+            this.next = next;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.oracle.channel.report.feed;
+
+import com.oracle.channel.report.dtos.response.data.ReportChange;
+import com.oracle.channel.report.enums.ReportChangeType;
+import com.oracle.channel.report.enums.ReportStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free ring buffer of report changes addressed by a monotonically increasing sequence number.
+ * Writers claim a sequence with a single atomic increment and never wait for readers; readers that fall more
+ * than {@code capacity} changes behind are told to resync instead.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public class ReportChangeRingBuffer {
+
+    private final AtomicReferenceArray<ReportChange> slots;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong(1);
+
+    public ReportChangeRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        size = size < capacity ? size << 1 : size;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Appends a change and returns it with its assigned sequence number.
+     */
+    public ReportChange append(ReportChangeType type, Long batchNo, ReportStatus status, ReportStatus previousStatus) {
+        long sequence = cursor.getAndIncrement();
+        ReportChange change = new ReportChange(sequence, type, batchNo, status, previousStatus, Instant.now());
+        slots.set(index(sequence), change);
+        return change;
+    }
+
+    /**
+     * @return the sequence number the next appended change will receive
+     */
+    public long nextSequence() {
+        return cursor.get();
+    }
+
+    /**
+     * @return the oldest sequence number that may still be read
+     */
+    public long oldestSequence() {
+        return Math.max(1, cursor.get() - slots.length());
+    }
+
+    /**
+     * Reads up to {@code max} published changes starting at {@code fromSequence}.
+     *
+     * @return the changes read, or {@code null} if {@code fromSequence} has already been overwritten
+     */
+    public List<ReportChange> read(long fromSequence, int max) {
+        List<ReportChange> changes = new ArrayList<>(Math.min(max, slots.length()));
+        long end = cursor.get();
+        for (long sequence = fromSequence; sequence < end && changes.size() < max; sequence++) {
+            ReportChange change = slots.get(index(sequence));
+            if (change == null || change.sequence() < sequence) {
+                // claimed but not yet published, stop here and pick it up on the next round
+                break;
+            }
+            if (change.sequence() > sequence) {
+                return null;
+            }
+            changes.add(change);
+        }
+        if (changes.isEmpty() && fromSequence < end - slots.length()) {
+            return null;
+        }
+        return changes;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+}
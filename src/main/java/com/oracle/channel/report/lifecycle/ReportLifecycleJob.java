@@ -0,0 +1,232 @@
+package com.oracle.channel.report.lifecycle;
+
+import com.oracle.channel.report.config.ReportLifecycleProperties;
+import com.oracle.channel.report.enums.ReportChangeType;
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.events.ReportChangedEvent;
+import com.oracle.channel.report.events.ReportShape;
+import com.oracle.channel.report.ratelimit.TokenBucketLimiter;
+import com.oracle.channel.report.repository.ReportLifecycleRepository;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Makes ACTIVE reports not updated for {@code report.lifecycle.ttl} INACTIVE.
+ * <p>
+ * Each shard is worked off in chunks of {@code report.lifecycle.chunk-size} reports, oldest first, each chunk in
+ * its own short transaction that locks its reports with {@code SKIP LOCKED}: instances running the job at the
+ * same time split the backlog between them, and a foreground write only ever waits for one chunk. Chunks are
+ * throttled to {@code report.lifecycle.chunks-per-second} per shard and instance, and a run stops after
+ * {@code report.lifecycle.max-chunks-per-run}, leaving the rest of a large backlog to the following runs. Each
+ * expired report is published as a status change, so statistics, caches and the change feed follow.
+ * </p>
+ * <p>
+ * The shards are worked off on the job's own threads, one per shard, so the throttling never holds a scheduler
+ * or fan-out thread. A run is skipped while the previous one is still going. The reports left overdue are only
+ * counted on the shards whose run stopped at the chunk limit, the others having no backlog left.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Slf4j
+@Component
+@Profile("!embedded")
+public class ReportLifecycleJob {
+
+    private final ReportLifecycleRepository reportLifecycleRepository;
+    private final ReportShardRouter router;
+    private final ReportLifecycleProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TokenBucketLimiter limiter;
+    private final Counter expired;
+    private final Counter failures;
+    private final Timer chunks;
+    private final AtomicLong overdue = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public ReportLifecycleJob(ReportLifecycleRepository reportLifecycleRepository, ReportShardRouter router,
+                              ReportLifecycleProperties properties, PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.reportLifecycleRepository = reportLifecycleRepository;
+        this.router = router;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setTimeout((int) Math.max(1, properties.getChunkTimeout().toSeconds()));
+        this.eventPublisher = eventPublisher;
+        this.limiter = new TokenBucketLimiter(properties.getChunksPerSecond(), 1, router.getShardCount());
+        // a run at a time, with a task per shard
+        this.executor = new ThreadPoolExecutor(router.getShardCount(), router.getShardCount(), 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(router.getShardCount()), runnable -> {
+            Thread thread = new Thread(runnable, "report-lifecycle");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.expired = Counter.builder("report.lifecycle.expired")
+                .description("Reports made INACTIVE after their TTL")
+                .register(meterRegistry);
+        this.failures = Counter.builder("report.lifecycle.failures")
+                .description("Shard runs of the lifecycle job ended by an error")
+                .register(meterRegistry);
+        this.chunks = Timer.builder("report.lifecycle.chunks")
+                .description("Chunk transactions of the lifecycle job")
+                .register(meterRegistry);
+        Gauge.builder("report.lifecycle.overdue", overdue, AtomicLong::get)
+                .description("ACTIVE reports past their TTL not yet expired by the lifecycle job")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${report.lifecycle.interval:5m}",
+            initialDelayString = "${report.lifecycle.interval:5m}")
+    public void expire() {
+        start();
+    }
+
+    /**
+     * Starts a run on the job's threads, unless the job is disabled or the previous run is still going.
+     *
+     * @return the number of reports expired by the run, zero if none was started
+     */
+    CompletableFuture<Integer> start() {
+        if (!properties.isEnabled()) {
+            return CompletableFuture.completedFuture(0);
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.info("ReportsExpirySkipped: [reason= previous run still going,\nTime: {}]", LocalDateTime.now());
+            return CompletableFuture.completedFuture(0);
+        }
+        Date cutoff = new Date(System.currentTimeMillis() - properties.getTtl().toMillis());
+        List<CompletableFuture<ShardRun>> shardRuns = new ArrayList<>(router.getShardCount());
+        try {
+            for (int shard = 0; shard < router.getShardCount(); shard++) {
+                int target = shard;
+                shardRuns.add(CompletableFuture.supplyAsync(
+                        () -> router.onShard(target, () -> expireShard(target, cutoff)), executor));
+            }
+        } catch (RejectedExecutionException ex) {
+            running.set(false);
+            log.warn("Error Expiring Reports: [error= {}]", ex.getMessage());
+            return CompletableFuture.completedFuture(0);
+        }
+        return CompletableFuture.allOf(shardRuns.toArray(CompletableFuture[]::new))
+                .thenApply(done -> finish(shardRuns.stream().map(CompletableFuture::join).toList(), cutoff))
+                .whenComplete((reports, ex) -> running.set(false));
+    }
+
+    private int finish(List<ShardRun> shardRuns, Date cutoff) {
+        int reports = 0;
+        long left = 0;
+        for (ShardRun shardRun : shardRuns) {
+            reports += shardRun.reports();
+            if (shardRun.exhausted()) {
+                left += router.onShard(shardRun.shard(), () -> countOverdue(shardRun.shard(), cutoff));
+            }
+        }
+        overdue.set(left);
+        log.info("ReportsExpired: [reports= {},\ncutoff= {},\nTime: {}]", reports, cutoff, LocalDateTime.now());
+        return reports;
+    }
+
+    private ShardRun expireShard(int shard, Date cutoff) {
+        int reports = 0;
+        boolean exhausted = false;
+        try {
+            int chunk = 0;
+            int expiredChunk;
+            do {
+                if (!throttle(shard)) {
+                    break;
+                }
+                expiredChunk = chunks.record(() -> transactionTemplate.execute(status -> expireChunk(cutoff)));
+                reports += expiredChunk;
+                exhausted = expiredChunk == properties.getChunkSize() && ++chunk >= properties.getMaxChunksPerRun();
+            } while (expiredChunk == properties.getChunkSize() && !exhausted);
+        } catch (RuntimeException ex) {
+            failures.increment();
+            log.warn("Error Expiring Reports: [shard= {},\nerror= {}]", shard, ex.getMessage());
+        }
+        return new ShardRun(shard, reports, exhausted);
+    }
+
+    private int expireChunk(Date cutoff) {
+        List<ReportLifecycleRepository.ExpiredReport> reports =
+                reportLifecycleRepository.expire(cutoff, properties.getChunkSize());
+        for (ReportLifecycleRepository.ExpiredReport report : reports) {
+            ReportShape shape = new ReportShape(report.size() == null ? 0 : report.size(), report.length(),
+                    ReportShape.dayOf(report.createdAt()));
+            eventPublisher.publishEvent(new ReportChangedEvent(ReportChangeType.STATUS_CHANGED, report.batchNo(),
+                    ReportStatus.INACTIVE, ReportStatus.ACTIVE, shape, shape));
+        }
+        expired.increment(reports.size());
+        return reports.size();
+    }
+
+    private long countOverdue(int shard, Date cutoff) {
+        try {
+            return reportLifecycleRepository.countExpirable(cutoff);
+        } catch (RuntimeException ex) {
+            log.warn("Error Counting Overdue Reports: [shard= {},\nerror= {}]", shard, ex.getMessage());
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Waits for the next chunk of the shard to be allowed.
+     *
+     * @return false if interrupted while waiting
+     */
+    private boolean throttle(int shard) {
+        String key = Integer.toString(shard);
+        long waitNanos;
+        while ((waitNanos = limiter.tryAcquire(key, System.nanoTime())) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Outcome of a run on a shard.
+     *
+     * @param exhausted whether the run stopped at the chunk limit, leaving reports overdue
+     */
+    private record ShardRun(int shard, int reports, boolean exhausted) {
+    }
+}
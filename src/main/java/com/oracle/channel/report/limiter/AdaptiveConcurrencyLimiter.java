@@ -0,0 +1,141 @@
+package com.oracle.channel.report.limiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gradient based adaptive concurrency limiter.
+ * <p>
+ * Request latencies are averaged over short sampling windows and compared with a slowly moving baseline.
+ * When the short term latency rises above the baseline (the database is queueing) the limit shrinks
+ * proportionally; while latency stays at the baseline the limit grows by roughly {@code sqrt(limit)} per
+ * window. Requests above the current limit are rejected immediately instead of queueing for a connection.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double TOLERANCE = 1.5;
+    private static final double BASELINE_WINDOWS = 60;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder sampleNanos = new LongAdder();
+    private final LongAdder sampleCount = new LongAdder();
+    private final LongAdder dropCount = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final ReentrantLock windowLock = new ReentrantLock();
+
+    private volatile double limit;
+    private volatile long windowStart = System.nanoTime();
+    private double baselineNanos;
+    private volatile int windowPeakInFlight;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long window, TimeUnit unit) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Illegal concurrency limit bounds");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.windowNanos = unit.toNanos(window);
+    }
+
+    /**
+     * Tries to admit a request.
+     *
+     * @return true if the request may proceed, in which case {@link #release(long, boolean)} must follow
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        if (current + 1 > windowPeakInFlight) {
+            windowPeakInFlight = current + 1;
+        }
+        return true;
+    }
+
+    /**
+     * Releases an admitted request and records its latency.
+     *
+     * @param elapsedNanos the time the request spent being processed
+     * @param dropped      true if the request failed in a way that signals overload (e.g. a connection timeout)
+     */
+    public void release(long elapsedNanos, boolean dropped) {
+        inFlight.decrementAndGet();
+        if (dropped) {
+            dropCount.increment();
+        } else {
+            sampleNanos.add(elapsedNanos);
+            sampleCount.increment();
+        }
+        long now = System.nanoTime();
+        if (now - windowStart >= windowNanos && windowLock.tryLock()) {
+            try {
+                if (now - windowStart >= windowNanos) {
+                    windowStart = now;
+                    adjust();
+                }
+            } finally {
+                windowLock.unlock();
+            }
+        }
+    }
+
+    private void adjust() {
+        long count = sampleCount.sumThenReset();
+        long totalNanos = sampleNanos.sumThenReset();
+        long drops = dropCount.sumThenReset();
+        int peak = windowPeakInFlight;
+        windowPeakInFlight = inFlight.get();
+
+        double current = limit;
+        double next;
+        if (drops > 0) {
+            next = current * 0.9;
+        } else if (count == 0) {
+            return;
+        } else {
+            double shortNanos = (double) totalNanos / count;
+            if (baselineNanos == 0) {
+                baselineNanos = shortNanos;
+            } else if (baselineNanos > shortNanos * 2) {
+                // latency recovered well below the baseline, catch up quickly
+                baselineNanos = shortNanos;
+            } else {
+                baselineNanos += (shortNanos - baselineNanos) / BASELINE_WINDOWS;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * baselineNanos / shortNanos));
+            // do not grow a limit the traffic is not using
+            double queue = peak < current / 2 ? 0 : Math.sqrt(current);
+            next = current * (1 - SMOOTHING) + (current * gradient + queue) * SMOOTHING;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,174 @@
+package com.oracle.channel.report.limiter;
+
+import com.oracle.channel.report.config.ReportLimiterProperties;
+import com.oracle.channel.report.enums.ResponseCodeEnum;
+import com.oracle.channel.report.exception.GlobalResponseWriter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servlet filter applying an {@link AdaptiveConcurrencyLimiter} per endpoint class (reads vs. writes).
+ * Requests above the current limit are shed immediately with {@link ResponseCodeEnum#OVERLOADED}. A request
+ * that goes asynchronous, like a streamed multi-get, holds its permit until the async processing completes, but
+ * its latency sample is the time until the handler returned: streaming to a slow client is not database latency.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Request attribute set by {@code GlobalExceptionHandler} when a handled failure signals overload, as such
+     * failures are turned into responses before they could reach this filter.
+     */
+    public static final String OVERLOAD_ATTRIBUTE = ConcurrencyLimitFilter.class.getName() + ".overload";
+
+    /**
+     * Endpoint classes limited independently of each other.
+     */
+    public enum EndpointClass {
+        READ, WRITE
+    }
+
+    private final Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(EndpointClass.class);
+    private final GlobalResponseWriter responseWriter;
+
+    public ConcurrencyLimitFilter(ReportLimiterProperties properties, GlobalResponseWriter responseWriter,
+                                  MeterRegistry meterRegistry) {
+        this.responseWriter = responseWriter;
+        long windowNanos = properties.getWindow().toNanos();
+        limiters.put(EndpointClass.READ, newLimiter(properties.getRead(), windowNanos));
+        limiters.put(EndpointClass.WRITE, newLimiter(properties.getWrite(), windowNanos));
+        limiters.forEach((endpointClass, limiter) -> {
+            String tag = endpointClass.name().toLowerCase();
+            Gauge.builder("report.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("class", tag).register(meterRegistry);
+            Gauge.builder("report.limiter.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("class", tag).register(meterRegistry);
+            FunctionCounter.builder("report.limiter.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                    .tag("class", tag).register(meterRegistry);
+        });
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        EndpointClass endpointClass = HttpMethod.GET.matches(request.getMethod())
+                || request.getRequestURI().endsWith("/reports/multi-get") ? EndpointClass.READ : EndpointClass.WRITE;
+        AdaptiveConcurrencyLimiter limiter = limiters.get(endpointClass);
+        if (!limiter.tryAcquire()) {
+            log.warn("RequestShed: [class= {},\nlimit= {}]", endpointClass, limiter.getLimit());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            responseWriter.writeError(response, HttpStatus.SERVICE_UNAVAILABLE, ResponseCodeEnum.OVERLOADED,
+                    "Service overloaded, retry later");
+            return;
+        }
+        long start = System.nanoTime();
+        boolean dropped = false;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ServletException | RuntimeException ex) {
+            dropped = isOverloadSignal(ex);
+            throw ex;
+        } finally {
+            if (!dropped && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(limiter, System.nanoTime() - start,
+                        request));
+            } else {
+                dropped = dropped || Boolean.TRUE.equals(request.getAttribute(OVERLOAD_ATTRIBUTE));
+                limiter.release(System.nanoTime() - start, dropped);
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // long-lived change feed connections are not request/response work, and snapshot downloads are served
+        // from disk without touching the database
+        return request.getRequestURI().endsWith("/reports/changes")
+                || request.getRequestURI().endsWith("/reports/snapshot");
+    }
+
+    /**
+     * @return true if the failure or one of its causes shows the database is not keeping up
+     */
+    public static boolean isOverloadSignal(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CannotCreateTransactionException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof QueryTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Releases the permit of an asynchronous request once it completes, sampling the time its handler took. The
+     * container calls {@code onComplete} after a timeout or error too, so only that releases.
+     */
+    private static final class ReleasingListener implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long handlerNanos;
+        private final HttpServletRequest request;
+        private volatile boolean dropped;
+
+        private ReleasingListener(AdaptiveConcurrencyLimiter limiter, long handlerNanos, HttpServletRequest request) {
+            this.limiter = limiter;
+            this.handlerNanos = handlerNanos;
+            this.request = request;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            limiter.release(handlerNanos, dropped || Boolean.TRUE.equals(request.getAttribute(OVERLOAD_ATTRIBUTE)));
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // a stream outliving the async timeout says more about the client than about the database
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            dropped = dropped || isOverloadSignal(event.getThrowable());
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // a restarted async cycle drops its listeners, the permit is still held
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private static AdaptiveConcurrencyLimiter newLimiter(ReportLimiterProperties.Limit limit, long windowNanos) {
+        return new AdaptiveConcurrencyLimiter(limit.getInitial(), limit.getMin(), limit.getMax(),
+                windowNanos, TimeUnit.NANOSECONDS);
+    }
+
+    AdaptiveConcurrencyLimiter limiter(EndpointClass endpointClass) {
+        return limiters.get(endpointClass);
+    }
+}
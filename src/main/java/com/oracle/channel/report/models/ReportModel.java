@@ -1,12 +1,11 @@
 package com.oracle.channel.report.models;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.oracle.channel.report.dtos.request.ReportRequestDto;
 import com.oracle.channel.report.enums.ReportStatus;
 import com.oracle.channel.report.models.data.ReportData;
+import com.oracle.channel.report.models.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.*;
-import lombok.extern.slf4j.Slf4j;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -23,21 +22,18 @@ import java.util.UUID;
  */
 
 @Entity
-@Table(name = "report", indexes = {
-        @Index(name = "batch_id_index", columnList = "batchNo, id" )
-})
+@Table(name = "report")
 @Access(AccessType.FIELD)
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @Cacheable
-@Slf4j
 public class ReportModel {
 
     @Id
     @Basic(optional = false)
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(name = "batch_no", unique = true, updatable = false, nullable = false, length = 24)
@@ -62,19 +58,55 @@ public class ReportModel {
     private Date updatedAt;
 
 
+    /**
+     * Builds a new active report from the request.
+     * The request's {@link ReportData} entries are taken over as they are; their metadata stays raw JSON.
+     *
+     * @param reportRequestDto the validated request
+     * @return the report model to persist
+     */
     public static ReportModel parse(ReportRequestDto reportRequestDto) {
+        List<ReportData> reportData = reportRequestDto.reportData() == null
+                ? new ArrayList<>() : new ArrayList<>(reportRequestDto.reportData());
+        return ReportModel.builder()
+                .batchNo(reportRequestDto.batchNo())
+                .size(reportRequestDto.size())
+                .status(ReportStatus.ACTIVE)
+                .reportData(reportData)
+                .build();
+    }
 
-        ReportModel model;
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            model = mapper.convertValue(reportRequestDto, ReportModel.class);
-            model.setStatus(ReportStatus.ACTIVE);
-        }catch (IllegalArgumentException ex) {
-           log.info("ReportParseError: {}", ex.getMessage());
-          throw new IllegalArgumentException(ex.getMessage());
-        }
-
-        return model;
+    /**
+     * Builds a detached copy of this report holding other entries, leaving the managed entity untouched.
+     *
+     * @param reportData the entries of the copy
+     * @return the copy
+     */
+    public ReportModel withReportData(List<ReportData> reportData) {
+        return ReportModel.builder()
+                .id(id)
+                .batchNo(batchNo)
+                .size(size)
+                .status(status)
+                .reportData(reportData)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
     }
 
+    /**
+     * Builds a detached copy of this report holding its saved entries followed by entries appended later.
+     *
+     * @param appended the appended entries, in append order
+     * @return this report if nothing was appended, otherwise the copy
+     */
+    public ReportModel withAppendedItems(List<ReportData> appended) {
+        if (appended == null || appended.isEmpty()) {
+            return this;
+        }
+        List<ReportData> entries = new ArrayList<>(reportData.size() + appended.size());
+        entries.addAll(reportData);
+        entries.addAll(appended);
+        return withReportData(entries);
+    }
 }
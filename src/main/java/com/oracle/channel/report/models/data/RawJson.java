@@ -0,0 +1,124 @@
+package com.oracle.channel.report.models.data;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SegmentedStringWriter;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+import java.io.IOException;
+
+/**
+ * An opaque JSON value carried as text.
+ * <p>
+ * Deserializing copies the incoming tokens straight into compact JSON text without building a
+ * {@code Map}/{@code List} tree and without converting numbers, and serializing writes the text back
+ * verbatim. The service never looks inside such values, so they travel from the request body through the
+ * JSON column and back into responses without an intermediate object graph.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@JsonSerialize(using = RawJson.Serializer.class)
+@JsonDeserialize(using = RawJson.Deserializer.class)
+public record RawJson(String json) {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    public RawJson {
+        if (json == null || json.isBlank()) {
+            throw new IllegalArgumentException("RawJson requires a JSON value");
+        }
+    }
+
+    /**
+     * Copies the value the parser is positioned on into a new {@link RawJson}.
+     *
+     * @param parser a parser positioned on the first token of a value
+     * @return the value as compact JSON text
+     */
+    public static RawJson copyOf(JsonParser parser) throws IOException {
+        SegmentedStringWriter writer = new SegmentedStringWriter(new BufferRecycler());
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            int depth = 0;
+            JsonToken token = parser.currentToken();
+            do {
+                switch (token) {
+                    case START_OBJECT -> {
+                        generator.writeStartObject();
+                        depth++;
+                    }
+                    case START_ARRAY -> {
+                        generator.writeStartArray();
+                        depth++;
+                    }
+                    case END_OBJECT -> {
+                        generator.writeEndObject();
+                        depth--;
+                    }
+                    case END_ARRAY -> {
+                        generator.writeEndArray();
+                        depth--;
+                    }
+                    case FIELD_NAME -> generator.writeFieldName(parser.currentName());
+                    case VALUE_STRING -> generator.writeString(parser.getTextCharacters(),
+                            parser.getTextOffset(), parser.getTextLength());
+                    // numbers keep their original text, no conversion to double or BigDecimal
+                    case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> generator.writeNumber(parser.getText());
+                    case VALUE_TRUE -> generator.writeBoolean(true);
+                    case VALUE_FALSE -> generator.writeBoolean(false);
+                    case VALUE_NULL -> generator.writeNull();
+                    default -> throw new IllegalArgumentException("Unexpected JSON token: " + token);
+                }
+            } while (depth > 0 && (token = parser.nextToken()) != null);
+        }
+        return new RawJson(writer.getAndClear());
+    }
+
+    @Override
+    public String toString() {
+        return json;
+    }
+
+    /**
+     * Writes the JSON text verbatim.
+     */
+    public static class Serializer extends JsonSerializer<RawJson> {
+
+        @Override
+        public void serialize(RawJson value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeRawValue(value.json());
+        }
+    }
+
+    /**
+     * Captures the JSON text of the current value.
+     */
+    public static class Deserializer extends JsonDeserializer<RawJson> {
+
+        @Override
+        public RawJson deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_EMBEDDED_OBJECT) {
+                // produced by ObjectMapper#convertValue, which buffers raw values instead of re-parsing them
+                Object embedded = parser.getEmbeddedObject();
+                if (embedded instanceof RawJson rawJson) {
+                    return rawJson;
+                }
+                if (embedded instanceof RawValue rawValue) {
+                    return new RawJson(String.valueOf(rawValue.rawValue()));
+                }
+                return (RawJson) context.handleUnexpectedToken(RawJson.class, parser);
+            }
+            return copyOf(parser);
+        }
+    }
+}
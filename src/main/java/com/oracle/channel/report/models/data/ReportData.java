@@ -1,5 +1,6 @@
 package com.oracle.channel.report.models.data;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,5 +17,16 @@ public class ReportData {
 
     private String name;
     private String desc;
-    private Object metadata;
+    private RawJson metadata;
+
+    /**
+     * Hex SHA-256 of the metadata blob a stored entry references instead of holding the metadata itself.
+     * Only ever set by the service; responses carry the resolved metadata.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String metadataRef;
+
+    public ReportData(String name, String desc, RawJson metadata) {
+        this(name, desc, metadata, null);
+    }
 }
@@ -0,0 +1,21 @@
+package com.oracle.channel.report.models.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the identifier with {@link UuidV7Generator}, so new rows are appended at the right-hand edge of
+ * the primary-key index instead of being scattered across it.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedUuid {
+}
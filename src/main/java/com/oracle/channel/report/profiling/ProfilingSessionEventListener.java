@@ -0,0 +1,33 @@
+package com.oracle.channel.report.profiling;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times the Hibernate flushes of profiled requests. Registered for every session by
+ * {@link com.oracle.channel.report.config.ReportProfilingConfig}, whatever the active profiles.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public class ProfilingSessionEventListener implements SessionEventListener {
+
+    @Override
+    public void flushStart() {
+        RequestProfile.begin(ReportPhase.FLUSH);
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        RequestProfile.end(ReportPhase.FLUSH);
+    }
+
+    @Override
+    public void partialFlushStart() {
+        RequestProfile.begin(ReportPhase.FLUSH);
+    }
+
+    @Override
+    public void partialFlushEnd(int numberOfEntities, int numberOfCollections) {
+        RequestProfile.end(ReportPhase.FLUSH);
+    }
+}
@@ -0,0 +1,51 @@
+package com.oracle.channel.report.profiling;
+
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Times the commits of profiled requests, from right before the commit until the first after-commit callback,
+ * so the after-commit listeners of the report events are not counted.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Component
+public class ProfilingTransactionListener implements TransactionExecutionListener {
+
+    private static final TransactionSynchronization COMMITTED = new TransactionSynchronization() {
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void afterCommit() {
+            RequestProfile.end(ReportPhase.COMMIT);
+        }
+    };
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null && RequestProfile.current() != null
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(COMMITTED);
+        }
+    }
+
+    @Override
+    public void beforeCommit(TransactionExecution transaction) {
+        if (transaction.isNewTransaction()) {
+            RequestProfile.begin(ReportPhase.COMMIT);
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        RequestProfile.end(ReportPhase.COMMIT);
+    }
+}
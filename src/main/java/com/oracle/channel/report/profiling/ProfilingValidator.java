@@ -0,0 +1,53 @@
+package com.oracle.channel.report.profiling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+/**
+ * Times the validation of request bodies of profiled requests.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@RequiredArgsConstructor
+public class ProfilingValidator implements SmartValidator {
+
+    private final SmartValidator delegate;
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        RequestProfile.begin(ReportPhase.VALIDATION);
+        try {
+            delegate.validate(target, errors);
+        } finally {
+            RequestProfile.end(ReportPhase.VALIDATION);
+        }
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        RequestProfile.begin(ReportPhase.VALIDATION);
+        try {
+            delegate.validate(target, errors, validationHints);
+        } finally {
+            RequestProfile.end(ReportPhase.VALIDATION);
+        }
+    }
+
+    @Override
+    public void validateValue(Class<?> targetType, String fieldName, Object value, Errors errors,
+                              Object... validationHints) {
+        delegate.validateValue(targetType, fieldName, value, errors, validationHints);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) {
+        return delegate.unwrap(type);
+    }
+}
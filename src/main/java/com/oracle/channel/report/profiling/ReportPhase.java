@@ -0,0 +1,23 @@
+package com.oracle.channel.report.profiling;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Phases of a report request timed by the {@link RequestProfile}.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Getter
+@AllArgsConstructor
+public enum ReportPhase {
+    BINDING("Reading the JSON request body into its DTO"),
+    VALIDATION("Bean validation of the request body"),
+    PARSE("Converting the request DTO into a ReportModel"),
+    FLUSH("Hibernate flush of pending changes"),
+    COMMIT("Database commit, excluding the flush it triggers"),
+    SERIALIZATION("Writing the JSON response body");
+
+    private final String desc;
+}
@@ -0,0 +1,38 @@
+package com.oracle.channel.report.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning one phase of a report request. Flush events nest inside the commit they
+ * are triggered by.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Name("com.oracle.channel.report.Phase")
+@Label("Report Request Phase")
+@Category({"Report Service", "Requests"})
+@Description("A phase of a request to a report endpoint")
+@StackTrace(false)
+class ReportPhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Batch Number")
+    @Description("Batch number of the report the request is about, -1 if none")
+    long batchNo;
+
+    @Label("Payload Size")
+    @DataAmount
+    long payloadBytes;
+}
@@ -0,0 +1,37 @@
+package com.oracle.channel.report.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning a whole report request.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Name("com.oracle.channel.report.Request")
+@Label("Report Request")
+@Category({"Report Service", "Requests"})
+@Description("A request to a report endpoint")
+@StackTrace(false)
+class ReportRequestEvent extends Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Batch Number")
+    @Description("Batch number of the report the request is about, -1 if none")
+    long batchNo;
+
+    @Label("Payload Size")
+    @DataAmount
+    long payloadBytes;
+
+    @Label("Status")
+    int status;
+}
@@ -0,0 +1,201 @@
+package com.oracle.channel.report.profiling;
+
+import java.util.Locale;
+
+/**
+ * Time spent by the current report request in each {@link ReportPhase}.
+ * <p>
+ * A profile only exists while the request is being recorded by the flight recorder or slow requests are
+ * captured, otherwise {@link #begin} and {@link #end} return after a thread-local lookup. Phases may nest;
+ * the time of a phase excludes the phases nested in it, so a commit does not count the flush it triggers.
+ * Each phase is also committed as a {@link ReportPhaseEvent} with its full duration.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public final class RequestProfile {
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+    private static final ReportPhase[] PHASES = ReportPhase.values();
+
+    private final long startedAt = System.nanoTime();
+    private final boolean[] open = new boolean[PHASES.length];
+    private final long[] openedAt = new long[PHASES.length];
+    private final long[] nested = new long[PHASES.length];
+    private final long[] self = new long[PHASES.length];
+    private final ReportPhaseEvent[] events = new ReportPhaseEvent[PHASES.length];
+    private String endpoint;
+    private long batchNo = -1;
+    private long payloadBytes;
+
+    private RequestProfile(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Starts profiling the request handled by the current thread.
+     *
+     * @param endpoint the endpoint until a better name is known
+     * @return the new profile
+     */
+    public static RequestProfile start(String endpoint) {
+        RequestProfile profile = new RequestProfile(endpoint);
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    /**
+     * @return the profile of the request handled by the current thread, or null if it is not profiled
+     */
+    public static RequestProfile current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Starts timing a phase of the current request, if it is profiled.
+     */
+    public static void begin(ReportPhase phase) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.open(phase);
+        }
+    }
+
+    /**
+     * Stops timing a phase of the current request. Does nothing if the phase is not being timed.
+     */
+    public static void end(ReportPhase phase) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.close(phase);
+        }
+    }
+
+    /**
+     * Records the batch number of the report the current request is about.
+     */
+    public static void batchNo(Long batchNo) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null && batchNo != null) {
+            profile.batchNo = batchNo;
+        }
+    }
+
+    /**
+     * Ends the profile of the current request, closing the phases still open.
+     *
+     * @return the elapsed nanos since the profile started
+     */
+    public long finish() {
+        for (ReportPhase phase : PHASES) {
+            close(phase);
+        }
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+        return System.nanoTime() - startedAt;
+    }
+
+    /**
+     * Detaches the profile from the current thread without ending it, for a request completing asynchronously.
+     */
+    void detach() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    void open(ReportPhase phase) {
+        int index = phase.ordinal();
+        if (open[index]) {
+            return;
+        }
+        ReportPhaseEvent event = new ReportPhaseEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            events[index] = event;
+        }
+        open[index] = true;
+        nested[index] = 0;
+        openedAt[index] = System.nanoTime();
+    }
+
+    void close(ReportPhase phase) {
+        int index = phase.ordinal();
+        if (!open[index]) {
+            return;
+        }
+        long elapsed = System.nanoTime() - openedAt[index];
+        open[index] = false;
+        self[index] += elapsed - nested[index];
+        // charge the time to the innermost phase still open around this one
+        int parent = -1;
+        for (int other = 0; other < PHASES.length; other++) {
+            if (open[other] && (parent < 0 || openedAt[other] > openedAt[parent])) {
+                parent = other;
+            }
+        }
+        if (parent >= 0) {
+            nested[parent] += elapsed;
+        }
+        ReportPhaseEvent event = events[index];
+        if (event != null) {
+            events[index] = null;
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = phase.name();
+                event.endpoint = endpoint;
+                event.batchNo = batchNo;
+                event.payloadBytes = payloadBytes;
+                event.commit();
+            }
+        }
+    }
+
+    void addPayloadBytes(long bytes) {
+        payloadBytes += bytes;
+    }
+
+    void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getBatchNo() {
+        return batchNo;
+    }
+
+    public long getPayloadBytes() {
+        return payloadBytes;
+    }
+
+    /**
+     * @return the nanos spent in the phase, excluding the phases nested in it
+     */
+    public long nanosIn(ReportPhase phase) {
+        return self[phase.ordinal()];
+    }
+
+    /**
+     * @param totalNanos the duration of the whole request
+     * @return the time per phase in milliseconds, with the remainder as {@code other}
+     */
+    public String breakdown(long totalNanos) {
+        StringBuilder breakdown = new StringBuilder();
+        long phases = 0;
+        for (ReportPhase phase : PHASES) {
+            phases += self[phase.ordinal()];
+            breakdown.append(phase.name().toLowerCase(Locale.ROOT)).append("= ")
+                    .append(millis(self[phase.ordinal()])).append(",\n");
+        }
+        return breakdown.append("other= ").append(millis(totalNanos - phases)).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3fms", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,123 @@
+package com.oracle.channel.report.profiling;
+
+import com.oracle.channel.report.dtos.request.ReportRequestDto;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Times the JSON binding of request bodies, counting their bytes, and starts the timing of the response
+ * serialization of profiled requests.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@ControllerAdvice
+public class RequestProfilingBodyAdvice extends RequestBodyAdviceAdapter implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) throws IOException {
+        RequestProfile profile = RequestProfile.current();
+        if (profile == null) {
+            return inputMessage;
+        }
+        profile.open(ReportPhase.BINDING);
+        InputStream body = new CountingInputStream(inputMessage.getBody(), profile);
+        HttpHeaders headers = inputMessage.getHeaders();
+        return new HttpInputMessage() {
+            @Override
+            public InputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        if (body instanceof ReportRequestDto reportRequestDto) {
+            RequestProfile.batchNo(reportRequestDto.batchNo());
+        }
+        RequestProfile.end(ReportPhase.BINDING);
+        return body;
+    }
+
+    @Override
+    public Object handleEmptyBody(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                  Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestProfile.end(ReportPhase.BINDING);
+        return body;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestProfile.begin(ReportPhase.SERIALIZATION);
+        return body;
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final RequestProfile profile;
+
+        private CountingInputStream(InputStream in, RequestProfile profile) {
+            super(in);
+            this.profile = profile;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0) {
+                profile.addPayloadBytes(1);
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                profile.addPayloadBytes(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            profile.addPayloadBytes(skipped);
+            return skipped;
+        }
+    }
+}
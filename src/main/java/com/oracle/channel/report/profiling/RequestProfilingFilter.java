@@ -0,0 +1,119 @@
+package com.oracle.channel.report.profiling;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Profiles report requests while the flight recorder records {@link ReportRequestEvent}s, or when slow
+ * requests are captured. A captured request taking at least the threshold is logged with its
+ * {@link RequestProfile#breakdown breakdown}. Requests are passed straight through otherwise.
+ * <p>
+ * A request going asynchronous, such as a streamed multi-get, is profiled until the response completes: the
+ * time between the handler returning and the completion is charged to {@link ReportPhase#SERIALIZATION}.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Slf4j
+public class RequestProfilingFilter extends OncePerRequestFilter {
+
+    private final long slowRequestNanos;
+
+    /**
+     * @param slowRequestThreshold requests taking at least this long are logged, zero disables the capture
+     */
+    public RequestProfilingFilter(Duration slowRequestThreshold) {
+        this.slowRequestNanos = slowRequestThreshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ReportRequestEvent event = new ReportRequestEvent();
+        if (!event.isEnabled() && slowRequestNanos <= 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        event.begin();
+        RequestProfile profile = RequestProfile.start(request.getMethod() + " " + request.getRequestURI());
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } finally {
+            if (async) {
+                // the response is written by another thread, the profile follows it until the request completes
+                profile.detach();
+                profile.open(ReportPhase.SERIALIZATION);
+                request.getAsyncContext().addListener(new CompletingListener(profile, event, response));
+            } else {
+                complete(profile, event, response);
+            }
+        }
+    }
+
+    private void complete(RequestProfile profile, ReportRequestEvent event, HttpServletResponse response) {
+        long elapsed = profile.finish();
+        event.end();
+        if (event.shouldCommit()) {
+            event.endpoint = profile.getEndpoint();
+            event.batchNo = profile.getBatchNo();
+            event.payloadBytes = profile.getPayloadBytes();
+            event.status = response.getStatus();
+            event.commit();
+        }
+        if (slowRequestNanos > 0 && elapsed >= slowRequestNanos) {
+            log.warn("SlowReportRequest: [endpoint= {},\nbatchNo= {},\npayloadBytes= {},\nstatus= {},\ntotal= {}ms,\n{}]",
+                    profile.getEndpoint(), profile.getBatchNo(), profile.getPayloadBytes(), response.getStatus(),
+                    elapsed / 1_000_000, profile.breakdown(elapsed));
+        }
+    }
+
+    /**
+     * Completes the profile of an asynchronous request. The container calls {@code onComplete} after a timeout
+     * or error too, so only that completes.
+     */
+    private final class CompletingListener implements AsyncListener {
+
+        private final RequestProfile profile;
+        private final ReportRequestEvent event;
+        private final HttpServletResponse response;
+
+        private CompletingListener(RequestProfile profile, ReportRequestEvent event, HttpServletResponse response) {
+            this.profile = profile;
+            this.event = event;
+            this.response = response;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent asyncEvent) {
+            complete(profile, event, response);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent asyncEvent) {
+            // followed by onComplete
+        }
+
+        @Override
+        public void onError(AsyncEvent asyncEvent) {
+            // followed by onComplete
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent asyncEvent) {
+            // a restarted async cycle drops its listeners, the request is still being profiled
+            asyncEvent.getAsyncContext().addListener(this);
+        }
+    }
+}
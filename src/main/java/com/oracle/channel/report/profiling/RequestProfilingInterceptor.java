@@ -0,0 +1,45 @@
+package com.oracle.channel.report.profiling;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Names the profiled request after its mapping and takes the batch number from the path. Ends the response
+ * serialization, which has completed by the time the handler is done.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public class RequestProfilingInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile == null) {
+            return true;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            profile.setEndpoint(request.getMethod() + " " + pattern);
+        }
+        if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables
+                && variables.get("batchNo") instanceof String batchNo) {
+            try {
+                RequestProfile.batchNo(Long.parseLong(batchNo));
+            } catch (NumberFormatException ex) {
+                // rejected by the binding of the path variable
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestProfile.end(ReportPhase.SERIALIZATION);
+    }
+}
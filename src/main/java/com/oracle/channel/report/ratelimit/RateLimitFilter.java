@@ -0,0 +1,137 @@
+package com.oracle.channel.report.ratelimit;
+
+import com.oracle.channel.report.config.ReportRateLimitProperties;
+import com.oracle.channel.report.enums.ResponseCodeEnum;
+import com.oracle.channel.report.exception.GlobalResponseWriter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servlet filter applying per-client {@link TokenBucketLimiter}s with separate budgets for ingestion,
+ * bulk status changes and reads. Rejected requests receive HTTP 429 with a {@code Retry-After} hint.
+ * <p>
+ * Clients are keyed by the client header, restricted to {@code report.rate-limit.clients} when that is set, and
+ * otherwise by their address as resolved through {@code server.forward-headers-strategy}, so callers behind the
+ * load balancer are not limited as one. Made-up header values are bounded by {@code report.rate-limit.max-clients}
+ * after which new keys share the overflow bucket.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Budgets a client is limited by independently.
+     */
+    public enum Budget {
+        INGEST, STATUS_CHANGE, READ
+    }
+
+    private final Map<Budget, TokenBucketLimiter> limiters = new EnumMap<>(Budget.class);
+    private final String clientHeader;
+    private final Set<String> clients;
+    private final GlobalResponseWriter responseWriter;
+
+    public RateLimitFilter(ReportRateLimitProperties properties, GlobalResponseWriter responseWriter,
+                           MeterRegistry meterRegistry) {
+        this.clientHeader = properties.getClientHeader();
+        this.clients = Set.copyOf(properties.getClients());
+        this.responseWriter = responseWriter;
+        limiters.put(Budget.INGEST, newLimiter(properties.getIngest(), properties.getMaxClients()));
+        limiters.put(Budget.STATUS_CHANGE, newLimiter(properties.getStatusChange(), properties.getMaxClients()));
+        limiters.put(Budget.READ, newLimiter(properties.getRead(), properties.getMaxClients()));
+        limiters.forEach((budget, limiter) -> {
+            String tag = budget.name().toLowerCase();
+            Gauge.builder("report.ratelimit.clients", limiter, TokenBucketLimiter::getClients)
+                    .tag("budget", tag).register(meterRegistry);
+            FunctionCounter.builder("report.ratelimit.rejected", limiter, TokenBucketLimiter::getRejected)
+                    .tag("budget", tag).register(meterRegistry);
+        });
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Budget budget = budgetOf(request);
+        String clientKey = clientKey(request);
+        long waitNanos = limiters.get(budget).tryAcquire(clientKey, System.nanoTime());
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            // rejections are counted by report.ratelimit.rejected, the client only shows as a fingerprint
+            if (log.isDebugEnabled()) {
+                log.debug("RateLimited: [client= {},\nbudget= {},\nretryAfter= {}s]", fingerprint(clientKey), budget,
+                        retryAfter);
+            }
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            responseWriter.writeError(response, HttpStatus.TOO_MANY_REQUESTS, ResponseCodeEnum.RATE_LIMITED,
+                    "Rate limit exceeded, retry after " + retryAfter + "s");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Drops clients whose buckets have refilled, keeping memory proportional to active clients.
+     */
+    @Scheduled(fixedDelayString = "${report.rate-limit.evict-interval:1m}")
+    public void evictIdleClients() {
+        long now = System.nanoTime();
+        limiters.values().forEach(limiter -> limiter.evictIdle(now));
+    }
+
+    static Budget budgetOf(HttpServletRequest request) {
+        // a multi-get is a read for its budget even though it is a POST. Its token is taken when the request
+        // starts, which is all a rate needs; holding capacity while the response streams asynchronously is the
+        // concurrency limiter's job
+        if (HttpMethod.GET.matches(request.getMethod()) || request.getRequestURI().endsWith("/reports/multi-get")) {
+            return Budget.READ;
+        }
+        if (HttpMethod.PUT.matches(request.getMethod()) && request.getRequestURI().endsWith("/update-status")) {
+            return Budget.STATUS_CHANGE;
+        }
+        return Budget.INGEST;
+    }
+
+    String clientKey(HttpServletRequest request) {
+        String client = request.getHeader(clientHeader);
+        // prefixed, so a header value cannot take over the bucket of an address
+        return client != null && !client.isBlank() && (clients.isEmpty() || clients.contains(client))
+                ? "client:" + client : "address:" + request.getRemoteAddr();
+    }
+
+    private static String fingerprint(String clientKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(clientKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 4);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static TokenBucketLimiter newLimiter(ReportRateLimitProperties.Budget budget, int maxClients) {
+        return new TokenBucketLimiter(budget.getRatePerSecond(), budget.getBurst(), maxClients);
+    }
+}
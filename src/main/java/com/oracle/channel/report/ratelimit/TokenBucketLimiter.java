@@ -0,0 +1,116 @@
+package com.oracle.channel.report.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free per-client token buckets for a single budget.
+ * <p>
+ * Each bucket is kept as one {@link AtomicLong} holding its theoretical arrival time (the GCRA form of a token
+ * bucket): taking a token is a single compare-and-set, and a bucket whose arrival time lies in the past is full
+ * and therefore indistinguishable from a fresh one, which makes evicting idle clients lossless. Eviction marks a
+ * bucket with a compare-and-set before removing it, so a request racing with it retries on the client's new
+ * bucket instead of spending a token nobody will see.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public class TokenBucketLimiter {
+
+    private static final String OVERFLOW_CLIENT = "__overflow__";
+    private static final long EVICTED = Long.MIN_VALUE;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxClients;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param ratePerSecond sustained number of requests per second per client
+     * @param burst         number of requests a client may issue at once after being idle
+     * @param maxClients    number of clients tracked before new clients share a single overflow bucket
+     */
+    public TokenBucketLimiter(double ratePerSecond, int burst, int maxClients) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Illegal rate limit budget");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.maxClients = maxClients;
+    }
+
+    /**
+     * Tries to take one token from the client's bucket.
+     *
+     * @param clientKey the client identity
+     * @param nowNanos  the current {@link System#nanoTime()}
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token becomes available
+     */
+    public long tryAcquire(String clientKey, long nowNanos) {
+        AtomicLong bucket = bucket(clientKey, nowNanos);
+        while (true) {
+            long current = bucket.get();
+            if (current == EVICTED) {
+                bucket = bucket(clientKey, nowNanos);
+                continue;
+            }
+            long arrival = Math.max(current, nowNanos);
+            long allowAt = arrival - burstToleranceNanos;
+            if (allowAt > nowNanos) {
+                rejected.increment();
+                return allowAt - nowNanos;
+            }
+            if (bucket.compareAndSet(current, arrival + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Forgets every client whose bucket has refilled completely.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return the number of clients evicted
+     */
+    public int evictIdle(long nowNanos) {
+        int evicted = 0;
+        for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+            AtomicLong bucket = entry.getValue();
+            long current = bucket.get();
+            if (current != EVICTED && current <= nowNanos && bucket.compareAndSet(current, EVICTED)) {
+                buckets.remove(entry.getKey(), bucket);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public int getClients() {
+        return buckets.size();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    private AtomicLong bucket(String clientKey, long nowNanos) {
+        AtomicLong bucket = buckets.get(clientKey);
+        if (bucket != null && bucket.get() != EVICTED) {
+            return bucket;
+        }
+        if (buckets.size() >= maxClients) {
+            evictIdle(nowNanos);
+            if (buckets.size() >= maxClients) {
+                clientKey = OVERFLOW_CLIENT;
+            }
+        }
+        // an evicted bucket still in the map is replaced, the evicting thread's remove then finds nothing to do
+        return buckets.compute(clientKey, (key, current) ->
+                current == null || current.get() == EVICTED ? new AtomicLong(nowNanos) : current);
+    }
+}
@@ -0,0 +1,167 @@
+package com.oracle.channel.report.repository;
+
+import com.oracle.channel.report.models.data.RawJson;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Access to the content-addressed metadata blobs in the {@code report_blob} table.
+ * <p>
+ * Hashes are passed around as lowercase hex and stored as {@code bytea}. Reference counts are changed in hash
+ * order, so writers sharing blobs always lock them in the same order and cannot deadlock each other.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Repository
+@Profile("!embedded")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ReportBlobRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * A blob referenced by entries being stored.
+     *
+     * @param hash       the hex SHA-256 of the content
+     * @param content    the JSON text
+     * @param byteSize   the size of the content in bytes
+     * @param references the number of entries referencing it
+     */
+    public record Blob(String hash, String content, int byteSize, long references) {
+    }
+
+    /**
+     * Outcome of storing a blob.
+     *
+     * @param blob     the blob
+     * @param inserted true if the blob was new, false if an existing copy gained the references
+     */
+    public record Stored(Blob blob, boolean inserted) {
+    }
+
+    /**
+     * Adds references to blobs in one statement, inserting the blobs not stored yet.
+     *
+     * @param blobs the blobs with the references to add
+     * @return the outcome per blob
+     */
+    public List<Stored> acquire(List<Blob> blobs) {
+        Map<String, Blob> byHash = new HashMap<>(blobs.size() * 2);
+        blobs.forEach(blob -> byHash.put(blob.hash(), blob));
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("""
+                    INSERT INTO report_blob (hash, content, byte_size, ref_count, created_at, updated_at)
+                    SELECT decode(b.hash, 'hex'), CAST(b.content AS jsonb), b.byte_size, b.refs, ?, ?
+                    FROM unnest(?::text[], ?::text[], ?::int[], ?::bigint[]) AS b(hash, content, byte_size, refs)
+                    ORDER BY decode(b.hash, 'hex')
+                    ON CONFLICT (hash) DO UPDATE
+                    SET ref_count = report_blob.ref_count + EXCLUDED.ref_count, updated_at = EXCLUDED.updated_at
+                    RETURNING encode(hash, 'hex'), xmax = 0""");
+            ps.setTimestamp(1, now);
+            ps.setTimestamp(2, now);
+            ps.setArray(3, connection.createArrayOf("text", blobs.stream().map(Blob::hash).toArray()));
+            ps.setArray(4, connection.createArrayOf("text", blobs.stream().map(Blob::content).toArray()));
+            ps.setArray(5, connection.createArrayOf("int4", blobs.stream().map(Blob::byteSize).toArray()));
+            ps.setArray(6, connection.createArrayOf("int8", blobs.stream().map(Blob::references).toArray()));
+            return ps;
+        }, (rs, rowNum) -> new Stored(byHash.get(rs.getString(1)), rs.getBoolean(2)));
+    }
+
+    /**
+     * Removes references from blobs in one JDBC batch.
+     *
+     * @param references the references to remove per hash, in hash order
+     */
+    public void release(Map<String, Long> references) {
+        List<Map.Entry<String, Long>> released = new ArrayList<>(references.entrySet());
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate("UPDATE report_blob SET ref_count = ref_count - ?, updated_at = ? "
+                        + "WHERE hash = decode(?, 'hex')",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, released.get(i).getValue());
+                        ps.setTimestamp(2, now);
+                        ps.setString(3, released.get(i).getKey());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return released.size();
+                    }
+                });
+    }
+
+    /**
+     * @param hashes the hex hashes of the blobs
+     * @return the content per hash, without the hashes not stored
+     */
+    public Map<String, RawJson> findContents(Collection<String> hashes) {
+        Map<String, RawJson> contents = new HashMap<>(hashes.size() * 2);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("""
+                    SELECT encode(hash, 'hex'), content::text FROM report_blob
+                    WHERE hash IN (SELECT decode(h, 'hex') FROM unnest(?::text[]) AS h)""");
+            ps.setArray(1, connection.createArrayOf("text", hashes.toArray()));
+            return ps;
+        }, rs -> {
+            contents.put(rs.getString(1), new RawJson(rs.getString(2)));
+        });
+        return contents;
+    }
+
+    /**
+     * Counts the blob references held by the entries appended to reports.
+     *
+     * @param batchIds the batch numbers of the reports
+     * @return the number of references per hash
+     */
+    public Map<String, Long> countAppendedReferences(Collection<Long> batchIds) {
+        Map<String, Long> references = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("""
+                    SELECT encode(metadata_ref, 'hex'), count(*) FROM report_item
+                    WHERE batch_no = ANY(?) AND metadata_ref IS NOT NULL
+                    GROUP BY metadata_ref""");
+            ps.setArray(1, connection.createArrayOf("int8", batchIds.toArray()));
+            return ps;
+        }, rs -> {
+            references.put(rs.getString(1), rs.getLong(2));
+        });
+        return references;
+    }
+
+    /**
+     * Deletes blobs unreferenced since before the cutoff, skipping blobs locked by writers.
+     *
+     * @param cutoff the latest last change of a blob to delete
+     * @param limit  the maximum number of blobs to delete
+     * @return the number of deleted blobs
+     */
+    public int deleteUnreferenced(Date cutoff, int limit) {
+        return jdbcTemplate.update("""
+                        DELETE FROM report_blob WHERE hash IN (
+                            SELECT hash FROM report_blob
+                            WHERE ref_count <= 0 AND updated_at < ?
+                            LIMIT ?
+                            FOR UPDATE SKIP LOCKED)""",
+                new Timestamp(cutoff.getTime()), limit);
+    }
+}
@@ -0,0 +1,219 @@
+package com.oracle.channel.report.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.models.data.RawJson;
+import com.oracle.channel.report.models.data.ReportData;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Item-level access to report data entries.
+ * <p>
+ * Entries a report was saved with are read out of the {@code report_data} document in the database, so only
+ * the requested slice is shipped; entries appended later live in the {@code report_item} child table. Reads of
+ * whole reports add the appended entries after the saved ones with {@link #withAppendedItems(List)}.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Repository
+@Profile("!embedded")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ReportItemRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Locked report header returned when growing a report.
+     *
+     * @param size      the report size after growing
+     * @param status    the current report status
+     * @param length    the number of saved entries
+     * @param createdAt when the report was created
+     */
+    public record GrownReport(int size, ReportStatus status, int length, Date createdAt) {
+    }
+
+    /**
+     * Fetches entries of the saved {@code report_data} document, as stored.
+     *
+     * @param batchNo the batch number of the report
+     * @param from    index of the first entry to return
+     * @param limit   maximum number of entries
+     * @return the entries in document order
+     */
+    public List<ReportData> findSavedItems(long batchNo, int from, int limit) {
+        // entries are picked by subscript, so a page does not walk the entries before it
+        return jdbcTemplate.query("""
+                        SELECT (r.report_data -> s.i)::text FROM report r
+                        CROSS JOIN LATERAL generate_series(?, LEAST(jsonb_array_length(r.report_data), ?) - 1)
+                            AS s(i)
+                        WHERE r.batch_no = ?
+                        ORDER BY s.i""",
+                (rs, rowNum) -> readItem(rs.getString(1)), from, (int) Math.min(Integer.MAX_VALUE, (long) from + limit),
+                batchNo);
+    }
+
+    /**
+     * Fetches appended entries. Entries stored by reference come with the hash of their metadata blob only.
+     *
+     * @param batchNo the batch number of the report
+     * @param from    index of the first appended entry to return
+     * @param limit   maximum number of entries
+     * @return the entries in append order
+     */
+    public List<ReportData> findAppendedItems(long batchNo, int from, int limit) {
+        return jdbcTemplate.query("""
+                        SELECT name, description, metadata::text, encode(metadata_ref, 'hex') FROM report_item
+                        WHERE batch_no = ? AND item_index >= ?
+                        ORDER BY item_index
+                        LIMIT ?""",
+                (rs, rowNum) -> {
+                    String metadata = rs.getString(3);
+                    return new ReportData(rs.getString(1), rs.getString(2),
+                            metadata == null ? null : new RawJson(metadata), rs.getString(4));
+                }, batchNo, from, limit);
+    }
+
+    /**
+     * Fetches the appended entries of many reports in one query.
+     *
+     * @param batchNos the batch numbers of the reports
+     * @return the appended entries per batch number in append order, reports without any are left out
+     */
+    public Map<Long, List<ReportData>> findAppendedItems(Collection<Long> batchNos) {
+        Map<Long, List<ReportData>> items = new HashMap<>();
+        if (batchNos.isEmpty()) {
+            return items;
+        }
+        jdbcTemplate.query("""
+                        SELECT batch_no, name, description, metadata::text, encode(metadata_ref, 'hex')
+                        FROM report_item
+                        WHERE batch_no = ANY(?)
+                        ORDER BY batch_no, item_index""",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", batchNos.toArray())),
+                (RowCallbackHandler) rs -> {
+                    String metadata = rs.getString(4);
+                    items.computeIfAbsent(rs.getLong(1), batchNo -> new ArrayList<>())
+                            .add(new ReportData(rs.getString(2), rs.getString(3),
+                                    metadata == null ? null : new RawJson(metadata), rs.getString(5)));
+                });
+        return items;
+    }
+
+    /**
+     * Adds the appended entries of a report after its saved ones.
+     *
+     * @param report the report as stored, or null
+     * @return a detached copy holding all entries, or the report itself if nothing was appended
+     */
+    public ReportModel withAppendedItems(ReportModel report) {
+        return report == null ? null
+                : report.withAppendedItems(findAppendedItems(report.getBatchNo(), 0, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Adds the appended entries of reports after their saved ones, with one query for all of them.
+     *
+     * @param reports the reports as stored
+     * @return the given list if nothing was appended to any report, otherwise a list of detached copies
+     */
+    public List<ReportModel> withAppendedItems(List<ReportModel> reports) {
+        Map<Long, List<ReportData>> appended =
+                findAppendedItems(reports.stream().map(ReportModel::getBatchNo).toList());
+        if (appended.isEmpty()) {
+            return reports;
+        }
+        return reports.stream().map(report -> report.withAppendedItems(appended.get(report.getBatchNo()))).toList();
+    }
+
+    /**
+     * @return true if a report with the batch number exists
+     */
+    public boolean existsByBatchNo(long batchNo) {
+        return !jdbcTemplate.queryForList("SELECT 1 FROM report WHERE batch_no = ?", Integer.class, batchNo).isEmpty();
+    }
+
+    /**
+     * Increments the size of a report, locking its row until the surrounding transaction ends so concurrent
+     * appends to the same report are serialized.
+     *
+     * @return the grown report, or null if no report has the batch number
+     */
+    public GrownReport growReport(long batchNo, int count) {
+        List<GrownReport> reports = jdbcTemplate.query("""
+                        UPDATE report SET size = COALESCE(size, 0) + ?, updated_at = ?
+                        WHERE batch_no = ?
+                        RETURNING size, status, jsonb_array_length(report_data), created_at""",
+                (rs, rowNum) -> new GrownReport(rs.getInt(1), ReportStatus.valueOf(rs.getString(2)), rs.getInt(3),
+                        rs.getTimestamp(4)),
+                count, new Timestamp(System.currentTimeMillis()), batchNo);
+        return reports.isEmpty() ? null : reports.get(0);
+    }
+
+    /**
+     * @return the index the next appended entry of the report receives
+     */
+    public int nextAppendIndex(long batchNo) {
+        Integer next = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(item_index) + 1, 0) FROM report_item WHERE batch_no = ?", Integer.class, batchNo);
+        return next == null ? 0 : next;
+    }
+
+    /**
+     * Inserts appended entries in one JDBC batch.
+     */
+    public void insertItems(long batchNo, int firstIndex, List<ReportData> items) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO report_item (batch_no, item_index, name, description, metadata, metadata_ref,
+                                                 created_at)
+                        VALUES (?, ?, ?, ?, CAST(? AS jsonb), decode(?, 'hex'), ?)""",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ReportData item = items.get(i);
+                        ps.setLong(1, batchNo);
+                        ps.setInt(2, firstIndex + i);
+                        ps.setString(3, item.getName());
+                        ps.setString(4, item.getDesc());
+                        ps.setString(5, item.getMetadata() == null ? null : item.getMetadata().json());
+                        ps.setString(6, item.getMetadataRef());
+                        ps.setTimestamp(7, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return items.size();
+                    }
+                });
+    }
+
+    private ReportData readItem(String json) {
+        try {
+            return objectMapper.readValue(json, ReportData.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Unreadable report data entry: " + ex.getOriginalMessage());
+        }
+    }
+}
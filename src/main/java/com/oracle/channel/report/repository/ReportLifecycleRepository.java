@@ -0,0 +1,70 @@
+package com.oracle.channel.report.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Status transitions of reports made by the lifecycle job.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Repository
+@Profile("!embedded")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ReportLifecycleRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * A report made INACTIVE.
+     *
+     * @param batchNo   the batch number
+     * @param size      the report size
+     * @param length    the number of saved entries
+     * @param createdAt when the report was created
+     */
+    public record ExpiredReport(long batchNo, Integer size, int length, Date createdAt) {
+    }
+
+    /**
+     * Makes the ACTIVE reports last updated before the cutoff INACTIVE, oldest first. Reports locked by another
+     * transaction are skipped, so concurrent jobs never wait on each other or on foreground writes.
+     *
+     * @param cutoff the latest last update of a report to expire
+     * @param limit  the maximum number of reports to expire
+     * @return the expired reports
+     */
+    public List<ExpiredReport> expire(Date cutoff, int limit) {
+        return jdbcTemplate.query("""
+                        UPDATE report SET status = 'INACTIVE', updated_at = ?
+                        WHERE id IN (
+                            SELECT id FROM report
+                            WHERE status = 'ACTIVE' AND updated_at < ?
+                            ORDER BY updated_at
+                            LIMIT ?
+                            FOR UPDATE SKIP LOCKED)
+                        RETURNING batch_no, size, jsonb_array_length(report_data), created_at""",
+                (rs, rowNum) -> new ExpiredReport(rs.getLong(1), (Integer) rs.getObject(2), rs.getInt(3),
+                        rs.getTimestamp(4)),
+                new Timestamp(System.currentTimeMillis()), new Timestamp(cutoff.getTime()), limit);
+    }
+
+    /**
+     * @param cutoff the latest last update of a report to expire
+     * @return the number of ACTIVE reports last updated before the cutoff
+     */
+    public long countExpirable(Date cutoff) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM report WHERE status = 'ACTIVE' AND updated_at < ?", Long.class,
+                new Timestamp(cutoff.getTime()));
+        return count == null ? 0 : count;
+    }
+}
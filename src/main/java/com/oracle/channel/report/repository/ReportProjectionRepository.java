@@ -0,0 +1,197 @@
+package com.oracle.channel.report.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oracle.channel.report.dtos.request.ReportFields;
+import com.oracle.channel.report.enums.ReportEntryField;
+import com.oracle.channel.report.enums.ReportField;
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.models.data.ReportData;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Reads the properties of reports selected with {@link ReportFields}.
+ * <p>
+ * Only the selected columns are queried. Selected entries are the saved {@code report_data} document followed
+ * by the appended {@code report_item} rows, joined in the database. When only some entry properties are
+ * selected, they are picked out of the entries there, so unselected metadata is never shipped; when the entries
+ * are not selected, neither is read at all. The batch number and last update are always read, as
+ * listings are ordered by them.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Repository
+@Profile("!embedded")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ReportProjectionRepository {
+
+    private static final TypeReference<List<ReportData>> REPORT_DATA = new TypeReference<>() {
+    };
+
+    private static final String APPENDED = "FROM report_item i WHERE i.batch_no = report.batch_no";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Fetches one page of active reports ordered by their last update timestamp, without counting them.
+     *
+     * @param fields the selected properties
+     * @param offset the number of reports to skip
+     * @param limit  the maximum number of reports
+     * @return reports holding the selected properties, the batch number and the last update
+     */
+    public List<ReportModel> findActivePage(ReportFields fields, long offset, int limit) {
+        return jdbcTemplate.query("SELECT " + columns(fields) + " FROM report WHERE status = 'ACTIVE' "
+                + "ORDER BY updated_at DESC LIMIT ? OFFSET ?", rowMapper(fields), limit, offset);
+    }
+
+    /**
+     * Streams all active reports ordered by their last update through a cursor, never holding more than one
+     * fetch of rows. Runs in a transaction, which the cursor needs.
+     *
+     * @param fields    the selected properties
+     * @param fetchSize the number of rows fetched at a time
+     * @param consumer  receives the reports one by one
+     * @return the number of reports streamed
+     */
+    public long streamActive(ReportFields fields, int fetchSize, Consumer<ReportModel> consumer) {
+        String sql = "SELECT " + columns(fields) + " FROM report WHERE status = 'ACTIVE' ORDER BY updated_at DESC";
+        RowMapper<ReportModel> rowMapper = rowMapper(fields);
+        long[] streamed = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(rowMapper.mapRow(rs, (int) streamed[0]++)));
+        return streamed[0];
+    }
+
+    /**
+     * @param fields  the selected properties
+     * @param batchNo the batch number of the report
+     * @return the report holding the selected properties, or null if no report has the batch number
+     */
+    public ReportModel findByBatchNo(ReportFields fields, long batchNo) {
+        List<ReportModel> reports = jdbcTemplate.query("SELECT " + columns(fields)
+                + " FROM report WHERE batch_no = ?", rowMapper(fields), batchNo);
+        return reports.isEmpty() ? null : reports.get(0);
+    }
+
+    /**
+     * @return the number of active reports
+     */
+    public long countActive() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM report WHERE status = 'ACTIVE'", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * @return the select list for the selected properties
+     */
+    public static String columns(ReportFields fields) {
+        List<String> columns = new ArrayList<>(List.of("batch_no", "updated_at"));
+        if (fields.has(ReportField.ID)) {
+            columns.add("id");
+        }
+        if (fields.has(ReportField.SIZE)) {
+            columns.add("size");
+        }
+        if (fields.has(ReportField.STATUS)) {
+            columns.add("status");
+        }
+        if (fields.has(ReportField.CREATED_AT)) {
+            columns.add("created_at");
+        }
+        if (fields.has(ReportField.REPORT_DATA)) {
+            columns.add(reportDataColumn(fields) + " AS report_data");
+        }
+        return String.join(", ", columns);
+    }
+
+    private static String reportDataColumn(ReportFields fields) {
+        if (fields.hasWholeEntries()) {
+            return "(report_data || COALESCE((SELECT jsonb_agg(jsonb_build_object('name', i.name, "
+                    + "'desc', i.description, 'metadata', i.metadata, 'metadataRef', encode(i.metadata_ref, 'hex')) "
+                    + "ORDER BY i.item_index) " + APPENDED + "), '[]'::jsonb))::text";
+        }
+        List<String> saved = new ArrayList<>();
+        List<String> appended = new ArrayList<>();
+        for (ReportEntryField entryField : ReportEntryField.values()) {
+            if (fields.has(entryField)) {
+                saved.add("'" + entryField.getProperty() + "', e.item -> '" + entryField.getProperty() + "'");
+                appended.add("'" + entryField.getProperty() + "', " + appendedColumn(entryField));
+            }
+        }
+        if (fields.has(ReportEntryField.METADATA)) {
+            // metadata stored by reference is resolved afterwards
+            saved.add("'metadataRef', e.item -> 'metadataRef'");
+            appended.add("'metadataRef', encode(i.metadata_ref, 'hex')");
+        }
+        return "(SELECT COALESCE(jsonb_agg(p.item ORDER BY p.part, p.position), '[]'::jsonb) FROM ("
+                + "SELECT 0 AS part, e.position, jsonb_build_object(" + String.join(", ", saved) + ") AS item "
+                + "FROM jsonb_array_elements(report_data) WITH ORDINALITY AS e(item, position) "
+                + "UNION ALL SELECT 1, i.item_index, jsonb_build_object(" + String.join(", ", appended) + ") "
+                + APPENDED + ") AS p)::text";
+    }
+
+    private static String appendedColumn(ReportEntryField entryField) {
+        return switch (entryField) {
+            case NAME -> "i.name";
+            case DESC -> "i.description";
+            case METADATA -> "i.metadata";
+        };
+    }
+
+    private RowMapper<ReportModel> rowMapper(ReportFields fields) {
+        return (rs, rowNum) -> {
+            Timestamp updatedAt = rs.getTimestamp("updated_at");
+            ReportModel.ReportModelBuilder report = ReportModel.builder()
+                    .batchNo(rs.getLong("batch_no"))
+                    .updatedAt(updatedAt == null ? null : new Date(updatedAt.getTime()));
+            if (fields.has(ReportField.ID)) {
+                report.id(rs.getObject("id", UUID.class));
+            }
+            if (fields.has(ReportField.SIZE)) {
+                report.size((Integer) rs.getObject("size"));
+            }
+            if (fields.has(ReportField.STATUS)) {
+                report.status(ReportStatus.valueOf(rs.getString("status")));
+            }
+            if (fields.has(ReportField.CREATED_AT)) {
+                Timestamp createdAt = rs.getTimestamp("created_at");
+                report.createdAt(createdAt == null ? null : new Date(createdAt.getTime()));
+            }
+            if (fields.has(ReportField.REPORT_DATA)) {
+                report.reportData(readReportData(rs.getString("report_data")));
+            }
+            return report.build();
+        };
+    }
+
+    private List<ReportData> readReportData(String json) {
+        try {
+            return objectMapper.readValue(json, REPORT_DATA);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Unreadable report data: " + ex.getOriginalMessage());
+        }
+    }
+}
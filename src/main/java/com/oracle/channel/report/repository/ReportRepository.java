@@ -1,12 +1,19 @@
 package com.oracle.channel.report.repository;
 
+import com.oracle.channel.report.dtos.response.data.ReportSummary;
 import com.oracle.channel.report.enums.ReportStatus;
 import com.oracle.channel.report.models.ReportModel;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.cfg.AvailableSettings;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,6 +35,17 @@ public interface ReportRepository extends JpaRepository<ReportModel, UUID> {
      */
     ReportModel getReportModelByBatchNo(long batchNo);
 
+    /**
+     * Retrieves a ReportModel by its batch number and locks its row until the transaction ends, so no entries
+     * can be appended to it meanwhile.
+     *
+     * @param batchNo the batch number of the report
+     * @return the corresponding ReportModel, or null if not found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r from ReportModel r where r.batchNo = ?1")
+    ReportModel lockReportModelByBatchNo(long batchNo);
+
     /**
      * Fetches a paginated list of active reports ordered by their last update timestamp.
      *
@@ -37,6 +55,15 @@ public interface ReportRepository extends JpaRepository<ReportModel, UUID> {
     @Query("SELECT r from ReportModel r where r.status = 'ACTIVE' order by r.updatedAt desc")
     Page<ReportModel> getAllByReport(Pageable pageable);
 
+    /**
+     * Fetches one page of active reports ordered by their last update timestamp, without counting them.
+     *
+     * @param pageable pagination parameters
+     * @return the active reports of the page
+     */
+    @Query("SELECT r from ReportModel r where r.status = 'ACTIVE' order by r.updatedAt desc")
+    List<ReportModel> findActivePage(Pageable pageable);
+
     /**
      * Retrieves a list of reports based on the provided batch numbers.
      *
@@ -45,4 +72,27 @@ public interface ReportRepository extends JpaRepository<ReportModel, UUID> {
      */
     @Query("SELECT r from ReportModel r where r.batchNo in ?1")
     List<ReportModel> fetchReportModelList(List<Long> batchIds);
+
+    /**
+     * Retrieves the headers of the reports with the provided batch numbers, without their report data.
+     *
+     * @param batchIds the list of batch numbers to fetch reports for
+     * @return a list of matching report summaries
+     */
+    @Query("SELECT new com.oracle.channel.report.dtos.response.data.ReportSummary(r.batchNo, r.size, r.status, "
+            + "r.createdAt, r.updatedAt) from ReportModel r where r.batchNo in ?1")
+    List<ReportSummary> fetchReportSummaryList(List<Long> batchIds);
+
+    /**
+     * Locks INACTIVE reports last updated before the cutoff, oldest first. Reports locked by another
+     * transaction are skipped.
+     *
+     * @param cutoff   the latest last update timestamp to include
+     * @param pageable the number of reports to lock
+     * @return the locked reports
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT r from ReportModel r where r.status = 'INACTIVE' and r.updatedAt < ?1 order by r.updatedAt")
+    List<ReportModel> lockArchivable(Date cutoff, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.oracle.channel.report.repository;
+
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.stats.ReportRollupSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Computes the report statistics from scratch in the database, used to reconcile the incrementally maintained
+ * ones.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Repository
+@Profile("!embedded")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ReportStatsRepository implements ReportRollupSource {
+
+    public static final int BY_STATUS = 0b0111;
+    public static final int BY_DAY = 0b1011;
+    public static final int BY_SIZE = 0b1101;
+    public static final int BY_LENGTH = 0b1110;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * One group of the statistics. Only the column named by {@code groupingSet} is set.
+     *
+     * @param groupingSet  one of {@link #BY_STATUS}, {@link #BY_DAY}, {@link #BY_SIZE}, {@link #BY_LENGTH}
+     * @param status       the status of the group
+     * @param createdOn    the creation day of the group, null for reports created before the daily window
+     * @param sizeBucket   the size bucket of the group, see {@code ReportRollup#bucketOf}
+     * @param lengthBucket the length bucket of the group
+     * @param reports      the number of reports in the group
+     */
+    public record RollupRow(int groupingSet, ReportStatus status, LocalDate createdOn, int sizeBucket,
+                            int lengthBucket, long reports) {
+    }
+
+    /**
+     * Groups all reports by status, creation day, size bucket and length bucket in a single scan, so all
+     * groups come from the same snapshot. A bucket is the bit length of the value, 0 for 0 or less.
+     *
+     * @param dailyFrom the first day the volume is grouped by day for
+     * @return the groups
+     */
+    @Override
+    public List<RollupRow> rollup(LocalDate dailyFrom) {
+        return jdbcTemplate.query("""
+                        SELECT GROUPING(status, created_on, size_bucket, length_bucket), status, created_on,
+                               size_bucket, length_bucket, COUNT(*)
+                        FROM (SELECT status,
+                                     CASE WHEN created_at >= ? THEN CAST(created_at AS date) END AS created_on,
+                                     CASE WHEN COALESCE(size, 0) <= 0 THEN 0
+                                          ELSE 33 - position('1' IN CAST(CAST(size AS bit(32)) AS text))
+                                     END AS size_bucket,
+                                     CASE WHEN jsonb_array_length(report_data) = 0 THEN 0
+                                          ELSE 33 - position('1' IN
+                                                 CAST(CAST(jsonb_array_length(report_data) AS bit(32)) AS text))
+                                     END AS length_bucket
+                              FROM report) r
+                        GROUP BY GROUPING SETS ((status), (created_on), (size_bucket), (length_bucket))""",
+                (rs, rowNum) -> {
+                    String status = rs.getString(2);
+                    Date createdOn = rs.getDate(3);
+                    return new RollupRow(rs.getInt(1), status == null ? null : ReportStatus.valueOf(status),
+                            createdOn == null ? null : createdOn.toLocalDate(), rs.getInt(4), rs.getInt(5),
+                            rs.getLong(6));
+                },
+                Timestamp.valueOf(dailyFrom.atStartOfDay()));
+    }
+}
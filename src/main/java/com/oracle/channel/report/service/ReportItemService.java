@@ -0,0 +1,15 @@
+package com.oracle.channel.report.service;
+
+import com.oracle.channel.report.dtos.request.ReportItemAppendDto;
+import com.oracle.channel.report.dtos.response.GlobalResponse;
+
+/**
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public interface ReportItemService {
+
+    GlobalResponse fetchItems(long batchNo, String cursor, int limit);
+
+    GlobalResponse appendItems(long batchNo, ReportItemAppendDto reportItemAppendDto);
+}
@@ -0,0 +1,12 @@
+package com.oracle.channel.report.service;
+
+import com.oracle.channel.report.dtos.request.ReportMultiGetDto;
+
+/**
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public interface ReportMultiGetService {
+
+    ReportStream fetchReports(final ReportMultiGetDto reportMultiGetDto);
+}
@@ -1,5 +1,6 @@
 package com.oracle.channel.report.service;
 
+import com.oracle.channel.report.dtos.request.ReportFields;
 import com.oracle.channel.report.dtos.request.ReportRequestDto;
 import com.oracle.channel.report.dtos.request.ReportUpdateDto;
 import com.oracle.channel.report.dtos.response.GlobalResponse;
@@ -20,4 +21,10 @@ public interface ReportService {
     GlobalResponse updateReportStatus(final ReportUpdateDto reportRequestDto);
 
     GlobalResponse fetchReport(int pageNo, int pageSize);
+
+    GlobalResponse fetchReportByBatchNo(long batchNo);
+
+    GlobalResponse fetchReport(int pageNo, int pageSize, ReportFields fields);
+
+    GlobalResponse fetchReportByBatchNo(long batchNo, ReportFields fields);
 }
\ No newline at end of file
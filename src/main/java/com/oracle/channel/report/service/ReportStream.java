@@ -0,0 +1,27 @@
+package com.oracle.channel.report.service;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reports being fetched in chunks, handed out as the chunks complete.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public interface ReportStream {
+
+    /**
+     * @return the number of distinct batch numbers requested
+     */
+    int requested();
+
+    /**
+     * Hands every chunk of found reports to the consumer on the calling thread, in completion order.
+     * Outstanding queries are cancelled when the consumer or a query fails.
+     *
+     * @param consumer receives the reports of one chunk
+     * @return the requested batch numbers that were not found, in request order
+     */
+    List<Long> drain(Consumer<List<?>> consumer);
+}
@@ -0,0 +1,64 @@
+package com.oracle.channel.report.service.impl;
+
+import com.oracle.channel.report.cache.ReportNearCache;
+import com.oracle.channel.report.dtos.request.ReportFields;
+import com.oracle.channel.report.dtos.request.ReportRequestDto;
+import com.oracle.channel.report.dtos.request.ReportUpdateDto;
+import com.oracle.channel.report.dtos.response.GlobalResponse;
+import com.oracle.channel.report.service.ReportService;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * ReportService serving lookups and listings from a {@link ReportNearCache}.
+ * <p>
+ * Writes pass straight through; the cache learns about them from the change events published after commit.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@RequiredArgsConstructor
+public class CachingReportService implements ReportService {
+
+    private final ReportService delegate;
+    private final ReportNearCache reportNearCache;
+
+    @Override
+    public GlobalResponse saveReport(final ReportRequestDto reportRequestDto) {
+        return delegate.saveReport(reportRequestDto);
+    }
+
+    @Override
+    public GlobalResponse deleteReport(long batchNo) {
+        return delegate.deleteReport(batchNo);
+    }
+
+    @Override
+    public GlobalResponse updateReportStatus(final ReportUpdateDto reportUpdateDto) {
+        return delegate.updateReportStatus(reportUpdateDto);
+    }
+
+    @Override
+    public GlobalResponse fetchReport(final int pageNo, final int pageSize) {
+        return reportNearCache.page(pageNo, pageSize, () -> delegate.fetchReport(pageNo, pageSize));
+    }
+
+    @Override
+    public GlobalResponse fetchReportByBatchNo(final long batchNo) {
+        return reportNearCache.report(batchNo, () -> delegate.fetchReportByBatchNo(batchNo));
+    }
+
+    @Override
+    public GlobalResponse fetchReport(final int pageNo, final int pageSize, final ReportFields fields) {
+        return reportNearCache.page(pageNo, pageSize, fields, () -> delegate.fetchReport(pageNo, pageSize, fields));
+    }
+
+    /**
+     * Lookups of some properties go to the database, where they cost a single indexed read. Whole reports are
+     * served from the cache.
+     */
+    @Override
+    public GlobalResponse fetchReportByBatchNo(final long batchNo, final ReportFields fields) {
+        return fields == null ? fetchReportByBatchNo(batchNo) : delegate.fetchReportByBatchNo(batchNo, fields);
+    }
+}
@@ -0,0 +1,58 @@
+package com.oracle.channel.report.service.impl;
+
+import com.oracle.channel.report.coalescing.ReportRequestCoalescer;
+import com.oracle.channel.report.dtos.request.ReportFields;
+import com.oracle.channel.report.dtos.request.ReportRequestDto;
+import com.oracle.channel.report.dtos.request.ReportUpdateDto;
+import com.oracle.channel.report.dtos.response.GlobalResponse;
+import com.oracle.channel.report.service.ReportService;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * ReportService letting identical concurrent lookups and listings share one call through a
+ * {@link ReportRequestCoalescer}. Writes pass straight through.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@RequiredArgsConstructor
+public class CoalescingReportService implements ReportService {
+
+    private final ReportService delegate;
+    private final ReportRequestCoalescer coalescer;
+
+    @Override
+    public GlobalResponse saveReport(final ReportRequestDto reportRequestDto) {
+        return delegate.saveReport(reportRequestDto);
+    }
+
+    @Override
+    public GlobalResponse deleteReport(long batchNo) {
+        return delegate.deleteReport(batchNo);
+    }
+
+    @Override
+    public GlobalResponse updateReportStatus(final ReportUpdateDto reportUpdateDto) {
+        return delegate.updateReportStatus(reportUpdateDto);
+    }
+
+    @Override
+    public GlobalResponse fetchReport(final int pageNo, final int pageSize) {
+        return coalescer.page(pageNo, pageSize, () -> delegate.fetchReport(pageNo, pageSize));
+    }
+
+    @Override
+    public GlobalResponse fetchReportByBatchNo(final long batchNo) {
+        return coalescer.report(batchNo, () -> delegate.fetchReportByBatchNo(batchNo));
+    }
+
+    @Override
+    public GlobalResponse fetchReport(final int pageNo, final int pageSize, final ReportFields fields) {
+        return coalescer.page(pageNo, pageSize, fields, () -> delegate.fetchReport(pageNo, pageSize, fields));
+    }
+
+    @Override
+    public GlobalResponse fetchReportByBatchNo(final long batchNo, final ReportFields fields) {
+        return coalescer.report(batchNo, fields, () -> delegate.fetchReportByBatchNo(batchNo, fields));
+    }
+}
@@ -0,0 +1,124 @@
+package com.oracle.channel.report.service.impl;
+
+import com.oracle.channel.report.archive.ReportArchive;
+import com.oracle.channel.report.dtos.request.ReportItemAppendDto;
+import com.oracle.channel.report.dtos.response.GlobalResponse;
+import com.oracle.channel.report.dtos.response.data.ReportItemAppendResult;
+import com.oracle.channel.report.dtos.response.data.ReportItemPage;
+import com.oracle.channel.report.embedded.EmbeddedReportStore;
+import com.oracle.channel.report.enums.ReportChangeType;
+import com.oracle.channel.report.enums.ResponseCodeEnum;
+import com.oracle.channel.report.events.ReportChangedEvent;
+import com.oracle.channel.report.events.ReportShape;
+import com.oracle.channel.report.exception.ReportNotFoundException;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.models.data.ReportData;
+import com.oracle.channel.report.service.ReportItemService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.oracle.channel.report.service.impl.ReportItemServiceImpl.APPENDED;
+import static com.oracle.channel.report.service.impl.ReportItemServiceImpl.MAX_LIMIT;
+import static com.oracle.channel.report.service.impl.ReportItemServiceImpl.SAVED;
+
+/**
+ * Implementation of the ReportItemService interface on the {@link EmbeddedReportStore}, used by the
+ * {@code embedded} profile. Cursors are those of {@link ReportItemServiceImpl}.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Service
+@Profile("embedded")
+@Slf4j
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class InMemoryReportItemService implements ReportItemService {
+
+    private final EmbeddedReportStore embeddedReportStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReportArchive reportArchive;
+
+    /**
+     * Fetches a page of data entries of a report.
+     *
+     * @param batchNo the batch number of the report
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of entries to return
+     * @return GlobalResponse containing a {@link ReportItemPage}
+     */
+    @Override
+    public GlobalResponse fetchItems(final long batchNo, final String cursor, final int limit) {
+        log.info("FetchItemsRequest: [batchNo= {},\ncursor= {},\nlimit= {}]", batchNo, cursor, limit);
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        boolean saved = cursor == null || cursor.startsWith(SAVED);
+        int position = ReportItemServiceImpl.parsePosition(cursor);
+
+        List<ReportData> items = new ArrayList<>(limit);
+        if (saved) {
+            items.addAll(embeddedReportStore.findSavedItems(batchNo, position, limit + 1));
+            if (items.size() > limit) {
+                items.remove(limit);
+                return ReportItemServiceImpl.page(batchNo, items, SAVED + (position + limit));
+            }
+            // saved entries exhausted, continue with the appended ones
+            position = 0;
+        }
+        List<ReportData> appended = embeddedReportStore.findAppendedItems(batchNo, position, limit - items.size() + 1);
+        String nextCursor = null;
+        if (items.size() + appended.size() > limit) {
+            appended = appended.subList(0, limit - items.size());
+            nextCursor = APPENDED + (position + appended.size());
+        }
+        items.addAll(appended);
+        if (items.isEmpty() && !embeddedReportStore.exists(batchNo)) {
+            // archived reports hold all their entries in the saved data
+            ReportModel archived = saved ? reportArchive.find(batchNo) : null;
+            if (archived != null) {
+                return ReportItemServiceImpl.archivedPage(batchNo, archived.getReportData(),
+                        ReportItemServiceImpl.parsePosition(cursor), limit);
+            }
+            if (cursor == null) {
+                log.warn("Illegal batchNo");
+                throw new ReportNotFoundException("Error Report does not exist: ");
+            }
+        }
+        return ReportItemServiceImpl.page(batchNo, items, nextCursor);
+    }
+
+    /**
+     * Appends data entries to a report, growing its size by their number.
+     *
+     * @param batchNo the batch number of the report
+     * @param reportItemAppendDto the entries to append
+     * @return GlobalResponse containing a {@link ReportItemAppendResult}
+     */
+    @Override
+    public GlobalResponse appendItems(final long batchNo, final ReportItemAppendDto reportItemAppendDto) {
+        List<ReportData> items = reportItemAppendDto.reportData();
+        log.info("AppendItemsRequest: [batchNo= {},\ncount= {},\nRequestTime: {}]", batchNo, items.size(),
+                LocalDateTime.now());
+        ReportModel report = embeddedReportStore.append(batchNo, items);
+        if (report == null) {
+            log.warn("Illegal batchNo");
+            throw new ReportNotFoundException("Error Report does not exist: ");
+        }
+        ReportShape shape = ReportShape.of(report);
+        eventPublisher.publishEvent(new ReportChangedEvent(ReportChangeType.ITEMS_APPENDED, batchNo,
+                report.getStatus(), report.getStatus(), shape,
+                new ReportShape(shape.size() - items.size(), shape.length(), shape.createdOn())));
+        log.info("ItemsAppended: [batchNo= {},\nsize= {},\nResponseTime: {}]", batchNo, shape.size(),
+                LocalDateTime.now());
+        return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(),
+                new ReportItemAppendResult(batchNo, items.size(), shape.size()));
+    }
+}
@@ -0,0 +1,99 @@
+package com.oracle.channel.report.service.impl;
+
+import com.oracle.channel.report.archive.ReportArchive;
+import com.oracle.channel.report.config.ReportMultiGetProperties;
+import com.oracle.channel.report.dtos.request.ReportMultiGetDto;
+import com.oracle.channel.report.dtos.response.data.ReportSummary;
+import com.oracle.channel.report.embedded.EmbeddedReportStore;
+import com.oracle.channel.report.enums.ReportView;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.service.ReportMultiGetService;
+import com.oracle.channel.report.service.ReportStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of the ReportMultiGetService interface on the {@link EmbeddedReportStore}, used by the
+ * {@code embedded} profile. Lookups are cheap enough to run on the draining thread, one
+ * {@code report.multi-get.chunk-size} chunk at a time; batch numbers not in the store are looked up in the
+ * archive.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Slf4j
+@Service
+@Profile("embedded")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class InMemoryReportMultiGetService implements ReportMultiGetService {
+
+    private final EmbeddedReportStore embeddedReportStore;
+    private final ReportArchive reportArchive;
+    private final ReportMultiGetProperties properties;
+
+    /**
+     * Validates the request.
+     *
+     * @param reportMultiGetDto the batch numbers and the view to return
+     * @return the stream of found reports
+     */
+    @Override
+    public ReportStream fetchReports(final ReportMultiGetDto reportMultiGetDto) {
+        Set<Long> batchIds = new LinkedHashSet<>(reportMultiGetDto.batchIds());
+        batchIds.remove(null);
+        if (batchIds.isEmpty() || batchIds.size() > properties.getMaxIds()) {
+            throw new IllegalArgumentException("Between 1 and " + properties.getMaxIds()
+                    + " batch numbers can be fetched at once");
+        }
+        log.info("MultiGetRequest: [batchIds= {},\nview= {},\nRequestTime: {}]", batchIds.size(),
+                reportMultiGetDto.viewOrDefault(), LocalDateTime.now());
+        List<Long> requested = List.copyOf(batchIds);
+        ReportView view = reportMultiGetDto.viewOrDefault();
+        return new ReportStream() {
+            @Override
+            public int requested() {
+                return requested.size();
+            }
+
+            @Override
+            public List<Long> drain(Consumer<List<?>> consumer) {
+                return InMemoryReportMultiGetService.this.drain(requested, view, consumer);
+            }
+        };
+    }
+
+    private List<Long> drain(List<Long> batchIds, ReportView view, Consumer<List<?>> consumer) {
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        List<Long> missing = new ArrayList<>();
+        for (int from = 0; from < batchIds.size(); from += chunkSize) {
+            List<Object> reports = new ArrayList<>(chunkSize);
+            for (Long batchNo : batchIds.subList(from, Math.min(batchIds.size(), from + chunkSize))) {
+                ReportModel reportModel = embeddedReportStore.find(batchNo);
+                if (reportModel == null) {
+                    reportModel = reportArchive.find(batchNo);
+                }
+                if (reportModel == null) {
+                    missing.add(batchNo);
+                } else {
+                    reports.add(view == ReportView.SUMMARY ? ReportSummary.of(reportModel) : reportModel);
+                }
+            }
+            if (!reports.isEmpty()) {
+                consumer.accept(reports);
+            }
+        }
+        log.info("MultiGetFetched: [found= {},\nmissing= {},\nResponseTime: {}]",
+                batchIds.size() - missing.size(), missing.size(), LocalDateTime.now());
+        return missing;
+    }
+}
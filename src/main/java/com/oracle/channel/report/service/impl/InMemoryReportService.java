@@ -0,0 +1,221 @@
+package com.oracle.channel.report.service.impl;
+
+import com.oracle.channel.report.archive.ReportArchive;
+import com.oracle.channel.report.dtos.request.ReportFields;
+import com.oracle.channel.report.dtos.request.ReportRequestDto;
+import com.oracle.channel.report.dtos.request.ReportUpdateDto;
+import com.oracle.channel.report.dtos.response.GlobalResponse;
+import com.oracle.channel.report.dtos.response.data.ReportProjection;
+import com.oracle.channel.report.embedded.EmbeddedReportStore;
+import com.oracle.channel.report.enums.ReportChangeType;
+import com.oracle.channel.report.enums.ResponseCodeEnum;
+import com.oracle.channel.report.events.ReportChangedEvent;
+import com.oracle.channel.report.events.ReportShape;
+import com.oracle.channel.report.exception.ErrorResponse;
+import com.oracle.channel.report.exception.ReportNotFoundException;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.profiling.ReportPhase;
+import com.oracle.channel.report.profiling.RequestProfile;
+import com.oracle.channel.report.service.ReportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Implementation of the ReportService interface on the {@link EmbeddedReportStore}, used by the
+ * {@code embedded} profile. Responses, events and errors are the same as those of {@link ReportServiceImpl}.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Service
+@Profile("embedded")
+@Slf4j
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class InMemoryReportService implements ReportService {
+
+    private static final String REQ_LOG = "[data: {},\nRequestTime: {}]";
+    private static final String RES_LOG = "[data: {},\nResponseTime: {}]";
+    private final EmbeddedReportStore embeddedReportStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReportArchive reportArchive;
+
+    /**
+     * Saves a new report in the store.
+     *
+     * @param reportRequestDto the request data transfer object containing report details
+     * @return GlobalResponse indicating success or failure of the operation
+     */
+    @Override
+    public GlobalResponse saveReport(final ReportRequestDto reportRequestDto) {
+        log.info("SaveReportRequest: {}", reportRequestDto);
+        if (reportRequestDto.batchNo() == null) {
+            throw new IllegalArgumentException("batchNo is required");
+        }
+        try {
+            // Archived reports keep their batch number
+            if (reportArchive.contains(reportRequestDto.batchNo())) {
+                throw new DuplicateKeyException("Report " + reportRequestDto.batchNo() + " is archived");
+            }
+            RequestProfile.begin(ReportPhase.PARSE);
+            ReportModel parsed = ReportModel.parse(reportRequestDto);
+            RequestProfile.end(ReportPhase.PARSE);
+            ReportModel reportModel = embeddedReportStore.insert(parsed);
+            log.info("SavedReport: ".concat(REQ_LOG), reportModel, LocalDateTime.now());
+            eventPublisher.publishEvent(new ReportChangedEvent(ReportChangeType.CREATED, reportModel.getBatchNo(),
+                    reportModel.getStatus(), null, ReportShape.of(reportModel), null));
+            return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(), reportModel);
+        } catch (DuplicateKeyException ex) {
+            log.info("Error saving Report: {}", ex.getMessage());
+            return new GlobalResponse(ResponseCodeEnum.DUPLICATE_KEY.getCode(), ResponseCodeEnum.DUPLICATE_KEY.name(),
+                    new ErrorResponse(ResponseCodeEnum.FAILED.getCode(),
+                            "Duplicate Key Exception", LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Deletes a report based on the provided batch number.
+     *
+     * @param batchNo the batch number of the report to be deleted
+     * @return GlobalResponse indicating success or failure of the deletion
+     */
+    @Override
+    public GlobalResponse deleteReport(final long batchNo) {
+        log.info("ReportDeleteRequest: ".concat(REQ_LOG), batchNo, LocalDateTime.now());
+        ReportModel reportModel = embeddedReportStore.delete(batchNo);
+        if (reportModel == null && reportArchive.delete(batchNo)) {
+            // The archived report was already taken out of the statistics when it was archived
+            eventPublisher.publishEvent(new ReportChangedEvent(ReportChangeType.DELETED, batchNo,
+                    null, null, null, null));
+            log.info("ArchivedReportDeleted: ".concat(RES_LOG), batchNo, LocalDateTime.now());
+            return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(), batchNo);
+        }
+        if (reportModel == null) {
+            log.warn("Illegal batchNo");
+            throw new ReportNotFoundException("Error Report does not exist: ");
+        }
+        eventPublisher.publishEvent(new ReportChangedEvent(ReportChangeType.DELETED, batchNo,
+                null, reportModel.getStatus(), null, ReportShape.of(reportModel)));
+        log.info("ReportDeleted: ".concat(RES_LOG), batchNo, LocalDateTime.now());
+        return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(), batchNo);
+    }
+
+    /**
+     * Updates the status of reports based on batch IDs.
+     *
+     * @param reportRequestDto the DTO containing the new status and batch IDs to update
+     * @return GlobalResponse indicating success or failure of the update operation
+     */
+    @Override
+    public GlobalResponse updateReportStatus(final ReportUpdateDto reportRequestDto) {
+        log.info("ReportUpdateRequest: ".concat(REQ_LOG), reportRequestDto, LocalDateTime.now());
+        List<EmbeddedReportStore.StatusChange> changes =
+                embeddedReportStore.updateStatus(reportRequestDto.batchIds(), reportRequestDto.status());
+        if (changes.isEmpty()) {
+            log.warn("Illegal argument");
+            throw new ReportNotFoundException("Illegal argument");
+        }
+        changes.stream()
+                .filter(change -> change.report().getStatus() != change.previousStatus())
+                .forEach(change -> eventPublisher.publishEvent(new ReportChangedEvent(ReportChangeType.STATUS_CHANGED,
+                        change.report().getBatchNo(), change.report().getStatus(), change.previousStatus(),
+                        ReportShape.of(change.report()), ReportShape.of(change.report()))));
+        log.info("ReportUpdated: ".concat(RES_LOG), reportRequestDto.batchIds(), LocalDateTime.now());
+        return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(),
+                changes.stream().map(EmbeddedReportStore.StatusChange::withAppendedItems).toList());
+    }
+
+    /**
+     * Fetches a paginated list of active reports, most recently updated first.
+     *
+     * @param pageNo the page number to retrieve
+     * @param pageSize the number of reports per page
+     * @return GlobalResponse containing a paginated list of reports
+     */
+    @Override
+    public GlobalResponse fetchReport(final int pageNo, final int pageSize) {
+        log.info("FetchReportRequest: [pageNo= {},\npageSize= {},\nReqTime: {}]", pageNo, pageSize, LocalDateTime.now());
+        Pageable pageable = PageRequest.of(pageNo < 1 ? pageNo : pageNo - 1, pageSize);
+        List<ReportModel> reports = embeddedReportStore.findActivePage(pageable.getOffset(), pageSize);
+        log.info("FetchedDataSize: ".concat(RES_LOG), reports.size(), LocalDateTime.now());
+        return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(),
+                new PageImpl<>(reports, pageable, embeddedReportStore.countActive()));
+    }
+
+    /**
+     * Fetches a single report, falling back to the archive for reports no longer in the store.
+     *
+     * @param batchNo the batch number of the report
+     * @return GlobalResponse containing the report
+     */
+    @Override
+    public GlobalResponse fetchReportByBatchNo(final long batchNo) {
+        log.info("FetchReportByBatchNoRequest: ".concat(REQ_LOG), batchNo, LocalDateTime.now());
+        return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(),
+                findOrArchived(batchNo));
+    }
+
+    /**
+     * Fetches a paginated list of reports holding only the selected properties.
+     *
+     * @param pageNo the page number to retrieve
+     * @param pageSize the number of reports per page
+     * @param fields the selected properties, or null for whole reports
+     * @return GlobalResponse containing a paginated list of {@link ReportProjection}s
+     */
+    @Override
+    public GlobalResponse fetchReport(final int pageNo, final int pageSize, final ReportFields fields) {
+        if (fields == null) {
+            return fetchReport(pageNo, pageSize);
+        }
+        log.info("FetchReportRequest: [pageNo= {},\npageSize= {},\nfields= {},\nReqTime: {}]", pageNo, pageSize,
+                fields, LocalDateTime.now());
+        Pageable pageable = PageRequest.of(pageNo < 1 ? pageNo : pageNo - 1, pageSize);
+        List<ReportModel> reports = embeddedReportStore.findActivePage(pageable.getOffset(), pageSize);
+        log.info("FetchedDataSize: ".concat(RES_LOG), reports.size(), LocalDateTime.now());
+        return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(),
+                new PageImpl<>(reports.stream().map(fields::project).toList(), pageable,
+                        embeddedReportStore.countActive()));
+    }
+
+    /**
+     * Fetches the selected properties of a single report, falling back to the archive for reports no longer in
+     * the store.
+     *
+     * @param batchNo the batch number of the report
+     * @param fields the selected properties, or null for the whole report
+     * @return GlobalResponse containing a {@link ReportProjection}
+     */
+    @Override
+    public GlobalResponse fetchReportByBatchNo(final long batchNo, final ReportFields fields) {
+        if (fields == null) {
+            return fetchReportByBatchNo(batchNo);
+        }
+        log.info("FetchReportByBatchNoRequest: [batchNo= {},\nfields= {},\nRequestTime: {}]", batchNo, fields,
+                LocalDateTime.now());
+        return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(),
+                fields.project(findOrArchived(batchNo)));
+    }
+
+    private ReportModel findOrArchived(long batchNo) {
+        ReportModel reportModel = embeddedReportStore.find(batchNo);
+        if (reportModel == null) {
+            reportModel = reportArchive.find(batchNo);
+        }
+        if (reportModel == null) {
+            log.warn("Illegal batchNo");
+            throw new ReportNotFoundException("Error Report does not exist: ");
+        }
+        return reportModel;
+    }
+}
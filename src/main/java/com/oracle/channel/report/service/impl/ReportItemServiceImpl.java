@@ -0,0 +1,163 @@
+package com.oracle.channel.report.service.impl;
+
+import com.oracle.channel.report.archive.ReportArchive;
+import com.oracle.channel.report.dedup.ReportBlobStore;
+import com.oracle.channel.report.dtos.request.ReportItemAppendDto;
+import com.oracle.channel.report.dtos.response.GlobalResponse;
+import com.oracle.channel.report.dtos.response.data.ReportItemAppendResult;
+import com.oracle.channel.report.dtos.response.data.ReportItemPage;
+import com.oracle.channel.report.enums.ReportChangeType;
+import com.oracle.channel.report.enums.ResponseCodeEnum;
+import com.oracle.channel.report.events.ReportChangedEvent;
+import com.oracle.channel.report.events.ReportShape;
+import com.oracle.channel.report.exception.ReportNotFoundException;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.models.data.ReportData;
+import com.oracle.channel.report.repository.ReportItemRepository;
+import com.oracle.channel.report.service.ReportItemService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of the ReportItemService interface, providing cursor paging over the data entries of a
+ * report and appending entries without rewriting the saved report document.
+ * <p>
+ * Cursors are opaque to clients: {@code saved:<n>} points into the entries the report was saved with,
+ * {@code appended:<n>} into the entries appended afterwards, which always follow the saved ones.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Service
+@Profile("!embedded")
+@Slf4j
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@Transactional
+public class ReportItemServiceImpl implements ReportItemService {
+
+    static final int MAX_LIMIT = 1000;
+    static final String SAVED = "saved:";
+    static final String APPENDED = "appended:";
+
+    private final ReportItemRepository reportItemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReportArchive reportArchive;
+    private final ReportBlobStore reportBlobStore;
+
+    /**
+     * Fetches a page of data entries of a report.
+     *
+     * @param batchNo the batch number of the report
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of entries to return
+     * @return GlobalResponse containing a {@link ReportItemPage}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public GlobalResponse fetchItems(final long batchNo, final String cursor, final int limit) {
+        log.info("FetchItemsRequest: [batchNo= {},\ncursor= {},\nlimit= {}]", batchNo, cursor, limit);
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        boolean saved = cursor == null || cursor.startsWith(SAVED);
+        int position = parsePosition(cursor);
+
+        List<ReportData> items = new ArrayList<>(limit);
+        if (saved) {
+            items.addAll(reportItemRepository.findSavedItems(batchNo, position, limit + 1));
+            if (items.size() > limit) {
+                items.remove(limit);
+                return page(batchNo, reportBlobStore.resolve(items), SAVED + (position + limit));
+            }
+            // saved entries exhausted, continue with the appended ones
+            position = 0;
+        }
+        List<ReportData> appended = reportItemRepository.findAppendedItems(batchNo, position, limit - items.size() + 1);
+        String nextCursor = null;
+        if (items.size() + appended.size() > limit) {
+            appended = appended.subList(0, limit - items.size());
+            nextCursor = APPENDED + (position + appended.size());
+        }
+        items.addAll(appended);
+        if (items.isEmpty() && !reportItemRepository.existsByBatchNo(batchNo)) {
+            // archived reports hold all their entries in the saved data
+            ReportModel archived = saved ? reportArchive.find(batchNo) : null;
+            if (archived != null) {
+                return archivedPage(batchNo, archived.getReportData(), parsePosition(cursor), limit);
+            }
+            if (cursor == null) {
+                log.warn("Illegal batchNo");
+                throw new ReportNotFoundException("Error Report does not exist: ");
+            }
+        }
+        return page(batchNo, reportBlobStore.resolve(items), nextCursor);
+    }
+
+    /**
+     * Appends data entries to a report. The report row is locked by growing its size before any metadata
+     * reference is taken and held while the entries are inserted, so the report size always matches the entries
+     * added and a concurrent delete, which locks the row too, releases every reference.
+     *
+     * @param batchNo the batch number of the report
+     * @param reportItemAppendDto the entries to append
+     * @return GlobalResponse containing a {@link ReportItemAppendResult}
+     */
+    @Override
+    public GlobalResponse appendItems(final long batchNo, final ReportItemAppendDto reportItemAppendDto) {
+        List<ReportData> items = reportItemAppendDto.reportData();
+        log.info("AppendItemsRequest: [batchNo= {},\ncount= {},\nRequestTime: {}]", batchNo, items.size(),
+                LocalDateTime.now());
+        ReportItemRepository.GrownReport report = reportItemRepository.growReport(batchNo, items.size());
+        if (report == null) {
+            log.warn("Illegal batchNo");
+            throw new ReportNotFoundException("Error Report does not exist: ");
+        }
+        reportItemRepository.insertItems(batchNo, reportItemRepository.nextAppendIndex(batchNo),
+                reportBlobStore.store(items));
+        ReportShape shape = new ReportShape(report.size(), report.length(), ReportShape.dayOf(report.createdAt()));
+        eventPublisher.publishEvent(new ReportChangedEvent(ReportChangeType.ITEMS_APPENDED, batchNo,
+                report.status(), report.status(), shape,
+                new ReportShape(report.size() - items.size(), shape.length(), shape.createdOn())));
+        log.info("ItemsAppended: [batchNo= {},\nsize= {},\nResponseTime: {}]", batchNo, report.size(),
+                LocalDateTime.now());
+        return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(),
+                new ReportItemAppendResult(batchNo, items.size(), report.size()));
+    }
+
+    static GlobalResponse archivedPage(long batchNo, List<ReportData> reportData, int position, int limit) {
+        int from = Math.min(position, reportData.size());
+        int to = Math.min(reportData.size(), from + limit);
+        return page(batchNo, new ArrayList<>(reportData.subList(from, to)),
+                to < reportData.size() ? SAVED + to : null);
+    }
+
+    static GlobalResponse page(long batchNo, List<ReportData> items, String nextCursor) {
+        return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(),
+                new ReportItemPage(batchNo, items, nextCursor));
+    }
+
+    static int parsePosition(String cursor) {
+        if (cursor == null) {
+            return 0;
+        }
+        try {
+            int position = Integer.parseInt(cursor.substring(cursor.indexOf(':') + 1));
+            if (position >= 0 && (cursor.startsWith(SAVED) || cursor.startsWith(APPENDED))) {
+                return position;
+            }
+        } catch (NumberFormatException ex) {
+            // fall through to the error below
+        }
+        throw new IllegalArgumentException("Illegal cursor: " + cursor);
+    }
+}
@@ -0,0 +1,202 @@
+package com.oracle.channel.report.service.impl;
+
+import com.oracle.channel.report.archive.ReportArchive;
+import com.oracle.channel.report.config.ReportMultiGetProperties;
+import com.oracle.channel.report.dedup.ReportBlobStore;
+import com.oracle.channel.report.dtos.request.ReportMultiGetDto;
+import com.oracle.channel.report.dtos.response.data.ReportSummary;
+import com.oracle.channel.report.enums.ReportView;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.repository.ReportItemRepository;
+import com.oracle.channel.report.repository.ReportRepository;
+import com.oracle.channel.report.service.ReportMultiGetService;
+import com.oracle.channel.report.service.ReportStream;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of the ReportMultiGetService interface, fetching many reports by batch number.
+ * <p>
+ * The distinct batch numbers are split per shard into IN-queries of {@code report.multi-get.chunk-size}.
+ * At most {@code report.multi-get.parallelism} chunks of a request are queried at a time on a shared pool,
+ * and the next chunk is only started once a finished one has been taken, so a slow client holds back its own
+ * queries instead of piling up results. Full reports carry their appended entries, fetched for the whole chunk
+ * in one more query. Batch numbers not found in the report table are looked up in the archive.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Slf4j
+@Service
+@Profile("!embedded")
+public class ReportMultiGetServiceImpl implements ReportMultiGetService {
+
+    private final ReportRepository reportRepository;
+    private final ReportItemRepository reportItemRepository;
+    private final ReportArchive reportArchive;
+    private final ReportBlobStore reportBlobStore;
+    private final ReportShardRouter router;
+    private final ReportMultiGetProperties properties;
+    private final ExecutorService executor;
+
+    @Autowired
+    public ReportMultiGetServiceImpl(ReportRepository reportRepository, ReportItemRepository reportItemRepository,
+                                     ReportArchive reportArchive, ReportBlobStore reportBlobStore,
+                                     ReportShardRouter router, ReportMultiGetProperties properties) {
+        this.reportRepository = reportRepository;
+        this.reportItemRepository = reportItemRepository;
+        this.reportArchive = reportArchive;
+        this.reportBlobStore = reportBlobStore;
+        this.router = router;
+        this.properties = properties;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(properties.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "report-multi-get-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Validates the request and starts the first chunk queries.
+     *
+     * @param reportMultiGetDto the batch numbers and the view to return
+     * @return the stream of found reports
+     */
+    @Override
+    public ReportStream fetchReports(final ReportMultiGetDto reportMultiGetDto) {
+        Set<Long> batchIds = new LinkedHashSet<>(reportMultiGetDto.batchIds());
+        batchIds.remove(null);
+        if (batchIds.isEmpty() || batchIds.size() > properties.getMaxIds()) {
+            throw new IllegalArgumentException("Between 1 and " + properties.getMaxIds()
+                    + " batch numbers can be fetched at once");
+        }
+        log.info("MultiGetRequest: [batchIds= {},\nview= {},\nRequestTime: {}]", batchIds.size(),
+                reportMultiGetDto.viewOrDefault(), LocalDateTime.now());
+        return new ChunkedReportStream(List.copyOf(batchIds), reportMultiGetDto.viewOrDefault());
+    }
+
+    private List<?> query(int shard, List<Long> chunk, ReportView view) {
+        return router.onShard(shard, () -> view == ReportView.SUMMARY
+                ? reportRepository.fetchReportSummaryList(chunk)
+                : reportBlobStore.resolveAll(
+                        reportItemRepository.withAppendedItems(reportRepository.fetchReportModelList(chunk))));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private final class ChunkedReportStream implements ReportStream {
+
+        private final List<Long> batchIds;
+        private final ReportView view;
+        private final List<Chunk> chunks = new ArrayList<>();
+        private final List<Future<List<?>>> futures = new ArrayList<>();
+        private final ExecutorCompletionService<List<?>> completion = new ExecutorCompletionService<>(executor);
+
+        private record Chunk(int shard, List<Long> batchIds) {
+        }
+
+        private ChunkedReportStream(List<Long> batchIds, ReportView view) {
+            this.batchIds = batchIds;
+            this.view = view;
+            int chunkSize = Math.max(1, properties.getChunkSize());
+            for (Map.Entry<Integer, List<Long>> partition : router.partition(batchIds).entrySet()) {
+                List<Long> shardIds = partition.getValue();
+                for (int from = 0; from < shardIds.size(); from += chunkSize) {
+                    chunks.add(new Chunk(partition.getKey(),
+                            shardIds.subList(from, Math.min(shardIds.size(), from + chunkSize))));
+                }
+            }
+            while (futures.size() < Math.min(Math.max(1, properties.getParallelism()), chunks.size())) {
+                submitNext();
+            }
+        }
+
+        @Override
+        public int requested() {
+            return batchIds.size();
+        }
+
+        @Override
+        public List<Long> drain(Consumer<List<?>> consumer) {
+            Set<Long> found = new HashSet<>(batchIds.size() * 2);
+            try {
+                for (int done = 0; done < chunks.size(); done++) {
+                    List<?> reports = completion.take().get();
+                    if (futures.size() < chunks.size()) {
+                        submitNext();
+                    }
+                    reports.forEach(report -> found.add(batchNoOf(report)));
+                    consumer.accept(reports);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new CancellationException("Multi-get interrupted");
+            } catch (ExecutionException ex) {
+                cancel();
+                throw ex.getCause() instanceof RuntimeException runtimeException
+                        ? runtimeException : new IllegalStateException(ex.getCause());
+            } catch (RuntimeException ex) {
+                cancel();
+                throw ex;
+            }
+
+            List<Long> missing = new ArrayList<>();
+            List<Object> archived = new ArrayList<>();
+            for (Long batchNo : batchIds) {
+                if (!found.contains(batchNo)) {
+                    ReportModel reportModel = reportArchive.find(batchNo);
+                    if (reportModel == null) {
+                        missing.add(batchNo);
+                    } else {
+                        archived.add(view == ReportView.SUMMARY ? ReportSummary.of(reportModel) : reportModel);
+                    }
+                }
+            }
+            if (!archived.isEmpty()) {
+                consumer.accept(archived);
+            }
+            log.info("MultiGetFetched: [found= {},\nmissing= {},\nResponseTime: {}]",
+                    batchIds.size() - missing.size(), missing.size(), LocalDateTime.now());
+            return missing;
+        }
+
+        private void submitNext() {
+            Chunk chunk = chunks.get(futures.size());
+            futures.add(completion.submit(() -> query(chunk.shard(), chunk.batchIds(), view)));
+        }
+
+        private void cancel() {
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        private static Long batchNoOf(Object report) {
+            return report instanceof ReportSummary summary ? summary.batchNo() : ((ReportModel) report).getBatchNo();
+        }
+    }
+}
@@ -1,18 +1,36 @@
 package com.oracle.channel.report.service.impl;
 
+import com.oracle.channel.report.archive.ReportArchive;
+import com.oracle.channel.report.dedup.ReportBlobStore;
+import com.oracle.channel.report.dtos.request.ReportFields;
 import com.oracle.channel.report.dtos.request.ReportRequestDto;
 import com.oracle.channel.report.dtos.request.ReportUpdateDto;
 import com.oracle.channel.report.dtos.response.GlobalResponse;
+import com.oracle.channel.report.dtos.response.data.ReportProjection;
+import com.oracle.channel.report.enums.ReportChangeType;
+import com.oracle.channel.report.enums.ReportStatus;
 import com.oracle.channel.report.enums.ResponseCodeEnum;
+import com.oracle.channel.report.events.ReportChangedEvent;
+import com.oracle.channel.report.events.ReportShape;
 import com.oracle.channel.report.exception.ErrorResponse;
+import com.oracle.channel.report.exception.ReportNotFoundException;
 import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.models.data.ReportData;
+import com.oracle.channel.report.profiling.ReportPhase;
+import com.oracle.channel.report.profiling.RequestProfile;
+import com.oracle.channel.report.repository.ReportItemRepository;
+import com.oracle.channel.report.repository.ReportProjectionRepository;
 import com.oracle.channel.report.repository.ReportRepository;
 import com.oracle.channel.report.service.ReportService;
+import com.oracle.channel.report.stats.ReportStatistics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -20,15 +38,20 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the ReportService interface, providing methods for managing reports.
- * This class handles CRUD operations related to reports.
+ * This class handles CRUD operations related to reports. Whole reports are returned with their appended
+ * entries after the saved ones.
  *
  * @author GafarOlanipekun
  * @since 19/03/2025
  */
 @Service
+@Profile("!embedded")
 @Slf4j
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 @Transactional
@@ -37,6 +60,12 @@ public class ReportServiceImpl implements ReportService {
     private static final String REQ_LOG = "[data: {},\nRequestTime: {}]";
     private static final String RES_LOG = "[data: {},\nResponseTime: {}]";
     private final ReportRepository reportRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReportStatistics reportStatistics;
+    private final ReportArchive reportArchive;
+    private final ReportBlobStore reportBlobStore;
+    private final ReportProjectionRepository reportProjectionRepository;
+    private final ReportItemRepository reportItemRepository;
 
     /**
      * Saves a new report in the database.
@@ -48,11 +77,24 @@ public class ReportServiceImpl implements ReportService {
     public GlobalResponse saveReport(final ReportRequestDto reportRequestDto) {
         log.info("SaveReportRequest: {}", reportRequestDto);
         try {
+            // Archived reports keep their batch number
+            if (reportRequestDto.batchNo() != null && reportArchive.contains(reportRequestDto.batchNo())) {
+                throw new DuplicateKeyException("Report " + reportRequestDto.batchNo() + " is archived");
+            }
             // Convert DTO to ReportModel and save in repository
-            ReportModel reportModel = reportRepository.save(ReportModel.parse(reportRequestDto));
+            RequestProfile.begin(ReportPhase.PARSE);
+            ReportModel parsed = ReportModel.parse(reportRequestDto);
+            RequestProfile.end(ReportPhase.PARSE);
+            List<ReportData> reportData = parsed.getReportData();
+            parsed.setReportData(reportBlobStore.store(reportData));
+            ReportModel reportModel = reportRepository.save(parsed);
             log.info("SavedReport: ".concat(REQ_LOG), reportModel, LocalDateTime.now());
+            eventPublisher.publishEvent(new ReportChangedEvent(ReportChangeType.CREATED, reportModel.getBatchNo(),
+                    reportModel.getStatus(), null, ReportShape.of(reportModel), null));
 
-            return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(), reportModel);
+            // Respond with the entries as received rather than as stored
+            return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(),
+                    reportModel.getReportData() == reportData ? reportModel : reportModel.withReportData(reportData));
         } catch (DuplicateKeyException ex) {
             log.info("Error saving Report: {}", ex.getMessage());
            return new GlobalResponse(ResponseCodeEnum.DUPLICATE_KEY.getCode(), ResponseCodeEnum.DUPLICATE_KEY.name(),
@@ -71,17 +113,32 @@ public class ReportServiceImpl implements ReportService {
     public GlobalResponse deleteReport(final long batchNo) {
         log.info("ReportDeleteRequest: ".concat(REQ_LOG), batchNo, LocalDateTime.now());
         try {
-            ReportModel reportModel = reportRepository.getReportModelByBatchNo(batchNo);
+            // Locked before its references are counted, an append in flight would otherwise add entries the
+            // release does not see
+            ReportModel reportModel = reportRepository.lockReportModelByBatchNo(batchNo);
+            if (reportModel == null && reportArchive.delete(batchNo)) {
+                // The archived report was already taken out of the statistics when it was archived
+                eventPublisher.publishEvent(new ReportChangedEvent(ReportChangeType.DELETED, batchNo,
+                        null, null, null, null));
+                log.info("ArchivedReportDeleted: ".concat(RES_LOG), batchNo, LocalDateTime.now());
+                return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(), batchNo);
+            }
             if (reportModel == null) {
                 log.warn("Illegal batchNo");
-                throw new IllegalArgumentException("Error Report does not exist: ");
+                throw new ReportNotFoundException("Error Report does not exist: ");
             }
+            reportBlobStore.release(List.of(reportModel));
             reportRepository.delete(reportModel);
+            eventPublisher.publishEvent(new ReportChangedEvent(ReportChangeType.DELETED, reportModel.getBatchNo(),
+                    null, reportModel.getStatus(), null, ReportShape.of(reportModel)));
             log.info("ReportDeleted: ".concat(RES_LOG), reportModel.getBatchNo(), LocalDateTime.now());
             return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(), batchNo);
+        } catch (ReportNotFoundException ex) {
+            log.info("Error DeletingReport: {}", ex.getMessage());
+            throw ex;
         } catch (Exception ex) {
             log.info("Error DeletingReport: {}", ex.getMessage());
-            throw new IllegalArgumentException(ex.getMessage());
+            throw new IllegalArgumentException(ex.getMessage(), ex);
         }
     }
 
@@ -98,22 +155,35 @@ public class ReportServiceImpl implements ReportService {
             List<ReportModel> reportModels = reportRepository.fetchReportModelList(reportRequestDto.batchIds());
             if (reportModels.isEmpty()) {
                 log.warn("Illegal argument");
-                throw new IllegalArgumentException("Illegal argument");
+                throw new ReportNotFoundException("Illegal argument");
             }
 
+            // Remember the previous status so only real transitions are announced
+            Map<Long, ReportStatus> previousStatus = reportModels.stream()
+                    .collect(Collectors.toMap(ReportModel::getBatchNo, ReportModel::getStatus, (a, b) -> a));
             List<ReportModel> modelupdatedList =
                     reportModels.stream().peek(model -> model.setStatus(reportRequestDto.status())).toList();
             modelupdatedList = reportRepository.saveAll(modelupdatedList);
+            modelupdatedList.stream()
+                    .filter(model -> model.getStatus() != previousStatus.get(model.getBatchNo()))
+                    .forEach(model -> eventPublisher.publishEvent(new ReportChangedEvent(ReportChangeType.STATUS_CHANGED,
+                            model.getBatchNo(), model.getStatus(), previousStatus.get(model.getBatchNo()),
+                            ReportShape.of(model), ReportShape.of(model))));
             log.info("ReportUpdated: ".concat(RES_LOG), reportRequestDto.batchIds(), LocalDateTime.now());
-            return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(), modelupdatedList);
+            return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(),
+                    reportBlobStore.resolveAll(reportItemRepository.withAppendedItems(modelupdatedList)));
+        } catch (ReportNotFoundException ex) {
+            log.info("Error Update Report: {}", ex.getMessage());
+            throw ex;
         } catch (Exception ex) {
             log.info("Error Update Report: {}", ex.getMessage());
-            throw new IllegalArgumentException(ex.getMessage());
+            throw new IllegalArgumentException(ex.getMessage(), ex);
         }
     }
 
     /**
-     * Fetches a paginated list of reports.
+     * Fetches a paginated list of reports. The total is taken from the maintained statistics when available,
+     * so a page costs a single query.
      *
      * @param pageNo the page number to retrieve
      * @param pageSize the number of reports per page
@@ -124,13 +194,97 @@ public class ReportServiceImpl implements ReportService {
         log.info("FetchReportRequest: [pageNo= {},\npageSize= {},\nReqTime: {}]", pageNo, pageSize, LocalDateTime.now());
         Pageable pageable = PageRequest.of(pageNo < 1 ? pageNo : pageNo - 1, pageSize);
         try {
-            Page<ReportModel> reportModelPage = reportRepository.getAllByReport(pageable);
+            OptionalLong activeCount = reportStatistics.activeCount();
+            Page<ReportModel> reportModelPage = activeCount.isPresent()
+                    ? new PageImpl<>(reportRepository.findActivePage(pageable), pageable, activeCount.getAsLong())
+                    : reportRepository.getAllByReport(pageable);
+            List<ReportModel> resolved =
+                    reportBlobStore.resolveAll(reportItemRepository.withAppendedItems(reportModelPage.getContent()));
+            if (resolved != reportModelPage.getContent()) {
+                reportModelPage = new PageImpl<>(resolved, reportModelPage.getPageable(),
+                        reportModelPage.getTotalElements());
+            }
             log.info("FetchedDataSize: ".concat(RES_LOG), reportModelPage.getSize(), LocalDateTime.now());
             return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(), reportModelPage);
         } catch (Exception ex) {
             log.info("Error Fetching Report: {}", ex.getMessage());
-            throw new IllegalArgumentException(ex.getMessage());
+            throw new IllegalArgumentException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Fetches a single report, falling back to the archive for reports no longer in the report table.
+     *
+     * @param batchNo the batch number of the report
+     * @return GlobalResponse containing the report
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public GlobalResponse fetchReportByBatchNo(final long batchNo) {
+        log.info("FetchReportByBatchNoRequest: ".concat(REQ_LOG), batchNo, LocalDateTime.now());
+        ReportModel reportModel = reportBlobStore.resolve(
+                reportItemRepository.withAppendedItems(reportRepository.getReportModelByBatchNo(batchNo)));
+        if (reportModel == null) {
+            reportModel = reportArchive.find(batchNo);
         }
+        if (reportModel == null) {
+            log.warn("Illegal batchNo");
+            throw new ReportNotFoundException("Error Report does not exist: ");
+        }
+        return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(), reportModel);
     }
 
+    /**
+     * Fetches a paginated list of reports holding only the selected properties, querying only those.
+     *
+     * @param pageNo the page number to retrieve
+     * @param pageSize the number of reports per page
+     * @param fields the selected properties, or null for whole reports
+     * @return GlobalResponse containing a paginated list of {@link ReportProjection}s
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public GlobalResponse fetchReport(final int pageNo, final int pageSize, final ReportFields fields) {
+        if (fields == null) {
+            return fetchReport(pageNo, pageSize);
+        }
+        log.info("FetchReportRequest: [pageNo= {},\npageSize= {},\nfields= {},\nReqTime: {}]", pageNo, pageSize,
+                fields, LocalDateTime.now());
+        Pageable pageable = PageRequest.of(pageNo < 1 ? pageNo : pageNo - 1, pageSize);
+        List<ReportModel> reports = reportBlobStore.resolveAll(
+                reportProjectionRepository.findActivePage(fields, pageable.getOffset(), pageSize));
+        OptionalLong activeCount = reportStatistics.activeCount();
+        long total = activeCount.isPresent() ? activeCount.getAsLong() : reportProjectionRepository.countActive();
+        log.info("FetchedDataSize: ".concat(RES_LOG), reports.size(), LocalDateTime.now());
+        return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(),
+                new PageImpl<>(reports.stream().map(fields::project).toList(), pageable, total));
+    }
+
+    /**
+     * Fetches the selected properties of a single report, falling back to the archive for reports no longer in
+     * the report table.
+     *
+     * @param batchNo the batch number of the report
+     * @param fields the selected properties, or null for the whole report
+     * @return GlobalResponse containing a {@link ReportProjection}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public GlobalResponse fetchReportByBatchNo(final long batchNo, final ReportFields fields) {
+        if (fields == null) {
+            return fetchReportByBatchNo(batchNo);
+        }
+        log.info("FetchReportByBatchNoRequest: [batchNo= {},\nfields= {},\nRequestTime: {}]", batchNo, fields,
+                LocalDateTime.now());
+        ReportModel reportModel = reportBlobStore.resolve(reportProjectionRepository.findByBatchNo(fields, batchNo));
+        if (reportModel == null) {
+            reportModel = reportArchive.find(batchNo);
+        }
+        if (reportModel == null) {
+            log.warn("Illegal batchNo");
+            throw new ReportNotFoundException("Error Report does not exist: ");
+        }
+        return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(),
+                fields.project(reportModel));
+    }
 }
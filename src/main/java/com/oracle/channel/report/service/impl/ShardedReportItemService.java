@@ -0,0 +1,30 @@
+package com.oracle.channel.report.service.impl;
+
+import com.oracle.channel.report.dtos.request.ReportItemAppendDto;
+import com.oracle.channel.report.dtos.response.GlobalResponse;
+import com.oracle.channel.report.service.ReportItemService;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * ReportItemService that runs on the shard owning the report, items always live next to their report.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@RequiredArgsConstructor
+public class ShardedReportItemService implements ReportItemService {
+
+    private final ReportItemService delegate;
+    private final ReportShardRouter router;
+
+    @Override
+    public GlobalResponse fetchItems(long batchNo, String cursor, int limit) {
+        return router.onOwner(batchNo, () -> delegate.fetchItems(batchNo, cursor, limit));
+    }
+
+    @Override
+    public GlobalResponse appendItems(long batchNo, final ReportItemAppendDto reportItemAppendDto) {
+        return router.onOwner(batchNo, () -> delegate.appendItems(batchNo, reportItemAppendDto));
+    }
+}
@@ -0,0 +1,169 @@
+package com.oracle.channel.report.service.impl;
+
+import com.oracle.channel.report.dtos.request.ReportFields;
+import com.oracle.channel.report.dtos.request.ReportRequestDto;
+import com.oracle.channel.report.dtos.request.ReportUpdateDto;
+import com.oracle.channel.report.dtos.response.GlobalResponse;
+import com.oracle.channel.report.dtos.response.data.ReportProjection;
+import com.oracle.channel.report.enums.ResponseCodeEnum;
+import com.oracle.channel.report.exception.ReportNotFoundException;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.service.ReportService;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * ReportService that spreads reports over the shards of a {@link ReportShardRouter}.
+ * <p>
+ * Single-report operations run on the shard owning the batch number. Status updates are split per shard and
+ * each part is atomic on its own shard only. Listings ask every shard for the first {@code (page + 1) * size}
+ * active reports and merge them by {@code updatedAt}, so the depth of a page is capped by
+ * {@code report.sharding.max-fan-out-window}.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ShardedReportService implements ReportService {
+
+    static final Comparator<ReportModel> LISTING_ORDER = Comparator
+            .comparing(ReportModel::getUpdatedAt, Comparator.nullsLast(Comparator.<Date>reverseOrder()))
+            .thenComparing(ReportModel::getBatchNo, Comparator.nullsLast(Comparator.<Long>reverseOrder()));
+
+    static final Comparator<ReportProjection> PROJECTION_ORDER = Comparator
+            .comparing(ReportProjection::updatedAt, Comparator.nullsLast(Comparator.<Date>reverseOrder()))
+            .thenComparing(ReportProjection::batchNo, Comparator.nullsLast(Comparator.<Long>reverseOrder()));
+
+    private final ReportService delegate;
+    private final ReportShardRouter router;
+
+    @Override
+    public GlobalResponse saveReport(final ReportRequestDto reportRequestDto) {
+        return router.onOwner(reportRequestDto.batchNo(), () -> delegate.saveReport(reportRequestDto));
+    }
+
+    @Override
+    public GlobalResponse deleteReport(long batchNo) {
+        return router.onOwner(batchNo, () -> delegate.deleteReport(batchNo));
+    }
+
+    @Override
+    public GlobalResponse updateReportStatus(final ReportUpdateDto reportUpdateDto) {
+        Map<Integer, List<Long>> partitions = router.partition(reportUpdateDto.batchIds());
+        List<List<ReportModel>> updated = router.onShards(partitions.keySet(), shard -> {
+            try {
+                return content(delegate.updateReportStatus(
+                        new ReportUpdateDto(reportUpdateDto.status(), partitions.get(shard))));
+            } catch (ReportNotFoundException ex) {
+                // None of this shard's batch numbers exist, the other shards may still have theirs
+                return List.of();
+            }
+        });
+        List<ReportModel> modelUpdatedList = updated.stream().flatMap(List::stream).toList();
+        if (modelUpdatedList.isEmpty()) {
+            log.warn("Illegal argument");
+            throw new ReportNotFoundException("Illegal argument");
+        }
+        return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(), modelUpdatedList);
+    }
+
+    @Override
+    public GlobalResponse fetchReport(final int pageNo, final int pageSize) {
+        Pageable pageable = PageRequest.of(pageNo < 1 ? pageNo : pageNo - 1, pageSize);
+        int window = window(pageable);
+        List<Page<ReportModel>> pages = router.fanOut(shard -> page(delegate.fetchReport(1, window)));
+
+        long total = pages.stream().mapToLong(Page::getTotalElements).sum();
+        List<ReportModel> content = merge(pages, LISTING_ORDER, pageable.getOffset(), pageSize);
+        return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(),
+                new PageImpl<>(content, pageable, total));
+    }
+
+    @Override
+    public GlobalResponse fetchReportByBatchNo(long batchNo) {
+        return router.onOwner(batchNo, () -> delegate.fetchReportByBatchNo(batchNo));
+    }
+
+    @Override
+    public GlobalResponse fetchReport(final int pageNo, final int pageSize, final ReportFields fields) {
+        if (fields == null) {
+            return fetchReport(pageNo, pageSize);
+        }
+        Pageable pageable = PageRequest.of(pageNo < 1 ? pageNo : pageNo - 1, pageSize);
+        int window = window(pageable);
+        List<Page<ReportProjection>> pages = router.fanOut(shard -> page(delegate.fetchReport(1, window, fields)));
+
+        long total = pages.stream().mapToLong(Page::getTotalElements).sum();
+        List<ReportProjection> content = merge(pages, PROJECTION_ORDER, pageable.getOffset(), pageSize);
+        return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(),
+                new PageImpl<>(content, pageable, total));
+    }
+
+    @Override
+    public GlobalResponse fetchReportByBatchNo(long batchNo, ReportFields fields) {
+        return router.onOwner(batchNo, () -> delegate.fetchReportByBatchNo(batchNo, fields));
+    }
+
+    private int window(Pageable pageable) {
+        long window = pageable.getOffset() + pageable.getPageSize();
+        if (window > router.getMaxFanOutWindow()) {
+            log.warn("FetchReport window too deep: [window= {},\nReqTime: {}]", window, LocalDateTime.now());
+            throw new IllegalArgumentException("Page is too deep, at most " + router.getMaxFanOutWindow()
+                    + " reports can be paged through");
+        }
+        return (int) window;
+    }
+
+    /**
+     * K-way merge of the shard pages, each already ordered by the given order.
+     */
+    static <T> List<T> merge(List<Page<T>> pages, Comparator<? super T> order, long skip, int limit) {
+        record Head<T>(T model, int page, int index) {
+        }
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>(Math.max(1, pages.size()),
+                (left, right) -> order.compare(left.model(), right.model()));
+        for (int i = 0; i < pages.size(); i++) {
+            if (pages.get(i).hasContent()) {
+                heads.add(new Head<>(pages.get(i).getContent().get(0), i, 0));
+            }
+        }
+        List<T> merged = new ArrayList<>(limit);
+        long position = 0;
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Head<T> head = heads.poll();
+            if (position++ >= skip) {
+                merged.add(head.model());
+            }
+            List<T> content = pages.get(head.page()).getContent();
+            if (head.index() + 1 < content.size()) {
+                heads.add(new Head<>(content.get(head.index() + 1), head.page(), head.index() + 1));
+            }
+        }
+        return merged;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Page<T> page(GlobalResponse response) {
+        return (Page<T>) response.data();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ReportModel> content(GlobalResponse response) {
+        return (List<ReportModel>) response.data();
+    }
+}
@@ -0,0 +1,140 @@
+package com.oracle.channel.report.sharding;
+
+import com.oracle.channel.report.config.ReportShardingProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Maps batch numbers to shards and runs work on them.
+ * <p>
+ * A batch number is owned by {@code floorMod(mix(batchNo), shardCount)}, where {@code mix} is the 64-bit
+ * MurmurHash3 finalizer so that sequential batch numbers spread evenly. Without sharding there is a single
+ * shard and all work runs inline on the calling thread.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Component
+public class ReportShardRouter {
+
+    private final int shardCount;
+    private final int maxFanOutWindow;
+    private final ExecutorService fanOutExecutor;
+
+    @Autowired
+    public ReportShardRouter(ReportShardingProperties properties) {
+        this.shardCount = properties.isEnabled() ? Math.max(1, properties.getShards().size()) : 1;
+        this.maxFanOutWindow = properties.getMaxFanOutWindow();
+        this.fanOutExecutor = shardCount > 1
+                ? Executors.newFixedThreadPool(Math.max(shardCount, properties.getFanOutThreads()), runnable -> {
+                    Thread thread = new Thread(runnable, "report-shard-fan-out");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    public int getMaxFanOutWindow() {
+        return maxFanOutWindow;
+    }
+
+    /**
+     * @return the shard owning the batch number
+     */
+    public int shardOf(long batchNo) {
+        long hash = batchNo;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) Math.floorMod(hash, (long) shardCount);
+    }
+
+    /**
+     * Runs the work on the shard owning the batch number.
+     */
+    public <T> T onOwner(Long batchNo, Supplier<T> work) {
+        return onShard(batchNo == null ? 0 : shardOf(batchNo), work);
+    }
+
+    /**
+     * Runs the work on the given shard.
+     */
+    public <T> T onShard(int shard, Supplier<T> work) {
+        return isSharded() ? ShardContext.call(shard, work) : work.get();
+    }
+
+    /**
+     * Groups batch numbers by owning shard, keeping their order within each shard.
+     */
+    public Map<Integer, List<Long>> partition(Collection<Long> batchNos) {
+        Map<Integer, List<Long>> partitions = new LinkedHashMap<>();
+        for (Long batchNo : batchNos) {
+            partitions.computeIfAbsent(batchNo == null ? 0 : shardOf(batchNo), shard -> new ArrayList<>()).add(batchNo);
+        }
+        return partitions;
+    }
+
+    /**
+     * Runs the work on every shard in parallel and returns the results in shard order.
+     */
+    public <T> List<T> fanOut(IntFunction<T> work) {
+        List<Integer> shards = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            shards.add(shard);
+        }
+        return onShards(shards, work);
+    }
+
+    /**
+     * Runs the work on the given shards in parallel and returns the results in the order of the shards.
+     * Runtime exceptions of the work are rethrown as they are.
+     */
+    public <T> List<T> onShards(Collection<Integer> shards, IntFunction<T> work) {
+        if (!isSharded() || shards.size() == 1) {
+            return shards.stream().map(shard -> onShard(shard, () -> work.apply(shard))).toList();
+        }
+        List<CompletableFuture<T>> futures = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> onShard(shard, () -> work.apply(shard)),
+                        fanOutExecutor))
+                .toList();
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw ex;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (fanOutExecutor != null) {
+            fanOutExecutor.shutdownNow();
+        }
+    }
+}
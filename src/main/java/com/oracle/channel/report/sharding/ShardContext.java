@@ -0,0 +1,52 @@
+package com.oracle.channel.report.sharding;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the shard the current thread works on. Read by {@link ShardRoutingDataSource} when a transaction
+ * acquires its connection, so the shard has to be chosen before the transaction starts.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return the shard of the current thread, or null when none has been chosen
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs the work with the given shard selected.
+     *
+     * @param shard the shard number
+     * @param work  the work to run
+     * @return the result of the work
+     */
+    public static <T> T call(int shard, Supplier<T> work) {
+        Integer previous = CURRENT.get();
+        if (previous != null && previous != shard && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Cannot switch to shard " + shard + " inside a transaction on shard "
+                    + previous);
+        }
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.oracle.channel.report.snapshot;
+
+import java.nio.file.Path;
+
+/**
+ * A written snapshot file. Snapshot files are never modified once written.
+ *
+ * @param path      the snapshot file
+ * @param length    the file size in bytes
+ * @param createdAt when the export started, in epoch milliseconds
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public record ReportSnapshot(Path path, long length, long createdAt) {
+
+    static final String PREFIX = "reports-";
+    static final String SUFFIX = ".ndjson";
+    static final String COMPRESSED_SUFFIX = SUFFIX + ".gz";
+
+    public String fileName() {
+        return path.getFileName().toString();
+    }
+
+    public boolean isCompressed() {
+        return fileName().endsWith(COMPRESSED_SUFFIX);
+    }
+
+    /**
+     * @return a strong entity tag, naming the file and its size
+     */
+    public String etag() {
+        String name = fileName();
+        return "\"" + name.substring(PREFIX.length(), name.indexOf(SUFFIX)) + "-" + length + "\"";
+    }
+
+    public String contentType() {
+        return isCompressed() ? "application/gzip" : "application/x-ndjson";
+    }
+}
@@ -0,0 +1,259 @@
+package com.oracle.channel.report.snapshot;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oracle.channel.report.config.ReportSnapshotProperties;
+import com.oracle.channel.report.dedup.ReportBlobStore;
+import com.oracle.channel.report.dtos.request.ReportFields;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.repository.ReportProjectionRepository;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Periodically exports the ACTIVE reports to a local snapshot file, so repeated full downloads are served from
+ * disk rather than from the database.
+ * <p>
+ * A snapshot is one report per line as returned by the read endpoints, gzip-compressed unless
+ * {@code report.snapshot.compressed} is off, and named {@code reports-<UTC timestamp>.ndjson[.gz]}. Like those
+ * reads, a report lists its appended entries after the saved ones. Each shard is
+ * read in one repeatable-read, read-only transaction through a cursor, so its part is consistent and the result
+ * set is never held in memory; reports are ordered by last update within a shard. The file is written under a
+ * temporary name, forced to disk and then renamed, so a snapshot is either complete or absent. The latest
+ * {@code report.snapshot.retain} snapshots are kept and the newest one found on disk is served after a restart.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Slf4j
+@Component
+@Profile("!embedded")
+public class ReportSnapshotStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS'Z'").withZone(ZoneOffset.UTC);
+
+    private final ReportProjectionRepository reportProjectionRepository;
+    private final ReportBlobStore reportBlobStore;
+    private final ReportShardRouter router;
+    private final ReportSnapshotProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer writes;
+    private volatile ReportSnapshot current;
+
+    @Autowired
+    public ReportSnapshotStore(ReportProjectionRepository reportProjectionRepository, ReportBlobStore reportBlobStore,
+                               ReportShardRouter router, ReportSnapshotProperties properties, ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.reportProjectionRepository = reportProjectionRepository;
+        this.reportBlobStore = reportBlobStore;
+        this.router = router;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.transactionTemplate.setReadOnly(true);
+        this.writes = Timer.builder("report.snapshot.writes")
+                .description("Time taken to write a report snapshot")
+                .register(meterRegistry);
+        Gauge.builder("report.snapshot.bytes", this, store -> store.current == null ? 0 : store.current.length())
+                .baseUnit("bytes")
+                .description("Size of the latest report snapshot")
+                .register(meterRegistry);
+        Gauge.builder("report.snapshot.age", this, store -> store.current == null ? 0
+                        : (System.currentTimeMillis() - store.current.createdAt()) / 1000.0)
+                .baseUnit("seconds")
+                .description("Age of the latest report snapshot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Picks up the newest snapshot on disk and removes files left by an interrupted write.
+     */
+    @PostConstruct
+    void open() throws IOException {
+        Path directory = properties.getDirectory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        for (Path file : list(directory)) {
+            if (file.getFileName().toString().endsWith(TEMPORARY_SUFFIX)) {
+                Files.deleteIfExists(file);
+            }
+        }
+        List<Path> snapshots = snapshots(directory);
+        if (!snapshots.isEmpty()) {
+            Path latest = snapshots.get(0);
+            current = new ReportSnapshot(latest, Files.size(latest), createdAt(latest));
+        }
+    }
+
+    private static long createdAt(Path snapshot) throws IOException {
+        String name = snapshot.getFileName().toString();
+        try {
+            return Instant.from(TIMESTAMP.parse(name.substring(ReportSnapshot.PREFIX.length(),
+                    name.indexOf(ReportSnapshot.SUFFIX)))).toEpochMilli();
+        } catch (DateTimeParseException ex) {
+            return Files.getLastModifiedTime(snapshot).toMillis();
+        }
+    }
+
+    /**
+     * @return the latest snapshot, or null if none has been written
+     */
+    public ReportSnapshot current() {
+        return current;
+    }
+
+    @Scheduled(fixedDelayString = "${report.snapshot.interval:1h}",
+            initialDelayString = "${report.snapshot.initial-delay:30s}")
+    public void write() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        ReportSnapshot latest = current;
+        if (latest != null && System.currentTimeMillis() - latest.createdAt() < properties.getInterval().toMillis()) {
+            // written shortly before a restart
+            return;
+        }
+        try {
+            ReportSnapshot snapshot = writes.recordCallable(this::writeSnapshot);
+            current = snapshot;
+            removeExpired();
+        } catch (Exception ex) {
+            log.warn("Error Writing Report Snapshot: [error= {}]", ex.getMessage());
+        }
+    }
+
+    private ReportSnapshot writeSnapshot() throws IOException {
+        Files.createDirectories(properties.getDirectory());
+        long createdAt = System.currentTimeMillis();
+        String name = ReportSnapshot.PREFIX + TIMESTAMP.format(Instant.ofEpochMilli(createdAt))
+                + (properties.isCompressed() ? ReportSnapshot.COMPRESSED_SUFFIX : ReportSnapshot.SUFFIX);
+        Path target = properties.getDirectory().resolve(name);
+        Path temporary = properties.getDirectory().resolve(name + TEMPORARY_SUFFIX);
+        long reports = 0;
+        boolean written = false;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream file = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+            OutputStream out = properties.isCompressed() ? new GZIPOutputStream(file, BUFFER_SIZE) : file;
+            JsonGenerator json = objectMapper.createGenerator(out);
+            json.setRootValueSeparator(null);
+            for (int shard = 0; shard < router.getShardCount(); shard++) {
+                reports += router.onShard(shard, () -> transactionTemplate.execute(status -> exportShard(json)));
+            }
+            json.flush();
+            if (out instanceof GZIPOutputStream gzip) {
+                gzip.finish();
+            }
+            file.flush();
+            channel.force(true);
+            out.close();
+            written = true;
+        } finally {
+            if (!written) {
+                Files.deleteIfExists(temporary);
+            }
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        ReportSnapshot snapshot = new ReportSnapshot(target, Files.size(target), createdAt);
+        log.info("ReportSnapshotWritten: [file= {},\nreports= {},\nbytes= {},\nTime: {}]",
+                name, reports, snapshot.length(), LocalDateTime.now());
+        return snapshot;
+    }
+
+    private long exportShard(JsonGenerator json) {
+        // the referenced metadata is resolved once per fetch, not once per report
+        List<ReportModel> batch = new ArrayList<>(properties.getFetchSize());
+        long reports = reportProjectionRepository.streamActive(ReportFields.all(), properties.getFetchSize(),
+                report -> {
+                    batch.add(report);
+                    if (batch.size() >= properties.getFetchSize()) {
+                        writeBatch(json, batch);
+                    }
+                });
+        writeBatch(json, batch);
+        return reports;
+    }
+
+    private void writeBatch(JsonGenerator json, List<ReportModel> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            for (ReportModel report : reportBlobStore.resolveAll(batch)) {
+                json.writeObject(report);
+                json.writeRaw('\n');
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        batch.clear();
+    }
+
+    private void removeExpired() throws IOException {
+        List<Path> snapshots = snapshots(properties.getDirectory());
+        for (Path expired : snapshots.subList(Math.min(snapshots.size(), Math.max(1, properties.getRetain())),
+                snapshots.size())) {
+            // a download still reading the file keeps it open until it completes
+            Files.deleteIfExists(expired);
+        }
+    }
+
+    /**
+     * @return the snapshot files, newest first
+     */
+    private static List<Path> snapshots(Path directory) throws IOException {
+        return list(directory).stream()
+                .filter(file -> {
+                    String name = file.getFileName().toString();
+                    return name.startsWith(ReportSnapshot.PREFIX) && (name.endsWith(ReportSnapshot.SUFFIX)
+                            || name.endsWith(ReportSnapshot.COMPRESSED_SUFFIX));
+                })
+                .sorted(Comparator.comparing((Path file) -> file.getFileName().toString()).reversed())
+                .toList();
+    }
+
+    private static List<Path> list(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.oracle.channel.report.snapshot;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sends snapshot files, whole or as a single byte range so interrupted downloads can resume.
+ * <p>
+ * Responses carry a strong {@code ETag} and {@code Last-Modified}; a {@code Range} request is honored when its
+ * {@code If-Range} still names the served snapshot, otherwise the whole file is sent. Multiple ranges are answered
+ * with the whole file. The file is handed to the container's sendfile support when there is one, so its bytes go
+ * from the page cache to the socket without passing through the JVM, and is otherwise transferred from a
+ * {@link FileChannel}.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Component
+public class ReportSnapshotTransfer {
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final Counter fullDownloads;
+    private final Counter partialDownloads;
+    private final Counter bytesSent;
+
+    @Autowired
+    public ReportSnapshotTransfer(MeterRegistry meterRegistry) {
+        this.fullDownloads = downloadCounter(meterRegistry, "full");
+        this.partialDownloads = downloadCounter(meterRegistry, "partial");
+        this.bytesSent = Counter.builder("report.snapshot.bytes.sent")
+                .baseUnit("bytes")
+                .description("Snapshot bytes sent to clients")
+                .register(meterRegistry);
+    }
+
+    private static Counter downloadCounter(MeterRegistry meterRegistry, String range) {
+        return Counter.builder("report.snapshot.downloads")
+                .tag("range", range)
+                .description("Snapshot downloads of the whole file or of a byte range")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param snapshot the snapshot to send
+     * @param request  the download request
+     * @param response the response, left uncommitted when the container sends the file
+     */
+    public void send(ReportSnapshot snapshot, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (new ServletWebRequest(request, response).checkNotModified(snapshot.etag(), snapshot.createdAt())) {
+            return;
+        }
+        long length = snapshot.length();
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(snapshot.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(snapshot.fileName()).build().toString());
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && isCurrent(request, snapshot)) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    if (start >= length || end < start) {
+                        throw new IllegalArgumentException("Range outside of the snapshot: " + range);
+                    }
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException ex) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+        (response.getStatus() == HttpServletResponse.SC_PARTIAL_CONTENT ? partialDownloads : fullDownloads).increment();
+        bytesSent.increment(count);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // written by the container once the request completes
+            request.setAttribute(SENDFILE_FILENAME, snapshot.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(snapshot.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                long transferred = channel.transferTo(position, end + 1 - position, out);
+                if (transferred <= 0) {
+                    throw new IOException("Snapshot " + snapshot.fileName() + " was truncated");
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    /**
+     * @return true unless the client resumes a download of another snapshot
+     */
+    private static boolean isCurrent(HttpServletRequest request, ReportSnapshot snapshot) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(snapshot.etag());
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == snapshot.createdAt() / 1000;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.oracle.channel.report.stats;
+
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.events.ReportChangedEvent;
+import com.oracle.channel.report.events.ReportShape;
+import com.oracle.channel.report.repository.ReportStatsRepository;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Report counts of one shard: by status, by creation day and by size and length bucket.
+ * <p>
+ * A bucket is the bit length of the value, so bucket {@code b > 0} holds the values from {@code 2^(b-1)} to
+ * {@code 2^b - 1} and bucket 0 holds 0. All counters are atomic; an event updates them one by one, so a
+ * reader may briefly see an event half applied.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+final class ReportRollup {
+
+    static final int BUCKETS = 33;
+
+    private final LocalDate dailyFrom;
+    private final Map<ReportStatus, AtomicLong> byStatus = new EnumMap<>(ReportStatus.class);
+    private final NavigableMap<LocalDate, AtomicLong> byDay = new ConcurrentSkipListMap<>();
+    private final AtomicLongArray bySize = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray byLength = new AtomicLongArray(BUCKETS);
+
+    ReportRollup(LocalDate dailyFrom) {
+        this.dailyFrom = dailyFrom;
+        for (ReportStatus status : ReportStatus.values()) {
+            byStatus.put(status, new AtomicLong());
+        }
+    }
+
+    static int bucketOf(int value) {
+        return value <= 0 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(value);
+    }
+
+    /**
+     * Moves the report out of the groups it was in before the change and into the ones it is in after.
+     */
+    void apply(ReportChangedEvent event) {
+        add(event.previousStatus(), event.previousShape(), -1);
+        add(event.status(), event.shape(), 1);
+    }
+
+    /**
+     * Adds a group computed by {@link ReportStatsRepository#rollup(LocalDate)}.
+     */
+    void add(ReportStatsRepository.RollupRow row) {
+        switch (row.groupingSet()) {
+            case ReportStatsRepository.BY_STATUS -> byStatus.get(row.status()).addAndGet(row.reports());
+            case ReportStatsRepository.BY_DAY -> addDay(row.createdOn(), row.reports());
+            case ReportStatsRepository.BY_SIZE -> bySize.addAndGet(row.sizeBucket(), row.reports());
+            case ReportStatsRepository.BY_LENGTH -> byLength.addAndGet(row.lengthBucket(), row.reports());
+            default -> throw new IllegalStateException("Unknown grouping set " + row.groupingSet());
+        }
+    }
+
+    private void add(ReportStatus status, ReportShape shape, int delta) {
+        if (status != null) {
+            byStatus.get(status).addAndGet(delta);
+        }
+        if (shape != null) {
+            addDay(shape.createdOn(), delta);
+            bySize.addAndGet(bucketOf(shape.size()), delta);
+            byLength.addAndGet(bucketOf(shape.length()), delta);
+        }
+    }
+
+    private void addDay(LocalDate day, long delta) {
+        if (day != null && !day.isBefore(dailyFrom)) {
+            byDay.computeIfAbsent(day, key -> new AtomicLong()).addAndGet(delta);
+        }
+    }
+
+    LocalDate dailyFrom() {
+        return dailyFrom;
+    }
+
+    long count(ReportStatus status) {
+        return byStatus.get(status).get();
+    }
+
+    Map<LocalDate, AtomicLong> byDay() {
+        return byDay;
+    }
+
+    long sizeBucket(int bucket) {
+        return bySize.get(bucket);
+    }
+
+    long lengthBucket(int bucket) {
+        return byLength.get(bucket);
+    }
+}
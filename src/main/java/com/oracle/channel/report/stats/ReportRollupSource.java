@@ -0,0 +1,23 @@
+package com.oracle.channel.report.stats;
+
+import com.oracle.channel.report.repository.ReportStatsRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Computes the report statistics from scratch, used to reconcile the incrementally maintained ones.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+public interface ReportRollupSource {
+
+    /**
+     * Groups all reports of the current shard by status, creation day, size bucket and length bucket.
+     *
+     * @param dailyFrom the first day the volume is grouped by day for
+     * @return the groups
+     */
+    List<ReportStatsRepository.RollupRow> rollup(LocalDate dailyFrom);
+}
@@ -0,0 +1,226 @@
+package com.oracle.channel.report.stats;
+
+import com.oracle.channel.report.config.ReportStatsProperties;
+import com.oracle.channel.report.dtos.response.data.ReportStats;
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.events.ReportChangedEvent;
+import com.oracle.channel.report.repository.ReportStatsRepository;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import com.oracle.channel.report.sharding.ShardContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Report statistics maintained from the committed {@link ReportChangedEvent}s instead of table scans.
+ * <p>
+ * Every shard has its own {@link ReportRollup}, which is periodically recomputed from the store. While a
+ * shard is being recomputed, events are applied to both the live and the new rollup, so the new one only
+ * misses or double counts the few events whose commit races with the start of the scan; the next
+ * reconciliation corrects those.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Slf4j
+@Component
+public class ReportStatistics {
+
+    private final ReportRollupSource reportRollupSource;
+    private final ReportShardRouter router;
+    private final ReportStatsProperties properties;
+    private final ShardRollup[] shards;
+    private final Counter drift;
+
+    @Autowired
+    public ReportStatistics(ReportRollupSource reportRollupSource, ReportShardRouter router,
+                            ReportStatsProperties properties, MeterRegistry meterRegistry) {
+        this.reportRollupSource = reportRollupSource;
+        this.router = router;
+        this.properties = properties;
+        this.shards = new ShardRollup[router.getShardCount()];
+        for (int shard = 0; shard < shards.length; shard++) {
+            shards[shard] = new ShardRollup(new ReportRollup(dailyFrom()));
+        }
+        for (ReportStatus status : ReportStatus.values()) {
+            Gauge.builder("report.stats.reports", this, statistics -> statistics.count(status))
+                    .tag("status", status.name())
+                    .description("Reports per status as maintained by the statistics")
+                    .register(meterRegistry);
+        }
+        this.drift = Counter.builder("report.stats.drift")
+                .description("Reports the maintained status counts were off by when reconciled")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportChanged(ReportChangedEvent event) {
+        ShardRollup rollup = shards[event.batchNo() == null ? 0 : router.shardOf(event.batchNo())];
+        rollup.lock.readLock().lock();
+        try {
+            rollup.current.apply(event);
+            if (rollup.pending != null) {
+                rollup.pending.apply(event);
+            }
+        } finally {
+            rollup.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recomputes the statistics of every shard from the database.
+     */
+    @Scheduled(fixedDelayString = "${report.stats.reconcile-interval:15m}")
+    public void reconcile() {
+        router.fanOut(shard -> {
+            try {
+                reconcile(shard);
+            } catch (RuntimeException ex) {
+                log.warn("Error Reconciling ReportStats: [shard= {},\nerror= {}]", shard, ex.getMessage());
+            }
+            return null;
+        });
+    }
+
+    private void reconcile(int shard) {
+        ShardRollup rollup = shards[shard];
+        ReportRollup fresh = new ReportRollup(dailyFrom());
+        rollup.lock.writeLock().lock();
+        rollup.pending = fresh;
+        rollup.lock.writeLock().unlock();
+        List<ReportStatsRepository.RollupRow> rows;
+        try {
+            rows = reportRollupSource.rollup(fresh.dailyFrom());
+        } catch (RuntimeException ex) {
+            rollup.lock.writeLock().lock();
+            rollup.pending = null;
+            rollup.lock.writeLock().unlock();
+            throw ex;
+        }
+
+        rollup.lock.writeLock().lock();
+        try {
+            rollup.pending = null;
+            rows.forEach(fresh::add);
+            long off = 0;
+            for (ReportStatus status : ReportStatus.values()) {
+                off += Math.abs(rollup.current.count(status) - fresh.count(status));
+            }
+            if (off > 0 && rollup.reconciledAt != null) {
+                log.info("ReportStats drift corrected: [shard= {},\nreports= {},\nTime: {}]", shard, off,
+                        LocalDateTime.now());
+                drift.increment(off);
+            }
+            rollup.current = fresh;
+            rollup.reconciledAt = Instant.now();
+        } finally {
+            rollup.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the maintained number of ACTIVE reports on the current shard, or empty when it is not available
+     * yet or the listing should count itself
+     */
+    public OptionalLong activeCount() {
+        if (!properties.isMaintainedListingCount()) {
+            return OptionalLong.empty();
+        }
+        Integer shard = ShardContext.current();
+        ShardRollup rollup = shards[shard == null ? 0 : shard];
+        if (rollup.reconciledAt == null) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(Math.max(0, rollup.current.count(ReportStatus.ACTIVE)));
+    }
+
+    /**
+     * @return the statistics over all shards
+     */
+    public ReportStats stats() {
+        LocalDate dailyFrom = dailyFrom();
+        Map<ReportStatus, Long> countByStatus = new EnumMap<>(ReportStatus.class);
+        Map<LocalDate, Long> dailyVolume = new TreeMap<>();
+        long[] bySize = new long[ReportRollup.BUCKETS];
+        long[] byLength = new long[ReportRollup.BUCKETS];
+        Instant reconciledAt = Instant.MAX;
+        for (ShardRollup rollup : shards) {
+            ReportRollup current = rollup.current;
+            for (ReportStatus status : ReportStatus.values()) {
+                countByStatus.merge(status, current.count(status), Long::sum);
+            }
+            current.byDay().forEach((day, reports) -> {
+                if (!day.isBefore(dailyFrom)) {
+                    dailyVolume.merge(day, reports.get(), Long::sum);
+                }
+            });
+            for (int bucket = 0; bucket < ReportRollup.BUCKETS; bucket++) {
+                bySize[bucket] += current.sizeBucket(bucket);
+                byLength[bucket] += current.lengthBucket(bucket);
+            }
+            reconciledAt = rollup.reconciledAt == null || reconciledAt == null
+                    ? null : min(reconciledAt, rollup.reconciledAt);
+        }
+        countByStatus.replaceAll((status, reports) -> Math.max(0, reports));
+        dailyVolume.replaceAll((day, reports) -> Math.max(0, reports));
+        long total = countByStatus.values().stream().mapToLong(Long::longValue).sum();
+        return new ReportStats(total, countByStatus, dailyVolume, buckets(bySize), buckets(byLength), reconciledAt);
+    }
+
+    private long count(ReportStatus status) {
+        long reports = 0;
+        for (ShardRollup rollup : shards) {
+            reports += rollup.current.count(status);
+        }
+        return Math.max(0, reports);
+    }
+
+    private LocalDate dailyFrom() {
+        return LocalDate.now().minusDays(Math.max(1, properties.getDailyVolumeDays()) - 1L);
+    }
+
+    private static List<ReportStats.Bucket> buckets(long[] counts) {
+        List<ReportStats.Bucket> buckets = new ArrayList<>();
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            if (counts[bucket] > 0) {
+                buckets.add(new ReportStats.Bucket(bucket == 0 ? 0 : 1L << (bucket - 1),
+                        bucket == 0 ? 0 : (1L << bucket) - 1, counts[bucket]));
+            }
+        }
+        return buckets;
+    }
+
+    private static Instant min(Instant a, Instant b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static final class ShardRollup {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private volatile ReportRollup current;
+        private volatile ReportRollup pending;
+        private volatile Instant reconciledAt;
+
+        private ShardRollup(ReportRollup current) {
+            this.current = current;
+        }
+    }
+}
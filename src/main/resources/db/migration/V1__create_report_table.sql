@@ -0,0 +1,14 @@
+-- Baseline schema, identical to what Hibernate used to create with ddl-auto: update.
+-- Databases created that way are baselined at version 1 and skip this script.
+CREATE TABLE IF NOT EXISTS report (
+    id          UUID         NOT NULL,
+    batch_no    BIGINT       NOT NULL,
+    size        INTEGER,
+    status      VARCHAR(10)  NOT NULL,
+    report_data JSONB        NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT report_pkey PRIMARY KEY (id),
+    CONSTRAINT report_batch_no_key UNIQUE (batch_no),
+    CONSTRAINT report_status_check CHECK (status IN ('ACTIVE', 'INACTIVE'))
+);
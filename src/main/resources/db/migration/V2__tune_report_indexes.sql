@@ -0,0 +1,8 @@
+-- (batch_no, id) duplicated the unique index on batch_no, which already serves
+-- getReportModelByBatchNo and fetchReportModelList.
+DROP INDEX IF EXISTS batch_id_index;
+
+-- getAllByReport: status = 'ACTIVE' ORDER BY updated_at DESC, plus its COUNT(*).
+CREATE INDEX IF NOT EXISTS report_active_updated_at_idx
+    ON report (updated_at DESC)
+    WHERE status = 'ACTIVE';
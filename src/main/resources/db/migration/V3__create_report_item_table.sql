@@ -0,0 +1,12 @@
+-- Entries appended to an existing report. The report_data document keeps the entries the report was
+-- saved with; appended entries live here so appending never rewrites that document.
+CREATE TABLE IF NOT EXISTS report_item (
+    batch_no    BIGINT       NOT NULL,
+    item_index  INTEGER      NOT NULL,
+    name        VARCHAR(255),
+    description TEXT,
+    metadata    JSONB,
+    created_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT report_item_pkey PRIMARY KEY (batch_no, item_index),
+    CONSTRAINT report_item_report_fk FOREIGN KEY (batch_no) REFERENCES report (batch_no) ON DELETE CASCADE
+);
@@ -0,0 +1,2 @@
+-- Supports the archival job, which picks INACTIVE reports by their last update.
+CREATE INDEX IF NOT EXISTS report_inactive_updated_at_idx ON report (updated_at) WHERE status = 'INACTIVE';
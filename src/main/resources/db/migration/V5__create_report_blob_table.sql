@@ -0,0 +1,17 @@
+-- Distinct metadata blobs of report entries, keyed by the SHA-256 of their JSON text. With deduplication
+-- enabled, entries hold the hash in metadataRef (metadata_ref for appended entries) instead of a copy.
+-- ref_count is the number of entries referencing a blob; blobs dropping to zero are removed by a sweep
+-- once they stayed unreferenced for a grace period.
+CREATE TABLE IF NOT EXISTS report_blob (
+    hash       BYTEA        NOT NULL,
+    content    JSONB        NOT NULL,
+    byte_size  INTEGER      NOT NULL,
+    ref_count  BIGINT       NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT report_blob_pkey PRIMARY KEY (hash)
+);
+
+CREATE INDEX IF NOT EXISTS report_blob_unreferenced_idx ON report_blob (updated_at) WHERE ref_count <= 0;
+
+ALTER TABLE report_item ADD COLUMN IF NOT EXISTS metadata_ref BYTEA;
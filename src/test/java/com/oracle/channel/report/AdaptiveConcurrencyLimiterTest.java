@@ -0,0 +1,81 @@
+package com.oracle.channel.report;
+
+import com.oracle.channel.report.limiter.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AdaptiveConcurrencyLimiter}.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    /**
+     * Tests that requests above the limit are rejected immediately and counted.
+     */
+    @Test
+    void testRejectsAboveLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 1, TimeUnit.HOURS);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejected());
+
+        limiter.release(1_000_000, false);
+        assertTrue(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    /**
+     * Tests that the limit grows while latency is stable and shrinks once latency rises.
+     */
+    @Test
+    void testLimitFollowsLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 0, TimeUnit.NANOSECONDS);
+
+        for (int i = 0; i < 50; i++) {
+            saturate(limiter, 5_000_000);
+        }
+        int grown = limiter.getLimit();
+        assertTrue(grown > 10, "limit should grow at stable latency but was " + grown);
+
+        // every release closes a window here, so a handful of slow samples is enough to react
+        while (limiter.tryAcquire()) {
+            // fill up to the current limit
+        }
+        for (int i = 0; i < 5; i++) {
+            limiter.release(50_000_000, false);
+        }
+        assertTrue(limiter.getLimit() < grown, "limit should shrink when latency rises");
+    }
+
+    /**
+     * Tests that overload signals cut the limit but never below the configured minimum.
+     */
+    @Test
+    void testDropsRespectMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 3, 100, 0, TimeUnit.NANOSECONDS);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(1_000_000, true);
+        }
+        assertEquals(3, limiter.getLimit());
+    }
+
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, long latencyNanos) {
+        int admitted = 0;
+        while (limiter.tryAcquire()) {
+            admitted++;
+        }
+        for (int i = 0; i < admitted; i++) {
+            limiter.release(latencyNanos, false);
+        }
+    }
+}
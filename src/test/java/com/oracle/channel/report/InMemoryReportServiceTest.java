@@ -0,0 +1,117 @@
+package com.oracle.channel.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oracle.channel.report.archive.ReportArchive;
+import com.oracle.channel.report.config.ReportEmbeddedProperties;
+import com.oracle.channel.report.config.ReportMultiGetProperties;
+import com.oracle.channel.report.dtos.request.ReportItemAppendDto;
+import com.oracle.channel.report.dtos.request.ReportMultiGetDto;
+import com.oracle.channel.report.dtos.request.ReportUpdateDto;
+import com.oracle.channel.report.dtos.response.GlobalResponse;
+import com.oracle.channel.report.dtos.response.data.ReportItemPage;
+import com.oracle.channel.report.dtos.response.data.ReportSummary;
+import com.oracle.channel.report.embedded.EmbeddedReportStore;
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.enums.ReportView;
+import com.oracle.channel.report.enums.ResponseCodeEnum;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.models.data.ReportData;
+import com.oracle.channel.report.service.ReportService;
+import com.oracle.channel.report.service.impl.InMemoryReportItemService;
+import com.oracle.channel.report.service.impl.InMemoryReportMultiGetService;
+import com.oracle.channel.report.service.impl.InMemoryReportService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link InMemoryReportService} on a memory-only embedded store, running the
+ * {@link ReportServiceContractTest} and the paging, appends and multi-gets of the embedded store.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class InMemoryReportServiceTest extends ReportServiceContractTest {
+
+    private EmbeddedReportStore store;
+
+    @Override
+    protected ReportService createService(ApplicationEventPublisher eventPublisher, ReportArchive reportArchive) {
+        store = new EmbeddedReportStore(new ReportEmbeddedProperties(), new ObjectMapper(), new SimpleMeterRegistry());
+        return new InMemoryReportService(store, eventPublisher, reportArchive);
+    }
+
+    @Override
+    protected ReportModel stored(long batchNo) {
+        return store.find(batchNo);
+    }
+
+    /**
+     * Tests that a page holds the active reports, most recently updated first, and counts all of them.
+     */
+    @Test
+    void testFetchReport_Success() throws InterruptedException {
+        for (long batchNo = 1; batchNo <= 12; batchNo++) {
+            save(batchNo);
+            Thread.sleep(2);
+        }
+        reportService.updateReportStatus(new ReportUpdateDto(ReportStatus.INACTIVE, List.of(12L)));
+
+        GlobalResponse response = reportService.fetchReport(2, 5);
+
+        assertEquals(ResponseCodeEnum.SUCCESS.getCode(), response.responseCode());
+        Page<?> page = (Page<?>) response.data();
+        assertEquals(11, page.getTotalElements());
+        assertEquals(List.of(6L, 5L, 4L, 3L, 2L),
+                page.getContent().stream().map(report -> ((ReportModel) report).getBatchNo()).toList());
+    }
+
+    /**
+     * Tests appending entries and paging through the saved and the appended ones.
+     */
+    @Test
+    void testAppendAndFetchItems() {
+        save(12345L);
+        InMemoryReportItemService itemService = new InMemoryReportItemService(store, eventPublisher, reportArchive);
+
+        itemService.appendItems(12345L, new ReportItemAppendDto(List.of(
+                new ReportData("a0", "d", null), new ReportData("a1", "d", null))));
+
+        ReportItemPage first = (ReportItemPage) itemService.fetchItems(12345L, null, 2).data();
+        ReportItemPage second = (ReportItemPage) itemService.fetchItems(12345L, first.nextCursor(), 2).data();
+        assertEquals(List.of("n", "a0"), first.items().stream().map(ReportData::getName).toList());
+        assertEquals(List.of("a1"), second.items().stream().map(ReportData::getName).toList());
+        assertNull(second.nextCursor());
+        assertEquals(3, store.find(12345L).getSize());
+        ReportModel reportModel = (ReportModel) reportService.fetchReportByBatchNo(12345L).data();
+        assertEquals(List.of("n", "a0", "a1"), reportModel.getReportData().stream().map(ReportData::getName).toList());
+        assertThrows(IllegalArgumentException.class, () -> itemService.fetchItems(1L, null, 2));
+    }
+
+    /**
+     * Tests that a multi-get returns found reports in chunks and reports the missing batch numbers.
+     */
+    @Test
+    void testFetchReports() {
+        save(1L);
+        save(2L);
+        ReportMultiGetProperties properties = new ReportMultiGetProperties();
+        properties.setChunkSize(1);
+        InMemoryReportMultiGetService multiGetService =
+                new InMemoryReportMultiGetService(store, reportArchive, properties);
+        List<List<?>> chunks = new ArrayList<>();
+
+        List<Long> missing = multiGetService.fetchReports(new ReportMultiGetDto(List.of(1L, 3L, 2L), ReportView.SUMMARY))
+                .drain(chunks::add);
+
+        assertEquals(List.of(3L), missing);
+        assertEquals(2, chunks.size());
+        assertEquals(1L, ((ReportSummary) chunks.get(0).get(0)).batchNo());
+    }
+}
@@ -0,0 +1,75 @@
+package com.oracle.channel.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oracle.channel.report.dtos.request.ReportRequestDto;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.models.data.RawJson;
+import com.oracle.channel.report.models.data.ReportData;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RawJson} metadata passthrough.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class RawJsonTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Tests that nested metadata is captured as compact text with numbers kept exactly as sent.
+     */
+    @Test
+    void testMetadataCapturedAsText() throws Exception {
+        String body = """
+                {"batchNo": 7, "size": 1, "reportData": [
+                  {"name": "n", "desc": "d", "metadata": {"a": [1, 2.50, {"b": null}], "big": 12345678901234567890.000001,
+                   "s": "x\\"y", "t": true}}
+                ]}""";
+
+        ReportRequestDto dto = objectMapper.readValue(body, ReportRequestDto.class);
+        RawJson metadata = dto.reportData().get(0).getMetadata();
+
+        assertEquals("{\"a\":[1,2.50,{\"b\":null}],\"big\":12345678901234567890.000001,\"s\":\"x\\\"y\",\"t\":true}",
+                metadata.json());
+    }
+
+    /**
+     * Tests that raw metadata is written back verbatim and survives a full round trip.
+     */
+    @Test
+    void testRoundTrip() throws Exception {
+        ReportData reportData = new ReportData("n", "d", new RawJson("{\"k\":[1.0,\"v\"]}"));
+
+        String json = objectMapper.writeValueAsString(reportData);
+        assertEquals("{\"name\":\"n\",\"desc\":\"d\",\"metadata\":{\"k\":[1.0,\"v\"]}}", json);
+        assertEquals(reportData, objectMapper.readValue(json, ReportData.class));
+        assertEquals(reportData, objectMapper.convertValue(reportData, ReportData.class));
+    }
+
+    /**
+     * Tests that scalar and null metadata are handled.
+     */
+    @Test
+    void testScalarAndNullMetadata() throws Exception {
+        assertEquals("\"text\"", objectMapper.readValue("{\"metadata\":\"text\"}", ReportData.class).getMetadata().json());
+        assertNull(objectMapper.readValue("{\"metadata\":null}", ReportData.class).getMetadata());
+    }
+
+    /**
+     * Tests that parsing a request takes the entries over without copying their metadata.
+     */
+    @Test
+    void testParseKeepsMetadataInstance() {
+        RawJson metadata = new RawJson("[1,2,3]");
+        ReportRequestDto dto = new ReportRequestDto(9L, 1, java.util.List.of(new ReportData("n", "d", metadata)));
+
+        ReportModel model = ReportModel.parse(dto);
+
+        assertSame(metadata, model.getReportData().get(0).getMetadata());
+        assertEquals(9L, model.getBatchNo());
+    }
+}
@@ -0,0 +1,171 @@
+package com.oracle.channel.report;
+
+import com.oracle.channel.report.config.ReportDedupProperties;
+import com.oracle.channel.report.config.ReportShardingProperties;
+import com.oracle.channel.report.dedup.ReportBlobStore;
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.models.data.RawJson;
+import com.oracle.channel.report.models.data.ReportData;
+import com.oracle.channel.report.repository.ReportBlobRepository;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ReportBlobStore}.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class ReportBlobStoreTest {
+
+    private static final RawJson LARGE = new RawJson("{\"columns\":[\"region\",\"amount\",\"currency\"]}");
+    private static final RawJson SMALL = new RawJson("{\"a\":1}");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReportBlobRepository reportBlobRepository;
+    private ReportDedupProperties properties;
+    private ReportBlobStore reportBlobStore;
+
+    @BeforeEach
+    void setUp() {
+        reportBlobRepository = mock(ReportBlobRepository.class);
+        when(reportBlobRepository.acquire(anyList())).thenAnswer(invocation -> {
+            List<ReportBlobRepository.Blob> blobs = invocation.getArgument(0);
+            return blobs.stream().map(blob -> new ReportBlobRepository.Stored(blob, true)).toList();
+        });
+        properties = new ReportDedupProperties();
+        properties.setEnabled(true);
+        properties.setMinSize(DataSize.ofBytes(16));
+        reportBlobStore = new ReportBlobStore(reportBlobRepository,
+                new ReportShardRouter(new ReportShardingProperties()), properties, meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ReportBlobRepository.Blob> acquired() {
+        ArgumentCaptor<List<ReportBlobRepository.Blob>> blobs = ArgumentCaptor.forClass(List.class);
+        verify(reportBlobRepository).acquire(blobs.capture());
+        return blobs.getValue();
+    }
+
+    @Test
+    void testIdenticalMetadataIsStoredOnce() {
+        List<ReportData> stored = reportBlobStore.store(List.of(new ReportData("a", "d", LARGE),
+                new ReportData("b", "d", LARGE), new ReportData("c", "d", SMALL), new ReportData("e", "d", null)));
+
+        List<ReportBlobRepository.Blob> blobs = acquired();
+        assertEquals(1, blobs.size());
+        assertEquals(2, blobs.get(0).references());
+        assertEquals(LARGE.json(), blobs.get(0).content());
+        assertEquals(64, blobs.get(0).hash().length());
+        assertNull(stored.get(0).getMetadata());
+        assertEquals(blobs.get(0).hash(), stored.get(0).getMetadataRef());
+        assertEquals(blobs.get(0).hash(), stored.get(1).getMetadataRef());
+        // small metadata stays inline
+        assertEquals(SMALL, stored.get(2).getMetadata());
+        assertNull(stored.get(2).getMetadataRef());
+        assertEquals(LARGE.json().length(), meterRegistry.get("report.dedup.bytes.saved").counter().count());
+    }
+
+    @Test
+    void testBlobsAreCountedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            reportBlobStore.store(List.of(new ReportData("a", "d", LARGE), new ReportData("b", "d", LARGE)));
+            assertEquals(0, meterRegistry.get("report.dedup.bytes.saved").counter().count());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(LARGE.json().length(), meterRegistry.get("report.dedup.bytes.saved").counter().count());
+            assertEquals(1, meterRegistry.get("report.dedup.blobs.written").tag("outcome", "stored").counter().count());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testClientReferencesAreDropped() {
+        List<ReportData> entries = List.of(new ReportData("a", "d", SMALL, "00ff"));
+        properties.setEnabled(false);
+
+        List<ReportData> stored = reportBlobStore.store(entries);
+
+        assertNull(stored.get(0).getMetadataRef());
+        assertEquals(SMALL, stored.get(0).getMetadata());
+        verify(reportBlobRepository, never()).acquire(anyList());
+        List<ReportData> inline = List.of(new ReportData("a", "d", LARGE));
+        assertSame(inline, reportBlobStore.store(inline));
+    }
+
+    @Test
+    void testReadsResolveReferencesThroughTheCache() {
+        List<ReportData> stored = reportBlobStore.store(List.of(new ReportData("a", "d", LARGE)));
+        String hash = stored.get(0).getMetadataRef();
+        when(reportBlobRepository.findContents(anyCollection())).thenReturn(Map.of(hash, LARGE));
+        ReportModel report = ReportModel.builder().batchNo(1L).status(ReportStatus.ACTIVE)
+                .reportData(new ArrayList<>(stored)).build();
+
+        ReportModel resolved = reportBlobStore.resolve(report);
+        List<ReportData> items = reportBlobStore.resolve(stored);
+
+        assertNotSame(report, resolved);
+        assertEquals(LARGE, resolved.getReportData().get(0).getMetadata());
+        assertNull(resolved.getReportData().get(0).getMetadataRef());
+        // the managed entity keeps its reference
+        assertEquals(hash, report.getReportData().get(0).getMetadataRef());
+        assertEquals(LARGE, items.get(0).getMetadata());
+        verify(reportBlobRepository, times(1)).findContents(anyCollection());
+    }
+
+    @Test
+    void testReportsWithoutReferencesAreReturnedAsTheyAre() {
+        List<ReportModel> reports = List.of(ReportModel.builder().batchNo(1L)
+                .reportData(List.of(new ReportData("a", "d", LARGE))).build());
+
+        assertSame(reports, reportBlobStore.resolveAll(reports));
+        verify(reportBlobRepository, never()).findContents(anyCollection());
+    }
+
+    @Test
+    void testMissingBlobFailsTheRead() {
+        when(reportBlobRepository.findContents(anyCollection())).thenReturn(Map.of());
+
+        assertThrows(IllegalStateException.class,
+                () -> reportBlobStore.resolve(List.of(new ReportData("a", "d", null, "ab"))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReleaseCountsSavedAndAppendedReferences() {
+        when(reportBlobRepository.countAppendedReferences(anyCollection())).thenReturn(Map.of("bb", 3L, "aa", 1L));
+        ReportModel report = ReportModel.builder().batchNo(7L).reportData(List.of(
+                new ReportData("a", "d", null, "bb"), new ReportData("b", "d", null, "bb"),
+                new ReportData("c", "d", SMALL))).build();
+
+        reportBlobStore.release(List.of(report));
+
+        ArgumentCaptor<Collection<Long>> batchIds = ArgumentCaptor.forClass(Collection.class);
+        verify(reportBlobRepository).countAppendedReferences(batchIds.capture());
+        assertEquals(List.of(7L), List.copyOf(batchIds.getValue()));
+        ArgumentCaptor<Map<String, Long>> released = ArgumentCaptor.forClass(Map.class);
+        verify(reportBlobRepository).release(released.capture());
+        // released in hash order
+        assertEquals(List.of("aa", "bb"), List.copyOf(released.getValue().keySet()));
+        assertEquals(5L, released.getValue().get("bb"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.oracle.channel.report;
+
+import com.oracle.channel.report.dtos.response.data.ReportChange;
+import com.oracle.channel.report.enums.ReportChangeType;
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.feed.ReportChangeRingBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ReportChangeRingBuffer}.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class ReportChangeRingBufferTest {
+
+    /**
+     * Tests that appended changes are read back in sequence order from any resume point.
+     */
+    @Test
+    void testReadFromSequence() {
+        ReportChangeRingBuffer buffer = new ReportChangeRingBuffer(8);
+        for (long batchNo = 1; batchNo <= 5; batchNo++) {
+            buffer.append(ReportChangeType.CREATED, batchNo, ReportStatus.ACTIVE, null);
+        }
+
+        List<ReportChange> changes = buffer.read(3, 10);
+
+        assertEquals(3, changes.size());
+        assertEquals(3L, changes.get(0).sequence());
+        assertEquals(5L, changes.get(2).batchNo());
+        assertEquals(6L, buffer.nextSequence());
+    }
+
+    /**
+     * Tests that reads are bounded by the requested batch size and that reading at the head returns nothing.
+     */
+    @Test
+    void testReadBatchAndHead() {
+        ReportChangeRingBuffer buffer = new ReportChangeRingBuffer(8);
+        for (long batchNo = 1; batchNo <= 4; batchNo++) {
+            buffer.append(ReportChangeType.STATUS_CHANGED, batchNo, ReportStatus.INACTIVE, ReportStatus.ACTIVE);
+        }
+
+        assertEquals(2, buffer.read(1, 2).size());
+        assertTrue(buffer.read(buffer.nextSequence(), 10).isEmpty());
+    }
+
+    /**
+     * Tests that a reader whose position has been overwritten is asked to resync.
+     */
+    @Test
+    void testOverrunRequiresResync() {
+        ReportChangeRingBuffer buffer = new ReportChangeRingBuffer(6);
+        for (long batchNo = 1; batchNo <= 20; batchNo++) {
+            buffer.append(ReportChangeType.DELETED, batchNo, null, ReportStatus.ACTIVE);
+        }
+
+        assertNull(buffer.read(2, 10));
+        assertEquals(13L, buffer.oldestSequence());
+        assertEquals(8, buffer.read(buffer.oldestSequence(), 10).size());
+    }
+}
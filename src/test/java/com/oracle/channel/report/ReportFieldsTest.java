@@ -0,0 +1,91 @@
+package com.oracle.channel.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oracle.channel.report.dtos.request.ReportFields;
+import com.oracle.channel.report.enums.ReportEntryField;
+import com.oracle.channel.report.enums.ReportField;
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.models.data.RawJson;
+import com.oracle.channel.report.models.data.ReportData;
+import com.oracle.channel.report.repository.ReportProjectionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ReportFields} and the columns {@link ReportProjectionRepository} queries for them.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class ReportFieldsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static ReportModel report() {
+        return ReportModel.builder()
+                .batchNo(7L)
+                .size(2)
+                .status(ReportStatus.ACTIVE)
+                .reportData(List.of(new ReportData("a", "first", new RawJson("{\"k\":1}")),
+                        new ReportData("b", "second", null)))
+                .build();
+    }
+
+    @Test
+    void testParse() {
+        assertNull(ReportFields.parse(null));
+        assertNull(ReportFields.parse(" "));
+
+        ReportFields names = ReportFields.parse("status, batchNo,reportData.name");
+        assertTrue(names.has(ReportField.STATUS) && names.has(ReportField.BATCH_NO)
+                && names.has(ReportField.REPORT_DATA));
+        assertTrue(names.has(ReportEntryField.NAME));
+        assertFalse(names.has(ReportEntryField.METADATA));
+        assertEquals("batchNo,status,reportData,reportData.name", names.toString());
+        assertEquals(names, ReportFields.parse("reportData.name,batchNo,status"));
+
+        ReportFields whole = ReportFields.parse("reportData.name,reportData");
+        assertTrue(whole.hasWholeEntries());
+        assertFalse(ReportFields.parse("status").has(ReportEntryField.NAME));
+    }
+
+    @Test
+    void testParseRejectsUnknownFields() {
+        assertThrows(IllegalArgumentException.class, () -> ReportFields.parse("status,owner"));
+        assertThrows(IllegalArgumentException.class, () -> ReportFields.parse("reportData.size"));
+        assertThrows(IllegalArgumentException.class, () -> ReportFields.parse(",,"));
+    }
+
+    @Test
+    void testOnlySelectedPropertiesAreWritten() throws Exception {
+        assertEquals("{\"batchNo\":7,\"status\":\"ACTIVE\"}",
+                objectMapper.writeValueAsString(ReportFields.parse("status,batchNo").project(report())));
+        assertEquals("{\"reportData\":[{\"name\":\"a\"},{\"name\":\"b\"}]}",
+                objectMapper.writeValueAsString(ReportFields.parse("reportData.name").project(report())));
+        assertEquals("{\"reportData\":[{\"name\":\"a\",\"desc\":\"first\",\"metadata\":{\"k\":1}},"
+                        + "{\"name\":\"b\",\"desc\":\"second\",\"metadata\":null}]}",
+                objectMapper.writeValueAsString(ReportFields.parse("reportData").project(report())));
+    }
+
+    @Test
+    void testOnlySelectedColumnsAreQueried() {
+        String header = ReportProjectionRepository.columns(ReportFields.parse("status"));
+        assertEquals("batch_no, updated_at, status", header);
+
+        String names = ReportProjectionRepository.columns(ReportFields.parse("reportData.name"));
+        assertTrue(names.contains("jsonb_build_object('name', e.item -> 'name')"));
+        assertFalse(names.contains("metadata"));
+
+        String metadata = ReportProjectionRepository.columns(ReportFields.parse("reportData.metadata"));
+        assertTrue(metadata.contains("'metadataRef', e.item -> 'metadataRef'"));
+        assertTrue(metadata.contains("'metadataRef', encode(i.metadata_ref, 'hex')"));
+        // appended entries follow the saved ones
+        assertTrue(names.contains("jsonb_build_object('name', i.name)"));
+        assertTrue(ReportProjectionRepository.columns(ReportFields.parse("reportData"))
+                .startsWith("batch_no, updated_at, (report_data || COALESCE("));
+    }
+}
@@ -0,0 +1,159 @@
+package com.oracle.channel.report;
+
+import com.oracle.channel.report.models.id.UuidV7Generator;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Insert benchmark comparing random (version 4) report ids with time-ordered (version 7) ones. Runs only
+ * against a local PostgreSQL and when a row count is given, e.g.
+ * {@code REPORT_PG_URL=jdbc:postgresql://localhost:5432/report_db REPORT_ID_BENCH_ROWS=2000000
+ * ./mvnw test -Dtest=ReportIdBenchmarkTest}.
+ * <p>
+ * Each strategy fills its own report-shaped table in committed batches of {@value #BATCH_SIZE} rows and
+ * reports the batch latency, throughput, WAL written and the size of the primary-key index.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = "REPORT_PG_URL", matches = ".+")
+@EnabledIfEnvironmentVariable(named = "REPORT_ID_BENCH_ROWS", matches = "\\d+")
+class ReportIdBenchmarkTest {
+
+    private static final String SCHEMA = "report_id_bench";
+    private static final int BATCH_SIZE = 1000;
+
+    private static Connection connection;
+    private static int rows;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        String url = System.getenv("REPORT_PG_URL");
+        String user = System.getenv().getOrDefault("REPORT_PG_USER", "postgres");
+        String password = System.getenv().getOrDefault("REPORT_PG_PASSWORD", "passcode");
+        rows = Integer.parseInt(System.getenv("REPORT_ID_BENCH_ROWS"));
+        connection = DriverManager.getConnection(url, user, password);
+        execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        execute("CREATE SCHEMA " + SCHEMA);
+        execute("SET search_path TO " + SCHEMA);
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        if (connection != null) {
+            execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            connection.close();
+        }
+    }
+
+    /**
+     * Tests that time-ordered ids keep the primary-key index smaller than random ones.
+     */
+    @Test
+    void testInsertRandomVersusTimeOrdered() throws SQLException {
+        Result random = run("report_random", UUID::randomUUID);
+        Result timeOrdered = run("report_v7", UuidV7Generator::next);
+
+        random.log("random v4");
+        timeOrdered.log("ordered v7");
+
+        assertTrue(timeOrdered.indexBytes() < random.indexBytes(),
+                "time-ordered primary key should be denser than the random one");
+    }
+
+    private static Result run(String table, Supplier<UUID> ids) throws SQLException {
+        execute("""
+                CREATE TABLE %s (
+                    id          uuid PRIMARY KEY,
+                    batch_no    bigint NOT NULL UNIQUE,
+                    size        integer,
+                    status      varchar(10) NOT NULL,
+                    report_data jsonb NOT NULL,
+                    created_at  timestamp(6),
+                    updated_at  timestamp(6)
+                )""".formatted(table));
+        long walBefore = walPosition();
+        long[] batchNanos = new long[(rows + BATCH_SIZE - 1) / BATCH_SIZE];
+        long started = System.nanoTime();
+        connection.setAutoCommit(false);
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO " + table
+                + " (id, batch_no, size, status, report_data, created_at, updated_at)"
+                + " VALUES (?, ?, 1, 'ACTIVE', CAST(? AS jsonb), ?, ?)")) {
+            for (int batch = 0; batch < batchNanos.length; batch++) {
+                long batchStarted = System.nanoTime();
+                int first = batch * BATCH_SIZE;
+                for (int row = first; row < Math.min(rows, first + BATCH_SIZE); row++) {
+                    Timestamp now = new Timestamp(System.currentTimeMillis());
+                    statement.setObject(1, ids.get());
+                    statement.setLong(2, row);
+                    statement.setString(3, "[{\"name\": \"item\", \"description\": \"sample\"}]");
+                    statement.setTimestamp(4, now);
+                    statement.setTimestamp(5, now);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+                batchNanos[batch] = System.nanoTime() - batchStarted;
+            }
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        long elapsed = System.nanoTime() - started;
+        long walBytes = walPosition() - walBefore;
+        long indexBytes = queryLong("SELECT pg_relation_size('" + SCHEMA + "." + table + "_pkey')");
+        Arrays.sort(batchNanos);
+        return new Result(rows * 1_000_000_000L / Math.max(1, elapsed),
+                percentile(batchNanos, 0.50), percentile(batchNanos, 0.99), batchNanos[batchNanos.length - 1],
+                walBytes, indexBytes);
+    }
+
+    private static long walPosition() throws SQLException {
+        return queryLong("SELECT pg_current_wal_lsn() - '0/0'::pg_lsn");
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static long queryLong(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private record Result(long rowsPerSecond, long p50Nanos, long p99Nanos, long maxNanos, long walBytes,
+                          long indexBytes) {
+
+        void log(String name) {
+            log.info("ReportIdBenchmark: [ids= {},\nrowsPerSecond= {},\np50Ms= {},\np99Ms= {},\nmaxMs= {},\nwalMb= {},"
+                            + "\npkeyMb= {}]", name, rowsPerSecond, "%.1f".formatted(p50Nanos / 1e6),
+                    "%.1f".formatted(p99Nanos / 1e6), "%.1f".formatted(maxNanos / 1e6),
+                    "%.1f".formatted(walBytes / 1048576.0), "%.1f".formatted(indexBytes / 1048576.0));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.oracle.channel.report;
+
+import com.oracle.channel.report.archive.ReportArchive;
+import com.oracle.channel.report.config.ReportDedupProperties;
+import com.oracle.channel.report.config.ReportShardingProperties;
+import com.oracle.channel.report.dedup.ReportBlobStore;
+import com.oracle.channel.report.dtos.request.ReportItemAppendDto;
+import com.oracle.channel.report.dtos.response.GlobalResponse;
+import com.oracle.channel.report.dtos.response.data.ReportItemAppendResult;
+import com.oracle.channel.report.dtos.response.data.ReportItemPage;
+import com.oracle.channel.report.enums.ReportChangeType;
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.events.ReportChangedEvent;
+import com.oracle.channel.report.events.ReportShape;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.models.data.ReportData;
+import com.oracle.channel.report.repository.ReportBlobRepository;
+import com.oracle.channel.report.repository.ReportItemRepository;
+import com.oracle.channel.report.service.impl.ReportItemServiceImpl;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ReportItemServiceImpl}.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class ReportItemServiceImplTest {
+
+    @InjectMocks
+    private ReportItemServiceImpl reportItemService;
+
+    @Mock
+    private ReportItemRepository reportItemRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ReportArchive reportArchive;
+
+    @Spy
+    private ReportBlobStore reportBlobStore = new ReportBlobStore(mock(ReportBlobRepository.class),
+            new ReportShardRouter(new ReportShardingProperties()), new ReportDedupProperties(),
+            new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * Tests that paging runs through the saved entries first and continues with the appended ones.
+     */
+    @Test
+    void testFetchItems_CrossesIntoAppended() {
+        when(reportItemRepository.findSavedItems(1L, 0, 3)).thenReturn(items("s", 2));
+        when(reportItemRepository.findAppendedItems(1L, 0, 1)).thenReturn(items("a", 1));
+
+        ReportItemPage page = (ReportItemPage) reportItemService.fetchItems(1L, null, 2).data();
+        assertEquals(List.of("s0", "s1"), names(page));
+        assertEquals("appended:0", page.nextCursor());
+
+        when(reportItemRepository.findAppendedItems(1L, 0, 3)).thenReturn(items("a", 1));
+        ReportItemPage next = (ReportItemPage) reportItemService.fetchItems(1L, page.nextCursor(), 2).data();
+        assertEquals(List.of("a0"), names(next));
+        assertNull(next.nextCursor());
+    }
+
+    /**
+     * Tests that a full page of saved entries returns a cursor into the saved entries.
+     */
+    @Test
+    void testFetchItems_SavedCursor() {
+        when(reportItemRepository.findSavedItems(1L, 4, 3)).thenReturn(items("s", 3));
+
+        ReportItemPage page = (ReportItemPage) reportItemService.fetchItems(1L, "saved:4", 2).data();
+
+        assertEquals(2, page.items().size());
+        assertEquals("saved:6", page.nextCursor());
+        verify(reportItemRepository, never()).findAppendedItems(anyLong(), anyInt(), anyInt());
+    }
+
+    /**
+     * Tests that unknown reports and malformed cursors are rejected.
+     */
+    @Test
+    void testFetchItems_Illegal() {
+        when(reportItemRepository.existsByBatchNo(5L)).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> reportItemService.fetchItems(5L, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> reportItemService.fetchItems(5L, "bogus", 10));
+        assertThrows(IllegalArgumentException.class, () -> reportItemService.fetchItems(5L, null, 0));
+    }
+
+    /**
+     * Tests that the entries of an archived report are paged out of the archive.
+     */
+    @Test
+    void testFetchItems_Archived() {
+        when(reportItemRepository.existsByBatchNo(5L)).thenReturn(false);
+        when(reportArchive.find(5L)).thenReturn(ReportModel.builder().batchNo(5L).reportData(items("s", 3)).build());
+
+        ReportItemPage first = (ReportItemPage) reportItemService.fetchItems(5L, null, 2).data();
+        assertEquals(List.of("s0", "s1"), names(first));
+        ReportItemPage second = (ReportItemPage) reportItemService.fetchItems(5L, first.nextCursor(), 2).data();
+        assertEquals(List.of("s2"), names(second));
+        assertNull(second.nextCursor());
+    }
+
+    /**
+     * Tests that appending grows the report, inserts after the last appended entry and announces the change.
+     */
+    @Test
+    void testAppendItems_Success() {
+        List<ReportData> items = items("n", 3);
+        when(reportItemRepository.growReport(1L, 3))
+                .thenReturn(new ReportItemRepository.GrownReport(10, ReportStatus.ACTIVE, 2, null));
+        when(reportItemRepository.nextAppendIndex(1L)).thenReturn(4);
+
+        GlobalResponse response = reportItemService.appendItems(1L, new ReportItemAppendDto(items));
+
+        assertEquals(new ReportItemAppendResult(1L, 3, 10), response.data());
+        verify(reportItemRepository).insertItems(1L, 4, items);
+        verify(eventPublisher).publishEvent(new ReportChangedEvent(ReportChangeType.ITEMS_APPENDED, 1L,
+                ReportStatus.ACTIVE, ReportStatus.ACTIVE, new ReportShape(10, 2, null), new ReportShape(7, 2, null)));
+    }
+
+    /**
+     * Tests that appending to an unknown report fails without inserting anything.
+     */
+    @Test
+    void testAppendItems_NotFound() {
+        when(reportItemRepository.growReport(1L, 1)).thenReturn(null);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> reportItemService.appendItems(1L, new ReportItemAppendDto(items("n", 1))));
+        verify(reportItemRepository, never()).insertItems(anyLong(), anyInt(), anyList());
+    }
+
+    private static List<ReportData> items(String prefix, int count) {
+        return IntStream.range(0, count).mapToObj(i -> new ReportData(prefix + i, "desc", null)).toList();
+    }
+
+    private static List<String> names(ReportItemPage page) {
+        return page.items().stream().map(ReportData::getName).toList();
+    }
+}
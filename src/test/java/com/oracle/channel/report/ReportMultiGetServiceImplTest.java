@@ -0,0 +1,177 @@
+package com.oracle.channel.report;
+
+import com.oracle.channel.report.archive.ReportArchive;
+import com.oracle.channel.report.config.ReportDedupProperties;
+import com.oracle.channel.report.config.ReportMultiGetProperties;
+import com.oracle.channel.report.config.ReportShardingProperties;
+import com.oracle.channel.report.dedup.ReportBlobStore;
+import com.oracle.channel.report.dtos.request.ReportMultiGetDto;
+import com.oracle.channel.report.dtos.response.data.ReportSummary;
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.enums.ReportView;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.repository.ReportBlobRepository;
+import com.oracle.channel.report.repository.ReportItemRepository;
+import com.oracle.channel.report.repository.ReportRepository;
+import com.oracle.channel.report.service.ReportStream;
+import com.oracle.channel.report.service.impl.ReportMultiGetServiceImpl;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import com.oracle.channel.report.sharding.ShardContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ReportMultiGetServiceImpl}, backed by one in-memory report list per shard.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class ReportMultiGetServiceImplTest {
+
+    private ReportShardRouter router;
+    private ReportRepository reportRepository;
+    private ReportArchive reportArchive;
+    private ReportMultiGetServiceImpl reportMultiGetService;
+    private final Map<Integer, List<ReportModel>> shards = new ConcurrentHashMap<>();
+    private final List<Integer> queriedChunkSizes = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ReportShardingProperties shardingProperties = new ReportShardingProperties();
+        shardingProperties.setEnabled(true);
+        shardingProperties.setShards(List.of(new ReportShardingProperties.Shard("a", "jdbc:a", "u", "p", 1),
+                new ReportShardingProperties.Shard("b", "jdbc:b", "u", "p", 1)));
+        router = new ReportShardRouter(shardingProperties);
+
+        LongStream.rangeClosed(1, 40).forEach(batchNo -> shards
+                .computeIfAbsent(router.shardOf(batchNo), shard -> new ArrayList<>())
+                .add(ReportModel.builder().batchNo(batchNo).size(2).status(ReportStatus.ACTIVE).build()));
+
+        reportRepository = mock(ReportRepository.class);
+        when(reportRepository.fetchReportModelList(anyList())).thenAnswer(invocation -> {
+            List<Long> batchIds = invocation.getArgument(0);
+            return find(batchIds);
+        });
+        when(reportRepository.fetchReportSummaryList(anyList())).thenAnswer(invocation -> {
+            List<Long> batchIds = invocation.getArgument(0);
+            return find(batchIds).stream().map(ReportSummary::of).toList();
+        });
+        reportArchive = mock(ReportArchive.class);
+        ReportItemRepository reportItemRepository = mock(ReportItemRepository.class);
+        when(reportItemRepository.withAppendedItems(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ReportMultiGetProperties properties = new ReportMultiGetProperties();
+        properties.setMaxIds(50);
+        properties.setChunkSize(4);
+        properties.setParallelism(2);
+        properties.setThreads(4);
+        reportMultiGetService = new ReportMultiGetServiceImpl(reportRepository, reportItemRepository, reportArchive,
+                new ReportBlobStore(mock(ReportBlobRepository.class), router, new ReportDedupProperties(),
+                        new SimpleMeterRegistry()), router, properties);
+    }
+
+    private List<ReportModel> find(List<Long> batchIds) throws InterruptedException {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(5);
+            queriedChunkSizes.add(batchIds.size());
+            return shards.getOrDefault(ShardContext.current(), List.of()).stream()
+                    .filter(model -> batchIds.contains(model.getBatchNo()))
+                    .toList();
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    private static List<Object> drainAll(ReportStream reportStream, List<Long> missing) {
+        List<Object> reports = new ArrayList<>();
+        missing.addAll(reportStream.drain(reports::addAll));
+        return reports;
+    }
+
+    @Test
+    void testFetchReports_ChunksPerShard() {
+        List<Long> batchIds = LongStream.rangeClosed(1, 30).boxed().toList();
+
+        ReportStream reportStream = reportMultiGetService.fetchReports(new ReportMultiGetDto(batchIds, null));
+        List<Long> missing = new ArrayList<>();
+        List<Object> reports = drainAll(reportStream, missing);
+
+        assertEquals(30, reportStream.requested());
+        assertTrue(missing.isEmpty());
+        assertEquals(30, reports.size());
+        assertTrue(reports.stream().allMatch(ReportModel.class::isInstance));
+        assertEquals(30, queriedChunkSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(queriedChunkSizes.stream().allMatch(size -> size <= 4));
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    void testFetchReports_SummaryViewAndMissing() {
+        List<Long> batchIds = List.of(3L, 3L, 41L, 7L, 42L);
+
+        ReportStream reportStream = reportMultiGetService.fetchReports(
+                new ReportMultiGetDto(batchIds, ReportView.SUMMARY));
+        List<Long> missing = new ArrayList<>();
+        List<Object> reports = drainAll(reportStream, missing);
+
+        assertEquals(4, reportStream.requested());
+        assertEquals(List.of(41L, 42L), missing);
+        assertEquals(2, reports.size());
+        assertTrue(reports.stream().allMatch(ReportSummary.class::isInstance));
+        verify(reportRepository, never()).fetchReportModelList(anyList());
+    }
+
+    @Test
+    void testFetchReports_ArchiveFallback() {
+        when(reportArchive.find(anyLong())).thenReturn(null);
+        when(reportArchive.find(45L)).thenReturn(
+                ReportModel.builder().batchNo(45L).size(1).status(ReportStatus.INACTIVE).build());
+
+        ReportStream reportStream = reportMultiGetService.fetchReports(
+                new ReportMultiGetDto(List.of(1L, 45L, 46L), ReportView.SUMMARY));
+        List<Long> missing = new ArrayList<>();
+        List<Object> reports = drainAll(reportStream, missing);
+
+        assertEquals(List.of(46L), missing);
+        assertEquals(2, reports.size());
+        assertEquals(45L, ((ReportSummary) reports.get(1)).batchNo());
+        assertEquals(ReportStatus.INACTIVE, ((ReportSummary) reports.get(1)).status());
+    }
+
+    @Test
+    void testFetchReports_QueryFailure() {
+        doThrow(new IllegalStateException("db down")).when(reportRepository).fetchReportModelList(anyList());
+
+        ReportStream reportStream = reportMultiGetService.fetchReports(
+                new ReportMultiGetDto(LongStream.rangeClosed(1, 20).boxed().toList(), ReportView.FULL));
+
+        assertThrows(IllegalStateException.class, () -> reportStream.drain(reports -> {
+        }));
+    }
+
+    @Test
+    void testFetchReports_TooManyIds() {
+        List<Long> batchIds = LongStream.rangeClosed(1, 51).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> reportMultiGetService.fetchReports(new ReportMultiGetDto(batchIds, null)));
+        verifyNoInteractions(reportRepository);
+    }
+}
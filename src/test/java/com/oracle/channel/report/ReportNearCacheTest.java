@@ -0,0 +1,161 @@
+package com.oracle.channel.report;
+
+import com.oracle.channel.report.cache.ReportInvalidation;
+import com.oracle.channel.report.cache.ReportInvalidationListener;
+import com.oracle.channel.report.cache.ReportInvalidationPublisher;
+import com.oracle.channel.report.cache.ReportNearCache;
+import com.oracle.channel.report.config.ReportCacheProperties;
+import com.oracle.channel.report.config.ReportShardingProperties;
+import com.oracle.channel.report.dtos.response.GlobalResponse;
+import com.oracle.channel.report.enums.ResponseCodeEnum;
+import com.oracle.channel.report.service.ReportService;
+import com.oracle.channel.report.service.impl.CachingReportService;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ReportNearCache}, {@link CachingReportService} and the invalidation messages.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class ReportNearCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReportNearCache reportNearCache;
+    private ReportService delegate;
+    private CachingReportService cachingReportService;
+
+    @BeforeEach
+    void setUp() {
+        ReportCacheProperties properties = new ReportCacheProperties();
+        properties.setEnabled(true);
+        ReportShardRouter router = new ReportShardRouter(new ReportShardingProperties());
+        reportNearCache = new ReportNearCache(properties, router, meterRegistry);
+        reportNearCache.connected(0);
+
+        delegate = mock(ReportService.class);
+        when(delegate.fetchReportByBatchNo(anyLong())).thenAnswer(invocation -> success(invocation.getArgument(0)));
+        when(delegate.fetchReport(anyInt(), anyInt())).thenAnswer(invocation -> success(invocation.getArgument(0)));
+        cachingReportService = new CachingReportService(delegate, reportNearCache);
+    }
+
+    private static GlobalResponse success(Object data) {
+        return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(), data);
+    }
+
+    @Test
+    void testLookupsAreCachedUntilInvalidated() {
+        GlobalResponse first = cachingReportService.fetchReportByBatchNo(1L);
+        assertSame(first, cachingReportService.fetchReportByBatchNo(1L));
+        cachingReportService.fetchReport(1, 10);
+        cachingReportService.fetchReport(1, 10);
+        verify(delegate, times(1)).fetchReportByBatchNo(1L);
+        verify(delegate, times(1)).fetchReport(1, 10);
+
+        cachingReportService.fetchReportByBatchNo(2L);
+        reportNearCache.invalidate(List.of(1L));
+
+        assertNotSame(first, cachingReportService.fetchReportByBatchNo(1L));
+        cachingReportService.fetchReportByBatchNo(2L);
+        cachingReportService.fetchReport(1, 10);
+        verify(delegate, times(2)).fetchReportByBatchNo(1L);
+        verify(delegate, times(1)).fetchReportByBatchNo(2L);
+        verify(delegate, times(2)).fetchReport(1, 10);
+    }
+
+    @Test
+    void testFailedLookupsAreNotCached() {
+        when(delegate.fetchReportByBatchNo(3L)).thenReturn(new GlobalResponse(ResponseCodeEnum.FAILED.getCode(),
+                ResponseCodeEnum.FAILED.name(), (Object) null));
+
+        cachingReportService.fetchReportByBatchNo(3L);
+        cachingReportService.fetchReportByBatchNo(3L);
+
+        verify(delegate, times(2)).fetchReportByBatchNo(3L);
+    }
+
+    @Test
+    void testLoadRacingAnInvalidationIsNotCached() {
+        when(delegate.fetchReportByBatchNo(4L)).thenAnswer(invocation -> {
+            // the report changes while the stale version is being read
+            reportNearCache.invalidate(List.of(4L));
+            return success("stale");
+        });
+
+        cachingReportService.fetchReportByBatchNo(4L);
+        cachingReportService.fetchReportByBatchNo(4L);
+
+        verify(delegate, times(2)).fetchReportByBatchNo(4L);
+    }
+
+    @Test
+    void testDisconnectedListenerBypassesAndReconnectFlushes() {
+        cachingReportService.fetchReportByBatchNo(5L);
+        reportNearCache.disconnected(0);
+
+        assertFalse(reportNearCache.isCoherent());
+        cachingReportService.fetchReportByBatchNo(5L);
+        cachingReportService.fetchReportByBatchNo(5L);
+        verify(delegate, times(3)).fetchReportByBatchNo(5L);
+        assertEquals(2, meterRegistry.get("report.cache.bypassed").counter().count());
+
+        reportNearCache.connected(0);
+        assertTrue(reportNearCache.isCoherent());
+        cachingReportService.fetchReportByBatchNo(5L);
+        cachingReportService.fetchReportByBatchNo(5L);
+        verify(delegate, times(4)).fetchReportByBatchNo(5L);
+    }
+
+    @Test
+    void testRemoteInvalidationsAreAppliedAndTimed() {
+        ReportCacheProperties properties = new ReportCacheProperties();
+        ReportShardRouter router = new ReportShardRouter(new ReportShardingProperties());
+        ReportInvalidationPublisher publisher = new ReportInvalidationPublisher(reportNearCache,
+                mock(JdbcTemplate.class), router, properties, meterRegistry);
+        ReportInvalidationListener listener = new ReportInvalidationListener(reportNearCache, publisher,
+                mock(DataSource.class), router, properties, meterRegistry);
+        cachingReportService.fetchReportByBatchNo(6L);
+        cachingReportService.fetchReportByBatchNo(7L);
+
+        // this instance's own notice: already applied after commit
+        listener.apply(ReportInvalidation.encode(publisher.getOrigin(), System.currentTimeMillis(), List.of(6L)).get(0));
+        listener.apply(ReportInvalidation.encode("other", System.currentTimeMillis() - 20, List.of(7L)).get(0));
+        listener.apply("not an invalidation");
+
+        cachingReportService.fetchReportByBatchNo(6L);
+        cachingReportService.fetchReportByBatchNo(7L);
+        verify(delegate, times(1)).fetchReportByBatchNo(6L);
+        verify(delegate, times(2)).fetchReportByBatchNo(7L);
+        assertEquals(1, meterRegistry.get("report.cache.invalidation.lag").tag("origin", "remote").timer().count());
+        assertEquals(1, meterRegistry.get("report.cache.invalidation.lag").tag("origin", "local").timer().count());
+    }
+
+    @Test
+    void testInvalidationPayloadsStayBelowTheNotifyLimit() {
+        List<Long> batchIds = LongStream.range(1_000_000_000L, 1_000_002_000L).boxed().toList();
+
+        List<String> payloads = ReportInvalidation.encode("origin", 42L, batchIds);
+
+        assertTrue(payloads.size() > 1);
+        assertTrue(payloads.stream().allMatch(payload -> payload.length() <= ReportInvalidation.MAX_PAYLOAD_BYTES));
+        List<Long> decoded = payloads.stream()
+                .map(ReportInvalidation::decode)
+                .peek(invalidation -> assertEquals(42L, invalidation.committedAt()))
+                .flatMap(invalidation -> invalidation.batchIds().stream())
+                .toList();
+        assertEquals(batchIds, decoded);
+    }
+}
@@ -0,0 +1,140 @@
+package com.oracle.channel.report;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that every query issued against the report tables can be served by an index created by the
+ * migrations. Runs only against a local PostgreSQL, e.g.
+ * {@code REPORT_PG_URL=jdbc:postgresql://localhost:5432/report_db ./mvnw test -Dtest=ReportQueryPlanTest}.
+ * <p>
+ * The migrations are applied to a throw-away schema, which is filled with sample rows and analyzed.
+ * Sequential scans are then disabled so the planner falls back to one only when no index applies.
+ * New repository queries should be added to {@link #reportQueries()}.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@EnabledIfEnvironmentVariable(named = "REPORT_PG_URL", matches = ".+")
+class ReportQueryPlanTest {
+
+    private static final String SCHEMA = "report_plan_test";
+
+    private static Connection connection;
+
+    /**
+     * Migrates a fresh schema and loads sample data.
+     */
+    @BeforeAll
+    static void setUp() throws SQLException {
+        String url = System.getenv("REPORT_PG_URL");
+        String user = System.getenv().getOrDefault("REPORT_PG_USER", "postgres");
+        String password = System.getenv().getOrDefault("REPORT_PG_PASSWORD", "passcode");
+        connection = DriverManager.getConnection(url, user, password);
+        execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .schemas(SCHEMA)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        execute("SET search_path TO " + SCHEMA);
+        execute("""
+                INSERT INTO report (id, batch_no, size, status, report_data, created_at, updated_at)
+                SELECT gen_random_uuid(), n, 1,
+                       CASE WHEN n % 4 = 0 THEN 'INACTIVE' ELSE 'ACTIVE' END,
+                       '[{"name": "item", "desc": "sample", "metadata": {}}]'::jsonb,
+                       now() - n * interval '1 minute', now() - n * interval '1 second'
+                FROM generate_series(1, 20000) AS n
+                """);
+        execute("ANALYZE report");
+        execute("SET enable_seqscan = off");
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        if (connection != null) {
+            execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            connection.close();
+        }
+    }
+
+    /**
+     * The SQL Hibernate issues for each repository query, with sample parameters inlined.
+     */
+    static Stream<String> reportQueries() {
+        return Stream.of(
+                // ReportRepository.getReportModelByBatchNo
+                "SELECT * FROM report r WHERE r.batch_no = 4242",
+                // ReportRepository.lockReportModelByBatchNo
+                "SELECT * FROM report r WHERE r.batch_no = 4242 FOR UPDATE",
+                // ReportRepository.fetchReportModelList
+                "SELECT * FROM report r WHERE r.batch_no IN (1, 2, 3, 500, 19999)",
+                // ReportRepository.getAllByReport, content
+                "SELECT * FROM report r WHERE r.status = 'ACTIVE' ORDER BY r.updated_at DESC OFFSET 40 LIMIT 20",
+                // ReportRepository.getAllByReport, count
+                "SELECT count(r.id) FROM report r WHERE r.status = 'ACTIVE'",
+                // ReportRepository.lockArchivable
+                "SELECT * FROM report r WHERE r.status = 'INACTIVE' AND r.updated_at < now() - interval '1 hour' "
+                        + "ORDER BY r.updated_at LIMIT 500 FOR UPDATE SKIP LOCKED",
+                // ReportItemRepository.findSavedItems
+                "SELECT (r.report_data -> s.i)::text FROM report r "
+                        + "CROSS JOIN LATERAL generate_series(100, LEAST(jsonb_array_length(r.report_data), 200) - 1) "
+                        + "AS s(i) WHERE r.batch_no = 4242 ORDER BY s.i",
+                // ReportItemRepository.findAppendedItems, for many reports
+                "SELECT batch_no, name, description, metadata FROM report_item "
+                        + "WHERE batch_no = ANY('{1, 2, 3, 500, 19999}'::bigint[]) ORDER BY batch_no, item_index",
+                // ReportItemRepository.findAppendedItems
+                "SELECT name, description, metadata FROM report_item WHERE batch_no = 4242 AND item_index >= 100 "
+                        + "ORDER BY item_index LIMIT 100",
+                // ReportItemRepository.nextAppendIndex
+                "SELECT COALESCE(MAX(item_index) + 1, 0) FROM report_item WHERE batch_no = 4242"
+        );
+    }
+
+    /**
+     * Asserts that the plan of a query does not sequentially scan the report table.
+     */
+    @ParameterizedTest
+    @MethodSource("reportQueries")
+    void testQueryUsesIndex(String sql) throws SQLException {
+        String plan = explain(sql);
+
+        assertFalse(plan.contains("Seq Scan"), () -> "query misses an index: " + sql + "\n" + plan);
+        assertTrue(plan.contains("Index"), () -> "unexpected plan for: " + sql + "\n" + plan);
+    }
+
+    private static String explain(String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
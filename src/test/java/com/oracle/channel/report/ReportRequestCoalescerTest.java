@@ -0,0 +1,195 @@
+package com.oracle.channel.report;
+
+import com.oracle.channel.report.coalescing.ReportRequestCoalescer;
+import com.oracle.channel.report.config.ReportCoalescingProperties;
+import com.oracle.channel.report.dtos.response.GlobalResponse;
+import com.oracle.channel.report.enums.ReportChangeType;
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.enums.ResponseCodeEnum;
+import com.oracle.channel.report.events.ReportChangedEvent;
+import com.oracle.channel.report.exception.ReportNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ReportRequestCoalescer}.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class ReportRequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private ReportRequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        ReportCoalescingProperties properties = new ReportCoalescingProperties();
+        properties.setTimeout(Duration.ofMillis(300));
+        coalescer = new ReportRequestCoalescer(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static GlobalResponse success(Object data) {
+        return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(), data);
+    }
+
+    private double requests(String outcome) {
+        return meterRegistry.get("report.coalescing.requests").tag("outcome", outcome).counter().count();
+    }
+
+    /**
+     * Starts the leader and waits until its call is in flight.
+     */
+    private Future<GlobalResponse> lead(Supplier<GlobalResponse> read, CountDownLatch started) throws Exception {
+        Future<GlobalResponse> leader = executor.submit(() -> read.get());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return leader;
+    }
+
+    @Test
+    void testIdenticalReadsShareOneCall() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<GlobalResponse> read = () -> coalescer.page(1, 20, () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return success("page");
+        });
+
+        List<Future<GlobalResponse>> responses = new ArrayList<>();
+        responses.add(lead(read, started));
+        for (int waiter = 0; waiter < 5; waiter++) {
+            responses.add(executor.submit(() -> read.get()));
+        }
+        letWaitersJoin();
+        assertEquals(1.0, meterRegistry.get("report.coalescing.in-flight").gauge().value());
+        release.countDown();
+
+        GlobalResponse first = responses.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<GlobalResponse> response : responses) {
+            assertSame(first, response.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(1, requests("led"));
+        assertEquals(5, requests("coalesced"));
+    }
+
+    @Test
+    void testDifferentReadsDoNotShare() {
+        AtomicInteger calls = new AtomicInteger();
+
+        coalescer.report(1L, () -> success(calls.incrementAndGet()));
+        coalescer.report(2L, () -> success(calls.incrementAndGet()));
+        coalescer.report(1L, () -> success(calls.incrementAndGet()));
+
+        assertEquals(3, calls.get());
+        assertEquals(0, requests("coalesced"));
+    }
+
+    @Test
+    void testWaitersShareTheException() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<GlobalResponse> read = () -> coalescer.report(7L, () -> {
+            started.countDown();
+            await(release);
+            throw new ReportNotFoundException("Error Report does not exist: ");
+        });
+
+        Future<GlobalResponse> leader = lead(read, started);
+        Future<GlobalResponse> waiter = executor.submit(() -> read.get());
+        letWaitersJoin();
+        release.countDown();
+
+        Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception waiterError = assertThrows(Exception.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ReportNotFoundException.class, leaderError.getCause());
+        assertInstanceOf(ReportNotFoundException.class, waiterError.getCause());
+        assertEquals(1, requests("coalesced"));
+    }
+
+    @Test
+    void testSlowCallIsTakenOverAfterTimeout() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<GlobalResponse> leader = lead(() -> coalescer.report(8L, () -> {
+            started.countDown();
+            await(release);
+            return success("slow");
+        }), started);
+
+        long begin = System.nanoTime();
+        GlobalResponse response = coalescer.report(8L, () -> success("fresh"));
+
+        assertEquals("fresh", response.data());
+        assertTrue(System.nanoTime() - begin >= TimeUnit.MILLISECONDS.toNanos(300));
+        assertEquals(1, requests("timed-out"));
+        assertEquals(2, requests("led"));
+        release.countDown();
+        assertEquals("slow", leader.get(5, TimeUnit.SECONDS).data());
+    }
+
+    @Test
+    void testCommittedChangeDetachesCallsInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<GlobalResponse> lookup = lead(() -> coalescer.report(9L, () -> {
+            started.countDown();
+            await(release);
+            return success("before");
+        }), new CountDownLatch(0));
+        Future<GlobalResponse> listing = executor.submit(() -> coalescer.page(1, 20, () -> {
+            started.countDown();
+            await(release);
+            return success("before");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        coalescer.onReportChanged(new ReportChangedEvent(ReportChangeType.STATUS_CHANGED, 9L,
+                ReportStatus.INACTIVE, ReportStatus.ACTIVE, null, null));
+
+        assertEquals("after", coalescer.report(9L, () -> success("after")).data());
+        assertEquals("after", coalescer.page(1, 20, () -> success("after")).data());
+        release.countDown();
+        assertEquals("before", lookup.get(5, TimeUnit.SECONDS).data());
+        assertEquals("before", listing.get(5, TimeUnit.SECONDS).data());
+        assertEquals(0, requests("coalesced"));
+    }
+
+    private static void letWaitersJoin() throws InterruptedException {
+        // the waiters are parked on the call in flight well within this
+        TimeUnit.MILLISECONDS.sleep(100);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.oracle.channel.report;
+
+import com.oracle.channel.report.archive.ReportArchive;
+import com.oracle.channel.report.dtos.request.ReportRequestDto;
+import com.oracle.channel.report.dtos.request.ReportUpdateDto;
+import com.oracle.channel.report.dtos.response.GlobalResponse;
+import com.oracle.channel.report.enums.ReportChangeType;
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.enums.ResponseCodeEnum;
+import com.oracle.channel.report.events.ReportChangedEvent;
+import com.oracle.channel.report.events.ReportShape;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.models.data.RawJson;
+import com.oracle.channel.report.models.data.ReportData;
+import com.oracle.channel.report.service.ReportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Behaviour every {@link ReportService} implementation shares, run once per implementation by its subclasses.
+ * The events and the archive are mocked, the reports are kept by the storage of the implementation.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+abstract class ReportServiceContractTest {
+
+    protected ApplicationEventPublisher eventPublisher;
+    protected ReportArchive reportArchive;
+    protected ReportService reportService;
+
+    /**
+     * @return the service under test, storing its reports in a fresh, empty storage
+     */
+    protected abstract ReportService createService(ApplicationEventPublisher eventPublisher,
+                                                   ReportArchive reportArchive);
+
+    /**
+     * @return the report stored under the batch number, or null
+     */
+    protected abstract ReportModel stored(long batchNo);
+
+    @BeforeEach
+    void setUpService() {
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        reportArchive = mock(ReportArchive.class);
+        reportService = createService(eventPublisher, reportArchive);
+    }
+
+    protected static ReportRequestDto request(long batchNo) {
+        return new ReportRequestDto(batchNo, 1, List.of(new ReportData("n", "d", new RawJson("{\"a\":1}"))));
+    }
+
+    protected ReportModel save(long batchNo) {
+        return (ReportModel) reportService.saveReport(request(batchNo)).data();
+    }
+
+    /**
+     * Tests successful report saving.
+     */
+    @Test
+    void testSaveReport_Success() {
+        GlobalResponse response = reportService.saveReport(request(12345L));
+
+        assertEquals(ResponseCodeEnum.SUCCESS.getCode(), response.responseCode());
+        ReportModel reportModel = (ReportModel) response.data();
+        assertEquals(12345L, reportModel.getBatchNo());
+        assertEquals(ReportStatus.ACTIVE, reportModel.getStatus());
+        assertNotNull(reportModel.getId());
+        assertNotNull(stored(12345L));
+        verify(eventPublisher, times(1)).publishEvent(
+                new ReportChangedEvent(ReportChangeType.CREATED, 12345L, ReportStatus.ACTIVE, null,
+                        ReportShape.of(reportModel), null));
+    }
+
+    /**
+     * Tests that saving a batch number twice is answered as a duplicate key.
+     */
+    @Test
+    void testSaveReport_DuplicateKeyException() {
+        save(12345L);
+
+        GlobalResponse response = reportService.saveReport(request(12345L));
+
+        assertEquals(ResponseCodeEnum.DUPLICATE_KEY.getCode(), response.responseCode());
+        assertNotNull(response.error());
+    }
+
+    /**
+     * Tests that the batch number of an archived report cannot be saved again.
+     */
+    @Test
+    void testSaveReport_Archived() {
+        when(reportArchive.contains(12345L)).thenReturn(true);
+
+        GlobalResponse response = reportService.saveReport(request(12345L));
+
+        assertEquals(ResponseCodeEnum.DUPLICATE_KEY.getCode(), response.responseCode());
+        assertNull(stored(12345L));
+    }
+
+    /**
+     * Tests successful report deletion.
+     */
+    @Test
+    void testDeleteReport_Success() {
+        ReportModel reportModel = save(12345L);
+
+        GlobalResponse response = reportService.deleteReport(12345L);
+
+        assertEquals(ResponseCodeEnum.SUCCESS.getCode(), response.responseCode());
+        assertEquals(12345L, response.data());
+        assertNull(stored(12345L));
+        verify(eventPublisher, times(1)).publishEvent(
+                new ReportChangedEvent(ReportChangeType.DELETED, 12345L, null, ReportStatus.ACTIVE,
+                        null, ReportShape.of(reportModel)));
+    }
+
+    /**
+     * Tests report deletion when the report is not found.
+     */
+    @Test
+    void testDeleteReport_NotFound() {
+        assertThrows(IllegalArgumentException.class, () -> reportService.deleteReport(12345L));
+    }
+
+    /**
+     * Tests that deleting an archived report leaves a tombstone in the archive.
+     */
+    @Test
+    void testDeleteReport_Archived() {
+        when(reportArchive.delete(12345L)).thenReturn(true);
+
+        GlobalResponse response = reportService.deleteReport(12345L);
+
+        assertEquals(ResponseCodeEnum.SUCCESS.getCode(), response.responseCode());
+        verify(eventPublisher).publishEvent(
+                new ReportChangedEvent(ReportChangeType.DELETED, 12345L, null, null, null, null));
+    }
+
+    /**
+     * Tests that a single report is looked up in the storage first and in the archive second.
+     */
+    @Test
+    void testFetchReportByBatchNo() {
+        ReportModel reportModel = save(12345L);
+        ReportModel archived = ReportModel.builder().batchNo(777L).status(ReportStatus.INACTIVE).build();
+        when(reportArchive.find(777L)).thenReturn(archived);
+
+        assertEquals(reportModel, reportService.fetchReportByBatchNo(12345L).data());
+        assertEquals(archived, reportService.fetchReportByBatchNo(777L).data());
+        assertThrows(IllegalArgumentException.class, () -> reportService.fetchReportByBatchNo(1L));
+        verify(reportArchive, never()).find(12345L);
+    }
+
+    /**
+     * Tests successful report status update.
+     */
+    @Test
+    void testUpdateReportStatus_Success() {
+        save(12345L);
+
+        GlobalResponse response = reportService.updateReportStatus(
+                new ReportUpdateDto(ReportStatus.INACTIVE, List.of(12345L)));
+
+        assertEquals(ResponseCodeEnum.SUCCESS.getCode(), response.responseCode());
+        List<?> updated = (List<?>) response.data();
+        assertEquals(1, updated.size());
+        ReportModel reportModel = (ReportModel) updated.get(0);
+        assertEquals(ReportStatus.INACTIVE, reportModel.getStatus());
+        assertEquals(ReportStatus.INACTIVE, stored(12345L).getStatus());
+        verify(eventPublisher, times(1)).publishEvent(new ReportChangedEvent(ReportChangeType.STATUS_CHANGED,
+                12345L, ReportStatus.INACTIVE, ReportStatus.ACTIVE, ReportShape.of(reportModel),
+                ReportShape.of(reportModel)));
+    }
+
+    /**
+     * Tests that re-applying the current status does not announce a change.
+     */
+    @Test
+    void testUpdateReportStatus_Unchanged() {
+        save(12345L);
+        clearInvocations(eventPublisher);
+
+        reportService.updateReportStatus(new ReportUpdateDto(ReportStatus.ACTIVE, List.of(12345L)));
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    /**
+     * Tests report status update when the report is not found.
+     */
+    @Test
+    void testUpdateReportStatus_NotFound() {
+        assertThrows(IllegalArgumentException.class, () -> reportService.updateReportStatus(
+                new ReportUpdateDto(ReportStatus.INACTIVE, List.of(12345L))));
+    }
+}
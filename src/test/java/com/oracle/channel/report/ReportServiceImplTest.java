@@ -1,137 +1,102 @@
-/**
- * Unit test class for {@link com.oracle.channel.report.service.impl.ReportServiceImpl}.
- * This class tests various service methods to ensure proper functionality and exception handling.
- *
- * @author GafarOlanipekun
- * @since 19/03/2025
- */
 package com.oracle.channel.report;
 
-import com.oracle.channel.report.dtos.request.ReportRequestDto;
-import com.oracle.channel.report.dtos.request.ReportUpdateDto;
+import com.oracle.channel.report.archive.ReportArchive;
+import com.oracle.channel.report.config.ReportDedupProperties;
+import com.oracle.channel.report.config.ReportShardingProperties;
+import com.oracle.channel.report.dedup.ReportBlobStore;
 import com.oracle.channel.report.dtos.response.GlobalResponse;
 import com.oracle.channel.report.enums.ReportStatus;
 import com.oracle.channel.report.enums.ResponseCodeEnum;
 import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.repository.ReportBlobRepository;
+import com.oracle.channel.report.repository.ReportItemRepository;
+import com.oracle.channel.report.repository.ReportProjectionRepository;
 import com.oracle.channel.report.repository.ReportRepository;
+import com.oracle.channel.report.service.ReportService;
 import com.oracle.channel.report.service.impl.ReportServiceImpl;
-import org.junit.jupiter.api.BeforeEach;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import com.oracle.channel.report.stats.ReportStatistics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
-class ReportServiceImplTest {
-
-    @InjectMocks
-    private ReportServiceImpl reportService;
+/**
+ * Unit test class for {@link ReportServiceImpl}, running the {@link ReportServiceContractTest} against a
+ * mocked repository keeping its reports in a map, and the paging and error handling of the report table.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class ReportServiceImplTest extends ReportServiceContractTest {
 
-    @Mock
+    private final Map<Long, ReportModel> reports = new HashMap<>();
     private ReportRepository reportRepository;
-
+    private ReportStatistics reportStatistics;
     private ReportModel reportModel;
-    private ReportRequestDto reportRequestDto;
-    private ReportUpdateDto reportUpdateDto;
 
-    /**
-     * Initializes test data before each test case.
-     */
-    @BeforeEach
-    void setUp() {
-        MockitoAnnotations.openMocks(this);
+    @Override
+    protected ReportService createService(ApplicationEventPublisher eventPublisher, ReportArchive reportArchive) {
+        reportRepository = mock(ReportRepository.class);
+        // the report table, assigning ids and rejecting batch numbers already taken
+        when(reportRepository.save(any(ReportModel.class))).thenAnswer(invocation -> {
+            ReportModel saved = invocation.getArgument(0);
+            if (reports.containsKey(saved.getBatchNo())) {
+                throw new DuplicateKeyException("Duplicate entry");
+            }
+            if (saved.getId() == null) {
+                saved.setId(UUID.randomUUID());
+            }
+            reports.put(saved.getBatchNo(), saved);
+            return saved;
+        });
+        when(reportRepository.getReportModelByBatchNo(anyLong()))
+                .thenAnswer(invocation -> reports.get(invocation.<Long>getArgument(0)));
+        when(reportRepository.lockReportModelByBatchNo(anyLong()))
+                .thenAnswer(invocation -> reports.get(invocation.<Long>getArgument(0)));
+        when(reportRepository.fetchReportModelList(anyList())).thenAnswer(invocation ->
+                invocation.<List<Long>>getArgument(0).stream().map(reports::get).filter(Objects::nonNull).toList());
+        when(reportRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        doAnswer(invocation -> reports.remove(invocation.<ReportModel>getArgument(0).getBatchNo()))
+                .when(reportRepository).delete(any(ReportModel.class));
+
+        ReportItemRepository reportItemRepository = mock(ReportItemRepository.class);
+        when(reportItemRepository.withAppendedItems(any(ReportModel.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(reportItemRepository.withAppendedItems(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        reportStatistics = mock(ReportStatistics.class);
+        ReportBlobStore reportBlobStore = new ReportBlobStore(mock(ReportBlobRepository.class),
+                new ReportShardRouter(new ReportShardingProperties()), new ReportDedupProperties(),
+                new SimpleMeterRegistry());
+
         reportModel = new ReportModel();
         reportModel.setBatchNo(12345L);
         reportModel.setStatus(ReportStatus.ACTIVE);
         reportModel.setId(UUID.randomUUID());
-
-        reportRequestDto = new ReportRequestDto();
-        reportUpdateDto = new ReportUpdateDto(ReportStatus.INACTIVE, List.of(12345L));
-    }
-
-    /**
-     * Tests successful report saving.
-     */
-    @Test
-    void testSaveReport_Success() {
-        when(reportRepository.save(any(ReportModel.class))).thenReturn(reportModel);
-        GlobalResponse response = reportService.saveReport(reportRequestDto);
-
-        assertEquals(ResponseCodeEnum.SUCCESS.getCode(), response.responseCode());
-        assertEquals(reportModel, response.data());
-        verify(reportRepository, times(1)).save(any(ReportModel.class));
-    }
-
-    /**
-     * Tests handling of duplicate key exception during report saving.
-     */
-    @Test
-    void testSaveReport_DuplicateKeyException() {
-        when(reportRepository.save(any(ReportModel.class))).thenThrow(new DuplicateKeyException("Duplicate entry"));
-        GlobalResponse response = reportService.saveReport(reportRequestDto);
-
-        assertEquals(ResponseCodeEnum.DUPLICATE_KEY.getCode(), response.responseCode());
-        assertNotNull(response.error());
-    }
-
-    /**
-     * Tests successful report deletion.
-     */
-    @Test
-    void testDeleteReport_Success() {
-        when(reportRepository.getReportModelByBatchNo(12345L)).thenReturn(reportModel);
-        doNothing().when(reportRepository).delete(reportModel);
-
-        GlobalResponse response = reportService.deleteReport(12345L);
-
-        assertEquals(ResponseCodeEnum.SUCCESS.getCode(), response.responseCode());
-        assertEquals(12345L, response.data());
-        verify(reportRepository, times(1)).delete(reportModel);
-    }
-
-    /**
-     * Tests report deletion when the report is not found.
-     */
-    @Test
-    void testDeleteReport_NotFound() {
-        when(reportRepository.getReportModelByBatchNo(12345L)).thenReturn(null);
-        assertThrows(IllegalArgumentException.class, () -> reportService.deleteReport(12345L));
-    }
-
-    /**
-     * Tests successful report status update.
-     */
-    @Test
-    void testUpdateReportStatus_Success() {
-        when(reportRepository.fetchReportModelList(anyList())).thenReturn(List.of(reportModel));
-        when(reportRepository.saveAll(anyList())).thenReturn(List.of(reportModel));
-
-        GlobalResponse response = reportService.updateReportStatus(reportUpdateDto);
-
-        assertEquals(ResponseCodeEnum.SUCCESS.getCode(), response.responseCode());
-        assertEquals(1, ((List<?>) response.data()).size());
+        return new ReportServiceImpl(reportRepository, eventPublisher, reportStatistics, reportArchive,
+                reportBlobStore, mock(ReportProjectionRepository.class), reportItemRepository);
     }
 
-    /**
-     * Tests report status update when the report is not found.
-     */
-    @Test
-    void testUpdateReportStatus_NotFound() {
-        when(reportRepository.fetchReportModelList(anyList())).thenReturn(Collections.emptyList());
-        assertThrows(IllegalArgumentException.class, () -> reportService.updateReportStatus(reportUpdateDto));
+    @Override
+    protected ReportModel stored(long batchNo) {
+        return reports.get(batchNo);
     }
 
     /**
@@ -149,6 +114,23 @@ class ReportServiceImplTest {
         assertEquals(reportPage, response.data());
     }
 
+    /**
+     * Tests that fetching uses the maintained ACTIVE count instead of counting the reports.
+     */
+    @Test
+    void testFetchReport_MaintainedCount() {
+        Pageable pageable = PageRequest.of(1, 10);
+        when(reportStatistics.activeCount()).thenReturn(OptionalLong.of(42));
+        when(reportRepository.findActivePage(pageable)).thenReturn(List.of(reportModel));
+
+        GlobalResponse response = reportService.fetchReport(2, 10);
+
+        Page<?> page = (Page<?>) response.data();
+        assertEquals(42, page.getTotalElements());
+        assertEquals(List.of(reportModel), page.getContent());
+        verify(reportRepository, never()).getAllByReport(any());
+    }
+
     /**
      * Tests handling of exceptions during report fetching.
      */
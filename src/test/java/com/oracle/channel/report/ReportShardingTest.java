@@ -0,0 +1,177 @@
+package com.oracle.channel.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oracle.channel.report.archive.ReportArchive;
+import com.oracle.channel.report.config.ReportDedupProperties;
+import com.oracle.channel.report.config.ReportShardingProperties;
+import com.oracle.channel.report.dedup.ReportBlobStore;
+import com.oracle.channel.report.dtos.request.ReportFields;
+import com.oracle.channel.report.dtos.response.data.ReportProjection;
+import com.oracle.channel.report.repository.ReportBlobRepository;
+import com.oracle.channel.report.repository.ReportItemRepository;
+import com.oracle.channel.report.repository.ReportProjectionRepository;
+import com.oracle.channel.report.repository.ReportRepository;
+import com.oracle.channel.report.service.impl.ReportServiceImpl;
+import com.oracle.channel.report.service.impl.ShardedReportService;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import com.oracle.channel.report.sharding.ShardRoutingDataSource;
+import com.oracle.channel.report.stats.ReportStatistics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the sharded listing and single-report reads against two shards living in separate schemas of a local
+ * PostgreSQL, e.g.
+ * {@code REPORT_PG_URL=jdbc:postgresql://localhost:5432/report_db ./mvnw test -Dtest=ReportShardingTest}.
+ * <p>
+ * The migrations are applied to two throw-away schemas. Reports are written through the router to their owning
+ * shard and read back through {@link ShardedReportService} over a {@link ShardRoutingDataSource}, so every query
+ * goes through {@link ReportShardRouter#fanOut} or {@link ReportShardRouter#onShard} as in production.
+ * </p>
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+@EnabledIfEnvironmentVariable(named = "REPORT_PG_URL", matches = ".+")
+class ReportShardingTest {
+
+    private static final List<String> SCHEMAS = List.of("report_shard_test_a", "report_shard_test_b");
+    private static final long REPORTS = 40;
+    private static final long EPOCH = 1_700_000_000_000L;
+
+    private static JdbcTemplate admin;
+    private static JdbcTemplate jdbcTemplate;
+    private static ReportShardRouter router;
+    private static ShardedReportService shardedReportService;
+
+    /**
+     * Migrates one schema per shard and writes every report to its owner. Report n was last updated at n
+     * seconds, so listings return the highest batch numbers first.
+     */
+    @BeforeAll
+    static void setUp() {
+        String url = System.getenv("REPORT_PG_URL");
+        String user = System.getenv().getOrDefault("REPORT_PG_USER", "postgres");
+        String password = System.getenv().getOrDefault("REPORT_PG_PASSWORD", "passcode");
+        admin = new JdbcTemplate(new DriverManagerDataSource(url, user, password));
+
+        ReportShardingProperties properties = new ReportShardingProperties();
+        properties.setEnabled(true);
+        List<DataSource> shards = new ArrayList<>();
+        for (String schema : SCHEMAS) {
+            admin.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+            Flyway.configure()
+                    .dataSource(url, user, password)
+                    .schemas(schema)
+                    .locations("classpath:db/migration")
+                    .load()
+                    .migrate();
+            String shardUrl = url + (url.contains("?") ? "&" : "?") + "currentSchema=" + schema;
+            shards.add(new DriverManagerDataSource(shardUrl, user, password));
+            properties.getShards().add(new ReportShardingProperties.Shard(schema, shardUrl, user, password, 1));
+        }
+        router = new ReportShardRouter(properties);
+        jdbcTemplate = new JdbcTemplate(new ShardRoutingDataSource(shards));
+
+        LongStream.rangeClosed(1, REPORTS).forEach(batchNo -> router.onOwner(batchNo, () -> jdbcTemplate.update("""
+                        INSERT INTO report (id, batch_no, size, status, report_data, created_at, updated_at)
+                        VALUES (gen_random_uuid(), ?, 1, 'ACTIVE', '[{"name": "item", "desc": "sample"}]'::jsonb,
+                                ?, ?)""",
+                batchNo, new Timestamp(EPOCH), new Timestamp(EPOCH + batchNo * 1000))));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        ReportServiceImpl reportService = new ReportServiceImpl(mock(ReportRepository.class),
+                mock(ApplicationEventPublisher.class), mock(ReportStatistics.class), mock(ReportArchive.class),
+                new ReportBlobStore(mock(ReportBlobRepository.class), router, new ReportDedupProperties(),
+                        new SimpleMeterRegistry()),
+                new ReportProjectionRepository(jdbcTemplate, objectMapper),
+                new ReportItemRepository(jdbcTemplate, objectMapper));
+        shardedReportService = new ShardedReportService(reportService, router);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (admin != null) {
+            SCHEMAS.forEach(schema -> admin.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE"));
+        }
+    }
+
+    /**
+     * Tests that every report is stored on its owning shard only, and both shards hold some.
+     */
+    @Test
+    void testReportsLiveOnTheirOwner() {
+        long total = 0;
+        for (int shard = 0; shard < SCHEMAS.size(); shard++) {
+            List<Long> batchNos = admin.queryForList("SELECT batch_no FROM " + SCHEMAS.get(shard) + ".report",
+                    Long.class);
+            assertFalse(batchNos.isEmpty(), "shard " + shard + " holds no reports");
+            for (Long batchNo : batchNos) {
+                assertEquals(shard, router.shardOf(batchNo));
+            }
+            total += batchNos.size();
+        }
+        assertEquals(REPORTS, total);
+    }
+
+    /**
+     * Tests that pages merged from both shards follow the global last-update order and count every report.
+     */
+    @Test
+    void testListingIsOrderedAcrossShards() {
+        List<Long> listed = new ArrayList<>();
+        for (int pageNo = 1; pageNo <= 5; pageNo++) {
+            Page<ReportProjection> page = page(pageNo, 8);
+            assertEquals(REPORTS, page.getTotalElements());
+            page.getContent().forEach(report -> listed.add(report.batchNo()));
+        }
+
+        assertEquals(LongStream.rangeClosed(1, REPORTS).map(n -> REPORTS + 1 - n).boxed().toList(), listed);
+        assertEquals(List.of(35L, 34L, 33L, 32L, 31L),
+                page(2, 5).getContent().stream().map(ReportProjection::batchNo).toList());
+    }
+
+    /**
+     * Tests that a listing fails as a whole when one shard fails, while reports owned by the healthy shard can
+     * still be read.
+     */
+    @Test
+    void testFailingShard() {
+        long healthy = LongStream.rangeClosed(1, REPORTS).filter(batchNo -> router.shardOf(batchNo) == 0)
+                .findFirst().orElseThrow();
+        admin.execute("ALTER TABLE " + SCHEMAS.get(1) + ".report RENAME TO report_unavailable");
+        try {
+            assertThrows(DataAccessException.class, () -> page(1, 10));
+
+            ReportProjection report = (ReportProjection) shardedReportService
+                    .fetchReportByBatchNo(healthy, ReportFields.parse("status")).data();
+            assertEquals(healthy, report.batchNo());
+        } finally {
+            admin.execute("ALTER TABLE " + SCHEMAS.get(1) + ".report_unavailable RENAME TO report");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Page<ReportProjection> page(int pageNo, int pageSize) {
+        return (Page<ReportProjection>) shardedReportService
+                .fetchReport(pageNo, pageSize, ReportFields.parse("status")).data();
+    }
+}
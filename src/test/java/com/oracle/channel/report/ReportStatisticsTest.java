@@ -0,0 +1,135 @@
+package com.oracle.channel.report;
+
+import com.oracle.channel.report.config.ReportShardingProperties;
+import com.oracle.channel.report.config.ReportStatsProperties;
+import com.oracle.channel.report.dtos.response.data.ReportStats;
+import com.oracle.channel.report.enums.ReportChangeType;
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.events.ReportChangedEvent;
+import com.oracle.channel.report.events.ReportShape;
+import com.oracle.channel.report.repository.ReportStatsRepository;
+import com.oracle.channel.report.repository.ReportStatsRepository.RollupRow;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import com.oracle.channel.report.stats.ReportStatistics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ReportStatistics}.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class ReportStatisticsTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private ReportStatsRepository reportStatsRepository;
+    private ReportStatsProperties properties;
+    private ReportStatistics reportStatistics;
+
+    @BeforeEach
+    void setUp() {
+        reportStatsRepository = mock(ReportStatsRepository.class);
+        properties = new ReportStatsProperties();
+        properties.setMaintainedListingCount(true);
+        reportStatistics = new ReportStatistics(reportStatsRepository,
+                new ReportShardRouter(new ReportShardingProperties()), properties, new SimpleMeterRegistry());
+        // 3 active and 1 inactive report, all created today with size 5 and 2 entries
+        when(reportStatsRepository.rollup(any())).thenReturn(List.of(
+                new RollupRow(ReportStatsRepository.BY_STATUS, ReportStatus.ACTIVE, null, 0, 0, 3),
+                new RollupRow(ReportStatsRepository.BY_STATUS, ReportStatus.INACTIVE, null, 0, 0, 1),
+                new RollupRow(ReportStatsRepository.BY_DAY, null, TODAY, 0, 0, 4),
+                new RollupRow(ReportStatsRepository.BY_SIZE, null, null, 3, 0, 4),
+                new RollupRow(ReportStatsRepository.BY_LENGTH, null, null, 0, 2, 4)));
+    }
+
+    /**
+     * Tests that reconciliation loads the statistics and makes the ACTIVE count available to listings.
+     */
+    @Test
+    void testReconcile() {
+        assertEquals(OptionalLong.empty(), reportStatistics.activeCount());
+
+        reportStatistics.reconcile();
+
+        ReportStats stats = reportStatistics.stats();
+        assertEquals(4, stats.total());
+        assertEquals(Map.of(ReportStatus.ACTIVE, 3L, ReportStatus.INACTIVE, 1L), stats.countByStatus());
+        assertEquals(Map.of(TODAY, 4L), stats.dailyVolume());
+        assertEquals(List.of(new ReportStats.Bucket(4, 7, 4)), stats.sizeDistribution());
+        assertEquals(List.of(new ReportStats.Bucket(2, 3, 4)), stats.lengthDistribution());
+        assertNotNull(stats.reconciledAt());
+        assertEquals(OptionalLong.of(3), reportStatistics.activeCount());
+    }
+
+    /**
+     * Tests that every kind of change moves the report between the right groups.
+     */
+    @Test
+    void testOnReportChanged() {
+        reportStatistics.reconcile();
+        ReportShape shape = new ReportShape(1, 1, TODAY);
+
+        reportStatistics.onReportChanged(new ReportChangedEvent(ReportChangeType.CREATED, 9L, ReportStatus.ACTIVE,
+                null, shape, null));
+        reportStatistics.onReportChanged(new ReportChangedEvent(ReportChangeType.STATUS_CHANGED, 9L,
+                ReportStatus.INACTIVE, ReportStatus.ACTIVE, shape, shape));
+        reportStatistics.onReportChanged(new ReportChangedEvent(ReportChangeType.ITEMS_APPENDED, 9L,
+                ReportStatus.INACTIVE, ReportStatus.INACTIVE, new ReportShape(6, 1, TODAY), shape));
+
+        ReportStats stats = reportStatistics.stats();
+        assertEquals(Map.of(ReportStatus.ACTIVE, 3L, ReportStatus.INACTIVE, 2L), stats.countByStatus());
+        assertEquals(Map.of(TODAY, 5L), stats.dailyVolume());
+        assertEquals(List.of(new ReportStats.Bucket(4, 7, 5)), stats.sizeDistribution());
+        assertEquals(List.of(new ReportStats.Bucket(1, 1, 1), new ReportStats.Bucket(2, 3, 4)),
+                stats.lengthDistribution());
+
+        reportStatistics.onReportChanged(new ReportChangedEvent(ReportChangeType.DELETED, 9L, null,
+                ReportStatus.INACTIVE, null, new ReportShape(6, 1, TODAY)));
+
+        stats = reportStatistics.stats();
+        assertEquals(4, stats.total());
+        assertEquals(List.of(new ReportStats.Bucket(2, 3, 4)), stats.lengthDistribution());
+    }
+
+    /**
+     * Tests that changes committed while the database is scanned are kept by the reconciled statistics.
+     */
+    @Test
+    void testReconcile_KeepsConcurrentChanges() {
+        List<RollupRow> rows = reportStatsRepository.rollup(TODAY);
+        when(reportStatsRepository.rollup(any())).thenAnswer(invocation -> {
+            reportStatistics.onReportChanged(new ReportChangedEvent(ReportChangeType.CREATED, 9L,
+                    ReportStatus.ACTIVE, null, new ReportShape(0, 0, TODAY), null));
+            return rows;
+        });
+
+        reportStatistics.reconcile();
+
+        assertEquals(OptionalLong.of(4), reportStatistics.activeCount());
+        assertEquals(Map.of(TODAY, 5L), reportStatistics.stats().dailyVolume());
+    }
+
+    /**
+     * Tests that listings keep counting when the maintained count is switched off, which is the default.
+     */
+    @Test
+    void testActiveCount_Disabled() {
+        assertFalse(new ReportStatsProperties().isMaintainedListingCount());
+        properties.setMaintainedListingCount(false);
+        reportStatistics.reconcile();
+
+        assertEquals(OptionalLong.empty(), reportStatistics.activeCount());
+    }
+}
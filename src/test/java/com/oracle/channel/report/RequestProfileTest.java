@@ -0,0 +1,127 @@
+package com.oracle.channel.report;
+
+import com.oracle.channel.report.profiling.ReportPhase;
+import com.oracle.channel.report.profiling.RequestProfile;
+import com.oracle.channel.report.profiling.RequestProfilingFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RequestProfile} and {@link RequestProfilingFilter}.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class RequestProfileTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.finish();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void testPhasesAreIgnoredWithoutProfile() {
+        RequestProfile.begin(ReportPhase.PARSE);
+        RequestProfile.batchNo(1L);
+        RequestProfile.end(ReportPhase.PARSE);
+
+        assertNull(RequestProfile.current());
+    }
+
+    @Test
+    void testNestedPhaseIsExcludedFromItsParent() {
+        RequestProfile profile = RequestProfile.start("POST /reports/save");
+        RequestProfile.batchNo(42L);
+
+        RequestProfile.begin(ReportPhase.COMMIT);
+        sleep(20);
+        RequestProfile.begin(ReportPhase.FLUSH);
+        sleep(50);
+        RequestProfile.end(ReportPhase.FLUSH);
+        RequestProfile.end(ReportPhase.COMMIT);
+        long total = profile.finish();
+
+        assertNull(RequestProfile.current());
+        assertEquals(42L, profile.getBatchNo());
+        assertTrue(profile.nanosIn(ReportPhase.FLUSH) >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(profile.nanosIn(ReportPhase.COMMIT) >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertTrue(profile.nanosIn(ReportPhase.COMMIT) < TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(profile.nanosIn(ReportPhase.COMMIT) + profile.nanosIn(ReportPhase.FLUSH) <= total);
+    }
+
+    @Test
+    void testUnclosedPhaseEndsWithTheRequest() {
+        RequestProfile profile = RequestProfile.start("GET /reports");
+        RequestProfile.begin(ReportPhase.SERIALIZATION);
+        RequestProfile.begin(ReportPhase.SERIALIZATION);
+        sleep(10);
+
+        long total = profile.finish();
+
+        assertTrue(profile.nanosIn(ReportPhase.SERIALIZATION) >= TimeUnit.MILLISECONDS.toNanos(10));
+        assertTrue(profile.nanosIn(ReportPhase.SERIALIZATION) <= total);
+        assertTrue(profile.breakdown(total).contains("serialization= "));
+        assertTrue(profile.breakdown(total).endsWith("ms"));
+    }
+
+    @Test
+    void testFilterProfilesOnlyWhenCapturing() throws Exception {
+        AtomicReference<RequestProfile> seen = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/reports/save");
+
+        new RequestProfilingFilter(Duration.ZERO).doFilter(request, new MockHttpServletResponse(),
+                new MockFilterChain(new jakarta.servlet.http.HttpServlet() {
+                }, (req, res, chain) -> seen.set(RequestProfile.current())));
+        assertNull(seen.get());
+
+        new RequestProfilingFilter(Duration.ofMillis(1)).doFilter(request, new MockHttpServletResponse(),
+                new MockFilterChain(new jakarta.servlet.http.HttpServlet() {
+                }, (req, res, chain) -> seen.set(RequestProfile.current())));
+        assertNotNull(seen.get());
+        assertEquals("POST /reports/save", seen.get().getEndpoint());
+        assertNull(RequestProfile.current());
+    }
+
+    @Test
+    void testAsyncRequestIsProfiledUntilItCompletes() throws Exception {
+        AtomicReference<RequestProfile> seen = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/reports/multi-get");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new RequestProfilingFilter(Duration.ofMillis(1)).doFilter(request, response,
+                new MockFilterChain(new jakarta.servlet.http.HttpServlet() {
+                }, (req, res, chain) -> {
+                    seen.set(RequestProfile.current());
+                    req.startAsync(req, res);
+                }));
+        assertNull(RequestProfile.current());
+        sleep(20);
+        assertEquals(0, seen.get().nanosIn(ReportPhase.SERIALIZATION));
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        assertTrue(seen.get().nanosIn(ReportPhase.SERIALIZATION) >= TimeUnit.MILLISECONDS.toNanos(20));
+    }
+}
@@ -0,0 +1,177 @@
+package com.oracle.channel.report;
+
+import com.oracle.channel.report.config.ReportShardingProperties;
+import com.oracle.channel.report.dtos.request.ReportFields;
+import com.oracle.channel.report.dtos.request.ReportUpdateDto;
+import com.oracle.channel.report.dtos.response.GlobalResponse;
+import com.oracle.channel.report.dtos.response.data.ReportProjection;
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.enums.ResponseCodeEnum;
+import com.oracle.channel.report.exception.ReportNotFoundException;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.service.ReportService;
+import com.oracle.channel.report.service.impl.ShardedReportService;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import com.oracle.channel.report.sharding.ShardContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ShardedReportService}, backed by one in-memory report list per shard.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class ShardedReportServiceTest {
+
+    private ReportShardRouter router;
+    private ReportService delegate;
+    private ShardedReportService shardedReportService;
+    private final Map<Integer, List<ReportModel>> shards = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        ReportShardingProperties properties = new ReportShardingProperties();
+        properties.setEnabled(true);
+        properties.setShards(List.of(new ReportShardingProperties.Shard("a", "jdbc:a", "u", "p", 1),
+                new ReportShardingProperties.Shard("b", "jdbc:b", "u", "p", 1),
+                new ReportShardingProperties.Shard("c", "jdbc:c", "u", "p", 1)));
+        properties.setMaxFanOutWindow(100);
+        router = new ReportShardRouter(properties);
+
+        // report n was last updated at n seconds, so the newest report has the highest batch number
+        LongStream.rangeClosed(1, 30).forEach(batchNo -> shards
+                .computeIfAbsent(router.shardOf(batchNo), shard -> new ArrayList<>())
+                .add(ReportModel.builder().batchNo(batchNo).status(ReportStatus.ACTIVE)
+                        .updatedAt(new Date(batchNo * 1000)).build()));
+
+        delegate = mock(ReportService.class);
+        when(delegate.fetchReport(anyInt(), anyInt())).thenAnswer(invocation -> {
+            int pageSize = invocation.getArgument(1);
+            List<ReportModel> reports = shards.getOrDefault(ShardContext.current(), List.of()).stream()
+                    .sorted(Comparator.comparing(ReportModel::getUpdatedAt).reversed())
+                    .toList();
+            return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(),
+                    new PageImpl<>(reports.subList(0, Math.min(pageSize, reports.size())),
+                            PageRequest.of(0, pageSize), reports.size()));
+        });
+        when(delegate.updateReportStatus(any())).thenAnswer(invocation -> {
+            ReportUpdateDto dto = invocation.getArgument(0);
+            List<ReportModel> updated = shards.getOrDefault(ShardContext.current(), List.of()).stream()
+                    .filter(model -> dto.batchIds().contains(model.getBatchNo()))
+                    .toList();
+            if (updated.isEmpty()) {
+                throw new ReportNotFoundException("Illegal argument");
+            }
+            updated.forEach(model -> model.setStatus(dto.status()));
+            return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(), updated);
+        });
+        shardedReportService = new ShardedReportService(delegate, router);
+    }
+
+    /**
+     * Tests that the shards' listings are merged into one newest-first listing with the combined total.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFetchReport_MergesShards() {
+        Page<ReportModel> page = (Page<ReportModel>) shardedReportService.fetchReport(2, 7).data();
+
+        assertEquals(List.of(23L, 22L, 21L, 20L, 19L, 18L, 17L),
+                page.getContent().stream().map(ReportModel::getBatchNo).toList());
+        assertEquals(30, page.getTotalElements());
+        assertEquals(1, page.getNumber());
+        verify(delegate, times(3)).fetchReport(1, 14);
+    }
+
+    /**
+     * Tests that listings of selected properties are merged by the last update even when it is not selected.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFetchReport_MergesProjections() {
+        ReportFields fields = ReportFields.parse("status");
+        when(delegate.fetchReport(anyInt(), anyInt(), any(ReportFields.class))).thenAnswer(invocation -> {
+            Page<ReportModel> page = (Page<ReportModel>) delegate.fetchReport(1, invocation.<Integer>getArgument(1))
+                    .data();
+            return new GlobalResponse(ResponseCodeEnum.SUCCESS.getCode(), ResponseCodeEnum.SUCCESS.name(),
+                    page.map(fields::project));
+        });
+
+        Page<ReportProjection> page = (Page<ReportProjection>) shardedReportService.fetchReport(1, 4, fields).data();
+
+        assertEquals(List.of(30L, 29L, 28L, 27L), page.getContent().stream().map(ReportProjection::batchNo).toList());
+        assertEquals(Map.of("status", ReportStatus.ACTIVE), page.getContent().get(0).properties());
+        assertEquals(30, page.getTotalElements());
+        verify(delegate, times(3)).fetchReport(1, 4, fields);
+    }
+
+    /**
+     * Tests that listings deeper than the fan-out window are refused.
+     */
+    @Test
+    void testFetchReport_TooDeep() {
+        assertThrows(IllegalArgumentException.class, () -> shardedReportService.fetchReport(11, 10));
+        verify(delegate, never()).fetchReport(anyInt(), anyInt());
+    }
+
+    /**
+     * Tests that a status update is split by shard and succeeds when only some shards hold the reports.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpdateReportStatus_PartitionsByShard() {
+        GlobalResponse response = shardedReportService.updateReportStatus(
+                new ReportUpdateDto(ReportStatus.INACTIVE, List.of(1L, 2L, 3L, 999L)));
+
+        List<ReportModel> updated = (List<ReportModel>) response.data();
+        assertEquals(List.of(1L, 2L, 3L),
+                updated.stream().map(ReportModel::getBatchNo).sorted().toList());
+        assertTrue(updated.stream().allMatch(model -> model.getStatus() == ReportStatus.INACTIVE));
+        verify(delegate, times(router.partition(List.of(1L, 2L, 3L, 999L)).size())).updateReportStatus(any());
+    }
+
+    /**
+     * Tests that an update matching no report on any shard fails.
+     */
+    @Test
+    void testUpdateReportStatus_NotFound() {
+        assertThrows(IllegalArgumentException.class, () -> shardedReportService.updateReportStatus(
+                new ReportUpdateDto(ReportStatus.INACTIVE, List.of(998L, 999L))));
+    }
+
+    /**
+     * Tests that single-report operations run on the shard owning the batch number.
+     */
+    @Test
+    void testDeleteReport_RunsOnOwner() {
+        List<Integer> seen = new ArrayList<>();
+        when(delegate.deleteReport(anyLong())).thenAnswer(invocation -> {
+            seen.add(ShardContext.current());
+            return null;
+        });
+
+        LongStream.rangeClosed(1, 30).forEach(shardedReportService::deleteReport);
+
+        assertEquals(LongStream.rangeClosed(1, 30).mapToObj(batchNo -> router.shardOf(batchNo)).toList(), seen);
+        assertEquals(3, seen.stream().distinct().count());
+        assertNull(ShardContext.current());
+    }
+}
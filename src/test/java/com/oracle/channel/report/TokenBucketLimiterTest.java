@@ -0,0 +1,119 @@
+package com.oracle.channel.report;
+
+import com.oracle.channel.report.ratelimit.TokenBucketLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link TokenBucketLimiter}.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class TokenBucketLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Tests that a client may burst up to its budget and is then told how long to wait.
+     */
+    @Test
+    void testBurstThenRetryAfter() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 3, 10);
+        long now = 1_000 * SECOND;
+
+        assertEquals(0, limiter.tryAcquire("client-a", now));
+        assertEquals(0, limiter.tryAcquire("client-a", now));
+        assertEquals(0, limiter.tryAcquire("client-a", now));
+
+        long wait = limiter.tryAcquire("client-a", now);
+        assertEquals(SECOND / 2, wait);
+        assertEquals(1, limiter.getRejected());
+        assertEquals(0, limiter.tryAcquire("client-a", now + wait));
+    }
+
+    /**
+     * Tests that clients are limited independently of each other.
+     */
+    @Test
+    void testClientsAreIsolated() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 10);
+        long now = 1_000 * SECOND;
+
+        assertEquals(0, limiter.tryAcquire("client-a", now));
+        assertTrue(limiter.tryAcquire("client-a", now) > 0);
+        assertEquals(0, limiter.tryAcquire("client-b", now));
+    }
+
+    /**
+     * Tests that only clients whose buckets have refilled are evicted.
+     */
+    @Test
+    void testEvictIdle() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 10);
+        long now = 1_000 * SECOND;
+        limiter.tryAcquire("idle", now);
+        limiter.tryAcquire("busy", now + 5 * SECOND);
+
+        assertEquals(1, limiter.evictIdle(now + 5 * SECOND));
+        assertEquals(1, limiter.getClients());
+    }
+
+    /**
+     * Tests that clients beyond the tracked maximum share one overflow bucket.
+     */
+    @Test
+    void testOverflowBucket() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 1);
+        long now = 1_000 * SECOND;
+
+        assertEquals(0, limiter.tryAcquire("client-a", now));
+        assertEquals(0, limiter.tryAcquire("client-b", now));
+        assertTrue(limiter.tryAcquire("client-c", now) > 0);
+        assertEquals(2, limiter.getClients());
+    }
+
+    /**
+     * Tests that evicting full buckets while clients take tokens never grants more than the budget.
+     */
+    @Test
+    void testEvictionRacingWithAcquire() throws Exception {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1_000, 10);
+        long now = 1_000 * SECOND;
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        if (limiter.tryAcquire("client-a", now) == 0) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    limiter.evictIdle(now);
+                }
+            }));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1_000, granted.get());
+    }
+}
@@ -0,0 +1,70 @@
+package com.oracle.channel.report;
+
+import com.oracle.channel.report.models.id.UuidV7Generator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link UuidV7Generator}.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class UuidV7GeneratorTest {
+
+    /**
+     * Tests the version, variant and timestamp of generated ids.
+     */
+    @Test
+    void testLayout() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7Generator.next();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertTrue(UuidV7Generator.timestampOf(uuid) >= before);
+        assertTrue(UuidV7Generator.timestampOf(uuid) <= System.currentTimeMillis() + 1000);
+    }
+
+    /**
+     * Tests that ids keep increasing when many are generated within the same millisecond.
+     */
+    @Test
+    void testMonotonic() {
+        UUID previous = UuidV7Generator.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = UuidV7Generator.next();
+            assertTrue(next.compareTo(previous) > 0, next + " does not follow " + previous);
+            previous = next;
+        }
+    }
+
+    /**
+     * Tests that ids generated concurrently are unique.
+     */
+    @Test
+    void testConcurrentUnique() {
+        List<CompletableFuture<List<UUID>>> futures = IntStream.range(0, 8)
+                .mapToObj(thread -> CompletableFuture.supplyAsync(() -> {
+                    List<UUID> ids = new ArrayList<>();
+                    for (int i = 0; i < 20_000; i++) {
+                        ids.add(UuidV7Generator.next());
+                    }
+                    return ids;
+                }))
+                .toList();
+
+        Set<UUID> unique = new HashSet<>();
+        futures.forEach(future -> unique.addAll(future.join()));
+        assertEquals(160_000, unique.size());
+    }
+}
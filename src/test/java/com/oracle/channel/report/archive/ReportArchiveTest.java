@@ -0,0 +1,194 @@
+package com.oracle.channel.report.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oracle.channel.report.config.ReportArchiveProperties;
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.models.data.RawJson;
+import com.oracle.channel.report.models.data.ReportData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ReportArchive}, writing segments to a temporary directory.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class ReportArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    private ReportArchiveProperties properties;
+    private ReportArchive reportArchive;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new ReportArchiveProperties();
+        properties.setEnabled(true);
+        properties.setShared(true);
+        properties.setDirectory(directory);
+        reportArchive = open();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        reportArchive.close();
+    }
+
+    /**
+     * Tests that archived reports are read back unchanged and unknown ones are not found.
+     */
+    @Test
+    void testAppendAndFind() {
+        reportArchive.append(List.of(report(1), report(2)));
+
+        ReportModel found = reportArchive.find(2);
+        assertEquals(report(2), found);
+        assertEquals("{\"k\":2}", found.getReportData().get(0).getMetadata().json());
+        assertNull(reportArchive.find(3));
+    }
+
+    /**
+     * Tests that a tombstone hides the report and a later archive of it wins over the tombstone.
+     */
+    @Test
+    void testDelete() {
+        reportArchive.append(List.of(report(1)));
+
+        assertTrue(reportArchive.delete(1));
+        assertFalse(reportArchive.contains(1));
+        assertFalse(reportArchive.delete(1));
+
+        reportArchive.append(List.of(report(1)));
+        assertEquals(report(1), reportArchive.find(1));
+    }
+
+    /**
+     * Tests that sealed and active segments are found again after a restart.
+     */
+    @Test
+    void testReopen() throws Exception {
+        properties.setSegmentMaxSize(DataSize.ofBytes(512));
+        LongStream.rangeClosed(1, 40).forEach(batchNo -> reportArchive.append(List.of(report(batchNo))));
+        reportArchive.delete(7);
+        reportArchive.close();
+
+        assertTrue(segments("*.idx") > 1);
+        reportArchive = open();
+        LongStream.rangeClosed(1, 40).filter(batchNo -> batchNo != 7)
+                .forEach(batchNo -> assertEquals(report(batchNo), reportArchive.find(batchNo)));
+        assertNull(reportArchive.find(7));
+    }
+
+    /**
+     * Tests that a record torn by a crash is cut off and the segment stays writable.
+     */
+    @Test
+    void testTornTail() throws Exception {
+        reportArchive.append(List.of(report(1)));
+        reportArchive.close();
+        Path segment = directory.resolve("segment-000001.dat");
+        Files.write(segment, new byte[]{0, 0, 1, 0, 1, 2, 3, 4, 5}, StandardOpenOption.APPEND);
+
+        reportArchive = open();
+        assertEquals(report(1), reportArchive.find(1));
+        reportArchive.append(List.of(report(2)));
+        assertEquals(report(2), reportArchive.find(2));
+    }
+
+    /**
+     * Tests that instances sharing the directory see each other's archived reports, tombstones and segments.
+     */
+    @Test
+    void testSharedDirectory() throws Exception {
+        properties.setSegmentMaxSize(DataSize.ofBytes(512));
+        ReportArchive other = open();
+        try {
+            LongStream.rangeClosed(1, 20).forEach(batchNo ->
+                    (batchNo % 2 == 0 ? other : reportArchive).append(List.of(report(batchNo))));
+
+            LongStream.rangeClosed(1, 20).forEach(batchNo -> {
+                assertEquals(report(batchNo), reportArchive.find(batchNo));
+                assertEquals(report(batchNo), other.find(batchNo));
+            });
+            assertTrue(other.delete(3));
+            assertFalse(reportArchive.contains(3));
+            assertFalse(reportArchive.delete(3));
+        } finally {
+            other.close();
+        }
+    }
+
+    /**
+     * Tests that archiving does not start on a directory not declared shared.
+     */
+    @Test
+    void testRequiresSharedDirectory() {
+        properties.setShared(false);
+
+        assertThrows(IllegalStateException.class, this::open);
+    }
+
+    /**
+     * Tests that records larger than a mapped window, and records crossing window boundaries, are read back.
+     */
+    @Test
+    void testRecordsSpanningMappedWindows() {
+        Random random = new Random(42);
+        List<ReportModel> reports = LongStream.rangeClosed(1, 4).mapToObj(batchNo -> {
+            byte[] bytes = new byte[6 << 20];
+            random.nextBytes(bytes);
+            return report(batchNo).withReportData(List.of(new ReportData("item-" + batchNo, "archived",
+                    new RawJson("\"" + Base64.getEncoder().encodeToString(bytes) + "\""))));
+        }).toList();
+        reportArchive.append(reports);
+
+        reports.forEach(report -> assertEquals(report, reportArchive.find(report.getBatchNo())));
+    }
+
+    private ReportArchive open() throws Exception {
+        ReportArchive archive = new ReportArchive(properties, new ObjectMapper(), new SimpleMeterRegistry());
+        archive.open();
+        return archive;
+    }
+
+    private long segments(String glob) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> directory.getFileSystem().getPathMatcher("glob:" + glob)
+                    .matches(file.getFileName())).count();
+        }
+    }
+
+
+    private static ReportModel report(long batchNo) {
+        return ReportModel.builder()
+                .id(new UUID(0, batchNo))
+                .batchNo(batchNo)
+                .size(1)
+                .status(ReportStatus.INACTIVE)
+                .reportData(List.of(new ReportData("item-" + batchNo, "archived", new RawJson("{\"k\":" + batchNo + "}"))))
+                .createdAt(new Date(1_700_000_000_000L))
+                .updatedAt(new Date(1_700_000_000_000L + batchNo))
+                .build();
+    }
+}
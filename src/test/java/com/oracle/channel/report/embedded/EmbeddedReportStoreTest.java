@@ -0,0 +1,250 @@
+package com.oracle.channel.report.embedded;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oracle.channel.report.config.ReportEmbeddedProperties;
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.models.data.RawJson;
+import com.oracle.channel.report.models.data.ReportData;
+import com.oracle.channel.report.repository.ReportStatsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link EmbeddedReportStore} and its persistence.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class EmbeddedReportStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private EmbeddedReportStore open(Path directory) throws Exception {
+        ReportEmbeddedProperties properties = new ReportEmbeddedProperties();
+        properties.setDirectory(directory);
+        properties.setStripes(4);
+        EmbeddedReportStore store = new EmbeddedReportStore(properties, objectMapper, new SimpleMeterRegistry());
+        store.open();
+        return store;
+    }
+
+    private static ReportModel report(long batchNo, int entries) {
+        List<ReportData> reportData = new ArrayList<>();
+        for (int i = 0; i < entries; i++) {
+            reportData.add(new ReportData("n" + i, "d", new RawJson("{\"a\":" + i + "}")));
+        }
+        return ReportModel.builder().batchNo(batchNo).size(entries).status(ReportStatus.ACTIVE)
+                .reportData(reportData).build();
+    }
+
+    private static List<Long> batchNos(List<ReportModel> reports) {
+        return reports.stream().map(ReportModel::getBatchNo).toList();
+    }
+
+    @Test
+    void testInsertAndFind() throws Exception {
+        EmbeddedReportStore store = open(null);
+
+        ReportModel saved = store.insert(report(1, 2));
+
+        assertNotNull(saved.getId());
+        assertNotNull(saved.getCreatedAt());
+        assertEquals(saved.getCreatedAt(), saved.getUpdatedAt());
+        assertEquals(saved, store.find(1));
+        assertNull(store.find(2));
+        assertThrows(DuplicateKeyException.class, () -> store.insert(report(1, 1)));
+        // returned reports are copies
+        store.find(1).getReportData().clear();
+        assertEquals(2, store.find(1).getReportData().size());
+    }
+
+    @Test
+    void testActiveListingIsNewestFirst() throws Exception {
+        EmbeddedReportStore store = open(null);
+        for (long batchNo = 1; batchNo <= 5; batchNo++) {
+            store.insert(report(batchNo, 1));
+            Thread.sleep(2);
+        }
+
+        store.updateStatus(List.of(2L), ReportStatus.INACTIVE);
+        Thread.sleep(2);
+        store.append(1, List.of(new ReportData("x", "d", null)));
+
+        assertEquals(List.of(1L, 5L, 4L, 3L), batchNos(store.findActivePage(0, 10)));
+        assertEquals(List.of(4L, 3L), batchNos(store.findActivePage(2, 2)));
+        assertEquals(4, store.countActive());
+        store.updateStatus(List.of(2L), ReportStatus.ACTIVE);
+        assertEquals(List.of(2L, 1L), batchNos(store.findActivePage(0, 2)));
+        assertEquals(5, store.countActive());
+    }
+
+    @Test
+    void testStatusUpdateOnlyMovesChangedReports() throws Exception {
+        EmbeddedReportStore store = open(null);
+        ReportModel saved = store.insert(report(1, 1));
+        Thread.sleep(2);
+
+        List<EmbeddedReportStore.StatusChange> unchanged = store.updateStatus(List.of(1L, 9L), ReportStatus.ACTIVE);
+        List<EmbeddedReportStore.StatusChange> changed = store.updateStatus(List.of(1L), ReportStatus.INACTIVE);
+
+        assertEquals(1, unchanged.size());
+        assertEquals(saved.getUpdatedAt(), unchanged.get(0).report().getUpdatedAt());
+        assertEquals(ReportStatus.ACTIVE, changed.get(0).previousStatus());
+        assertEquals(ReportStatus.INACTIVE, changed.get(0).report().getStatus());
+        assertTrue(changed.get(0).report().getUpdatedAt().after(saved.getUpdatedAt()));
+    }
+
+    @Test
+    void testAppendedItemsFollowSavedOnes() throws Exception {
+        EmbeddedReportStore store = open(null);
+        store.insert(report(1, 3));
+
+        ReportModel grown = store.append(1, List.of(new ReportData("a0", "d", null), new ReportData("a1", "d", null)));
+
+        assertEquals(5, grown.getSize());
+        assertEquals(3, grown.getReportData().size());
+        assertEquals(List.of("n0", "n1", "n2", "a0", "a1"),
+                store.find(1).getReportData().stream().map(ReportData::getName).toList());
+        assertEquals(List.of("n1", "n2"),
+                store.findSavedItems(1, 1, 5).stream().map(ReportData::getName).toList());
+        assertEquals(List.of("a1"), store.findAppendedItems(1, 1, 5).stream().map(ReportData::getName).toList());
+        assertNull(store.append(2, List.of()));
+        assertEquals(List.of(), store.findSavedItems(2, 0, 5));
+    }
+
+    @Test
+    void testRollupGroupsLikeTheDatabase() throws Exception {
+        EmbeddedReportStore store = open(null);
+        store.insert(report(1, 1));
+        store.insert(report(2, 3));
+        store.insert(report(3, 0));
+        store.updateStatus(List.of(3L), ReportStatus.INACTIVE);
+
+        List<ReportStatsRepository.RollupRow> rows = store.rollup(LocalDate.now());
+
+        assertTrue(rows.contains(new ReportStatsRepository.RollupRow(ReportStatsRepository.BY_STATUS,
+                ReportStatus.ACTIVE, null, 0, 0, 2)));
+        assertTrue(rows.contains(new ReportStatsRepository.RollupRow(ReportStatsRepository.BY_DAY,
+                null, LocalDate.now(), 0, 0, 3)));
+        // sizes 1, 3 and 0 fall into the buckets 1, 2 and 0
+        assertTrue(rows.contains(new ReportStatsRepository.RollupRow(ReportStatsRepository.BY_SIZE,
+                null, null, 2, 0, 1)));
+        assertTrue(rows.contains(new ReportStatsRepository.RollupRow(ReportStatsRepository.BY_LENGTH,
+                null, null, 0, 0, 1)));
+        assertEquals(1, store.rollup(LocalDate.now().plusDays(1)).stream()
+                .filter(row -> row.groupingSet() == ReportStatsRepository.BY_DAY).count());
+    }
+
+    @Test
+    void testConcurrentWritersKeepTheIndexesConsistent() throws Exception {
+        EmbeddedReportStore store = open(null);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                long first = thread * 1000L;
+                futures.add(executor.submit(() -> {
+                    for (long batchNo = first; batchNo < first + 1000; batchNo++) {
+                        store.insert(report(batchNo, 1));
+                        if (batchNo % 3 == 0) {
+                            store.updateStatus(List.of(batchNo), ReportStatus.INACTIVE);
+                        }
+                        if (batchNo % 5 == 0) {
+                            store.delete(batchNo);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Set<Long> expected = LongStream.range(0, 8000).filter(batchNo -> batchNo % 3 != 0 && batchNo % 5 != 0)
+                .boxed().collect(Collectors.toSet());
+        List<ReportModel> page = store.findActivePage(0, 10_000);
+        assertEquals(expected, Set.copyOf(batchNos(page)));
+        assertEquals(expected.size(), page.size());
+        assertEquals(expected.size(), store.countActive());
+        assertEquals(8000 - 1600, store.size());
+    }
+
+    @Test
+    void testWritesSurviveARestart() throws Exception {
+        EmbeddedReportStore store = open(directory);
+        store.insert(report(1, 2));
+        store.insert(report(2, 1));
+        store.append(1, List.of(new ReportData("a0", "d", new RawJson("{\"b\":true}"))));
+        store.updateStatus(List.of(2L), ReportStatus.INACTIVE);
+        store.insert(report(3, 1));
+        store.delete(3);
+        store.close();
+
+        EmbeddedReportStore reopened = open(directory);
+
+        assertEquals(store.find(1), reopened.find(1));
+        assertEquals(store.find(2), reopened.find(2));
+        assertNull(reopened.find(3));
+        assertEquals("{\"b\":true}", reopened.findAppendedItems(1, 0, 1).get(0).getMetadata().json());
+        assertEquals(List.of(1L), batchNos(reopened.findActivePage(0, 10)));
+        assertEquals(1, reopened.countActive());
+    }
+
+    @Test
+    void testCheckpointReplacesTheLog() throws Exception {
+        EmbeddedReportStore store = open(directory);
+        store.insert(report(1, 1));
+        store.insert(report(2, 1));
+
+        store.checkpoint();
+        store.delete(2);
+        store.insert(report(4, 1));
+        store.close();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of("log-2.ndjson", "snapshot-2.ndjson"),
+                    files.map(file -> file.getFileName().toString()).sorted().toList());
+        }
+        EmbeddedReportStore reopened = open(directory);
+        assertEquals(Set.of(1L, 4L), Set.copyOf(batchNos(reopened.findActivePage(0, 10))));
+    }
+
+    @Test
+    void testTornLastRecordIsSkipped() throws Exception {
+        EmbeddedReportStore store = open(directory);
+        store.insert(report(1, 1));
+        store.close();
+        Files.writeString(directory.resolve("log-1.ndjson"), "{\"put\":{\"report\":{\"batch",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        EmbeddedReportStore reopened = open(directory);
+
+        assertNotNull(reopened.find(1));
+        assertEquals(1, reopened.size());
+    }
+}
@@ -0,0 +1,146 @@
+package com.oracle.channel.report.feed;
+
+import com.oracle.channel.report.config.ReportFeedProperties;
+import com.oracle.channel.report.enums.ReportChangeType;
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.events.ReportChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ReportChangeFeed} with subscribers that stall.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class ReportChangeFeedTest {
+
+    private final Queue<SseEmitter> emitters = new ConcurrentLinkedQueue<>();
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    private ReportFeedProperties properties;
+    private ReportChangeFeed feed;
+
+    /**
+     * Records the events sent to it, each send waiting until the gate opens.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch gate;
+
+        private RecordingEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", ex);
+            }
+            events.add(builder.build().stream().map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .map(String::valueOf).collect(Collectors.joining()));
+        }
+
+        private boolean await(Predicate<List<String>> condition) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!condition.test(events) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            return condition.test(events);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReportFeedProperties();
+        properties.setDispatchThreads(1);
+        properties.setSendTimeout(Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        feed.shutdown();
+    }
+
+    private void start() {
+        feed = new ReportChangeFeed(properties) {
+            @Override
+            SseEmitter newEmitter() {
+                return emitters.remove();
+            }
+        };
+    }
+
+    private void publish(long batchNo) {
+        feed.onReportChanged(new ReportChangedEvent(ReportChangeType.CREATED, batchNo, ReportStatus.ACTIVE, null,
+                null, null));
+    }
+
+    /**
+     * Tests that a subscriber stuck in a send is dropped and does not hold up the others.
+     */
+    @Test
+    void testStalledSubscriberDoesNotBlockTheFeed() throws Exception {
+        RecordingEmitter stalled = new RecordingEmitter(unblock);
+        RecordingEmitter healthy = new RecordingEmitter(new CountDownLatch(0));
+        emitters.add(stalled);
+        emitters.add(healthy);
+        start();
+        feed.subscribe(null);
+        feed.subscribe(null);
+
+        publish(1);
+        assertTrue(stalled.sending.await(5, TimeUnit.SECONDS));
+        publish(2);
+
+        assertTrue(healthy.await(events -> events.size() == 2), "healthy subscriber received " + healthy.events);
+    }
+
+    /**
+     * Tests that a subscriber falling behind by more than the allowed lag is told to resync.
+     */
+    @Test
+    void testLaggingSubscriberIsResynced() throws Exception {
+        properties.setMaxLag(2);
+        CountDownLatch slow = new CountDownLatch(1);
+        RecordingEmitter lagging = new RecordingEmitter(slow);
+        emitters.add(lagging);
+        start();
+        feed.subscribe(null);
+
+        // the first send is still in progress while the rest are published
+        publish(1);
+        assertTrue(lagging.sending.await(5, TimeUnit.SECONDS));
+        for (long batchNo = 2; batchNo <= 5; batchNo++) {
+            publish(batchNo);
+        }
+        slow.countDown();
+
+        assertTrue(lagging.await(events -> !events.isEmpty()
+                && events.get(events.size() - 1).contains("event:" + ReportChangeFeed.RESYNC_EVENT)),
+                "lagging subscriber received " + lagging.events);
+        assertEquals(2, lagging.events.size());
+    }
+}
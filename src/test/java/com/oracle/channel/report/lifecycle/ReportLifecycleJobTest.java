@@ -0,0 +1,164 @@
+package com.oracle.channel.report.lifecycle;
+
+import com.oracle.channel.report.config.ReportLifecycleProperties;
+import com.oracle.channel.report.config.ReportShardingProperties;
+import com.oracle.channel.report.enums.ReportChangeType;
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.events.ReportChangedEvent;
+import com.oracle.channel.report.repository.ReportLifecycleRepository;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ReportLifecycleJob}.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class ReportLifecycleJobTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReportLifecycleRepository reportLifecycleRepository;
+    private PlatformTransactionManager transactionManager;
+    private ApplicationEventPublisher eventPublisher;
+    private ReportLifecycleProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        reportLifecycleRepository = mock(ReportLifecycleRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        properties = new ReportLifecycleProperties();
+        properties.setEnabled(true);
+        properties.setChunkSize(2);
+        properties.setChunksPerSecond(1000);
+    }
+
+    private ReportLifecycleJob job() {
+        return new ReportLifecycleJob(reportLifecycleRepository, new ReportShardRouter(new ReportShardingProperties()),
+                properties, transactionManager, eventPublisher, meterRegistry);
+    }
+
+    private static List<ReportLifecycleRepository.ExpiredReport> expired(long... batchNos) {
+        return Arrays.stream(batchNos)
+                .mapToObj(batchNo -> new ReportLifecycleRepository.ExpiredReport(batchNo, 5, 3, new Date()))
+                .toList();
+    }
+
+    @Test
+    void testExpiresInChunksUntilAShortChunk() {
+        when(reportLifecycleRepository.expire(any(Date.class), eq(2)))
+                .thenReturn(expired(1, 2), expired(3, 4), expired(5));
+
+        job().start().join();
+
+        verify(reportLifecycleRepository, times(3)).expire(any(Date.class), eq(2));
+        // one transaction per chunk
+        verify(transactionManager, times(3)).getTransaction(any(TransactionDefinition.class));
+        verify(transactionManager, times(3)).commit(any());
+        ArgumentCaptor<ReportChangedEvent> events = ArgumentCaptor.forClass(ReportChangedEvent.class);
+        verify(eventPublisher, times(5)).publishEvent(events.capture());
+        ReportChangedEvent event = events.getAllValues().get(0);
+        assertEquals(ReportChangeType.STATUS_CHANGED, event.type());
+        assertEquals(1L, event.batchNo());
+        assertEquals(ReportStatus.INACTIVE, event.status());
+        assertEquals(ReportStatus.ACTIVE, event.previousStatus());
+        assertEquals(3, event.shape().length());
+        assertEquals(event.shape(), event.previousShape());
+        assertEquals(5, meterRegistry.get("report.lifecycle.expired").counter().count());
+        assertEquals(3, meterRegistry.get("report.lifecycle.chunks").timer().count());
+        // nothing left behind, so nothing to count
+        verify(reportLifecycleRepository, never()).countExpirable(any(Date.class));
+    }
+
+    @Test
+    void testRunStopsAfterMaxChunks() {
+        properties.setMaxChunksPerRun(3);
+        when(reportLifecycleRepository.expire(any(Date.class), anyInt())).thenReturn(expired(1, 2));
+        when(reportLifecycleRepository.countExpirable(any(Date.class))).thenReturn(40L);
+
+        job().start().join();
+
+        verify(reportLifecycleRepository, times(3)).expire(any(Date.class), anyInt());
+        assertEquals(40, meterRegistry.get("report.lifecycle.overdue").gauge().value());
+    }
+
+    @Test
+    void testChunksAreThrottled() {
+        properties.setChunksPerSecond(20);
+        properties.setMaxChunksPerRun(5);
+        when(reportLifecycleRepository.expire(any(Date.class), anyInt())).thenReturn(expired(1, 2));
+
+        long start = System.nanoTime();
+        CompletableFuture<Integer> run = job().start();
+        // the scheduler thread only hands the run off
+        assertTrue(System.nanoTime() - start < 100_000_000L);
+        assertEquals(10, run.join());
+
+        // the first chunk starts right away, the four others 50ms apart
+        assertTrue(System.nanoTime() - start >= 190_000_000L);
+    }
+
+    @Test
+    void testRunIsSkippedWhileThePreviousOneIsGoing() throws Exception {
+        CountDownLatch expiring = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(reportLifecycleRepository.expire(any(Date.class), anyInt())).thenAnswer(invocation -> {
+            expiring.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return expired(1);
+        });
+        ReportLifecycleJob job = job();
+
+        CompletableFuture<Integer> first = job.start();
+        assertTrue(expiring.await(5, TimeUnit.SECONDS));
+        assertEquals(0, job.start().join());
+        release.countDown();
+        assertEquals(1, first.join());
+
+        verify(reportLifecycleRepository, times(1)).expire(any(Date.class), anyInt());
+        assertEquals(1, job.start().join());
+    }
+
+    @Test
+    void testFailedChunkIsRolledBackAndCounted() {
+        when(reportLifecycleRepository.expire(any(Date.class), anyInt()))
+                .thenReturn(expired(1, 2))
+                .thenThrow(new IllegalStateException("canceling statement due to statement timeout"));
+
+        job().start().join();
+
+        verify(transactionManager).rollback(any());
+        assertEquals(2, meterRegistry.get("report.lifecycle.expired").counter().count());
+        assertEquals(1, meterRegistry.get("report.lifecycle.failures").counter().count());
+    }
+
+    @Test
+    void testDisabledJobDoesNothing() {
+        properties.setEnabled(false);
+
+        job().start().join();
+
+        verifyNoInteractions(reportLifecycleRepository, transactionManager, eventPublisher);
+        assertEquals(0, meterRegistry.get("report.lifecycle.expired").counter().count());
+    }
+}
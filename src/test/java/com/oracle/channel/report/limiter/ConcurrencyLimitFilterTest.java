@@ -0,0 +1,170 @@
+package com.oracle.channel.report.limiter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oracle.channel.report.config.ReportLimiterProperties;
+import com.oracle.channel.report.enums.ResponseCodeEnum;
+import com.oracle.channel.report.exception.GlobalExceptionHandler;
+import com.oracle.channel.report.exception.GlobalResponseWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for {@link ConcurrencyLimitFilter} in front of the real {@link GlobalExceptionHandler}.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class ConcurrencyLimitFilterTest {
+
+    private ConcurrencyLimitFilter filter;
+    private MockMvc mockMvc;
+
+    @RestController
+    static class FailingController {
+
+        /**
+         * Fails the way the report services do, wrapping the data access failure.
+         */
+        @GetMapping("/reports/{batchNo}")
+        Object fetch(@PathVariable long batchNo) throws InterruptedException {
+            if (batchNo == 3) {
+                Thread.sleep(20);
+                return "ok";
+            }
+            if (batchNo == 1) {
+                throw new IllegalArgumentException("Could not open JPA EntityManager for transaction",
+                        new CannotCreateTransactionException("Connection is not available"));
+            }
+            throw new IllegalArgumentException("Report not found");
+        }
+
+        /**
+         * Streams its response asynchronously, like the multi-get.
+         */
+        @PostMapping("/reports/multi-get")
+        ResponseEntity<StreamingResponseBody> stream(@RequestParam(defaultValue = "0") long writeMillis) {
+            return ResponseEntity.ok(out -> {
+                try {
+                    Thread.sleep(writeMillis);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                out.write("[]".getBytes());
+            });
+        }
+    }
+
+    /**
+     * Every release closes a limiter window, so a single request is enough to move the limit.
+     */
+    @BeforeEach
+    void setUp() {
+        ReportLimiterProperties properties = new ReportLimiterProperties();
+        properties.setWindow(Duration.ZERO);
+        filter = new ConcurrencyLimitFilter(properties, new GlobalResponseWriter(new ObjectMapper()),
+                new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(new FailingController())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addFilters(filter)
+                .build();
+    }
+
+    /**
+     * Tests that an overload failure answered by the exception handler still cuts the limit.
+     */
+    @Test
+    void testHandledOverloadCutsTheLimit() throws Exception {
+        int initial = filter.limiter(ConcurrencyLimitFilter.EndpointClass.READ).getLimit();
+
+        mockMvc.perform(get("/reports/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.responseCode").value(ResponseCodeEnum.OVERLOADED.getCode()));
+
+        AdaptiveConcurrencyLimiter limiter = filter.limiter(ConcurrencyLimitFilter.EndpointClass.READ);
+        assertTrue(limiter.getLimit() < initial, "limit should be cut but was " + limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    /**
+     * Tests that a streamed response holds its permit until the async processing completes.
+     */
+    @Test
+    void testAsyncRequestHoldsItsPermit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = filter.limiter(ConcurrencyLimitFilter.EndpointClass.READ);
+
+        MvcResult result = mockMvc.perform(post("/reports/multi-get"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(1, limiter.getInFlight());
+
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    /**
+     * Tests that the time spent streaming to the client is not taken for database latency.
+     */
+    @Test
+    void testStreamingTimeIsNotALatencySample() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = filter.limiter(ConcurrencyLimitFilter.EndpointClass.READ);
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/reports/3")).andExpect(status().isOk());
+        }
+        int limit = limiter.getLimit();
+
+        MvcResult result = mockMvc.perform(post("/reports/multi-get").param("writeMillis", "500"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        assertEquals(0, limiter.getInFlight());
+        assertTrue(limiter.getLimit() >= limit, "limit shrank from " + limit + " to " + limiter.getLimit());
+    }
+
+    /**
+     * Tests that snapshot downloads and the change feed bypass the limiter.
+     */
+    @Test
+    void testDownloadsAreNotLimited() {
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/v1.0/reports/snapshot")));
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/v1.0/reports/changes")));
+        assertFalse(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/v1.0/reports/1")));
+    }
+
+    /**
+     * Tests that ordinary failures are latency samples, not overload signals.
+     */
+    @Test
+    void testHandledFailureKeepsTheLimit() throws Exception {
+        int initial = filter.limiter(ConcurrencyLimitFilter.EndpointClass.READ).getLimit();
+
+        mockMvc.perform(get("/reports/2")).andExpect(status().isNotFound());
+
+        assertEquals(initial, filter.limiter(ConcurrencyLimitFilter.EndpointClass.READ).getLimit());
+    }
+}
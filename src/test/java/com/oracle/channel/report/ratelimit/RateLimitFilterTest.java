@@ -0,0 +1,63 @@
+package com.oracle.channel.report.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oracle.channel.report.config.ReportRateLimitProperties;
+import com.oracle.channel.report.exception.GlobalResponseWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for how {@link RateLimitFilter} tells clients apart.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class RateLimitFilterTest {
+
+    private static RateLimitFilter filter(ReportRateLimitProperties properties) {
+        return new RateLimitFilter(properties, new GlobalResponseWriter(new ObjectMapper()), new SimpleMeterRegistry());
+    }
+
+    private static MockHttpServletRequest request(String address, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1.0/reports/1");
+        request.setRemoteAddr(address);
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        return request;
+    }
+
+    /**
+     * Tests that callers behind the same load balancer get a bucket per client header by default.
+     */
+    @Test
+    void testClientsAreKeyedByHeaderByDefault() {
+        RateLimitFilter filter = filter(new ReportRateLimitProperties());
+
+        assertEquals("client:generator-a", filter.clientKey(request("10.0.0.1", "generator-a")));
+        assertNotEquals(filter.clientKey(request("10.0.0.1", "generator-a")),
+                filter.clientKey(request("10.0.0.1", "generator-b")));
+        assertEquals("address:10.0.0.1", filter.clientKey(request("10.0.0.1", null)));
+        // a header value cannot take over the bucket of an address
+        assertNotEquals(filter.clientKey(request("10.0.0.2", "10.0.0.1")),
+                filter.clientKey(request("10.0.0.1", null)));
+    }
+
+    /**
+     * Tests that with an allowlist, unlisted header values are keyed by address.
+     */
+    @Test
+    void testAllowlistRestrictsHeaderValues() {
+        ReportRateLimitProperties properties = new ReportRateLimitProperties();
+        properties.setClients(Set.of("generator-a"));
+        RateLimitFilter filter = filter(properties);
+
+        assertEquals("client:generator-a", filter.clientKey(request("10.0.0.1", "generator-a")));
+        assertEquals("address:10.0.0.1", filter.clientKey(request("10.0.0.1", "made-up")));
+    }
+}
@@ -0,0 +1,263 @@
+package com.oracle.channel.report.snapshot;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oracle.channel.report.config.ReportDedupProperties;
+import com.oracle.channel.report.config.ReportShardingProperties;
+import com.oracle.channel.report.config.ReportSnapshotProperties;
+import com.oracle.channel.report.dedup.ReportBlobStore;
+import com.oracle.channel.report.dtos.request.ReportFields;
+import com.oracle.channel.report.enums.ReportStatus;
+import com.oracle.channel.report.models.ReportModel;
+import com.oracle.channel.report.models.data.RawJson;
+import com.oracle.channel.report.models.data.ReportData;
+import com.oracle.channel.report.repository.ReportBlobRepository;
+import com.oracle.channel.report.repository.ReportProjectionRepository;
+import com.oracle.channel.report.sharding.ReportShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ReportSnapshotStore} and {@link ReportSnapshotTransfer}.
+ *
+ * @author GafarOlanipekun
+ * @since 19/03/2025
+ */
+class ReportSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReportProjectionRepository reportProjectionRepository;
+    private ReportSnapshotProperties properties;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        reportProjectionRepository = mock(ReportProjectionRepository.class);
+        when(reportProjectionRepository.streamActive(eq(ReportFields.all()), anyInt(), any())).thenAnswer(invocation -> {
+            Consumer<ReportModel> consumer = invocation.getArgument(2);
+            for (long batchNo = 1; batchNo <= 3; batchNo++) {
+                consumer.accept(ReportModel.builder().batchNo(batchNo).size(1).status(ReportStatus.ACTIVE)
+                        .reportData(List.of(new ReportData("n" + batchNo, "d", new RawJson("{\"a\":1}")))).build());
+            }
+            return 3L;
+        });
+        properties = new ReportSnapshotProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory);
+        properties.setInterval(Duration.ZERO);
+    }
+
+    private ReportSnapshotStore store() {
+        ReportShardRouter router = new ReportShardRouter(new ReportShardingProperties());
+        return store(router, new ReportBlobStore(mock(ReportBlobRepository.class), router,
+                new ReportDedupProperties(), meterRegistry));
+    }
+
+    private ReportSnapshotStore store(ReportShardRouter router, ReportBlobStore reportBlobStore) {
+        return new ReportSnapshotStore(reportProjectionRepository, reportBlobStore, router, properties, objectMapper,
+                mock(PlatformTransactionManager.class), meterRegistry);
+    }
+
+    private static List<Path> files(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    @Test
+    void testSnapshotIsCompressedNdjson() throws IOException {
+        ReportSnapshotStore store = store();
+
+        store.write();
+
+        ReportSnapshot snapshot = store.current();
+        assertNotNull(snapshot);
+        assertTrue(snapshot.fileName().matches("reports-\\d{8}T\\d{9}Z\\.ndjson\\.gz"));
+        assertEquals(List.of(snapshot.path()), files(directory));
+        String[] lines;
+        try (GZIPInputStream in = new GZIPInputStream(Files.newInputStream(snapshot.path()))) {
+            lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n", -1);
+        }
+        // one report per line, ending with a newline
+        assertEquals(4, lines.length);
+        assertEquals("", lines[3]);
+        JsonNode report = objectMapper.readTree(lines[1]);
+        assertEquals(2, report.get("batchNo").asLong());
+        assertEquals("n2", report.get("reportData").get(0).get("name").asText());
+        assertEquals(1, report.get("reportData").get(0).get("metadata").get("a").asInt());
+    }
+
+    @Test
+    void testReferencesAreResolvedOncePerFetch() throws IOException {
+        properties.setFetchSize(2);
+        properties.setCompressed(false);
+        ReportShardRouter router = new ReportShardRouter(new ReportShardingProperties());
+        ReportBlobStore reportBlobStore = spy(new ReportBlobStore(mock(ReportBlobRepository.class), router,
+                new ReportDedupProperties(), meterRegistry));
+        ReportSnapshotStore store = store(router, reportBlobStore);
+
+        store.write();
+
+        // three reports fetched two at a time
+        verify(reportBlobStore, times(2)).resolveAll(anyList());
+        verify(reportBlobStore, never()).resolve(any(ReportModel.class));
+        assertEquals(3, Files.readAllLines(store.current().path()).size());
+    }
+
+    @Test
+    void testOlderSnapshotsAreRemovedAndNewestIsReopened() throws Exception {
+        properties.setCompressed(false);
+        ReportSnapshotStore store = store();
+        for (int i = 0; i < 3; i++) {
+            store.write();
+            Thread.sleep(2);
+        }
+        Files.writeString(directory.resolve("reports-unfinished.ndjson.tmp"), "{");
+
+        assertEquals(2, files(directory).stream().filter(file -> file.toString().endsWith(".ndjson")).count());
+        ReportSnapshotStore reopened = store();
+        reopened.open();
+
+        assertEquals(store.current().path(), reopened.current().path());
+        assertEquals(store.current().createdAt(), reopened.current().createdAt());
+        assertEquals(2, files(directory).size());
+    }
+
+    @Test
+    void testFailedWriteLeavesNoFile() throws IOException {
+        ReportSnapshotStore store = store();
+        when(reportProjectionRepository.streamActive(any(), anyInt(), any()))
+                .thenThrow(new IllegalStateException("connection reset"));
+
+        store.write();
+
+        assertNull(store.current());
+        assertEquals(List.of(), files(directory));
+    }
+
+    private ReportSnapshot snapshot(byte[] content) throws IOException {
+        Path path = directory.resolve("reports-20261019T000000000Z.ndjson.gz");
+        Files.write(path, content);
+        return new ReportSnapshot(path, content.length, 1_760_832_000_000L);
+    }
+
+    @Test
+    void testWholeFileIsSent() throws IOException {
+        byte[] content = "0123456789".getBytes(StandardCharsets.UTF_8);
+        ReportSnapshot snapshot = snapshot(content);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ReportSnapshotTransfer(meterRegistry).send(snapshot, new MockHttpServletRequest("GET", "/"), response);
+
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(content, response.getContentAsByteArray());
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertEquals("application/gzip", response.getContentType());
+        assertEquals("\"20261019T000000000Z-10\"", response.getHeader("ETag"));
+        assertTrue(response.getHeader("Content-Disposition").contains(snapshot.fileName()));
+    }
+
+    @Test
+    void testRangeResumesTheDownload() throws IOException {
+        ReportSnapshot snapshot = snapshot("0123456789".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=4-");
+        request.addHeader("If-Range", snapshot.etag());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ReportSnapshotTransfer(meterRegistry).send(snapshot, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 4-9/10", response.getHeader("Content-Range"));
+        assertEquals("456789", response.getContentAsString());
+        assertEquals(6, meterRegistry.get("report.snapshot.bytes.sent").counter().count());
+        assertEquals(1, meterRegistry.get("report.snapshot.downloads").tag("range", "partial").counter().count());
+    }
+
+    @Test
+    void testRangeOfAnotherSnapshotSendsTheWholeFile() throws IOException {
+        ReportSnapshot snapshot = snapshot("0123456789".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=4-");
+        request.addHeader("If-Range", "\"20261018T000000000Z-10\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ReportSnapshotTransfer(meterRegistry).send(snapshot, request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    @Test
+    void testUnsatisfiableRange() throws IOException {
+        ReportSnapshot snapshot = snapshot("0123456789".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=10-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ReportSnapshotTransfer(meterRegistry).send(snapshot, request, response);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader("Content-Range"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void testContainerSendsTheFileWhenSupported() throws IOException {
+        ReportSnapshot snapshot = snapshot("0123456789".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=2-5");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ReportSnapshotTransfer(meterRegistry).send(snapshot, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(4, response.getContentLengthLong());
+        assertEquals(snapshot.path().toAbsolutePath().toString(),
+                request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(2L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(6L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        // nothing written by the application
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void testUnchangedSnapshotIsNotSentAgain() throws IOException {
+        ReportSnapshot snapshot = snapshot("0123456789".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("If-None-Match", snapshot.etag());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ReportSnapshotTransfer(meterRegistry).send(snapshot, request, response);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+}